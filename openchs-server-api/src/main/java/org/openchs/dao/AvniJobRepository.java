@@ -46,7 +46,8 @@ public class AvniJobRepository {
                 "       string_agg(case when bjep.key_name = 'encounterTypeUUID' then bjep.string_val::text else '' end::text, '') encounterTypeUUID,\n" +
                 "       max(bse.read_count) read_count,\n" +
                 "       max(bse.write_count) write_count,\n" +
-                "       max(bse.write_skip_count) write_skip_count\n" +
+                "       max(bse.write_skip_count) write_skip_count,\n" +
+                "       max(bse.read_count) / nullif(extract(epoch from coalesce(bje.end_time, now()) - bje.start_time), 0) rows_per_second\n" +
                 "from batch_job_execution bje\n" +
                 "left outer join  batch_job_execution_params bjep on bje.job_execution_id = bjep.job_execution_id\n" +
                 "left outer join batch_step_execution bse on bje.job_execution_id = bse.job_execution_id\n" +
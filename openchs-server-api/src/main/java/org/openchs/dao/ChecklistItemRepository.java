@@ -4,9 +4,13 @@ import org.joda.time.DateTime;
 import org.openchs.domain.ChecklistItem;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+
 @Repository
 @RepositoryRestResource(collectionResourceRel = "txNewChecklistItemEntity", path = "txNewChecklistItemEntity", exported = false)
 public interface ChecklistItemRepository extends TransactionalDataRepository<ChecklistItem>, OperatingIndividualScopeAwareRepository<ChecklistItem>, OperatingIndividualScopeAwareRepositoryWithTypeFilter<ChecklistItem> {
@@ -25,6 +29,14 @@ public interface ChecklistItemRepository extends TransactionalDataRepository<Che
 
     ChecklistItem findByChecklistUuidAndChecklistItemDetailUuid(String checklistUUID, String checklistItemDetailUUID);
 
+    @Query("select e from ChecklistItem e join e.checklist cl join cl.programEnrolment pe join pe.individual i join i.addressLevel a join a.virtualCatchments c " +
+            "where c.id = :catchmentId and " + KEYSET_AFTER_CONDITION)
+    Slice<ChecklistItem> findSliceByCatchmentAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    @Query("select e from ChecklistItem e join e.checklist cl join cl.programEnrolment pe join pe.individual i join i.facility f " +
+            "where f.id = :facilityId and " + KEYSET_AFTER_CONDITION)
+    Slice<ChecklistItem> findSliceByFacilityAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     @Override
     default Page<ChecklistItem> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable) {
         return findByChecklistProgramEnrolmentIndividualAddressLevelVirtualCatchmentsIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, lastModifiedDateTime, now, pageable);
@@ -35,6 +47,16 @@ public interface ChecklistItemRepository extends TransactionalDataRepository<Che
         return findByChecklistProgramEnrolmentIndividualFacilityIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(facilityId, lastModifiedDateTime, now, pageable);
     }
 
+    @Override
+    default Slice<ChecklistItem> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByCatchmentAfter(catchmentId, afterDateTime, afterId, now, pageable);
+    }
+
+    @Override
+    default Slice<ChecklistItem> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByFacilityAfter(facilityId, afterDateTime, afterId, now, pageable);
+    }
+
     @Override
     default Page<ChecklistItem> findByCatchmentIndividualOperatingScopeAndFilterByType(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Long filter, Pageable pageable) {
         return findByChecklistProgramEnrolmentIndividualAddressLevelVirtualCatchmentsIdAndChecklistChecklistDetailIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, filter, lastModifiedDateTime, now, pageable);
@@ -4,9 +4,13 @@ import org.joda.time.DateTime;
 import org.openchs.domain.Checklist;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+
 @Repository
 @RepositoryRestResource(collectionResourceRel = "txNewChecklistEntity", path = "txNewChecklistEntity", exported = false)
 public interface ChecklistRepository extends TransactionalDataRepository<Checklist>, OperatingIndividualScopeAwareRepository<Checklist>, OperatingIndividualScopeAwareRepositoryWithTypeFilter<Checklist> {
@@ -27,6 +31,14 @@ public interface ChecklistRepository extends TransactionalDataRepository<Checkli
 
     Checklist findByProgramEnrolmentUuidAndChecklistDetailName(String enrolmentUUID, String name);
 
+    @Query("select e from Checklist e join e.programEnrolment pe join pe.individual i join i.addressLevel a join a.virtualCatchments c " +
+            "where c.id = :catchmentId and " + KEYSET_AFTER_CONDITION)
+    Slice<Checklist> findSliceByCatchmentAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    @Query("select e from Checklist e join e.programEnrolment pe join pe.individual i join i.facility f " +
+            "where f.id = :facilityId and " + KEYSET_AFTER_CONDITION)
+    Slice<Checklist> findSliceByFacilityAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     @Override
     default Page<Checklist> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable) {
         return findByProgramEnrolmentIndividualAddressLevelVirtualCatchmentsIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, lastModifiedDateTime, now, pageable);
@@ -37,6 +49,16 @@ public interface ChecklistRepository extends TransactionalDataRepository<Checkli
         return findByProgramEnrolmentIndividualFacilityIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(facilityId, lastModifiedDateTime, now, pageable);
     }
 
+    @Override
+    default Slice<Checklist> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByCatchmentAfter(catchmentId, afterDateTime, afterId, now, pageable);
+    }
+
+    @Override
+    default Slice<Checklist> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByFacilityAfter(facilityId, afterDateTime, afterId, now, pageable);
+    }
+
     @Override
     default Page<Checklist> findByCatchmentIndividualOperatingScopeAndFilterByType(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Long filter, Pageable pageable) {
         return findByProgramEnrolmentIndividualAddressLevelVirtualCatchmentsIdAndChecklistDetailIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, filter, lastModifiedDateTime, now, pageable);
@@ -7,6 +7,7 @@ import org.openchs.domain.Encounter;
 import org.openchs.domain.EncounterType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
 import java.sql.Date;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
@@ -42,6 +44,14 @@ public interface EncounterRepository extends TransactionalDataRepository<Encount
     Page<Encounter> findByIndividualFacilityIdAndEncounterTypeIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(
             long facilityId, Long encounterTypeId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable);
 
+    @Query("select e from Encounter e join e.individual i join i.addressLevel a join a.virtualCatchments c " +
+            "where c.id = :catchmentId and " + KEYSET_AFTER_CONDITION)
+    Slice<Encounter> findSliceByCatchmentAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    @Query("select e from Encounter e join e.individual i join i.facility f " +
+            "where f.id = :facilityId and " + KEYSET_AFTER_CONDITION)
+    Slice<Encounter> findSliceByFacilityAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     @Override
     default Page<Encounter> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable) {
         return findByIndividualAddressLevelVirtualCatchmentsIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, lastModifiedDateTime, now, pageable);
@@ -52,6 +62,16 @@ public interface EncounterRepository extends TransactionalDataRepository<Encount
         return findByIndividualFacilityIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(facilityId, lastModifiedDateTime, now, pageable);
     }
 
+    @Override
+    default Slice<Encounter> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByCatchmentAfter(catchmentId, afterDateTime, afterId, now, pageable);
+    }
+
+    @Override
+    default Slice<Encounter> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByFacilityAfter(facilityId, afterDateTime, afterId, now, pageable);
+    }
+
     @Override
     default Page<Encounter> findByCatchmentIndividualOperatingScopeAndFilterByType(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Long filter, Pageable pageable) {
         return findByIndividualAddressLevelVirtualCatchmentsIdAndEncounterTypeIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, filter, lastModifiedDateTime, now, pageable);
@@ -5,6 +5,7 @@ import org.openchs.application.projections.WebSearchResultProjection;
 import org.openchs.domain.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
@@ -12,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.*;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +64,14 @@ public interface IndividualRepository extends TransactionalDataRepository<Indivi
             DateTime now,
             Pageable pageable);
 
+    @Query("select e from Individual e join e.addressLevel a join a.virtualCatchments c " +
+            "where c.id = :catchmentId and " + KEYSET_AFTER_CONDITION)
+    Slice<Individual> findSliceByCatchmentAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    @Query("select e from Individual e join e.facility f " +
+            "where f.id = :facilityId and " + KEYSET_AFTER_CONDITION)
+    Slice<Individual> findSliceByFacilityAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     @Override
     default Page<Individual> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable) {
         return findByAddressLevelVirtualCatchmentsIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, lastModifiedDateTime, now, pageable);
@@ -72,6 +82,16 @@ public interface IndividualRepository extends TransactionalDataRepository<Indivi
         return findByFacilityIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(facilityId, lastModifiedDateTime, now, pageable);
     }
 
+    @Override
+    default Slice<Individual> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByCatchmentAfter(catchmentId, afterDateTime, afterId, now, pageable);
+    }
+
+    @Override
+    default Slice<Individual> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByFacilityAfter(facilityId, afterDateTime, afterId, now, pageable);
+    }
+
     @Override
     default Page<Individual> findByCatchmentIndividualOperatingScopeAndFilterByType(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Long filter, Pageable pageable) {
         return findByAddressLevelVirtualCatchmentsIdAndSubjectTypeIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, filter, lastModifiedDateTime, now, pageable);
@@ -111,11 +131,22 @@ public interface IndividualRepository extends TransactionalDataRepository<Indivi
                 subjectTypeUUID == null ? cb.and() : root.get("subjectType").get("uuid").in(subjectTypeUUID);
     }
 
+    /**
+     * The search document (trigram indexed) narrows the individuals down before their observations are looked into.
+     */
     default Specification<Individual> getFilterSpecForObs(String value) {
-        return (Root<Individual> root, CriteriaQuery<?> query, CriteriaBuilder cb) ->
-                value == null ? cb.and() : cb.or(
-                        jsonContains(root.get("observations"), "%" + value + "%", cb),
-                        jsonContains(root.join("programEnrolments", JoinType.LEFT).get("observations"), "%" + value + "%", cb));
+        return (Root<Individual> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            if (value == null) return cb.and();
+            Subquery<Long> searchDocumentMatches = query.subquery(Long.class);
+            Root<IndividualSearchDocument> searchDocument = searchDocumentMatches.from(IndividualSearchDocument.class);
+            searchDocumentMatches.select(searchDocument.get("id"))
+                    .where(cb.like(searchDocument.get("searchDocument"), "%" + value.toLowerCase() + "%"));
+            return cb.and(
+                    root.get("id").in(searchDocumentMatches),
+                    cb.or(
+                            jsonContains(root.get("observations"), "%" + value + "%", cb),
+                            jsonContains(root.join("programEnrolments", JoinType.LEFT).get("observations"), "%" + value + "%", cb)));
+        };
     }
 
     default Specification<Individual> getFilterSpecForLocationIds(List<Long> locationIds) {
@@ -151,6 +182,19 @@ public interface IndividualRepository extends TransactionalDataRepository<Indivi
             "and (coalesce(:locationIds,NULL) is null OR ind.addressLevel.id in :locationIds)")
     Page<Individual> findIndividuals(String subjectTypeUUID, List<Long> locationIds, Pageable pageable);
 
+    @Query("select ind from Individual ind " +
+            "join fetch ind.addressLevel " +
+            "left join fetch ind.gender " +
+            "where ind.isVoided = false " +
+            "and ind.subjectType.uuid = :subjectTypeUUID " +
+            "and (coalesce(:locationIds,NULL) is null OR ind.addressLevel.id in :locationIds) " +
+            "and ind.id > :lastId " +
+            "order by ind.id")
+    List<Individual> findIndividualsAfter(String subjectTypeUUID, List<Long> locationIds, Long lastId, Pageable pageable);
+
+    @Query("select distinct ind from Individual ind left join fetch ind.encounters where ind in :individuals")
+    List<Individual> fetchEncounters(List<Individual> individuals);
+
     Individual findByLegacyId(String legacyId);
 
     Individual findByLegacyIdAndSubjectType(String legacyId, SubjectType subjectType);
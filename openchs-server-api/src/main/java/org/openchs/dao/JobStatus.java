@@ -25,6 +25,7 @@ public class JobStatus {
     private int total;
     private int completed;
     private int skipped;
+    private double rowsPerSecond;
     private Date createTime;
     private Long noOfLines;
     private Date startDate;
@@ -169,6 +170,14 @@ public class JobStatus {
         this.skipped = skipped;
     }
 
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
     public void setCreateTime(Date createTime) {
         this.createTime = createTime;
     }
@@ -22,6 +22,7 @@ public class JobStatusMapper implements RowMapper<JobStatus> {
         jobStatus.setTotal(rs.getInt("read_count"));
         jobStatus.setCompleted(rs.getInt("write_count"));
         jobStatus.setSkipped(rs.getInt("write_skip_count"));
+        jobStatus.setRowsPerSecond(rs.getDouble("rows_per_second"));
         jobStatus.setStartDate(rs.getTimestamp("startDate"));
         jobStatus.setEndDate(rs.getTimestamp("endDate"));
         jobStatus.setSubjectTypeUUID(rs.getString("subjectTypeUUID"));
@@ -0,0 +1,51 @@
+package org.openchs.dao;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Writes address_level lineage, and parent for moves, with one statement however many locations are involved. The
+ * lineage and parent columns are not updatable through AddressLevel, so Hibernate never writes a lineage that is out
+ * of date; flush pending changes to the locations before calling these.
+ */
+@Component
+public class LocationLineageRepository {
+    private static final String SET_LINEAGES = "update address_level al set lineage = cast(v.lineage as ltree) " +
+            "from unnest(?, ?) as v(id, lineage) " +
+            "where al.id = v.id";
+    private static final String MOVE_SUBTREE = "update address_level set " +
+            "lineage = case when lineage = cast(:oldLineage as ltree) then cast(:newLineage as ltree) " +
+            "else cast(:newLineage as ltree) || subpath(lineage, nlevel(cast(:oldLineage as ltree))) end, " +
+            "parent_id = case when id = :id then :parentId else parent_id end " +
+            "where lineage <@ cast(:oldLineage as ltree)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LocationLineageRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void setLineages(Map<Long, String> lineageById) {
+        if (lineageById.isEmpty()) return;
+        jdbcTemplate.getJdbcOperations().update(SET_LINEAGES, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", lineageById.keySet().toArray()));
+            ps.setArray(2, connection.createArrayOf("text", lineageById.values().toArray()));
+        });
+    }
+
+    /**
+     * Puts the location under its new parent and rewrites the lineage of the location and all that is under it.
+     */
+    public int moveSubtree(Long id, String oldLineage, Long parentId, String newLineage) {
+        return jdbcTemplate.update(MOVE_SUBTREE, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("oldLineage", oldLineage)
+                .addValue("parentId", parentId)
+                .addValue("newLineage", newLineage));
+    }
+}
@@ -5,12 +5,15 @@ import org.openchs.domain.AddressLevel;
 import org.openchs.domain.ParentLocationMapping;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.data.rest.core.annotation.RestResource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -24,6 +27,13 @@ public interface LocationMappingRepository extends ReferenceDataRepository<Paren
             @Param("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
             Pageable pageable);
 
+    @Query("select e from ParentLocationMapping e join e.parentLocation a join a.virtualCatchments c " +
+            "where c.id = :catchmentId and " + KEYSET_AFTER_CONDITION)
+    Slice<ParentLocationMapping> findSliceByCatchmentAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    @Query("select e from ParentLocationMapping e where " + KEYSET_AFTER_CONDITION)
+    Slice<ParentLocationMapping> findSliceAfter(Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     @Override
     default Page<ParentLocationMapping> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable) {
         return findByParentLocationVirtualCatchmentsIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, lastModifiedDateTime, now, pageable);
@@ -34,6 +44,16 @@ public interface LocationMappingRepository extends ReferenceDataRepository<Paren
         return findByAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(lastModifiedDateTime, now, pageable);
     }
 
+    @Override
+    default Slice<ParentLocationMapping> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByCatchmentAfter(catchmentId, afterDateTime, afterId, now, pageable);
+    }
+
+    @Override
+    default Slice<ParentLocationMapping> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceAfter(afterDateTime, afterId, now, pageable);
+    }
+
     default ParentLocationMapping findByName(String name) {
         throw new UnsupportedOperationException("No field 'name' in ParentLocationMapping");
     }
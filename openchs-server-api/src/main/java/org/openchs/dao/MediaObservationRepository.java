@@ -0,0 +1,50 @@
+package org.openchs.dao;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces one media observation of an individual, enrolment or encounter in place, and touches its audit so that
+ * the change is synced. A value is only replaced while it is still the pending value it was saved with, a later edit
+ * of the observation is never overwritten.
+ */
+@Component
+public class MediaObservationRepository {
+    private static final String REPLACE = "with patched as (" +
+            "update %s set observations = jsonb_set(observations, array[cast(:conceptUuid as text)], to_jsonb(cast(:value as text))) " +
+            "where uuid = :uuid and observations ->> cast(:conceptUuid as text) = :pendingValue " +
+            "returning audit_id) " +
+            "update audit set last_modified_date_time = now() from patched where audit.id = patched.audit_id";
+    private static final String REMOVE = "with patched as (" +
+            "update %s set observations = observations - cast(:conceptUuid as text) " +
+            "where uuid = :uuid and observations ->> cast(:conceptUuid as text) = :pendingValue " +
+            "returning audit_id) " +
+            "update audit set last_modified_date_time = now() from patched where audit.id = patched.audit_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MediaObservationRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param table one of the tables of the entities with observations, never a value from a request
+     * @return the number of rows replaced, 0 when the observation no longer has the pending value
+     */
+    public int replaceValue(String table, String uuid, String conceptUuid, String pendingValue, String value) {
+        return jdbcTemplate.update(String.format(REPLACE, table), parameters(uuid, conceptUuid, pendingValue)
+                .addValue("value", value));
+    }
+
+    public int removeValue(String table, String uuid, String conceptUuid, String pendingValue) {
+        return jdbcTemplate.update(String.format(REMOVE, table), parameters(uuid, conceptUuid, pendingValue));
+    }
+
+    private MapSqlParameterSource parameters(String uuid, String conceptUuid, String pendingValue) {
+        return new MapSqlParameterSource()
+                .addValue("uuid", uuid)
+                .addValue("conceptUuid", conceptUuid)
+                .addValue("pendingValue", pendingValue);
+    }
+}
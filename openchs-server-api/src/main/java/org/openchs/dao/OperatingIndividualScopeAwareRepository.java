@@ -5,16 +5,37 @@ import org.openchs.domain.CHSEntity;
 import org.openchs.domain.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.sql.Timestamp;
+
 @NoRepositoryBean
 public interface OperatingIndividualScopeAwareRepository<T extends CHSEntity> extends JpaSpecificationExecutor<T> {
+    /**
+     * Keyset condition shared by the "...After" queries. Expects the entity alias to be 'e' and the parameters
+     * afterDateTime, afterId and now. Rows are strictly after (afterDateTime, afterId) and not modified after now.
+     * afterDateTime is a Timestamp bound through a cast, so that it keeps the microseconds of the column.
+     */
+    String KEYSET_AFTER_CONDITION = "(e.audit.lastModifiedDateTime > cast(:afterDateTime as timestamp) " +
+            "or (e.audit.lastModifiedDateTime = cast(:afterDateTime as timestamp) and e.id > :afterId)) " +
+            "and e.audit.lastModifiedDateTime <= :now " +
+            "order by e.audit.lastModifiedDateTime asc, e.id asc";
+
     Page<T> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable);
 
     Page<T> findByFacilityIndividualOperatingScope(long facilityId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable);
 
+    /**
+     * Keyset variant of findByCatchmentIndividualOperatingScope. Only the page size of the pageable is used, no count
+     * query is run and hasNext of the slice tells whether there is more to sync.
+     */
+    Slice<T> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    Slice<T> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     default Specification<T> getFilterSpecForOperatingSubjectScope(User user) {
         return (r, q, cb) -> cb.and();
     }
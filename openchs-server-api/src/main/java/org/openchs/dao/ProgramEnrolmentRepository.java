@@ -5,11 +5,13 @@ import org.openchs.domain.Program;
 import org.openchs.domain.ProgramEnrolment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 @Repository
@@ -44,6 +46,14 @@ public interface ProgramEnrolmentRepository extends TransactionalDataRepository<
 
     List<ProgramEnrolment> findByProgram(Program program);
 
+    @Query("select e from ProgramEnrolment e join e.individual i join i.addressLevel a join a.virtualCatchments c " +
+            "where c.id = :catchmentId and " + KEYSET_AFTER_CONDITION)
+    Slice<ProgramEnrolment> findSliceByCatchmentAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
+    @Query("select e from ProgramEnrolment e join e.individual i join i.facility f " +
+            "where f.id = :facilityId and " + KEYSET_AFTER_CONDITION)
+    Slice<ProgramEnrolment> findSliceByFacilityAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable);
+
     @Override
     default Page<ProgramEnrolment> findByCatchmentIndividualOperatingScope(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Pageable pageable) {
         return findByIndividualAddressLevelVirtualCatchmentsIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, lastModifiedDateTime, now, pageable);
@@ -54,6 +64,16 @@ public interface ProgramEnrolmentRepository extends TransactionalDataRepository<
         return findByIndividualFacilityIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(facilityId, lastModifiedDateTime, now, pageable);
     }
 
+    @Override
+    default Slice<ProgramEnrolment> findByCatchmentIndividualOperatingScopeAfter(long catchmentId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByCatchmentAfter(catchmentId, afterDateTime, afterId, now, pageable);
+    }
+
+    @Override
+    default Slice<ProgramEnrolment> findByFacilityIndividualOperatingScopeAfter(long facilityId, Timestamp afterDateTime, Long afterId, DateTime now, Pageable pageable) {
+        return findSliceByFacilityAfter(facilityId, afterDateTime, afterId, now, pageable);
+    }
+
     @Override
     default Page<ProgramEnrolment> findByCatchmentIndividualOperatingScopeAndFilterByType(long catchmentId, DateTime lastModifiedDateTime, DateTime now, Long filter, Pageable pageable) {
         return findByIndividualAddressLevelVirtualCatchmentsIdAndProgramIdAndAuditLastModifiedDateTimeIsBetweenOrderByAuditLastModifiedDateTimeAscIdAsc(catchmentId, filter, lastModifiedDateTime, now, pageable);
@@ -71,6 +91,20 @@ public interface ProgramEnrolmentRepository extends TransactionalDataRepository<
             "and (coalesce(:locationIds, null) is null OR i.addressLevel.id in :locationIds)")
     Page<ProgramEnrolment> findEnrolments(String programUUID, List<Long> locationIds, Pageable pageable);
 
+    @Query("select enl from ProgramEnrolment enl " +
+            "join fetch enl.individual i " +
+            "join fetch i.addressLevel " +
+            "left join fetch i.gender " +
+            "where enl.program.uuid = :programUUID and enl.isVoided = false and " +
+            "i.isVoided = false " +
+            "and (coalesce(:locationIds, null) is null OR i.addressLevel.id in :locationIds) " +
+            "and enl.id > :lastId " +
+            "order by enl.id")
+    List<ProgramEnrolment> findEnrolmentsAfter(String programUUID, List<Long> locationIds, Long lastId, Pageable pageable);
+
+    @Query("select distinct enl from ProgramEnrolment enl left join fetch enl.programEncounters where enl in :enrolments")
+    List<ProgramEnrolment> fetchProgramEncounters(List<ProgramEnrolment> enrolments);
+
     Page<ProgramEnrolment> findByAuditLastModifiedDateTimeIsBetweenAndProgramNameOrderByAuditLastModifiedDateTimeAscIdAsc(
             DateTime lastModifiedDateTime,
             DateTime now,
@@ -0,0 +1,103 @@
+package org.openchs.dao;
+
+/**
+ * Plain SQL projections of the transactional entities for StreamingSyncRepository. Column aliases are the JSON
+ * property names the device already knows from the paged sync resources, including the *UUID links.
+ * Every query aliases the entity as e and its audit as au. individualAlias is the alias of the individual whose
+ * address/facility decides the catchment/facility scope, same as the derived queries of the repositories.
+ */
+public enum StreamingSyncEntity {
+    Individual("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.first_name as \"firstName\", e.last_name as \"lastName\", e.date_of_birth as \"dateOfBirth\", " +
+            "e.date_of_birth_verified as \"dateOfBirthVerified\", e.registration_date as \"registrationDate\", " +
+            "e.observations, e.registration_location as \"registrationLocation\", " +
+            "al.uuid as \"addressUUID\", g.uuid as \"genderUUID\", st.uuid as \"subjectTypeUUID\" " +
+            "from individual e " +
+            "join audit au on au.id = e.audit_id " +
+            "join address_level al on al.id = e.address_id " +
+            "join subject_type st on st.id = e.subject_type_id " +
+            "left join gender g on g.id = e.gender_id ", "e"),
+
+    Encounter("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.name, e.earliest_visit_date_time as \"earliestVisitDateTime\", e.max_visit_date_time as \"maxVisitDateTime\", " +
+            "e.encounter_date_time as \"encounterDateTime\", e.observations, e.cancel_date_time as \"cancelDateTime\", " +
+            "e.cancel_observations as \"cancelObservations\", e.encounter_location as \"encounterLocation\", " +
+            "e.cancel_location as \"cancelLocation\", " +
+            "et.uuid as \"encounterTypeUUID\", i.uuid as \"individualUUID\" " +
+            "from encounter e " +
+            "join audit au on au.id = e.audit_id " +
+            "join encounter_type et on et.id = e.encounter_type_id " +
+            "join individual i on i.id = e.individual_id ", "i"),
+
+    ProgramEnrolment("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.enrolment_date_time as \"enrolmentDateTime\", e.observations, e.program_exit_date_time as \"programExitDateTime\", " +
+            "e.program_exit_observations as \"programExitObservations\", e.enrolment_location as \"enrolmentLocation\", " +
+            "e.exit_location as \"exitLocation\", " +
+            "p.uuid as \"programUUID\", i.uuid as \"individualUUID\", po.uuid as \"programOutcomeUUID\" " +
+            "from program_enrolment e " +
+            "join audit au on au.id = e.audit_id " +
+            "join program p on p.id = e.program_id " +
+            "join individual i on i.id = e.individual_id " +
+            "left join program_outcome po on po.id = e.program_outcome_id ", "i"),
+
+    ProgramEncounter("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.name, e.earliest_visit_date_time as \"earliestVisitDateTime\", e.max_visit_date_time as \"maxVisitDateTime\", " +
+            "e.encounter_date_time as \"encounterDateTime\", e.observations, e.cancel_date_time as \"cancelDateTime\", " +
+            "e.cancel_observations as \"cancelObservations\", e.encounter_location as \"encounterLocation\", " +
+            "e.cancel_location as \"cancelLocation\", " +
+            "et.uuid as \"encounterTypeUUID\", pe.uuid as \"programEnrolmentUUID\" " +
+            "from program_encounter e " +
+            "join audit au on au.id = e.audit_id " +
+            "join encounter_type et on et.id = e.encounter_type_id " +
+            "join program_enrolment pe on pe.id = e.program_enrolment_id " +
+            "join individual i on i.id = pe.individual_id ", "i"),
+
+    Checklist("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.base_date as \"baseDate\", " +
+            "pe.uuid as \"programEnrolmentUUID\", cd.uuid as \"checklistDetailUUID\" " +
+            "from checklist e " +
+            "join audit au on au.id = e.audit_id " +
+            "join program_enrolment pe on pe.id = e.program_enrolment_id " +
+            "join individual i on i.id = pe.individual_id " +
+            "left join checklist_detail cd on cd.id = e.checklist_detail_id ", "i"),
+
+    ChecklistItem("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.completion_date as \"completionDate\", e.observations, " +
+            "c.uuid as \"checklistUUID\", cid.uuid as \"checklistItemDetailUUID\" " +
+            "from checklist_item e " +
+            "join audit au on au.id = e.audit_id " +
+            "join checklist c on c.id = e.checklist_id " +
+            "join program_enrolment pe on pe.id = c.program_enrolment_id " +
+            "join individual i on i.id = pe.individual_id " +
+            "left join checklist_item_detail cid on cid.id = e.checklist_item_detail_id ", "i"),
+
+    IndividualRelationship("select e.id, e.uuid, e.is_voided as \"voided\", e.version, au.last_modified_date_time as \"lastModifiedDateTime\", " +
+            "e.enter_date_time as \"enterDateTime\", e.exit_date_time as \"exitDateTime\", e.exit_observations as \"exitObservations\", " +
+            "irt.uuid as \"relationshipTypeUUID\", i.uuid as \"individualAUUID\", ib.uuid as \"individualBUUID\" " +
+            "from individual_relationship e " +
+            "join audit au on au.id = e.audit_id " +
+            "join individual_relationship_type irt on irt.id = e.relationship_type_id " +
+            "join individual i on i.id = e.individual_a_id " +
+            "join individual ib on ib.id = e.individual_b_id ", "i");
+
+    private static final String WINDOW = "au.last_modified_date_time between :lastModifiedDateTime and :now " +
+            "order by au.last_modified_date_time asc, e.id asc";
+
+    private final String selectAndFrom;
+    private final String individualAlias;
+
+    StreamingSyncEntity(String selectAndFrom, String individualAlias) {
+        this.selectAndFrom = selectAndFrom;
+        this.individualAlias = individualAlias;
+    }
+
+    public String catchmentQuery() {
+        return selectAndFrom +
+                "join virtual_catchment_address_mapping_table vc on vc.addresslevel_id = " + individualAlias + ".address_id " +
+                "where vc.catchment_id = :catchmentId and " + WINDOW;
+    }
+
+    public String facilityQuery() {
+        return selectAndFrom + "where " + individualAlias + ".facility_id = :facilityId and " + WINDOW;
+    }
+}
@@ -0,0 +1,126 @@
+package org.openchs.dao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDate;
+import org.openchs.domain.OperatingIndividualScope;
+import org.openchs.domain.User;
+import org.postgresql.geometric.PGpoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.openchs.domain.OperatingIndividualScope.ByCatchment;
+import static org.openchs.domain.OperatingIndividualScope.ByFacility;
+
+/**
+ * Reads sync data with a forward only server side cursor and writes every row to a JsonGenerator as it arrives,
+ * so memory does not grow with the number of rows. Postgres only uses a cursor for a fetch size inside a transaction.
+ */
+@Component
+public class StreamingSyncRepository {
+    private static final int FETCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public StreamingSyncRepository(DataSource dataSource) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+    }
+
+    @Transactional(readOnly = true)
+    public void stream(StreamingSyncEntity entity, User user, DateTime lastModifiedDateTime, DateTime now, JsonGenerator generator) throws IOException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("lastModifiedDateTime", new Timestamp(lastModifiedDateTime.getMillis()));
+        params.put("now", new Timestamp(now.getMillis()));
+
+        generator.writeStartArray();
+        OperatingIndividualScope scope = user.getOperatingIndividualScope();
+        if (ByCatchment.equals(scope)) {
+            params.put("catchmentId", user.getCatchment().getId());
+            jdbcTemplate.query(entity.catchmentQuery(), params, new JsonRowWriter(generator));
+        } else if (ByFacility.equals(scope)) {
+            params.put("facilityId", user.getFacility().getId());
+            jdbcTemplate.query(entity.facilityQuery(), params, new JsonRowWriter(generator));
+        }
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private static class JsonRowWriter implements RowCallbackHandler {
+        private final JsonGenerator generator;
+
+        JsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            ResultSetMetaData metaData = rs.getMetaData();
+            try {
+                generator.writeStartObject();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    generator.writeFieldName(metaData.getColumnLabel(column));
+                    writeValue(rs, column, metaData);
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new RuntimeException("Client went away while streaming sync data", e);
+            }
+        }
+
+        private void writeValue(ResultSet rs, int column, ResultSetMetaData metaData) throws SQLException, IOException {
+            Object value = rs.getObject(column);
+            if (value == null) {
+                generator.writeNull();
+                return;
+            }
+            if ("jsonb".equals(metaData.getColumnTypeName(column))) {
+                generator.writeRawValue(rs.getString(column));
+                return;
+            }
+            if (value instanceof PGpoint) {
+                PGpoint point = (PGpoint) value;
+                generator.writeStartObject();
+                generator.writeNumberField("x", point.x);
+                generator.writeNumberField("y", point.y);
+                generator.writeEndObject();
+                return;
+            }
+            switch (metaData.getColumnType(column)) {
+                case Types.TIMESTAMP:
+                    generator.writeString(new DateTime(rs.getTimestamp(column).getTime()).toString());
+                    break;
+                case Types.DATE:
+                    generator.writeString(new LocalDate(rs.getDate(column)).toString());
+                    break;
+                case Types.BIT:
+                case Types.BOOLEAN:
+                    generator.writeBoolean(rs.getBoolean(column));
+                    break;
+                case Types.SMALLINT:
+                case Types.INTEGER:
+                case Types.BIGINT:
+                    generator.writeNumber(rs.getLong(column));
+                    break;
+                default:
+                    generator.writeString(value.toString());
+            }
+        }
+    }
+}
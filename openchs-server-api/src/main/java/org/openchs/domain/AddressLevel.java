@@ -33,14 +33,15 @@ public class AddressLevel extends OrganisationAwareEntity {
     @JoinColumn(name = "type_id")
     private AddressLevelType type;
 
+    // Written with the lineage by LocationLineageRepository once the location exists
     @ManyToOne(cascade = {CascadeType.ALL})
-    @JoinColumn(name = "parent_id")
+    @JoinColumn(name = "parent_id", updatable = false)
     private AddressLevel parent;
 
     @OneToMany(mappedBy = "parent")
     private Set<AddressLevel> subLocations = new HashSet<>();
 
-    @Column(unique = true)
+    @Column(unique = true, updatable = false)
     @Type(type = "org.openchs.ltree.LTreeType")
     private String lineage;
 
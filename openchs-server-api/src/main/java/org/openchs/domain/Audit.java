@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.Formula;
 import org.joda.time.DateTime;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -19,7 +20,7 @@ import javax.persistence.*;
 @BatchSize(size = 100)
 public class Audit {
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "tableIdSequence")
     @Column(name = "id", updatable = false, nullable = false)
     @Id
     private Long id;
@@ -44,6 +45,13 @@ public class Audit {
     @LastModifiedDate
     private DateTime lastModifiedDateTime;
 
+    /**
+     * last_modified_date_time as stored, in microseconds since the epoch. The DateTime above only keeps milliseconds.
+     */
+    @JsonIgnore
+    @Formula("round(date_part('epoch', last_modified_date_time) * 1000000)")
+    private Long lastModifiedDateTimeMicros;
+
     public User getCreatedBy() {
         return createdBy;
     }
@@ -76,6 +84,10 @@ public class Audit {
         this.lastModifiedDateTime = lastModifiedDateTime;
     }
 
+    public Long getLastModifiedDateTimeMicros() {
+        return lastModifiedDateTimeMicros;
+    }
+
     public Long getId() {
         return id;
     }
@@ -6,7 +6,7 @@ import java.util.UUID;
 
 @MappedSuperclass
 public class CHSBaseEntity {
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "tableIdSequence")
     @Column(name = "id", updatable = false, nullable = false)
     @Id
     private Long id;
@@ -0,0 +1,31 @@
+package org.openchs.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The search document of an individual, maintained by the database. Mapped apart from Individual so that loading
+ * individuals does not load their search documents.
+ */
+@Entity
+@Immutable
+@Table(name = "individual")
+public class IndividualSearchDocument {
+    @Id
+    private Long id;
+
+    @Column(name = "search_document")
+    private String searchDocument;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSearchDocument() {
+        return searchDocument;
+    }
+}
@@ -1,14 +1,11 @@
 package org.openchs.excel;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFCell;
 import org.joda.time.DateTime;
 import org.joda.time.LocalDate;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.web.request.PeriodRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,68 +29,50 @@ public class ExcelUtil {
             "yyyy-MM-dd",
             "yyyy-MM-dd H:m:s.S",
             "yyyy-MM-dd H:m:s",
+            "yyyy-MM-dd'T'H:m:s.S",
+            "yyyy-MM-dd'T'H:m:s",
             "H:m:s"
     ).map(DateTimeFormat::forPattern).collect(Collectors.toList());
     private static String NAN = "NAN";
     private static DecimalFormat numberToStringFormat = new DecimalFormat("0.####");
 
-    public static String getText(Row row, int cellNum) {
+    public static String getText(ImportRow row, int cellNum) {
         String fatText = ExcelUtil.getFatText(row, cellNum);
         return fatText == null ? null : fatText.replaceAll(" +", " ");
     }
 
-    public static String getFatText(Row row, int cellNum) {
-        Cell cell = row.getCell(cellNum);
-        if (cell == null) return null;
-        String stringCellValue;
-        try {
-            stringCellValue = cell.getStringCellValue();
-        } catch (IllegalStateException e) {
-            if (cell.getCellTypeEnum().equals(CellType.NUMERIC)) {
-                stringCellValue = numberToStringFormat.format(cell.getNumericCellValue());
-            } else {
-                stringCellValue = cell.toString();
-            }
-        }
+    public static String getFatText(ImportRow row, int cellNum) {
+        Object value = row.getValue(cellNum);
+        if (value == null) return null;
+        String stringCellValue = value instanceof Double ? numberToStringFormat.format(value) : toString(value);
         String trimmed = StringUtils.trimWhitespace(stringCellValue);
         return StringUtils.isEmpty(trimmed) ? null : trimmed;
     }
 
-    public static Boolean isFirstCellEmpty(Row row) {
-        try {
-            Cell cell = row.getCell(0);
-            if (cell == null) return true;
-            return cell.getStringCellValue().trim().isEmpty();
-        } catch (NullPointerException ne) {
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    public static String getRawCellValue(Row row, int cellNum) {
-        Cell cell = row.getCell(cellNum);
-        if (cell == null) return null;
-        return ((XSSFCell) cell).getRawValue();
+    public static Boolean isFirstCellEmpty(ImportRow row) {
+        Object value = row.getValue(0);
+        if (value == null) return true;
+        return value instanceof String && ((String) value).trim().isEmpty();
     }
 
     public static Date getDateFromDuration(String durationString, Date referenceDate) {
         return PeriodRequest.fromString(durationString).toDate(new LocalDate(referenceDate)).toDate();
     }
 
-    public static Date getDate(Row row, int cellNum) {
-        Cell cell = row.getCell(cellNum);
+    public static Date getDate(ImportRow row, int cellNum) {
+        Object value = row.getValue(cellNum);
         try {
-            if (cell == null) return null;
-            if (cell.getCellTypeEnum() == CellType.STRING) return getDateFromString(row, cellNum);
-            return cell.getDateCellValue();
+            if (value == null) return null;
+            if (value instanceof String) return getDateFromString(row, cellNum);
+            if (value instanceof Double) return DateUtil.getJavaDate((Double) value, row.isDate1904());
+            throw new IllegalStateException(String.format("Cannot get a date value from %s", value));
         } catch (RuntimeException e) {
-            logger.error(String.format("getDate failed for row_number=%d, cell_number=%d, it contains:%s", row.getRowNum(), cellNum, cell.toString()));
+            logger.error(String.format("getDate failed for row_number=%d, cell_number=%d, it contains:%s", row.getRowNum(), cellNum, value));
             throw e;
         }
     }
 
-    public static Date getDateFromString(Row row, int cellNum) {
+    public static Date getDateFromString(ImportRow row, int cellNum) {
         String text = ExcelUtil.getText(row, cellNum);
         return getDateFromString(text);
     }
@@ -109,51 +88,46 @@ public class ExcelUtil {
         throw new IllegalArgumentException(String.format("Could not format:%s in any date format", text));
     }
 
-    public static Double getNumber(Row row, int cellNum) {
-        Cell cell = row.getCell(cellNum);
+    public static Double getNumber(ImportRow row, int cellNum) {
+        Object value = row.getValue(cellNum);
         DecimalFormat df = new DecimalFormat("#.##");
         try {
-            if (cell == null) return null;
-            String content = CellType.STRING.equals(cell.getCellTypeEnum())
-                    ? cell.getStringCellValue()
-                    : df.format(cell.getNumericCellValue());
-            if (StringUtils.isEmpty(content) || CellType.BLANK.equals(cell.getCellTypeEnum())) return null;
+            if (value == null) return null;
+            if (value instanceof Boolean) throw new IllegalStateException(String.format("Cannot get a numeric value from %s", value));
+            String content = value instanceof String ? (String) value : df.format(value);
+            if (StringUtils.isEmpty(content)) return null;
             return Double.valueOf(content);
         } catch (RuntimeException e) {
             if (NAN.equalsIgnoreCase(ExcelUtil.getFatText(row, cellNum))) {
                 return null;
             }
-            logger.error(String.format("getNumber failed for row_number=%d, cell_number=%d, it contains:%s", row.getRowNum(), cellNum, cell.toString()));
+            logger.error(String.format("getNumber failed for row_number=%d, cell_number=%d, it contains:%s", row.getRowNum(), cellNum, value));
             return null;
         }
     }
 
-    public static Boolean getBoolean(Row row, int cellNum) {
-        Cell cell = row.getCell(cellNum);
-        try {
-            if (cell == null) return null;
-            if (StringUtils.isEmpty(cell.toString())) return null;
-            return cell.getBooleanCellValue();
-        } catch (RuntimeException e) {
-            logger.error(String.format("getBoolean failed for row_number=%d, cell_number=%d, it contains:%s", row.getRowNum(), cellNum, cell.toString()));
-            return null;
-        }
+    public static Boolean getBoolean(ImportRow row, int cellNum) {
+        Object value = row.getValue(cellNum);
+        if (value == null || "".equals(value)) return null;
+        if (value instanceof Boolean) return (Boolean) value;
+        logger.error(String.format("getBoolean failed for row_number=%d, cell_number=%d, it contains:%s", row.getRowNum(), cellNum, value));
+        return null;
     }
 
-    public static Object getValueOfBestType(Row row, int cellNum) {
-        Cell cell = row.getCell(cellNum);
-        if (cell == null) return null;
-
-        switch (cell.getCellTypeEnum().toString()) {
-            case "NUMERIC":
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue();
-                }
-                return ExcelUtil.getNumber(row, cellNum);
-            case "BOOLEAN":
-                return ExcelUtil.getBoolean(row, cellNum);
-            default:
-                return ExcelUtil.getText(row, cellNum);
+    public static Object getValueOfBestType(ImportRow row, int cellNum) {
+        Object value = row.getValue(cellNum);
+        if (value == null) return null;
+        if (value instanceof Double) {
+            return row.isDateFormatted(cellNum) ? DateUtil.getJavaDate((Double) value, row.isDate1904()) : ExcelUtil.getNumber(row, cellNum);
         }
+        if (value instanceof Boolean) {
+            return ExcelUtil.getBoolean(row, cellNum);
+        }
+        return ExcelUtil.getText(row, cellNum);
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Boolean) return (Boolean) value ? "TRUE" : "FALSE";
+        return value.toString();
     }
 }
@@ -1,6 +1,6 @@
 package org.openchs.excel;
 
-import org.apache.poi.ss.usermodel.Row;
+import org.openchs.excel.data.ImportRow;
 import org.springframework.util.StringUtils;
 
 import java.util.HashMap;
@@ -9,7 +9,7 @@ import java.util.Map;
 public class ImportSheetHeader {
     private Map<String, Integer> map = new HashMap<>();
 
-    public ImportSheetHeader(Row row) {
+    public ImportSheetHeader(ImportRow row) {
         for (int i = 0; i < row.getLastCellNum(); i++) {
             String text = ExcelUtil.getText(row, i);
             if (StringUtils.isEmpty(text)) break;
@@ -1,27 +1,106 @@
 package org.openchs.excel.data;
 
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Predicate;
 
+/**
+ * An xlsx read sheet by sheet with the event model of POI, the workbook is never loaded as a whole. The upload is
+ * spooled to a temporary file so that the package is read from the zip entries on disk rather than from memory.
+ */
 public class ImportFile {
-    private final Workbook workbook;
+    private final File file;
+    private final OPCPackage opcPackage;
+    private final XSSFReader reader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
 
     public ImportFile(InputStream inputStream) throws IOException {
-        workbook = new XSSFWorkbook(inputStream);
+        file = File.createTempFile("import", ".xlsx");
+        try {
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            opcPackage = OPCPackage.open(file, PackageAccess.READ);
+            reader = new XSSFReader(opcPackage);
+            sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+            styles = reader.getStylesTable();
+            date1904 = isDate1904(reader);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            file.delete();
+            throw new IOException(String.format("Could not read the workbook: %s", e.getMessage()), e);
+        }
     }
 
+    /**
+     * Null when the workbook has no sheet of the name.
+     */
     public ImportSheet getSheet(String sheetName) {
-        return new ImportSheet(workbook.getSheet(sheetName));
+        try (InputStream sheet = openSheet(sheetName)) {
+            return sheet == null ? null : new ImportSheet(sheetName, this);
+        } catch (IOException | OpenXML4JException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    InputStream openSheet(String sheetName) throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            if (sheets.getSheetName().equals(sheetName)) return sheet;
+            sheet.close();
+        }
+        return null;
+    }
+
+    SheetRowsHandler rowsHandler(Predicate<ImportRow> rowConsumer) {
+        return new SheetRowsHandler(sharedStrings, styles, date1904, rowConsumer);
+    }
+
+    /**
+     * Whether date cells count days from 1904, as workbooks made on older Macs do, read from the workbookPr of the
+     * workbook part.
+     */
+    private static boolean isDate1904(XSSFReader reader) throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLReader xmlReader = SAXHelper.newXMLReader();
+            xmlReader.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if (!"workbookPr".equals(localName)) return;
+                    String value = attributes.getValue("date1904");
+                    date1904[0] = "1".equals(value) || "true".equals(value);
+                }
+            });
+            xmlReader.parse(new InputSource(workbook));
+        }
+        return date1904[0];
     }
 
     public void close() {
         try {
-            workbook.close();
+            opcPackage.revert();
         } catch (Exception e) {
 
+        } finally {
+            file.delete();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package org.openchs.excel.data;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The values of one row of a sheet as read from the sheet xml: String, Double or Boolean by cell, null for blank cells.
+ * Numbers in a date format are marked so that they can be read as dates, counting days from 1904 rather than 1900 when
+ * the workbook says so.
+ */
+public class ImportRow {
+    private final int rowNum;
+    private final boolean date1904;
+    private final List<Object> values = new ArrayList<>();
+    private final BitSet dateFormatted = new BitSet();
+
+    public ImportRow(int rowNum) {
+        this(rowNum, false);
+    }
+
+    public ImportRow(int rowNum, boolean date1904) {
+        this.rowNum = rowNum;
+        this.date1904 = date1904;
+    }
+
+    public int getRowNum() {
+        return rowNum;
+    }
+
+    public int getLastCellNum() {
+        return values.size();
+    }
+
+    public Object getValue(int cellNum) {
+        return cellNum < values.size() ? values.get(cellNum) : null;
+    }
+
+    public boolean isDateFormatted(int cellNum) {
+        return dateFormatted.get(cellNum);
+    }
+
+    public boolean isDate1904() {
+        return date1904;
+    }
+
+    public void setValue(int cellNum, Object value, boolean isDateFormatted) {
+        while (values.size() <= cellNum) values.add(null);
+        values.set(cellNum, value);
+        dateFormatted.set(cellNum, isDateFormatted);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Row %d %s", rowNum, values);
+    }
+}
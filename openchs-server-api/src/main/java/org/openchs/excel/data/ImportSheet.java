@@ -1,33 +1,79 @@
 package org.openchs.excel.data;
 
-
-
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.util.SAXHelper;
 import org.openchs.excel.ExcelUtil;
 import org.openchs.excel.ImportSheetHeader;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+/**
+ * A sheet of an ImportFile. Rows are not kept, every read parses the sheet xml again from the start.
+ */
 public class ImportSheet {
+    private final String sheetName;
+    private final ImportFile importFile;
+    private final ImportRow headerRow;
     private final ImportSheetHeader importSheetHeader;
-    private Sheet xssfSheet;
 
-    public ImportSheet(Sheet xssfSheet) {
-        this.xssfSheet = xssfSheet;
-        Row row = xssfSheet.getRow(0);
-        importSheetHeader = new ImportSheetHeader(row);
+    ImportSheet(String sheetName, ImportFile importFile) {
+        this.sheetName = sheetName;
+        this.importFile = importFile;
+        AtomicReference<ImportRow> firstRow = new AtomicReference<>(new ImportRow(0));
+        read(row -> {
+            firstRow.set(row);
+            return false;
+        });
+        headerRow = firstRow.get();
+        importSheetHeader = new ImportSheetHeader(headerRow);
     }
 
-    public int getNumberOfDataRows() {
-        return xssfSheet.getPhysicalNumberOfRows() - 1;
-    }
-
-    public Row getDataRow(int rowIndex) {
-        Row row = xssfSheet.getRow(rowIndex + 1);
-        if (row == null) return null;
-        return ExcelUtil.isFirstCellEmpty(row)? null: row;
+    public ImportRow getHeaderRow() {
+        return headerRow;
     }
 
     public ImportSheetHeader getHeader() {
         return importSheetHeader;
     }
-}
\ No newline at end of file
+
+    /**
+     * Rows after the header in sheet order, rows with an empty first cell are skipped.
+     */
+    public void forEachDataRow(Consumer<ImportRow> rowConsumer) {
+        forEachDataRow(null, rowConsumer);
+    }
+
+    /**
+     * As forEachDataRow, stopping the read after maxNumberOfRows rows when it is not null.
+     */
+    public void forEachDataRow(Integer maxNumberOfRows, Consumer<ImportRow> rowConsumer) {
+        AtomicInteger numberOfRows = new AtomicInteger(0);
+        read(row -> {
+            if (row.getRowNum() == headerRow.getRowNum() || ExcelUtil.isFirstCellEmpty(row)) return true;
+            if (maxNumberOfRows != null && numberOfRows.get() >= maxNumberOfRows) return false;
+            rowConsumer.accept(row);
+            numberOfRows.incrementAndGet();
+            return true;
+        });
+    }
+
+    private void read(Predicate<ImportRow> rowConsumer) {
+        try (InputStream sheet = importFile.openSheet(sheetName)) {
+            XMLReader xmlReader = SAXHelper.newXMLReader();
+            xmlReader.setContentHandler(importFile.rowsHandler(rowConsumer));
+            xmlReader.parse(new InputSource(sheet));
+        } catch (SheetRowsHandler.StopReading ignored) {
+        } catch (IOException | SAXException | OpenXML4JException | ParserConfigurationException e) {
+            throw new RuntimeException(String.format("Could not read sheet %s: %s", sheetName, e.getMessage()), e);
+        }
+    }
+}
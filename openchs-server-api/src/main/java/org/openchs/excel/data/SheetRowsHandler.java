@@ -0,0 +1,108 @@
+package org.openchs.excel.data;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.function.Predicate;
+
+/**
+ * Turns the rows of a sheet xml into ImportRows as the parser reaches them, only the row being read is held. Parsing
+ * stops with a StopReading once the consumer answers false.
+ */
+class SheetRowsHandler extends DefaultHandler {
+    static class StopReading extends SAXException {
+    }
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final Predicate<ImportRow> rowConsumer;
+    private final StringBuilder text = new StringBuilder();
+
+    private ImportRow row;
+    private int nextRowNum;
+    private int cellNum;
+    private String cellType;
+    private String cellStyle;
+    private boolean readingText;
+
+    SheetRowsHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, boolean date1904, Predicate<ImportRow> rowConsumer) {
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.date1904 = date1904;
+        this.rowConsumer = rowConsumer;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+            case "row":
+                String rowReference = attributes.getValue("r");
+                int rowNum = rowReference == null ? nextRowNum : Integer.parseInt(rowReference) - 1;
+                row = new ImportRow(rowNum, date1904);
+                nextRowNum = rowNum + 1;
+                cellNum = -1;
+                break;
+            case "c":
+                String cellReference = attributes.getValue("r");
+                cellNum = cellReference == null ? cellNum + 1 : new CellReference(cellReference).getCol();
+                cellType = attributes.getValue("t");
+                cellStyle = attributes.getValue("s");
+                text.setLength(0);
+                break;
+            case "v":
+            case "t":
+                readingText = true;
+                break;
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (readingText) text.append(ch, start, length);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (localName) {
+            case "v":
+            case "t":
+                readingText = false;
+                break;
+            case "c":
+                setCellValue();
+                break;
+            case "row":
+                if (!rowConsumer.test(row)) throw new StopReading();
+                row = null;
+                break;
+        }
+    }
+
+    private void setCellValue() {
+        if (row == null) return;
+        String content = text.toString();
+        if ("s".equals(cellType)) {
+            row.setValue(cellNum, sharedStrings.getEntryAt(Integer.parseInt(content)), false);
+        } else if ("inlineStr".equals(cellType) || "str".equals(cellType) || "e".equals(cellType) || "d".equals(cellType)) {
+            row.setValue(cellNum, content, false);
+        } else if ("b".equals(cellType)) {
+            row.setValue(cellNum, "1".equals(content), false);
+        } else if (!content.isEmpty()) {
+            double number = Double.parseDouble(content);
+            row.setValue(cellNum, number, DateUtil.isValidExcelDate(number) && isDateStyle());
+        }
+    }
+
+    private boolean isDateStyle() {
+        if (cellStyle == null || styles == null) return false;
+        XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(cellStyle));
+        return style != null && style.getDataFormatString() != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+    }
+}
@@ -1,8 +1,8 @@
 package org.openchs.excel.metadata;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.openchs.excel.ExcelUtil;
 import org.openchs.excel.ImportSheetHeader;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.util.Mappings;
 
 import java.util.Arrays;
@@ -75,7 +75,7 @@ public class ImportCalculatedField implements ImportField {
     }
 
     @Override
-    public String getTextValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public String getTextValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         int position = importSheetHeader.getPosition(sourceUserField);
         if (position == -1) return null;
         String text = ExcelUtil.getText(row, position);
@@ -83,7 +83,7 @@ public class ImportCalculatedField implements ImportField {
     }
 
     @Override
-    public Double getDoubleValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Double getDoubleValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         int position = importSheetHeader.getPosition(sourceUserField);
         if (position == -1) return null;
         String text = find(ExcelUtil.getFatText(row, position));
@@ -95,12 +95,12 @@ public class ImportCalculatedField implements ImportField {
     }
 
     @Override
-    public Date getDateValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Date getDateValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         throw new UnsupportedOperationException();
     }
 
     @Override
-    public Boolean getBooleanValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Boolean getBooleanValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         throw new UnsupportedOperationException();
     }
 
@@ -1,8 +1,8 @@
 package org.openchs.excel.metadata;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.openchs.excel.ImportSheetHeader;
 import org.openchs.excel.TextToType;
+import org.openchs.excel.data.ImportRow;
 
 import java.util.Date;
 
@@ -28,7 +28,7 @@ public class ImportDefaultField implements ImportField {
     }
 
     @Override
-    public String getTextValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public String getTextValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         if (defaultValue instanceof Double) {
             return String.valueOf(((Double) defaultValue).intValue());
         }
@@ -36,17 +36,17 @@ public class ImportDefaultField implements ImportField {
     }
 
     @Override
-    public Date getDateValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Date getDateValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         return (Date) defaultValue;
     }
 
     @Override
-    public Double getDoubleValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Double getDoubleValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         return (Double) defaultValue;
     }
 
     @Override
-    public Boolean getBooleanValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Boolean getBooleanValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         if (defaultValue instanceof Boolean) return (Boolean) defaultValue;
         else if (defaultValue instanceof String) return TextToType.toBoolean((String) defaultValue);
         throw new RuntimeException(String.format("%s cannot be converted into boolean", defaultValue));
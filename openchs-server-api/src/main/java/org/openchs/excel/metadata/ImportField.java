@@ -1,18 +1,18 @@
 package org.openchs.excel.metadata;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.openchs.excel.ImportSheetHeader;
+import org.openchs.excel.data.ImportRow;
 
 import java.util.Date;
 
 public interface ImportField {
     String getSystemFieldName();
-    String getTextValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
+    String getTextValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
 
-    Double getDoubleValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
+    Double getDoubleValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
 
-    Date getDateValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
-    Boolean getBooleanValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
+    Date getDateValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
+    Boolean getBooleanValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData);
 
     Boolean doIgnoreMissingAnswers();
 }
@@ -1,9 +1,9 @@
 package org.openchs.excel.metadata;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.openchs.application.FormType;
 import org.openchs.excel.ExcelUtil;
 import org.openchs.excel.ImportSheetHeader;
+import org.openchs.excel.data.ImportRow;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -54,13 +54,13 @@ public class ImportNonCalculatedField implements ImportField {
     }
 
     @Override
-    public String getTextValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public String getTextValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         int position = getPosition(importSheetHeader);
         return position == -1 ? null : ExcelUtil.getText(row, position);
     }
 
     @Override
-    public Double getDoubleValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Double getDoubleValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         int position = getPosition(importSheetHeader);
         return position == -1 ? null : ExcelUtil.getNumber(row, position);
     }
@@ -70,7 +70,7 @@ public class ImportNonCalculatedField implements ImportField {
     }
 
     @Override
-    public Date getDateValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Date getDateValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         int position = getPosition(importSheetHeader);
         return position == -1 ? null : ExcelUtil.getDate(row, position);
     }
@@ -80,7 +80,7 @@ public class ImportNonCalculatedField implements ImportField {
     }
 
     @Override
-    public Boolean getBooleanValue(Row row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
+    public Boolean getBooleanValue(ImportRow row, ImportSheetHeader importSheetHeader, ImportSheetMetaData importSheetMetaData) {
         int position = getPosition(importSheetHeader);
         if (position == -1) {
             return false;
@@ -5,6 +5,8 @@ import org.openchs.dao.LocationRepository;
 import org.openchs.dao.ProgramEnrolmentRepository;
 import org.openchs.domain.AddressLevel;
 import org.openchs.domain.CHSBaseEntity;
+import org.openchs.domain.Individual;
+import org.openchs.domain.ProgramEnrolment;
 import org.openchs.framework.security.AuthService;
 import org.openchs.service.ExportS3Service;
 import org.springframework.batch.core.Job;
@@ -14,8 +16,6 @@ import org.springframework.batch.core.configuration.annotation.JobBuilderFactory
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
-import org.springframework.batch.item.data.RepositoryItemReader;
-import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,10 +23,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
-import org.springframework.data.domain.Sort;
 
 import java.io.File;
-import java.util.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -78,7 +79,7 @@ public class ExportBatchConfiguration {
     }
 
     @Bean
-    public Step step1(RepositoryItemReader<Object> reader,
+    public Step step1(KeysetItemReader<? extends CHSBaseEntity> reader,
                       ExportProcessor exportProcessor,
                       FlatFileItemWriter<ExportItemRow> fileWriter) {
         return stepBuilderFactory.get("step1").<Object, ExportItemRow>chunk(CHUNK_SIZE)
@@ -105,11 +106,11 @@ public class ExportBatchConfiguration {
 
     @Bean
     @StepScope
-    public RepositoryItemReader<Object> reader(@Value("#{jobParameters['userId']}") Long userId,
-                                               @Value("#{jobParameters['organisationUUID']}") String organisationUUID,
-                                               @Value("#{jobParameters['programUUID']}") String programUUID,
-                                               @Value("#{jobParameters['subjectTypeUUID']}") String subjectTypeUUID,
-                                               @Value("#{jobParameters['addressIds']}") String addressIds) {
+    public KeysetItemReader<? extends CHSBaseEntity> reader(@Value("#{jobParameters['userId']}") Long userId,
+                                                            @Value("#{jobParameters['organisationUUID']}") String organisationUUID,
+                                                            @Value("#{jobParameters['programUUID']}") String programUUID,
+                                                            @Value("#{jobParameters['subjectTypeUUID']}") String subjectTypeUUID,
+                                                            @Value("#{jobParameters['addressIds']}") String addressIds) {
         authService.authenticateByUserId(userId, organisationUUID);
         List<Long> locationIds = addressIds.isEmpty() ? Collections.emptyList() : Arrays.stream(addressIds.split(",")).map(Long::valueOf).collect(Collectors.toList());
         List<AddressLevel> selectedAddressLevels = locationRepository.findAllById(locationIds);
@@ -120,35 +121,16 @@ public class ExportBatchConfiguration {
                 .map(CHSBaseEntity::getId)
                 .collect(Collectors.toList());
 
-        final Map<String, Sort.Direction> sorts = new HashMap<>();
-        sorts.put("id", Sort.Direction.ASC);
         List<Long> addressParam = selectedAddressIds.isEmpty() ? null : selectedAddressIds;
         if (programUUID != null) {
-            List<Object> params = new ArrayList<>();
-            params.add(programUUID);
-            params.add(addressParam);
-            return new RepositoryItemReaderBuilder<Object>()
-                    .name("reader")
-                    .repository(programEnrolmentRepository)
-                    .methodName("findEnrolments")
-                    .arguments(params)
-                    .pageSize(CHUNK_SIZE)
-                    .sorts(sorts)
-                    .build();
+            return new KeysetItemReader<ProgramEnrolment>("reader", CHUNK_SIZE,
+                    (lastId, pageable) -> programEnrolmentRepository.findEnrolmentsAfter(programUUID, addressParam, lastId, pageable),
+                    programEnrolmentRepository::fetchProgramEncounters);
         } else {
-            List<Object> params = new ArrayList<>();
-            params.add(subjectTypeUUID);
-            params.add(addressParam);
-            return new RepositoryItemReaderBuilder<Object>()
-                    .name("reader")
-                    .repository(individualRepository)
-                    .methodName("findIndividuals")
-                    .arguments(params)
-                    .pageSize(CHUNK_SIZE)
-                    .sorts(sorts)
-                    .build();
+            return new KeysetItemReader<Individual>("reader", CHUNK_SIZE,
+                    (lastId, pageable) -> individualRepository.findIndividualsAfter(subjectTypeUUID, addressParam, lastId, pageable),
+                    individualRepository::fetchEncounters);
         }
-
     }
 
     private Stream<AddressLevel> findLowestAddresses(AddressLevel selectedAddress, List<AddressLevel> allAddresses) {
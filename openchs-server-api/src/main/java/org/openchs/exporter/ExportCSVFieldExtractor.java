@@ -60,6 +60,8 @@ public class ExportCSVFieldExtractor implements FieldExtractor<ExportItemRow>, F
     private LinkedHashMap<String, FormElement> encounterMap = new LinkedHashMap<>();
     private LinkedHashMap<String, FormElement> encounterCancelMap = new LinkedHashMap<>();
     private List<String> addressLevelTypes = new ArrayList<>();
+    // Subjects share few addresses, each address walks its parents once per export
+    private final Map<Long, List<String>> addressColumns = new HashMap<>();
     private String encounterTypeName;
     private Long maxVisitCount = 0L;
     private FormMappingService formMappingService;
@@ -276,8 +278,10 @@ public class ExportCSVFieldExtractor implements FieldExtractor<ExportItemRow>, F
     }
 
     private void addAddressLevels(List<Object> row, AddressLevel addressLevel) {
-        Map<String, String> addressLevelMap = getAddressTypeAddressLevelMap(addressLevel, addressLevel.getParentLocationMapping());
-        this.addressLevelTypes.forEach(level -> row.add(addressLevelMap.getOrDefault(level, "")));
+        row.addAll(addressColumns.computeIfAbsent(addressLevel.getId(), id -> {
+            Map<String, String> addressLevelMap = getAddressTypeAddressLevelMap(addressLevel, addressLevel.getParentLocationMapping());
+            return this.addressLevelTypes.stream().map(level -> addressLevelMap.getOrDefault(level, "")).collect(Collectors.toList());
+        }));
     }
 
     private Map<String, String> getAddressTypeAddressLevelMap(AddressLevel addressLevel, ParentLocationMapping parentLocationMapping) {
@@ -0,0 +1,42 @@
+package org.openchs.exporter;
+
+import org.openchs.domain.CHSBaseEntity;
+import org.springframework.batch.item.data.AbstractPaginatedDataItemReader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Reads entities in pages ordered by id, each page starting after the last id of the page before. Every page is an
+ * index range scan however far into the export it is, where OFFSET paging reads and throws away all the rows before
+ * the page. Each page is passed to pageLoaded before it is read, to fetch what the processor and writer will need for
+ * the whole page in a few queries.
+ * <p>
+ * Pages should be as large as the chunks, so that a page is read in the transaction of the chunk that uses it.
+ */
+public class KeysetItemReader<T extends CHSBaseEntity> extends AbstractPaginatedDataItemReader<T> {
+    private final BiFunction<Long, Pageable, List<T>> pageAfter;
+    private final Consumer<List<T>> pageLoaded;
+    private long lastId = 0;
+
+    public KeysetItemReader(String name, int pageSize, BiFunction<Long, Pageable, List<T>> pageAfter, Consumer<List<T>> pageLoaded) {
+        this.pageAfter = pageAfter;
+        this.pageLoaded = pageLoaded;
+        setName(name);
+        setPageSize(pageSize);
+    }
+
+    @Override
+    protected Iterator<T> doPageRead() {
+        List<T> entities = pageAfter.apply(lastId, PageRequest.of(0, pageSize));
+        if (!entities.isEmpty()) {
+            lastId = entities.get(entities.size() - 1).getId();
+            pageLoaded.accept(entities);
+        }
+        return entities.iterator();
+    }
+}
@@ -1,19 +1,51 @@
 package org.openchs.framework.hibernate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.usertype.UserType;
+import org.postgresql.util.PGobject;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.*;
 
+/**
+ * Maps a jsonb column to a Map or List subclass, or to a bean, through Jackson. Hibernate copies the value on every
+ * load, cache put and merge, so values made of maps, lists and immutable scalars, which is what Jackson reads JSON
+ * into, are copied structure by structure. Other values are copied by writing and reading them back as JSON.
+ */
 public abstract class AbstractJsonbUserType implements UserType {
     public final static ObjectMapper mapper = new ObjectMapper();
 
+    private static final Object NOT_STRUCTURAL = new Object();
+    private static final Set<Class<?>> IMMUTABLE_SCALARS = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class));
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Constructor<?> constructor;
+
+    protected AbstractJsonbUserType() {
+        this.reader = mapper.readerFor(returnedClass());
+        this.writer = mapper.writerFor(returnedClass());
+        try {
+            this.constructor = returnedClass().getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(returnedClass() + " needs a public no argument constructor", e);
+        }
+    }
+
     @Override
     public int[] sqlTypes() {
         return new int[]{Types.JAVA_OBJECT};
@@ -27,9 +59,9 @@ public abstract class AbstractJsonbUserType implements UserType {
             return null;
         }
         try {
-            return mapper.readValue(cellContent.getBytes("UTF-8"), returnedClass());
-        } catch (final Exception ex) {
-            throw new RuntimeException("Failed to convert String to Invoice: " + ex.getMessage(), ex);
+            return reader.readValue(cellContent);
+        } catch (final IOException ex) {
+            throw new HibernateException(String.format("Failed to read %s from %s: %s", returnedClass().getSimpleName(), names[0], ex.getMessage()), ex);
         }
     }
 
@@ -41,33 +73,67 @@ public abstract class AbstractJsonbUserType implements UserType {
             return;
         }
         try {
-            final StringWriter w = new StringWriter();
-            mapper.writeValue(w, value);
-            w.flush();
-            ps.setObject(idx, w.toString(), Types.OTHER);
-        } catch (final Exception ex) {
-            throw new RuntimeException("Failed to convert Invoice to String: " + ex.getMessage(), ex);
+            PGobject jsonb = new PGobject();
+            jsonb.setType("jsonb");
+            jsonb.setValue(writer.writeValueAsString(value));
+            ps.setObject(idx, jsonb);
+        } catch (final IOException ex) {
+            throw new HibernateException(String.format("Failed to write %s: %s", returnedClass().getSimpleName(), ex.getMessage()), ex);
         }
     }
 
     @Override
     public Object deepCopy(final Object value) throws HibernateException {
+        if (value == null) {
+            return null;
+        }
         try {
-            // use serialization to create a deep copy
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            ObjectOutputStream oos = new ObjectOutputStream(bos);
-            oos.writeObject(value);
-            oos.flush();
-            oos.close();
-            bos.close();
-
-            ByteArrayInputStream bais = new ByteArrayInputStream(bos.toByteArray());
-            return new ObjectInputStream(bais).readObject();
-        } catch (ClassNotFoundException | IOException ex) {
+            Object copy = copyContainer(value, constructor.newInstance());
+            if (copy != NOT_STRUCTURAL) {
+                return copy;
+            }
+            return reader.readValue(writer.writeValueAsBytes(value));
+        } catch (ReflectiveOperationException | IOException ex) {
             throw new HibernateException(ex);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static Object copyContainer(Object value, Object empty) {
+        if (value instanceof Map && empty instanceof Map) {
+            Map<Object, Object> copy = (Map<Object, Object>) empty;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Object copiedValue = copy(entry.getValue());
+                if (copiedValue == NOT_STRUCTURAL) return NOT_STRUCTURAL;
+                copy.put(entry.getKey(), copiedValue);
+            }
+            return copy;
+        }
+        if (value instanceof List && empty instanceof List) {
+            List<Object> copy = (List<Object>) empty;
+            for (Object element : (List<?>) value) {
+                Object copiedElement = copy(element);
+                if (copiedElement == NOT_STRUCTURAL) return NOT_STRUCTURAL;
+                copy.add(copiedElement);
+            }
+            return copy;
+        }
+        return NOT_STRUCTURAL;
+    }
+
+    private static Object copy(Object value) {
+        if (value == null || value instanceof Enum || IMMUTABLE_SCALARS.contains(value.getClass())) {
+            return value;
+        }
+        if (value instanceof Map) {
+            return copyContainer(value, new LinkedHashMap<>(Math.max(4, ((Map<?, ?>) value).size() * 4 / 3 + 1)));
+        }
+        if (value instanceof List) {
+            return copyContainer(value, new ArrayList<>(((List<?>) value).size()));
+        }
+        return NOT_STRUCTURAL;
+    }
+
     @Override
     public boolean isMutable() {
         return true;
@@ -100,4 +166,4 @@ public abstract class AbstractJsonbUserType implements UserType {
     public int hashCode(final Object obj) throws HibernateException {
         return obj.hashCode();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package org.openchs.framework.hibernate;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Ids from the sequence behind the serial id column of the table (table_id_seq), handed out from blocks of
+ * increment_size ids taken with a single nextval. The id of an entity is then known before it is inserted, which lets
+ * Hibernate batch the inserts.
+ * <p>
+ * The blocks start at the value nextval returns (pooled-lo), so rows inserted with the column default keep working as
+ * long as the sequence is incremented by increment_size. pool_id_sequences() in afterMigrate.sql keeps it so.
+ */
+public class TableIdSequenceGenerator extends SequenceStyleGenerator {
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Properties sequenceParams = new Properties();
+        sequenceParams.putAll(params);
+        sequenceParams.putIfAbsent(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + "_id_seq");
+        sequenceParams.putIfAbsent(INCREMENT_PARAM, String.valueOf(DEFAULT_INCREMENT_SIZE));
+        sequenceParams.putIfAbsent(OPT_PARAM, "pooled-lo");
+        super.configure(type, sequenceParams, serviceRegistry);
+    }
+}
@@ -7,5 +7,6 @@
         @org.hibernate.annotations.TypeDef(name = "jsonObject", typeClass = JSONObjectUserType.class),
         @org.hibernate.annotations.TypeDef(name = "ruledEntity", typeClass = RuledEntityUserType.class)
 })
+@org.hibernate.annotations.GenericGenerator(name = "tableIdSequence", strategy = "org.openchs.framework.hibernate.TableIdSequenceGenerator")
 
 package org.openchs.framework.hibernate;
\ No newline at end of file
@@ -31,13 +31,15 @@ public class AuthService {
     private UserRepository userRepository;
     private OrganisationRepository organisationRepository;
     private AccountAdminRepository accountAdminRepository;
+    private UserContextCache userContextCache;
 
     @Autowired
-    public AuthService(CognitoAuthService cognitoAuthService, UserRepository userRepository, OrganisationRepository organisationRepository, AccountAdminRepository accountAdminRepository) {
+    public AuthService(CognitoAuthService cognitoAuthService, UserRepository userRepository, OrganisationRepository organisationRepository, AccountAdminRepository accountAdminRepository, UserContextCache userContextCache) {
         this.cognitoAuthService = cognitoAuthService;
         this.userRepository = userRepository;
         this.organisationRepository = organisationRepository;
         this.accountAdminRepository = accountAdminRepository;
+        this.userContextCache = userContextCache;
     }
 
     public UserContext authenticateByUserName(String username, String organisationUUID) {
@@ -67,17 +69,13 @@ public class AuthService {
         if (user == null) {
             return null;
         }
-        List<AccountAdmin> accountAdmins = accountAdminRepository.findByUser_Id(user.getId());
-        user.setAdmin(accountAdmins.size() > 0);
-        Organisation organisation = null;
+        UserContextCache.AuthorisationSnapshot snapshot = userContextCache.get(user.getId(), organisationUUID, () -> loadAuthorisation(user, organisationUUID));
+        user.setAdmin(snapshot.isAdmin());
         if (user.isAdmin() && organisationUUID != null) {
             user.setOrgAdmin(true);
-            organisation = organisationRepository.findByUuid(organisationUUID);
-        } else if (user.getOrganisationId() != null) {
-            organisation = organisationRepository.findOne(user.getOrganisationId());
         }
         userContext.setUser(user);
-        userContext.setOrganisation(organisation);
+        userContext.setOrganisation(snapshot.getOrganisation());
         userContext.setOrganisationUUID(organisationUUID);
 
         List<SimpleGrantedAuthority> authorities = ALL_AUTHORITIES.stream()
@@ -88,6 +86,18 @@ public class AuthService {
         return createTempAuth(authorities);
     }
 
+    private UserContextCache.AuthorisationSnapshot loadAuthorisation(User user, String organisationUUID) {
+        List<AccountAdmin> accountAdmins = accountAdminRepository.findByUser_Id(user.getId());
+        boolean isAdmin = accountAdmins.size() > 0;
+        Organisation organisation = null;
+        if (isAdmin && organisationUUID != null) {
+            organisation = organisationRepository.findByUuid(organisationUUID);
+        } else if (user.getOrganisationId() != null) {
+            organisation = organisationRepository.findOne(user.getOrganisationId());
+        }
+        return new UserContextCache.AuthorisationSnapshot(isAdmin, organisation);
+    }
+
     private UserContext changeUser(User user, String organisationUUID) {
         SecurityContextHolder.getContext().setAuthentication(attemptAuthentication(user, organisationUUID));
         return UserContextHolder.getUserContext();
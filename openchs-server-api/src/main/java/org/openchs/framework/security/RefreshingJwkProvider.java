@@ -0,0 +1,55 @@
+package org.openchs.framework.security;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.net.URL;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the signing keys of a JWKS url in memory. A key older than refreshAfter is re-fetched by the first request
+ * that needs it while other requests keep using the old key, and a key is dropped completely after expireAfter, so a
+ * rotated key pool is picked up without every request going to the JWKS url.
+ */
+public class RefreshingJwkProvider implements JwkProvider {
+    private static final int MAX_KEYS = 10;
+
+    private final LoadingCache<String, Jwk> keys;
+
+    public RefreshingJwkProvider(URL jwksUrl, long refreshAfter, long expireAfter, TimeUnit unit) {
+        JwkProvider urlJwkProvider = new UrlJwkProvider(jwksUrl);
+        this.keys = CacheBuilder.newBuilder()
+                .maximumSize(MAX_KEYS)
+                .refreshAfterWrite(refreshAfter, unit)
+                .expireAfterWrite(expireAfter, unit)
+                .build(new CacheLoader<String, Jwk>() {
+                    @Override
+                    public Jwk load(String keyId) throws Exception {
+                        return urlJwkProvider.get(keyId);
+                    }
+                });
+    }
+
+    @Override
+    public Jwk get(String keyId) throws JwkException {
+        if (keyId == null) {
+            throw new SigningKeyNotFoundException("Token does not specify a kid", null);
+        }
+        try {
+            return keys.get(keyId);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof JwkException) {
+                throw (JwkException) e.getCause();
+            }
+            throw new SigningKeyNotFoundException("Failed to get key with kid " + keyId, e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.openchs.framework.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.openchs.domain.Organisation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers, per user id and requested organisation UUID, whether the user is an account admin and which
+ * organisation the request runs in. These are read on every request by AuthService, but change only through the
+ * user, organisation and account admin screens, which call the invalidate methods. Inside a transaction these evict
+ * after it commits, so that a request running meanwhile cannot cache the rows as they were before the change. The TTL
+ * bounds staleness for changes made directly in the database. A TTL of 0 turns the cache off.
+ * The User itself is not cached, it is a managed entity with lazy collections and is mutated per request.
+ */
+@Component
+public class UserContextCache {
+    private final Cache<Key, AuthorisationSnapshot> snapshots;
+
+    @Autowired
+    public UserContextCache(@Value("${openchs.userContextCache.ttlSeconds:60}") long ttlSeconds,
+                            @Value("${openchs.userContextCache.maxSize:10000}") long maxSize,
+                            MeterRegistry meterRegistry) {
+        this.snapshots = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, snapshots, "userContext");
+    }
+
+    public AuthorisationSnapshot get(Long userId, String organisationUUID, Supplier<AuthorisationSnapshot> loader) {
+        try {
+            return snapshots.get(new Key(userId, organisationUUID), loader::get);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    public void invalidateUser(Long userId) {
+        afterCommit(() -> snapshots.asMap().keySet().removeIf(key -> Objects.equals(key.userId, userId)));
+    }
+
+    public void invalidateOrganisation(Long organisationId) {
+        afterCommit(() -> snapshots.asMap().values().removeIf(snapshot -> snapshot.getOrganisation() != null
+                && Objects.equals(snapshot.getOrganisation().getId(), organisationId)));
+    }
+
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    public static class AuthorisationSnapshot {
+        private final boolean admin;
+        private final Organisation organisation;
+
+        public AuthorisationSnapshot(boolean admin, Organisation organisation) {
+            this.admin = admin;
+            this.organisation = organisation;
+        }
+
+        public boolean isAdmin() {
+            return admin;
+        }
+
+        public Organisation getOrganisation() {
+            return organisation;
+        }
+    }
+
+    private static class Key {
+        private final Long userId;
+        private final String organisationUUID;
+
+        Key(Long userId, String organisationUUID) {
+            this.userId = userId;
+            this.organisationUUID = organisationUUID;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(organisationUUID, key.organisationUUID);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, organisationUUID);
+        }
+    }
+}
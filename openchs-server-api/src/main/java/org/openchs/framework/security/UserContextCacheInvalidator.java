@@ -0,0 +1,47 @@
+package org.openchs.framework.security;
+
+import org.openchs.domain.AccountAdmin;
+import org.openchs.domain.Organisation;
+import org.openchs.domain.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes through the exported repositories of account admins, users and organisations do not pass through the
+ * controllers, so they evict UserContextCache here.
+ */
+@Component
+@RepositoryEventHandler
+public class UserContextCacheInvalidator {
+    private final UserContextCache userContextCache;
+
+    @Autowired
+    public UserContextCacheInvalidator(UserContextCache userContextCache) {
+        this.userContextCache = userContextCache;
+    }
+
+    @HandleAfterCreate
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onAccountAdminChange(AccountAdmin accountAdmin) {
+        if (accountAdmin.getUser() != null) {
+            userContextCache.invalidateUser(accountAdmin.getUser().getId());
+        }
+    }
+
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onUserChange(User user) {
+        userContextCache.invalidateUser(user.getId());
+    }
+
+    @HandleAfterSave
+    @HandleAfterDelete
+    public void onOrganisationChange(Organisation organisation) {
+        userContextCache.invalidateOrganisation(organisation.getId());
+    }
+}
@@ -0,0 +1,86 @@
+package org.openchs.framework.sync;
+
+import org.joda.time.DateTime;
+import org.openchs.domain.CHSEntity;
+import org.openchs.util.BadRequestError;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque position in a keyset ordered sync feed. The feed is ordered by (audit.last_modified_date_time, id), so the
+ * position is the pair of the last row handed to the client. Clients should treat the encoded value as opaque.
+ * <p>
+ * last_modified_date_time is stored with microseconds, the position keeps them so that rows modified within the same
+ * millisecond are neither handed out twice nor skipped.
+ */
+public class SyncContinuationToken {
+    private static final String SEPARATOR = ":";
+
+    private static final long MICROS_PER_SECOND = 1000000;
+
+    private final long lastModifiedMicros;
+    private final long id;
+
+    public SyncContinuationToken(long lastModifiedMicros, long id) {
+        this.lastModifiedMicros = lastModifiedMicros;
+        this.id = id;
+    }
+
+    /**
+     * Position before the first row modified at or after lastModifiedDateTime. Ids start at 1, hence 0.
+     */
+    public static SyncContinuationToken start(DateTime lastModifiedDateTime) {
+        return new SyncContinuationToken(lastModifiedDateTime.getMillis() * 1000, 0);
+    }
+
+    public static SyncContinuationToken decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR);
+            return new SyncContinuationToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestError("Invalid continuation token '%s'", token);
+        }
+    }
+
+    public static SyncContinuationToken fromToken(String token, DateTime lastModifiedDateTime) {
+        return token == null || token.isEmpty() ? start(lastModifiedDateTime) : decode(token);
+    }
+
+    /**
+     * Token to continue after the given slice, or null when the slice is the last one.
+     */
+    public static <T extends CHSEntity> String next(Slice<T> slice) {
+        if (!slice.hasNext()) return null;
+        List<T> content = slice.getContent();
+        T last = content.get(content.size() - 1);
+        Long lastModifiedMicros = last.getAudit().getLastModifiedDateTimeMicros();
+        return new SyncContinuationToken(lastModifiedMicros == null ? last.getLastModifiedDateTime().getMillis() * 1000 : lastModifiedMicros, last.getId()).encode();
+    }
+
+    public String encode() {
+        String raw = lastModifiedMicros + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * To be bound as is, a DateTime parameter would lose the microseconds.
+     */
+    public Timestamp getLastModifiedDateTime() {
+        Timestamp timestamp = new Timestamp(Math.floorDiv(lastModifiedMicros, MICROS_PER_SECOND) * 1000);
+        timestamp.setNanos((int) Math.floorMod(lastModifiedMicros, MICROS_PER_SECOND) * 1000);
+        return timestamp;
+    }
+
+    public long getLastModifiedMicros() {
+        return lastModifiedMicros;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
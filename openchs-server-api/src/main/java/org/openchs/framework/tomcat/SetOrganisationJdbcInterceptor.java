@@ -1,5 +1,7 @@
 package org.openchs.framework.tomcat;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import org.apache.tomcat.jdbc.pool.ConnectionPool;
 import org.apache.tomcat.jdbc.pool.JdbcInterceptor;
 import org.apache.tomcat.jdbc.pool.PooledConnection;
@@ -7,48 +9,77 @@ import org.openchs.domain.Organisation;
 import org.openchs.domain.UserContext;
 import org.openchs.framework.security.UserContextHolder;
 
-import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Objects;
 
-
+/**
+ * Sets the role of the organisation on a connection when it is borrowed. The role stays on the connection after it is
+ * returned and is remembered on the PooledConnection, so a borrow for the same organisation needs no statement and a
+ * borrow for another organisation (or for no organisation) needs only one.
+ */
 public class SetOrganisationJdbcInterceptor extends JdbcInterceptor {
+    private static final String APPLIED_ROLE = SetOrganisationJdbcInterceptor.class.getName() + ".appliedRole";
+    private static final Counter roleSwitches = Metrics.counter("openchs.db.role.switches");
 
     @Override
     public void reset(ConnectionPool connectionPool, PooledConnection pooledConnection) {
-        UserContext userContext = UserContextHolder.getUserContext();
-        if (userContext == null) {
+        if (pooledConnection == null) {
             return;
         }
-        Organisation organisation = userContext.getOrganisation();
-        if (userContext.getUser() != null && userContext.getUser().isAdmin() && userContext.getOrganisationUUID() == null) {
+        String role = roleFor(UserContextHolder.getUserContext());
+        AppliedRole appliedRole = (AppliedRole) pooledConnection.getAttributes().get(APPLIED_ROLE);
+        if (appliedRole == null && role == null) {
+            return;
+        }
+        Connection connection = pooledConnection.getConnection();
+        if (appliedRole != null && appliedRole.isFor(connection, role)) {
             return;
         }
-        if (organisation == null) return;
-
-        String dbUser = organisation.getDbUser();
-        if ("".equals(dbUser)) return;
 
-        try {
-            Statement statement = pooledConnection.getConnection().createStatement();
-            statement.execute("set role \"" + dbUser + "\";");
-            statement.execute("set application_name to \"" + dbUser + "\";");
-            statement.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(role == null
+                    ? "reset role;"
+                    : "set role \"" + role + "\"; set application_name to \"" + role + "\";");
         } catch (SQLException exp) {
+            pooledConnection.getAttributes().remove(APPLIED_ROLE);
             throw new RuntimeException(exp);
         }
+        pooledConnection.getAttributes().put(APPLIED_ROLE, new AppliedRole(connection, role));
+        roleSwitches.increment();
     }
 
-    @Override
-    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    private String roleFor(UserContext userContext) {
+        if (userContext == null) {
+            return null;
+        }
+        if (userContext.getUser() != null && userContext.getUser().isAdmin() && userContext.getOrganisationUUID() == null) {
+            return null;
+        }
+        Organisation organisation = userContext.getOrganisation();
+        if (organisation == null) return null;
 
-        if ("close".equals(method.getName())) {
-            Statement statement = ((Connection) proxy).createStatement();
-            statement.execute("RESET ROLE");
-            statement.close();
+        String dbUser = organisation.getDbUser();
+        if ("".equals(dbUser)) return null;
+        return dbUser;
+    }
+
+    /**
+     * The physical connection is kept along with the role, a PooledConnection that reconnected has lost its role
+     * even though its attributes survive.
+     */
+    private static class AppliedRole {
+        private final Connection connection;
+        private final String role;
+
+        AppliedRole(Connection connection, String role) {
+            this.connection = connection;
+            this.role = role;
         }
 
-        return super.invoke(proxy, method, args);
+        boolean isFor(Connection connection, String role) {
+            return this.connection == connection && Objects.equals(this.role, role);
+        }
     }
 }
@@ -25,7 +25,7 @@ public abstract class HealthModuleInvoker {
         }
     }
 
-    protected Object invoke(String functionName, Object... args) {
+    protected synchronized Object invoke(String functionName, Object... args) {
         try {
             return eval.callMember(functionName, args);
         } catch (Exception e) {
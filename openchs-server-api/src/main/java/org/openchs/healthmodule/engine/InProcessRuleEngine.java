@@ -0,0 +1,240 @@
+package org.openchs.healthmodule.engine;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import jdk.nashorn.api.scripting.ScriptObjectMirror;
+import jdk.nashorn.api.scripting.ScriptUtils;
+import org.openchs.domain.RuleDependency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.annotation.PreDestroy;
+import javax.script.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Runs the server side rules of a form in Nashorn instead of posting them to the node rules server, when
+ * openchs.rules.engine is inProcess. The rule dependency bundle of an organisation is compiled once per checksum and
+ * evaluated into up to contextsPerOrganisation isolated globals, which are pooled so that evaluations of an
+ * organisation run concurrently, each in a context of its own. Form rules are compiled in a context the first time it
+ * runs them.
+ * <p>
+ * Evaluations run on a pool of their own threads. One that uses more than cpuTimeLimitMillis of CPU, or has not finished
+ * timeLimitMillis after it was submitted (waiting for a thread included), is cancelled and its context thrown away.
+ * Nashorn never looks at the interrupt flag of the thread running a script, so every loop of the bundle and of the form
+ * rules is compiled with a call to __checkInterrupt at the start of its body, which throws once the evaluation has been
+ * cancelled. A script that spins outside of a loop of its own, in a built-in or by recursing, runs on to its end.
+ * <p>
+ * A context keeps up to compiledRulesPerContext form rules, once it has more they are all compiled again.
+ * <p>
+ * Scripts have no access to Java and get the contract as plain objects, rules have to be ES5.1 and must not depend on
+ * the models the rules server builds from the contract.
+ */
+@Component
+@Lazy
+public class InProcessRuleEngine {
+    private static final Logger logger = LoggerFactory.getLogger(InProcessRuleEngine.class);
+    private static final String HARNESS = "rules/inProcessRuleHarness.js";
+    private static final Function<String, String> PARSE = code -> ScriptUtils.parse(code, "rules", true);
+    private static final Runnable CHECK_INTERRUPT = () -> {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Rule evaluation cancelled");
+    };
+
+    private final ScriptEngine scriptEngine;
+    private final CompiledScript harness;
+    private final Bindings instrumentingContext;
+    private final Cache<String, CompiledScript> bundles;
+    private final ConcurrentMap<Long, ContextPool> pools = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final int contextsPerOrganisation;
+    private final long cpuTimeLimitNanos;
+    private final long timeLimitNanos;
+    private final int compiledRulesPerContext;
+    private final long contextWaitMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter contextsCreated;
+    private final Counter evaluationsStopped;
+
+    @Autowired
+    public InProcessRuleEngine(MeterRegistry meterRegistry,
+                               @Value("${openchs.rules.inProcess.threads:16}") int threads,
+                               @Value("${openchs.rules.inProcess.contextsPerOrganisation:4}") int contextsPerOrganisation,
+                               @Value("${openchs.rules.inProcess.cpuTimeLimitMillis:2000}") long cpuTimeLimitMillis,
+                               @Value("${openchs.rules.inProcess.timeLimitMillis:5000}") long timeLimitMillis,
+                               @Value("${openchs.rules.inProcess.contextWaitMillis:5000}") long contextWaitMillis,
+                               @Value("${openchs.rules.inProcess.compiledRulesPerContext:200}") int compiledRulesPerContext) throws IOException, ScriptException {
+        this.scriptEngine = new NashornScriptEngineFactory().getScriptEngine("--no-java");
+        this.harness = ((Compilable) scriptEngine).compile(StreamUtils.copyToString(new ClassPathResource(HARNESS).getInputStream(), StandardCharsets.UTF_8));
+        this.bundles = CacheBuilder.newBuilder().maximumSize(100).build();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "in-process-rules");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.contextsPerOrganisation = contextsPerOrganisation;
+        this.cpuTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(cpuTimeLimitMillis);
+        this.timeLimitNanos = TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+        this.contextWaitMillis = contextWaitMillis;
+        this.compiledRulesPerContext = compiledRulesPerContext;
+        this.meterRegistry = meterRegistry;
+        this.contextsCreated = meterRegistry.counter("openchs.rules.engine.contexts.created");
+        this.evaluationsStopped = meterRegistry.counter("openchs.rules.engine.evaluations.stopped");
+        this.instrumentingContext = harnessContext();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Answers the contract, as sent to the rules server, with the JSON the rules server would answer with. The rule
+     * dependency may be null when the organisation has not uploaded one.
+     */
+    public String evaluate(Long organisationId, RuleDependency ruleDependency, String contractJson, String workFlowType) throws Exception {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            ContextPool pool = poolFor(organisationId, ruleDependency);
+            Bindings context = pool.borrow(contextWaitMillis);
+            boolean reusable = false;
+            try {
+                String response = runWithLimits(context, contractJson);
+                reusable = true;
+                outcome = "success";
+                return response;
+            } finally {
+                pool.giveBack(context, reusable);
+            }
+        } finally {
+            Timer.builder("openchs.rules.engine.evaluations")
+                    .tag("workFlowType", String.valueOf(workFlowType))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ContextPool poolFor(Long organisationId, RuleDependency ruleDependency) throws ExecutionException {
+        String checksum = ruleDependency == null ? "" : ruleDependency.getChecksum();
+        ContextPool pool = pools.get(organisationId);
+        if (pool != null && pool.checksum.equals(checksum)) return pool;
+        CompiledScript bundle = ruleDependency == null ? null : bundles.get(checksum, () -> compileWithInterruptChecks(ruleDependency.getCode()));
+        return pools.compute(organisationId, (id, current) -> current != null && current.checksum.equals(checksum) ? current : new ContextPool(checksum, bundle));
+    }
+
+    /**
+     * The bundle is parsed in a context of its own, Nashorn parses only for a script that is running. When the bundle
+     * does not compile with the checks added it is compiled as it is.
+     */
+    private CompiledScript compileWithInterruptChecks(String code) throws ScriptException {
+        String instrumented;
+        synchronized (instrumentingContext) {
+            instrumented = (String) ((ScriptObjectMirror) instrumentingContext.get("__withInterruptChecks")).call(null, code);
+        }
+        try {
+            return ((Compilable) scriptEngine).compile(instrumented);
+        } catch (ScriptException e) {
+            logger.warn(String.format("Rule bundle does not compile with interrupt checks, compiling it without: %s", e.getMessage()));
+            return ((Compilable) scriptEngine).compile(code);
+        }
+    }
+
+    private String runWithLimits(Bindings context, String contractJson) throws Exception {
+        long deadline = System.nanoTime() + timeLimitNanos;
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        AtomicReference<Long> cpuStart = new AtomicReference<>();
+        Future<String> evaluation = executor.submit(() -> {
+            cpuStart.set(threadMXBean.getCurrentThreadCpuTime());
+            worker.set(Thread.currentThread());
+            try {
+                ScriptObjectMirror evaluateRules = (ScriptObjectMirror) context.get("__evaluateRules");
+                return (String) evaluateRules.call(null, contractJson);
+            } finally {
+                worker.set(null);
+            }
+        });
+        while (true) {
+            try {
+                return evaluation.get(10, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            } catch (TimeoutException e) {
+                Thread thread = worker.get();
+                boolean overCpuTime = thread != null && threadMXBean.getThreadCpuTime(thread.getId()) - cpuStart.get() > cpuTimeLimitNanos;
+                if (overCpuTime || System.nanoTime() - deadline > 0) {
+                    evaluation.cancel(true);
+                    evaluationsStopped.increment();
+                    throw new TimeoutException(overCpuTime
+                            ? String.format("Rules took more than %d ms of CPU", TimeUnit.NANOSECONDS.toMillis(cpuTimeLimitNanos))
+                            : String.format("Rules did not finish in %d ms", TimeUnit.NANOSECONDS.toMillis(timeLimitNanos)));
+                }
+            }
+        }
+    }
+
+    private Bindings harnessContext() throws ScriptException {
+        Bindings context = scriptEngine.createBindings();
+        context.put("__parse", PARSE);
+        context.put("__checkInterrupt", CHECK_INTERRUPT);
+        context.put("__maxCompiledRules", compiledRulesPerContext);
+        harness.eval(context);
+        return context;
+    }
+
+    private Bindings newContext(CompiledScript bundle) throws ScriptException {
+        Bindings context = harnessContext();
+        if (bundle != null) bundle.eval(context);
+        contextsCreated.increment();
+        return context;
+    }
+
+    private class ContextPool {
+        private final String checksum;
+        private final CompiledScript bundle;
+        private final BlockingQueue<Bindings> idle = new LinkedBlockingQueue<>();
+        private final Semaphore slots = new Semaphore(contextsPerOrganisation);
+
+        ContextPool(String checksum, CompiledScript bundle) {
+            this.checksum = checksum;
+            this.bundle = bundle;
+        }
+
+        Bindings borrow(long waitMillis) throws InterruptedException, ScriptException, TimeoutException {
+            if (!slots.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                throw new TimeoutException("No rule context free for the organisation");
+            }
+            Bindings context = idle.poll();
+            if (context != null) return context;
+            try {
+                return newContext(bundle);
+            } catch (ScriptException | RuntimeException e) {
+                slots.release();
+                throw e;
+            }
+        }
+
+        void giveBack(Bindings context, boolean reusable) {
+            if (reusable) idle.offer(context);
+            slots.release();
+        }
+    }
+}
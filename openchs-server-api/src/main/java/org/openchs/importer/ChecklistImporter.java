@@ -1,11 +1,11 @@
 package org.openchs.importer;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.joda.time.DateTime;
 import org.openchs.dao.*;
 import org.openchs.dao.application.FormElementRepository;
 import org.openchs.domain.*;
 import org.openchs.excel.ImportSheetHeader;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.excel.metadata.ImportAnswerMetaDataList;
 import org.openchs.excel.metadata.ImportCalculatedFields;
 import org.openchs.excel.metadata.ImportField;
@@ -86,7 +86,7 @@ public class ChecklistImporter extends Importer<ChecklistRequest> {
     }
 
     @Override
-    protected ChecklistRequest makeRequest(List<ImportField> allFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, Row row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
+    protected ChecklistRequest makeRequest(List<ImportField> allFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, ImportRow row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
         ChecklistRequest checklistRequest = new ChecklistRequest();
         ChecklistItemRequest checklistItemRequest = new ChecklistItemRequest();
         allFields.forEach(importField -> {
@@ -1,11 +1,11 @@
 package org.openchs.importer;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.joda.time.DateTime;
 import org.openchs.dao.ConceptRepository;
 import org.openchs.dao.UserRepository;
 import org.openchs.dao.application.FormElementRepository;
 import org.openchs.excel.ImportSheetHeader;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.excel.metadata.ImportAnswerMetaDataList;
 import org.openchs.excel.metadata.ImportCalculatedFields;
 import org.openchs.excel.metadata.ImportField;
@@ -38,7 +38,7 @@ public class EncounterImporter extends Importer<EncounterRequest> {
     }
 
     @Override
-    protected EncounterRequest makeRequest(List<ImportField> importFields, ImportSheetHeader header, ImportSheetMetaData sheetMetaData, Row row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
+    protected EncounterRequest makeRequest(List<ImportField> importFields, ImportSheetHeader header, ImportSheetMetaData sheetMetaData, ImportRow row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
         EncounterRequest encounterRequest = new EncounterRequest();
         encounterRequest.setObservations(new ArrayList<>());
         importFields.forEach(importField -> {
@@ -1,7 +1,5 @@
 package org.openchs.importer;
 
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFRow;
 import org.openchs.dao.ConceptRepository;
 import org.openchs.dao.UserRepository;
 import org.openchs.dao.application.FormElementRepository;
@@ -13,6 +11,7 @@ import org.openchs.excel.DataImportResult;
 import org.openchs.excel.ExcelUtil;
 import org.openchs.excel.ImportSheetHeader;
 import org.openchs.excel.data.ImportFile;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.excel.data.ImportSheet;
 import org.openchs.excel.metadata.*;
 import org.openchs.framework.security.UserContextHolder;
@@ -26,11 +25,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 public abstract class Importer<T extends CHSRequest> {
     protected static Logger logger = LoggerFactory.getLogger(Importer.class);
@@ -39,6 +38,8 @@ public abstract class Importer<T extends CHSRequest> {
     private ConceptRepository conceptRepository;
     private FormElementRepository formElementRepository;
     private boolean ignoreMissingAnswers;
+    private static final int ROWS_PER_BATCH = 500;
+    private final Map<ImportSheetHeader, SheetConcepts> conceptsBySheet = new ConcurrentHashMap<>();
     private static Pattern datePattern = Pattern.compile("\b[0-9]+\b|.*[A-Za-z]+.*");
 
     protected Importer(ConceptRepository conceptRepository, FormElementRepository formElementRepository, UserRepository userRepository) {
@@ -50,16 +51,17 @@ public abstract class Importer<T extends CHSRequest> {
 
     protected abstract Boolean processRequest(T entityRequest);
 
-    protected abstract T makeRequest(List<ImportField> allFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, Row row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields);
+    protected abstract T makeRequest(List<ImportField> allFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, ImportRow row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields);
 
-    protected ObservationRequest createObservationRequest(Row row, ImportSheetHeader sheetHeader, ImportSheetMetaData sheetMetaData, ImportField importField, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
+    protected ObservationRequest createObservationRequest(ImportRow row, ImportSheetHeader sheetHeader, ImportSheetMetaData sheetMetaData, ImportField importField, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
         return createObservationRequest(row, sheetHeader, sheetMetaData, importField, systemFieldName, answerMetaDataList, calculatedFields, null);
     }
 
-    protected ObservationRequest createObservationRequest(Row row, ImportSheetHeader sheetHeader, ImportSheetMetaData sheetMetaData, ImportField importField, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields, Date referenceDate) {
+    protected ObservationRequest createObservationRequest(ImportRow row, ImportSheetHeader sheetHeader, ImportSheetMetaData sheetMetaData, ImportField importField, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields, Date referenceDate) {
         ObservationRequest observationRequest = new ObservationRequest();
         observationRequest.setConceptName(systemFieldName);
-        Concept concept = conceptRepository.findByName(systemFieldName);
+        SheetConcepts concepts = conceptsOf(sheetHeader);
+        Concept concept = concepts.question(systemFieldName);
         if (concept == null)
             throw new NullPointerException(String.format("Concept with name |%s| not found", systemFieldName));
 
@@ -85,7 +87,7 @@ public abstract class Importer<T extends CHSRequest> {
 
         if (ConceptDataType.Coded.toString().equals(concept.getDataType())) {
             ignoreMissingAnswers = importField.doIgnoreMissingAnswers();
-            cellValue = getCodedConceptValue((String) cellValue, calculatedFields, concept, systemFieldName, answerMetaDataList,ignoreMissingAnswers);
+            cellValue = getCodedConceptValue((String) cellValue, calculatedFields, concept, systemFieldName, answerMetaDataList,ignoreMissingAnswers, concepts);
         }
 
         if (cellValue == null) return null;
@@ -93,24 +95,24 @@ public abstract class Importer<T extends CHSRequest> {
         return observationRequest;
     }
 
-    private Object getCodedConceptValue(String cellValue, ImportCalculatedFields calculatedFields, Concept concept, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, boolean ignoreMissingAnswers) {
+    private Object getCodedConceptValue(String cellValue, ImportCalculatedFields calculatedFields, Concept concept, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, boolean ignoreMissingAnswers, SheetConcepts concepts) {
         ImportCalculatedField calculatedField = calculatedFields.stream().filter(x -> x.getSystemField().equals(systemFieldName)).findFirst().orElse(null);
         if (calculatedField != null && calculatedField.isMultiSelect()) {
             List<String> answers = calculatedField.getCodedValues(cellValue);
             return answers.stream()
-                    .map((userAnswer) -> getConceptUuid(concept, systemFieldName, answerMetaDataList, userAnswer, ignoreMissingAnswers))
+                    .map((userAnswer) -> getConceptUuid(concept, systemFieldName, answerMetaDataList, userAnswer, ignoreMissingAnswers, concepts))
                     .filter(Objects::nonNull)
                     .collect(Collectors.toList());
         }
-        return getConceptUuid(concept, systemFieldName, answerMetaDataList, cellValue, ignoreMissingAnswers);
+        return getConceptUuid(concept, systemFieldName, answerMetaDataList, cellValue, ignoreMissingAnswers, concepts);
     }
 
-    private String getConceptUuid(Concept concept, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, String userAnswer, boolean ignoreMissingAnswers) {
+    private String getConceptUuid(Concept concept, String systemFieldName, ImportAnswerMetaDataList answerMetaDataList, String userAnswer, boolean ignoreMissingAnswers, SheetConcepts concepts) {
         String systemAnswer = answerMetaDataList.getSystemAnswer(userAnswer, concept.getName());
         if (systemAnswer == null|| ignoreMissingAnswers) {
             return null;
         }
-        Concept answerConcept = conceptRepository.findByNameIgnoreCase(systemAnswer.trim());
+        Concept answerConcept = concepts.answer(systemAnswer.trim());
         if (answerConcept == null) {
             logger.error(String.format("Answer concept |%s| not found in concept |%s|", userAnswer, systemFieldName));
             throw new NullPointerException(String.format("Answer concept |%s| not found in concept |%s|", userAnswer, systemFieldName));
@@ -156,39 +158,71 @@ public abstract class Importer<T extends CHSRequest> {
         ImportSheetHeader header = importSheet.getHeader();
         UserContext userContext = UserContextHolder.getUserContext();
         SecurityContext context = SecurityContextHolder.getContext();
-        int numberOfDataRows = importSheet.getNumberOfDataRows();
         AtomicInteger importedRowCount = new AtomicInteger(0);
         List list = Collections.synchronizedList(new ArrayList<>());
-        IntStream intStream = IntStream.range(0, numberOfDataRows);
-        IntStream stream = (performImport && inParallel && maxNumberOfRecords == null) ? intStream.parallel() : intStream;
-        Stream<Row> rowStream = stream.mapToObj(importSheet::getDataRow).filter(Objects::nonNull);
-        (maxNumberOfRecords != null ? rowStream.limit(maxNumberOfRecords) : rowStream)
-                .forEach((row) -> {
-                    SecurityContextHolder.setContext(context);
-                    UserContextHolder.create(userContext); //Use this user context, till the importer reads the rows and sets its own user context if it finds the user data
-                    T entityRequest = (T) new CHSRequest();
-                    try {
-                        logger.info(String.format("Creating Request for %s", importSheetMetaData.getEntityType()));
-                        entityRequest = makeRequest(allFields, header, importSheetMetaData, row, importMetaData.getAnswerMetaDataList(), importMetaData.getCalculatedFields());
-                        if (!performImport)
-                            list.add(entityRequest);
-                        if (performImport) {
-                            logger.info(String.format("Saving/Updating %s with UUID %s", importSheetMetaData.getEntityType(), entityRequest.getUuid()));
-                            processRequest(entityRequest);
-                            logger.info(String.format("Saved/Updated %s with UUID %s", importSheetMetaData.getEntityType(), entityRequest.getUuid()));
-                            logger.info(String.format("[IMPORTED] %d/%d ROWS", importedRowCount.incrementAndGet(), numberOfDataRows));
-                        }
-                    } catch (Exception e) {
-                        logger.error(String.format("Failed %s with UUID %s with error %s", importSheetMetaData.getEntityType(), entityRequest.getUuid(), e.getMessage()));
-                        dataImportResult.exceptionHappened(importSheetMetaData.asMap(), e);
-                    }
-
-                });
+        boolean parallel = performImport && inParallel && maxNumberOfRecords == null;
+        List<ImportRow> batch = new ArrayList<>(ROWS_PER_BATCH);
+        Consumer<ImportRow> importRow = (row) -> {
+            SecurityContextHolder.setContext(context);
+            UserContextHolder.create(userContext); //Use this user context, till the importer reads the rows and sets its own user context if it finds the user data
+            T entityRequest = (T) new CHSRequest();
+            try {
+                logger.info(String.format("Creating Request for %s", importSheetMetaData.getEntityType()));
+                entityRequest = makeRequest(allFields, header, importSheetMetaData, row, importMetaData.getAnswerMetaDataList(), importMetaData.getCalculatedFields());
+                if (!performImport)
+                    list.add(entityRequest);
+                if (performImport) {
+                    logger.info(String.format("Saving/Updating %s with UUID %s", importSheetMetaData.getEntityType(), entityRequest.getUuid()));
+                    processRequest(entityRequest);
+                    logger.info(String.format("Saved/Updated %s with UUID %s", importSheetMetaData.getEntityType(), entityRequest.getUuid()));
+                    logger.info(String.format("[IMPORTED] %d ROWS", importedRowCount.incrementAndGet()));
+                }
+            } catch (Exception e) {
+                logger.error(String.format("Failed %s with UUID %s with error %s", importSheetMetaData.getEntityType(), entityRequest.getUuid(), e.getMessage()));
+                dataImportResult.exceptionHappened(importSheetMetaData.asMap(), e);
+            }
+        };
+        Runnable importBatch = () -> {
+            (parallel ? batch.parallelStream() : batch.stream()).forEach(importRow);
+            batch.clear();
+        };
+        conceptsBySheet.put(header, new SheetConcepts());
+        try {
+            importSheet.forEachDataRow(maxNumberOfRecords, (row) -> {
+                batch.add(row);
+                if (batch.size() == ROWS_PER_BATCH) importBatch.run();
+            });
+            importBatch.run();
+        } finally {
+            conceptsBySheet.remove(header);
+        }
         logger.info(String.format("Imported Sheet: %s", importSheetMetaData.getSheetName()));
         return list;
     }
 
-    protected void setUser(ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, Row row, ImportField importField) {
+    private SheetConcepts conceptsOf(ImportSheetHeader sheetHeader) {
+        SheetConcepts concepts = conceptsBySheet.get(sheetHeader);
+        return concepts == null ? new SheetConcepts() : concepts;
+    }
+
+    /**
+     * Concepts of the columns of a sheet being imported and of their answers, looked up once per sheet rather than for
+     * every cell.
+     */
+    private class SheetConcepts {
+        private final Map<String, Concept> questions = new ConcurrentHashMap<>();
+        private final Map<String, Concept> answers = new ConcurrentHashMap<>();
+
+        Concept question(String name) {
+            return questions.computeIfAbsent(name, conceptRepository::findByName);
+        }
+
+        Concept answer(String name) {
+            return answers.computeIfAbsent(name.toLowerCase(), lowerCaseName -> conceptRepository.findByNameIgnoreCase(name));
+        }
+    }
+
+    protected void setUser(ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, ImportRow row, ImportField importField) {
         User user = userRepository.findByUsername(importField.getTextValue(row, header, importSheetMetaData));
         if (user != null)
             UserContextHolder.getUserContext().setUser(user);
@@ -1,13 +1,13 @@
 package org.openchs.importer;
 
 
-import org.apache.poi.ss.usermodel.Row;
 import org.joda.time.LocalDate;
 import org.openchs.dao.ConceptRepository;
 import org.openchs.dao.UserRepository;
 import org.openchs.dao.application.FormElementRepository;
 import org.openchs.excel.ImportSheetHeader;
 import org.openchs.excel.TextToType;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.excel.metadata.ImportAnswerMetaDataList;
 import org.openchs.excel.metadata.ImportCalculatedFields;
 import org.openchs.excel.metadata.ImportField;
@@ -43,7 +43,7 @@ public class IndividualImporter extends Importer<IndividualRequest> {
     }
 
     @Override
-    protected IndividualRequest makeRequest(List<ImportField> importFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, Row row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
+    protected IndividualRequest makeRequest(List<ImportField> importFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, ImportRow row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
         IndividualRequest individualRequest = new IndividualRequest();
         individualRequest.setObservations(new ArrayList<>());
         importFields.forEach(importField -> {
@@ -1,6 +1,5 @@
 package org.openchs.importer;
 
-import org.apache.poi.ss.usermodel.Row;
 import org.joda.time.DateTime;
 import org.openchs.dao.ConceptRepository;
 import org.openchs.dao.UserRepository;
@@ -8,6 +7,7 @@ import org.openchs.dao.application.FormElementRepository;
 import org.openchs.dao.individualRelationship.IndividualRelationshipTypeRepository;
 import org.openchs.domain.individualRelationship.IndividualRelationshipType;
 import org.openchs.excel.ImportSheetHeader;
+import org.openchs.excel.data.ImportRow;
 import org.openchs.excel.metadata.ImportAnswerMetaDataList;
 import org.openchs.excel.metadata.ImportCalculatedFields;
 import org.openchs.excel.metadata.ImportField;
@@ -44,7 +44,7 @@ public class IndividualRelationshipImporter extends Importer<IndividualRelations
     }
 
     @Override
-    protected IndividualRelationshipRequest makeRequest(List<ImportField> importFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, Row row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
+    protected IndividualRelationshipRequest makeRequest(List<ImportField> importFields, ImportSheetHeader header, ImportSheetMetaData importSheetMetaData, ImportRow row, ImportAnswerMetaDataList answerMetaDataList, ImportCalculatedFields calculatedFields) {
         IndividualRelationshipRequest individualRelationshipRequest = new IndividualRelationshipRequest();
         Map<String, Consumer<Date>> dateSetters = new HashMap<String, Consumer<Date>>() {{
             put("EnterDateTime", (dateTime) -> {
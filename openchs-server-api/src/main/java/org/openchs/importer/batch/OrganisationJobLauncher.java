@@ -0,0 +1,59 @@
+package org.openchs.importer.batch;
+
+import org.springframework.batch.core.*;
+import org.springframework.batch.core.launch.support.SimpleJobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs jobs of different organisations side by side on the executor, and the jobs of an organisation one after the
+ * other in the order they were launched. The organisation of a job is its organisationUUID parameter, jobs without one
+ * are not queued behind anything.
+ */
+public class OrganisationJobLauncher extends SimpleJobLauncher {
+    private static final String ORGANISATION_UUID = "organisationUUID";
+
+    private final Executor executor;
+    private final ThreadLocal<String> launchingOrganisation = new ThreadLocal<>();
+    private final Map<String, CompletableFuture<Void>> lastJobOfOrganisation = new HashMap<>();
+
+    public OrganisationJobLauncher(JobRepository jobRepository, Executor executor) {
+        this.executor = executor;
+        setJobRepository(jobRepository);
+        setTaskExecutor(this::execute);
+    }
+
+    @Override
+    public JobExecution run(Job job, JobParameters jobParameters) throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException, JobParametersInvalidException {
+        //SimpleJobLauncher hands the job to the task executor on this thread, before run returns
+        launchingOrganisation.set(jobParameters.getString(ORGANISATION_UUID));
+        try {
+            return super.run(job, jobParameters);
+        } finally {
+            launchingOrganisation.remove();
+        }
+    }
+
+    private synchronized void execute(Runnable job) {
+        String organisationUUID = launchingOrganisation.get();
+        if (organisationUUID == null) {
+            executor.execute(job);
+            return;
+        }
+        CompletableFuture<Void> previousJob = lastJobOfOrganisation.getOrDefault(organisationUUID, CompletableFuture.completedFuture(null));
+        CompletableFuture<Void> thisJob = previousJob.exceptionally(e -> null).thenRunAsync(job, executor);
+        lastJobOfOrganisation.put(organisationUUID, thisJob);
+        thisJob.whenComplete((result, e) -> forget(organisationUUID, thisJob));
+    }
+
+    private synchronized void forget(String organisationUUID, CompletableFuture<Void> job) {
+        lastJobOfOrganisation.remove(organisationUUID, job);
+    }
+}
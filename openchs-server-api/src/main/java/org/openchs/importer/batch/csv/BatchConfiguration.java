@@ -1,86 +1,151 @@
 package org.openchs.importer.batch.csv;
 
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+import org.openchs.importer.batch.OrganisationJobLauncher;
 import org.openchs.importer.batch.csv.writer.CsvFileItemWriter;
 import org.openchs.importer.batch.model.Row;
 import org.openchs.service.S3Service;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
-import org.springframework.batch.core.launch.support.SimpleJobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.JobSynchronizationManager;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.FlatFileParseException;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.batch.item.file.transform.FlatFileFormatException;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Rows are written in chunks of openchs.bulkUpload.chunkSize. When a chunk fails its rows are written again one at a
+ * time, so only the failing rows are skipped and reported to ErrorFileWriterListener.
+ * <p>
+ * Rows of the types in PARALLEL_TYPES do not depend on each other, their chunks are written on
+ * openchs.bulkUpload.parallelThreads threads, chunks with rows of the same Id are written one after the other (see
+ * LegacyIdClaims). Uploads of different organisations run side by side on
+ * openchs.bulkUpload.concurrentJobs threads, uploads of an organisation one after the other.
+ */
 @Configuration
 @EnableBatchProcessing
 @EnableScheduling
 public class BatchConfiguration {
+    private static final List<String> PARALLEL_TYPES = Arrays.asList("Subject", "Encounter", "ProgramEncounter");
+    private static final String PARALLEL = "PARALLEL";
+    private static final String SERIAL = "SERIAL";
+
     private final JobBuilderFactory jobBuilderFactory;
     private final StepBuilderFactory stepBuilderFactory;
     private final JobRepository jobRepository;
     private final S3Service s3Service;
+    private final int chunkSize;
+    private final int parallelThreads;
+    private final int concurrentJobs;
 
     @Autowired
-    public BatchConfiguration(JobBuilderFactory jobBuilderFactory, StepBuilderFactory stepBuilderFactory, JobRepository jobRepository, S3Service s3Service) {
+    public BatchConfiguration(JobBuilderFactory jobBuilderFactory,
+                              StepBuilderFactory stepBuilderFactory,
+                              JobRepository jobRepository,
+                              S3Service s3Service,
+                              @Value("${openchs.bulkUpload.chunkSize:50}") int chunkSize,
+                              @Value("${openchs.bulkUpload.parallelThreads:4}") int parallelThreads,
+                              @Value("${openchs.bulkUpload.concurrentJobs:4}") int concurrentJobs) {
         this.jobBuilderFactory = jobBuilderFactory;
         this.stepBuilderFactory = stepBuilderFactory;
         this.jobRepository = jobRepository;
         this.s3Service = s3Service;
+        this.chunkSize = chunkSize;
+        this.parallelThreads = parallelThreads;
+        this.concurrentJobs = concurrentJobs;
     }
 
     @Bean
     @StepScope
-    public FlatFileItemReader<Row> csvFileItemReader(@Value("#{jobParameters['s3Key']}") String s3Key) throws IOException {
+    public SynchronizedItemStreamReader<Row> csvFileItemReader(@Value("#{jobParameters['s3Key']}") String s3Key,
+                                                               @Value("#{jobParameters['type']}") String type) throws IOException {
         String[] headers = this.getHeaders(new InputStreamReader(s3Service.getObjectContent(s3Key)));
 
         DefaultLineMapper<Row> lineMapper = new DefaultLineMapper<>();
         lineMapper.setLineTokenizer(new DelimitedLineTokenizer());
         lineMapper.setFieldSetMapper(fieldSet -> new Row(headers, fieldSet.getValues()));
 
-        return new FlatFileItemReaderBuilder<Row>()
+        //The position read so far means nothing when chunks are written out of order
+        FlatFileItemReader<Row> reader = new FlatFileItemReaderBuilder<Row>()
                 .name("csvFileItemReader")
                 .resource(new InputStreamResource(s3Service.getObjectContent(s3Key)))
                 .linesToSkip(1)
                 .lineMapper(lineMapper)
+                .saveState(!isParallel(type))
                 .build();
+        SynchronizedItemStreamReader<Row> synchronizedReader = new SynchronizedItemStreamReader<>();
+        synchronizedReader.setDelegate(reader);
+        return synchronizedReader;
     }
 
     @Bean
-    public Job importJob(ErrorFileCreatorListener listener, Step importStep) {
+    public Job importJob(ErrorFileCreatorListener listener, Step importStep, Step parallelImportStep) {
+        JobExecutionDecider byType = (jobExecution, stepExecution) ->
+                new FlowExecutionStatus(isParallel(jobExecution.getJobParameters().getString("type")) ? PARALLEL : SERIAL);
         return jobBuilderFactory.get("importJob")
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
-                .flow(importStep)
+                .start(byType)
+                .on(PARALLEL).to(parallelImportStep)
+                .from(byType).on("*").to(importStep)
                 .end()
                 .build();
     }
 
     @Bean
-    public Step importStep(FlatFileItemReader<Row> csvFileItemReader,
+    public Step importStep(SynchronizedItemStreamReader<Row> csvFileItemReader,
                            CsvFileItemWriter csvFileItemWriter,
                            ErrorFileWriterListener errorFileWriterListener) {
-        return stepBuilderFactory.get("importStep")
-                .<Row, Row>chunk(1)
+        return importStepBuilder("importStep", csvFileItemReader, csvFileItemWriter, errorFileWriterListener)
+                .build();
+    }
+
+    @Bean
+    public Step parallelImportStep(SynchronizedItemStreamReader<Row> csvFileItemReader,
+                                   CsvFileItemWriter csvFileItemWriter,
+                                   ErrorFileWriterListener errorFileWriterListener) {
+        return importStepBuilder("parallelImportStep", csvFileItemReader, csvFileItemWriter, errorFileWriterListener)
+                .taskExecutor(importTaskExecutor())
+                .throttleLimit(parallelThreads)
+                .build();
+    }
+
+    private SimpleStepBuilder<Row, Row> importStepBuilder(String name,
+                                                          SynchronizedItemStreamReader<Row> csvFileItemReader,
+                                                          CsvFileItemWriter csvFileItemWriter,
+                                                          ErrorFileWriterListener errorFileWriterListener) {
+        return stepBuilderFactory.get(name)
+                .<Row, Row>chunk(chunkSize)
                 .reader(csvFileItemReader)
                 .writer(csvFileItemWriter)
                 .faultTolerant()
@@ -89,23 +154,56 @@ public class BatchConfiguration {
                 .noSkip(FlatFileParseException.class)
                 .noSkip(FlatFileFormatException.class)
                 .skipPolicy((error, count) -> true)
-                .listener(errorFileWriterListener)
-                .build();
+                .listener(errorFileWriterListener);
     }
 
+    /**
+     * Chunks run on these threads use the job scoped writers, the job of the thread handing out a chunk is made
+     * available to the thread writing it. So is its user, which ErrorFileCreatorListener authenticates before the job.
+     * The user has to be in place before the chunk transaction starts, the connection it borrows is set to the role of
+     * the organisation of the user at that point.
+     */
     @Bean
-    public JobLauncher bgJobLauncher() {
-        return new SimpleJobLauncher() {{
-            setJobRepository(jobRepository);
-            setTaskExecutor(new ThreadPoolTaskExecutor() {{
-                setCorePoolSize(1);
-                setMaxPoolSize(1);
-                setQueueCapacity(100);
-                initialize();
-            }});
+    public TaskExecutor importTaskExecutor() {
+        return new ThreadPoolTaskExecutor() {{
+            setCorePoolSize(parallelThreads);
+            setMaxPoolSize(parallelThreads);
+            setThreadNamePrefix("import-");
+            setTaskDecorator(chunk -> {
+                JobExecution jobExecution = JobSynchronizationManager.getContext().getJobExecution();
+                UserContext userContext = UserContextHolder.getUserContext();
+                SecurityContext securityContext = SecurityContextHolder.getContext();
+                return () -> {
+                    JobSynchronizationManager.register(jobExecution);
+                    UserContextHolder.create(userContext);
+                    SecurityContextHolder.setContext(securityContext);
+                    try {
+                        chunk.run();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                        UserContextHolder.clear();
+                        JobSynchronizationManager.release();
+                    }
+                };
+            });
+            initialize();
         }};
     }
 
+    @Bean
+    public JobLauncher bgJobLauncher() {
+        return new OrganisationJobLauncher(jobRepository, new ThreadPoolTaskExecutor() {{
+            setCorePoolSize(concurrentJobs);
+            setMaxPoolSize(concurrentJobs);
+            setThreadNamePrefix("job-");
+            initialize();
+        }});
+    }
+
+    private static boolean isParallel(String type) {
+        return type != null && PARALLEL_TYPES.contains(type.split("---")[0]);
+    }
+
     private String[] getHeaders(Reader reader) throws IOException {
         BufferedReader csvReader = new BufferedReader(reader);
         String headerLine = csvReader.readLine();
@@ -1,5 +1,8 @@
 package org.openchs.importer.batch.csv;
 
+import org.openchs.framework.security.AuthService;
+import org.openchs.importer.batch.csv.creator.MediaObservationUploader;
+import org.openchs.framework.security.UserContextHolder;
 import org.openchs.service.BulkUploadS3Service;
 import org.openchs.service.S3Service;
 import org.openchs.service.S3Service.ObjectInfo;
@@ -17,13 +20,23 @@ import java.io.*;
 
 import static java.lang.String.format;
 
+/**
+ * Authenticates the user of the upload on the job thread before any step runs, chunks written on other threads take
+ * the user from it. The error file is uploaded once the media of the saved rows has been uploaded, or has failed.
+ */
 @Component
 @JobScope
 public class ErrorFileCreatorListener implements JobExecutionListener {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final S3Service s3Service;
+    private final AuthService authService;
+    private final MediaObservationUploader mediaObservationUploader;
 
+    @Value("#{jobParameters['userId']}")
+    private Long userId;
+    @Value("#{jobParameters['organisationUUID']}")
+    private String organisationUUID;
     @Value("#{jobParameters['uuid']}")
     private String uuid;
     @Value("#{jobParameters['s3Key']}")
@@ -37,8 +50,11 @@ public class ErrorFileCreatorListener implements JobExecutionListener {
     private BulkUploadS3Service bulkUploadS3Service;
 
     @Autowired
-    public ErrorFileCreatorListener(S3Service s3Service, BulkUploadS3Service bulkUploadS3Service) {
+    public ErrorFileCreatorListener(S3Service s3Service, BulkUploadS3Service bulkUploadS3Service, AuthService authService,
+                                    MediaObservationUploader mediaObservationUploader) {
         this.s3Service = s3Service;
+        this.authService = authService;
+        this.mediaObservationUploader = mediaObservationUploader;
         this.bulkUploadS3Service = bulkUploadS3Service;
     }
 
@@ -50,6 +66,7 @@ public class ErrorFileCreatorListener implements JobExecutionListener {
 
     @Override
     public void beforeJob(JobExecution jobExecution) {
+        authService.authenticateByUserId(userId, organisationUUID);
         try {
             BufferedReader csvReader = new BufferedReader(new InputStreamReader(s3Service.getObjectContent(s3Key)));
             String headerRow = csvReader.readLine();
@@ -71,11 +88,17 @@ public class ErrorFileCreatorListener implements JobExecutionListener {
     public void afterJob(JobExecution jobExecution) {
         logger.info(format("Bulkupload '%s'! %s", jobExecution.getStatus(), jobInfo));
         try {
+            mediaObservationUploader.awaitUploadsOf(uuid);
             ObjectInfo metadata = bulkUploadS3Service.uploadErrorFile(errorFile, uuid);
             logger.info(format("Bulkupload '%s'! Check for errors at '%s'", jobExecution.getStatus(), metadata.getKey()));
         } catch (IOException e) {
             e.printStackTrace();
             logger.error("Unable to create error files in S3", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error(format("Interrupted while waiting for the media of %s, its error file is not uploaded", jobInfo));
+        } finally {
+            UserContextHolder.clear();
         }
     }
 }
\ No newline at end of file
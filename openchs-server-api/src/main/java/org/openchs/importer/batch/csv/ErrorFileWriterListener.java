@@ -8,7 +8,6 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -38,14 +37,7 @@ public class ErrorFileWriterListener {
             String stackTrace = Stream.of(t.getStackTrace())
                     .map(StackTraceElement::toString)
                     .collect(Collectors.joining("\n"));
-            FileWriter fileWriter = new FileWriter(bulkUploadS3Service.getLocalErrorFile(uuid), true);
-            fileWriter.append(item.toString());
-            fileWriter.append(",\"");
-            fileWriter.append(t.getMessage());
-            fileWriter.append("\n");
-            fileWriter.append(t.getMessage() == null ? stackTrace : "");
-            fileWriter.append("\"\n");
-            fileWriter.close();
+            bulkUploadS3Service.appendToErrorFile(uuid, item.toString(), format("%s\n%s", t.getMessage(), t.getMessage() == null ? stackTrace : ""));
         } catch (IOException e) {
             e.printStackTrace();
             throw new RuntimeException(format("Error recording error: '%s'", e.getMessage()));
@@ -0,0 +1,331 @@
+package org.openchs.importer.batch.csv.creator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.io.FileUtils;
+import org.hibernate.Hibernate;
+import org.openchs.dao.MediaObservationRepository;
+import org.openchs.domain.CHSBaseEntity;
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+import org.openchs.importer.batch.model.Row;
+import org.openchs.service.BulkUploadS3Service;
+import org.openchs.service.S3Service;
+import org.openchs.util.S;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.scope.context.JobContext;
+import org.springframework.batch.core.scope.context.JobSynchronizationManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.Table;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Moves the media of bulk uploaded observations into S3 outside of the transaction that saves the rows. A media
+ * observation is saved with the URL given in the file as its value, once the transaction commits the media is
+ * downloaded and uploaded on openchs.bulkUpload.media.threads threads, and the observation is replaced with the S3
+ * URL in a transaction of its own. A download or upload that fails is tried again up to
+ * openchs.bulkUpload.media.attempts times. When it still fails the observation goes back to the value it had before the
+ * row was uploaded and the row is added to the error file of the upload.
+ * <p>
+ * Rows of a chunk are written one after the other in its transaction, media found while reading the observations of
+ * a row belongs to the entity saved next. When the queue of openchs.bulkUpload.media.queueSize uploads is full, the
+ * thread writing the chunk waits for room in it. An upload job waits up to openchs.bulkUpload.media.jobWaitMillis
+ * for its media before it uploads its error file.
+ */
+@Component
+public class MediaObservationUploader {
+    private static final Logger logger = LoggerFactory.getLogger(MediaObservationUploader.class);
+
+    private final S3Service s3Service;
+    private final MediaObservationRepository mediaObservationRepository;
+    private final TransactionTemplate newTransaction;
+    private final BulkUploadS3Service bulkUploadS3Service;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor executor;
+    private final Map<String, JobUploads> uploadsByJob = new ConcurrentHashMap<>();
+    private final int timeoutMillis;
+    private final int attempts;
+    private final long retryDelayMillis;
+    private final long jobWaitMillis;
+
+    @Autowired
+    public MediaObservationUploader(S3Service s3Service,
+                                    MediaObservationRepository mediaObservationRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    BulkUploadS3Service bulkUploadS3Service,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${openchs.bulkUpload.media.threads:8}") int threads,
+                                    @Value("${openchs.bulkUpload.media.queueSize:1000}") int queueSize,
+                                    @Value("${openchs.bulkUpload.media.timeoutMillis:10000}") int timeoutMillis,
+                                    @Value("${openchs.bulkUpload.media.attempts:3}") int attempts,
+                                    @Value("${openchs.bulkUpload.media.retryDelayMillis:1000}") long retryDelayMillis,
+                                    @Value("${openchs.bulkUpload.media.jobWaitMillis:600000}") long jobWaitMillis) {
+        this.s3Service = s3Service;
+        this.mediaObservationRepository = mediaObservationRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.bulkUploadS3Service = bulkUploadS3Service;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.attempts = attempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.jobWaitMillis = jobWaitMillis;
+        this.executor = new ThreadPoolTaskExecutor() {{
+            setCorePoolSize(threads);
+            setMaxPoolSize(threads);
+            setQueueCapacity(queueSize);
+            setRejectedExecutionHandler((upload, pool) -> {
+                if (pool.isShutdown()) throw new RejectedExecutionException("Media uploads have been shut down");
+                try {
+                    pool.getQueue().put(upload);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting to queue a media upload", e);
+                }
+            });
+            setThreadNamePrefix("media-upload-");
+            setWaitForTasksToCompleteOnShutdown(true);
+            setAwaitTerminationSeconds(60);
+            initialize();
+        }};
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * The value to save for a media observation until its media is uploaded.
+     */
+    public String pending(String conceptUuid, String mediaURL, Object oldValue) throws MalformedURLException {
+        if (mediaURL.equals(oldValue)) return mediaURL;
+        new URL(mediaURL);
+        pendingUploads().unclaimed.add(new MediaUpload(conceptUuid, mediaURL, oldValue == null ? null : oldValue.toString()));
+        return mediaURL;
+    }
+
+    /**
+     * Uploads the pending media of the entity, which has just been saved from the row, after the transaction commits.
+     */
+    public void uploadAfterCommit(CHSBaseEntity entity, Row row) {
+        PendingUploads pendingUploads = pendingUploads();
+        String table = tableOf(entity);
+        String jobUuid = jobUuid();
+        pendingUploads.unclaimed.forEach(upload -> {
+            upload.table = table;
+            upload.entityUuid = entity.getUuid();
+            upload.row = row.toString();
+            upload.jobUuid = jobUuid;
+        });
+        pendingUploads.claimed.addAll(pendingUploads.unclaimed);
+        pendingUploads.unclaimed.clear();
+    }
+
+    /**
+     * Waits for the uploads of the media of an upload job, so that the rows whose media failed are in its error file.
+     */
+    public void awaitUploadsOf(String jobUuid) throws InterruptedException {
+        JobUploads uploads = uploadsByJob.get(jobUuid);
+        if (uploads == null) return;
+        if (!uploads.awaitAll(jobWaitMillis)) {
+            logger.warn(format("Media of upload %s still being uploaded after %d ms, rows whose media fails later are not in its error file", jobUuid, jobWaitMillis));
+        }
+        uploadsByJob.remove(jobUuid, uploads);
+    }
+
+    private static String jobUuid() {
+        JobContext jobContext = JobSynchronizationManager.getContext();
+        return jobContext == null ? null : jobContext.getJobExecution().getJobParameters().getString("uuid");
+    }
+
+    private PendingUploads pendingUploads() {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(), "Media observations are uploaded after the transaction saving them commits");
+        PendingUploads pendingUploads = (PendingUploads) TransactionSynchronizationManager.getResource(this);
+        if (pendingUploads == null) {
+            pendingUploads = new PendingUploads(UserContextHolder.getUserContext());
+            TransactionSynchronizationManager.bindResource(this, pendingUploads);
+            TransactionSynchronizationManager.registerSynchronization(pendingUploads);
+        }
+        return pendingUploads;
+    }
+
+    private static String tableOf(CHSBaseEntity entity) {
+        Table table = (Table) Hibernate.getClass(entity).getAnnotation(Table.class);
+        Assert.notNull(table, format("%s has no table", Hibernate.getClass(entity).getSimpleName()));
+        return table.name();
+    }
+
+    private void submit(MediaUpload upload, UserContext userContext) {
+        JobUploads uploads = upload.jobUuid == null ? null : uploadsByJob.computeIfAbsent(upload.jobUuid, jobUuid -> new JobUploads());
+        if (uploads != null) uploads.started();
+        try {
+            executor.execute(() -> {
+                try {
+                    upload(upload, userContext);
+                } finally {
+                    if (uploads != null) uploads.finished();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (uploads != null) uploads.finished();
+            logger.error(format("Could not queue the upload of media '%s' of %s %s", upload.sourceURL, upload.table, upload.entityUuid), e);
+            reportFailure(upload, format("Media '%s' was not uploaded: %s", upload.sourceURL, e.getMessage()));
+        }
+    }
+
+    private void upload(MediaUpload upload, UserContext userContext) {
+        UserContext callerContext = UserContextHolder.getUserContext();
+        UserContextHolder.create(userContext);
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            String value = fetchAndStoreWithRetries(upload.sourceURL);
+            if (value == null) {
+                logger.error(format("Could not upload media '%s' of %s %s, setting the observation back to its earlier value", upload.sourceURL, upload.table, upload.entityUuid));
+                newTransaction.execute(status -> upload.oldValue == null ?
+                        mediaObservationRepository.removeValue(upload.table, upload.entityUuid, upload.conceptUuid, upload.sourceURL) :
+                        mediaObservationRepository.replaceValue(upload.table, upload.entityUuid, upload.conceptUuid, upload.sourceURL, upload.oldValue));
+                reportFailure(upload, format("Could not upload media '%s', the observation was set back to its earlier value", upload.sourceURL));
+                return;
+            }
+            Integer replaced = newTransaction.execute(status -> mediaObservationRepository.replaceValue(upload.table, upload.entityUuid, upload.conceptUuid, upload.sourceURL, value));
+            if (replaced == null || replaced == 0) {
+                s3Service.deleteObject(S.getLastStringAfter(value, "/"));
+                outcome = "superseded";
+                return;
+            }
+            if (upload.oldValue != null) {
+                s3Service.deleteObject(S.getLastStringAfter(upload.oldValue, "/"));
+            }
+            outcome = "uploaded";
+        } catch (RuntimeException e) {
+            logger.error(format("Could not save media '%s' of %s %s", upload.sourceURL, upload.table, upload.entityUuid), e);
+            reportFailure(upload, format("Could not save media '%s': %s", upload.sourceURL, e.getMessage()));
+        } finally {
+            meterRegistry.timer("openchs.bulkUpload.media", "outcome", outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (callerContext == null) UserContextHolder.clear();
+            else UserContextHolder.create(callerContext);
+        }
+    }
+
+    private void reportFailure(MediaUpload upload, String message) {
+        if (upload.jobUuid == null) return;
+        try {
+            bulkUploadS3Service.appendToErrorFile(upload.jobUuid, upload.row, message);
+        } catch (IOException e) {
+            logger.error(format("Could not add media failure of %s %s to the error file of upload %s", upload.table, upload.entityUuid, upload.jobUuid), e);
+        }
+    }
+
+    private String fetchAndStoreWithRetries(String mediaURL) {
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                String value = fetchAndStore(mediaURL);
+                if (value != null) return value;
+            } catch (IOException | RuntimeException e) {
+                logger.warn(format("Attempt %d of %d to upload media '%s' failed: %s", attempt, attempts, mediaURL, e.getMessage()));
+            }
+            if (attempt == attempts) break;
+            try {
+                Thread.sleep(retryDelayMillis * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return null;
+    }
+
+    private String fetchAndStore(String mediaURL) throws IOException {
+        String extension = S.getLastStringAfter(mediaURL, ".");
+        File file = new File(format("%s/imports/%s", System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString().concat(format(".%s", extension))));
+        try {
+            FileUtils.copyURLToFile(new URL(mediaURL), file, timeoutMillis, timeoutMillis);
+            return s3Service.uploadFileToS3(file);
+        } catch (IOException | RuntimeException e) {
+            FileUtils.deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private static class MediaUpload {
+        private final String conceptUuid;
+        private final String sourceURL;
+        private final String oldValue;
+        private String table;
+        private String entityUuid;
+        private String row;
+        private String jobUuid;
+
+        MediaUpload(String conceptUuid, String sourceURL, String oldValue) {
+            this.conceptUuid = conceptUuid;
+            this.sourceURL = sourceURL;
+            this.oldValue = oldValue;
+        }
+    }
+
+    private class PendingUploads extends TransactionSynchronizationAdapter {
+        private final UserContext userContext;
+        private final List<MediaUpload> unclaimed = new ArrayList<>();
+        private final List<MediaUpload> claimed = new ArrayList<>();
+
+        PendingUploads(UserContext userContext) {
+            this.userContext = userContext;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MediaObservationUploader.this);
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                claimed.forEach(upload -> submit(upload, userContext));
+            }
+        }
+    }
+
+    private static class JobUploads {
+        private int running;
+
+        synchronized void started() {
+            running++;
+        }
+
+        synchronized void finished() {
+            if (--running == 0) notifyAll();
+        }
+
+        synchronized boolean awaitAll(long waitMillis) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + waitMillis;
+            while (running > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                wait(remaining);
+            }
+            return true;
+        }
+    }
+}
@@ -1,23 +1,18 @@
 package org.openchs.importer.batch.csv.creator;
 
-import org.apache.commons.io.FileUtils;
 import org.openchs.application.*;
 import org.openchs.dao.*;
-import org.openchs.dao.application.FormRepository;
 import org.openchs.domain.*;
 import org.openchs.importer.batch.csv.writer.header.Headers;
 import org.openchs.importer.batch.model.Row;
+import org.openchs.service.MetadataCache;
 import org.openchs.service.ObservationService;
-import org.openchs.service.S3Service;
-import org.openchs.util.S;
 import org.openchs.web.request.ObservationRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.*;
-import java.net.URL;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -28,29 +23,25 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static java.lang.String.format;
-
 @Component
 public class ObservationCreator {
 
     private static Logger logger = LoggerFactory.getLogger(ObservationCreator.class);
     private AddressLevelTypeRepository addressLevelTypeRepository;
-    private ConceptRepository conceptRepository;
-    private FormRepository formRepository;
+    private MetadataCache metadataCache;
     private ObservationService observationService;
-    private S3Service s3Service;
     private SubjectTypeRepository subjectTypeRepository;
     private IndividualRepository individualRepository;
     private LocationRepository locationRepository;
+    private MediaObservationUploader mediaObservationUploader;
 
     @Autowired
     public ObservationCreator(AddressLevelTypeRepository addressLevelTypeRepository,
-                              ConceptRepository conceptRepository, FormRepository formRepository, ObservationService observationService, S3Service s3Service, SubjectTypeRepository subjectTypeRepository, IndividualRepository individualRepository, LocationRepository locationRepository) {
+                              MetadataCache metadataCache, ObservationService observationService, MediaObservationUploader mediaObservationUploader, SubjectTypeRepository subjectTypeRepository, IndividualRepository individualRepository, LocationRepository locationRepository) {
         this.addressLevelTypeRepository = addressLevelTypeRepository;
-        this.conceptRepository = conceptRepository;
-        this.formRepository = formRepository;
+        this.metadataCache = metadataCache;
         this.observationService = observationService;
-        this.s3Service = s3Service;
+        this.mediaObservationUploader = mediaObservationUploader;
         this.subjectTypeRepository = subjectTypeRepository;
         this.individualRepository = individualRepository;
         this.locationRepository = locationRepository;
@@ -66,7 +57,7 @@ public class ObservationCreator {
 
         List<Concept> obsConcepts = getConceptHeaders(fileHeaders, nonConceptHeaders)
                 .stream()
-                .map(conceptRepository::findByName)
+                .map(metadataCache::getConceptByName)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
         return obsConcepts;
@@ -75,9 +66,15 @@ public class ObservationCreator {
     public ObservationCollection getObservations(Row row,
                                                  Headers headers,
                                                  List<String> errorMsgs, FormType formType, ObservationCollection oldObservations) {
+        return getObservations(row, getConceptHeaders(headers, row.getHeaders()), errorMsgs, formType, oldObservations);
+    }
+
+    public ObservationCollection getObservations(Row row,
+                                                 List<Concept> conceptHeaders,
+                                                 List<String> errorMsgs, FormType formType, ObservationCollection oldObservations) {
         List<ObservationRequest> observationRequests = new ArrayList<>();
 
-        for (Concept concept : getConceptHeaders(headers, row.getHeaders())) {
+        for (Concept concept : conceptHeaders) {
             String rowValue = row.get(concept.getName());
             if (rowValue == null || rowValue.trim().equals(""))
                 continue;
@@ -96,17 +93,15 @@ public class ObservationCreator {
         return observationService.createObservations(observationRequests);
     }
 
-    private FormElement getFormElementForObservationConcept(Concept concept, FormType formType) throws Exception {
-        List<Form> applicableForms = formRepository.findAllByFormType(formType);
-        if (applicableForms.size() == 0)
+    private String getFormElementTypeForObservationConcept(Concept concept, FormType formType) throws Exception {
+        Map<String, String> formElementTypes = metadataCache.getFormElementTypesByConcept(formType);
+        if (formElementTypes == null)
             throw new Exception(String.format("No forms of type %s found", formType));
 
-        return applicableForms.stream()
-                .map(Form::getAllFormElements)
-                .flatMap(List::stream)
-                .filter(fel -> fel.getConcept().equals(concept))
-                .findFirst()
-                .orElseThrow(() -> new Exception("No form element linked to concept found"));
+        String formElementType = formElementTypes.get(concept.getUuid());
+        if (formElementType == null)
+            throw new Exception("No form element linked to concept found");
+        return formElementType;
     }
 
     private String[] splitMultiSelectAnswer(String answerValue) {
@@ -123,9 +118,9 @@ public class ObservationCreator {
     private Object getObservationValue(Concept concept, String answerValue, FormType formType, List<String> errorMsgs, Object oldValue) throws Exception {
         switch (ConceptDataType.valueOf(concept.getDataType())) {
             case Coded:
-                FormElement formElement = getFormElementForObservationConcept(concept, formType);
+                String formElementType = getFormElementTypeForObservationConcept(concept, formType);
 
-                if (formElement.getType().equals(FormElementType.MultiSelect.name())) {
+                if (formElementType.equals(FormElementType.MultiSelect.name())) {
                     String[] providedAnswers = splitMultiSelectAnswer(answerValue);
                     return Stream.of(providedAnswers)
                             .map(answer -> concept.findAnswerConcept(answer).getUuid())
@@ -140,13 +135,13 @@ public class ObservationCreator {
                 return (answerValue.trim().equals("")) ? null : toISODateFormat(answerValue);
             case Image:
             case Video:
-                return (answerValue.trim().equals("")) ? null : processMediaObservation(answerValue, errorMsgs, oldValue);
+                return (answerValue.trim().equals("")) ? null : mediaObservationUploader.pending(concept.getUuid(), answerValue.trim(), oldValue);
             case Subject:
                 SubjectType subjectType = subjectTypeRepository.findByUuid(concept.getKeyValues().get(KeyType.subjectTypeUUID).getValue().toString());
 
-                FormElement subjectFormElement = getFormElementForObservationConcept(concept, formType);
+                String subjectFormElementType = getFormElementTypeForObservationConcept(concept, formType);
 
-                if (subjectFormElement.getType().equals(FormElementType.MultiSelect.name())) {
+                if (subjectFormElementType.equals(FormElementType.MultiSelect.name())) {
                     String[] providedAnswers = splitMultiSelectAnswer(answerValue);
 
                     return Stream.of(providedAnswers)
@@ -156,7 +151,7 @@ public class ObservationCreator {
                     return individualRepository.findByLegacyIdAndSubjectType(answerValue, subjectType).getUuid();
                 }
             case Location:
-                FormElement locationFormElement = getFormElementForObservationConcept(concept, formType);
+                String locationFormElementType = getFormElementTypeForObservationConcept(concept, formType);
 
                 List<String> lowestLevelUuids = (List<String>) concept.getKeyValues().get(KeyType.lowestAddressLevelTypeUUIDs).getValue();
 
@@ -164,7 +159,7 @@ public class ObservationCreator {
                         .map(uuid -> addressLevelTypeRepository.findByUuid(uuid))
                         .collect(Collectors.toList());
 
-                if (locationFormElement.getType().equals(FormElementType.MultiSelect.name())) {
+                if (locationFormElementType.equals(FormElementType.MultiSelect.name())) {
                     String[] providedAnswers = splitMultiSelectAnswer(answerValue);
                     return Stream.of(providedAnswers)
                             .map(answer -> locationRepository.findByTitleIgnoreCaseAndTypeIn(answer, lowestLevels).getUuid())
@@ -201,24 +196,4 @@ public class ObservationCreator {
                 .filter(header -> !nonConceptHeaders.contains(header))
                 .collect(Collectors.toSet());
     }
-
-    private String processMediaObservation(String mediaURL, List<String> errorMsgs, Object oldValue) throws IOException {
-        if (oldValue != null) {
-            s3Service.deleteObject(S.getLastStringAfter((String) oldValue, "/"));
-        }
-        String extension = S.getLastStringAfter(mediaURL, ".");
-        File file = new File(format("%s/imports/%s", System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString().concat(format(".%s", extension))));
-        downloadMediaToFile(mediaURL, errorMsgs, file);
-        return s3Service.uploadFileToS3(file);
-    }
-
-    private void downloadMediaToFile(String mediaURL, List<String> errorMsgs, File file) {
-        try {
-            FileUtils.copyURLToFile(new URL(mediaURL), file, 5000, 5000);
-        } catch (IOException e) {
-            String message = format("Error while downloading media '%s' ", mediaURL);
-            logger.error(message, e);
-            errorMsgs.add(message);
-        }
-    }
 }
@@ -1,6 +1,5 @@
 package org.openchs.importer.batch.csv.writer;
 
-import org.openchs.framework.security.AuthService;
 import org.openchs.importer.batch.model.Row;
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.item.ItemWriter;
@@ -11,25 +10,30 @@ import org.springframework.stereotype.Component;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
+/**
+ * The user of the upload is authenticated by ErrorFileCreatorListener before the job, and made available on the
+ * threads writing chunks by BatchConfiguration.importTaskExecutor.
+ */
 @Component
 @JobScope
 public class CsvFileItemWriter implements ItemWriter<Row> {
+    //The Id column of subject, enrolment and encounter uploads
+    private static final String ID = "Id";
 
-    private final AuthService authService;
+    private final LegacyIdClaims legacyIdClaims;
     private final Map<String, ItemWriter<Row>> writers = new HashMap<>();
 
     @Value("#{jobParameters['userId']}")
     private Long userId;
-    @Value("#{jobParameters['organisationUUID']}")
-    private String organisationUUID;
     @Value("#{jobParameters['type']}")
     private String type;
 
     @Autowired
-    public CsvFileItemWriter(AuthService authService,
+    public CsvFileItemWriter(LegacyIdClaims legacyIdClaims,
                              LocationWriter locationWriter,
                              UserAndCatchmentWriter userAndCatchmentWriter,
                              SubjectWriter subjectWriter,
@@ -38,7 +42,7 @@ public class CsvFileItemWriter implements ItemWriter<Row> {
                              EncounterWriter encounterWriter,
                              GroupSubjectWriter groupSubjectWriter
     ) {
-        this.authService = authService;
+        this.legacyIdClaims = legacyIdClaims;
         writers.put("locations", locationWriter);
         writers.put("usersAndCatchments", userAndCatchmentWriter);
         writers.put("Subject", subjectWriter);
@@ -59,7 +63,7 @@ public class CsvFileItemWriter implements ItemWriter<Row> {
 
     @Override
     public void write(List<? extends Row> rows) throws Exception {
-        authService.authenticateByUserId(userId, organisationUUID);
+        legacyIdClaims.claimUntilCompletion(rows.stream().map(row -> row.get(ID)).collect(Collectors.toList()));
         getWriter().write(rows);
     }
 
@@ -7,6 +7,7 @@ import org.openchs.domain.Encounter;
 import org.openchs.domain.Individual;
 import org.openchs.importer.batch.csv.writer.header.EncounterHeaders;
 import org.openchs.importer.batch.csv.creator.BasicEncounterCreator;
+import org.openchs.importer.batch.csv.creator.MediaObservationUploader;
 import org.openchs.importer.batch.model.Row;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,15 +25,18 @@ public class EncounterWriter implements ItemWriter<Row>, Serializable {
     private IndividualRepository individualRepository;
     private static EncounterHeaders headers = new EncounterHeaders();
     private BasicEncounterCreator basicEncounterCreator;
+    private MediaObservationUploader mediaObservationUploader;
 
 
     @Autowired
     public EncounterWriter(EncounterRepository encounterRepository,
                            IndividualRepository individualRepository,
-                           BasicEncounterCreator basicEncounterCreator) {
+                           BasicEncounterCreator basicEncounterCreator,
+                           MediaObservationUploader mediaObservationUploader) {
         this.encounterRepository = encounterRepository;
         this.individualRepository = individualRepository;
         this.basicEncounterCreator = basicEncounterCreator;
+        this.mediaObservationUploader = mediaObservationUploader;
     }
 
     @Override
@@ -56,6 +60,7 @@ public class EncounterWriter implements ItemWriter<Row>, Serializable {
         encounter.assignUUIDIfRequired();
 
         encounterRepository.save(encounter);
+        mediaObservationUploader.uploadAfterCommit(encounter, row);
     }
 
     private Individual getSubject(Row row, List<String> errorMsgs) {
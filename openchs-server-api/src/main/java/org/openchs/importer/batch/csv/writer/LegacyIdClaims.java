@@ -0,0 +1,55 @@
+package org.openchs.importer.batch.csv.writer;
+
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rows with the same legacy id are written one transaction at a time. A row looks its legacy id up before saving, when
+ * two chunks written side by side have rows with the same id neither sees the entity the other saves and both create
+ * one.
+ * <p>
+ * A chunk claims all its ids at once, waiting while any of them is claimed by another chunk, and gives them up when
+ * its transaction completes. No chunk holds some ids while waiting for others, so chunks cannot wait on each other in a
+ * cycle.
+ */
+@Component
+@JobScope
+public class LegacyIdClaims {
+    private final Set<String> claimed = new HashSet<>();
+
+    public void claimUntilCompletion(Collection<String> legacyIds) throws InterruptedException {
+        Set<String> ids = legacyIds.stream()
+                .filter(id -> id != null && !id.isEmpty())
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) return;
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(), "Legacy ids are claimed for the transaction writing them");
+        claim(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                release(ids);
+            }
+        });
+    }
+
+    private synchronized void claim(Set<String> ids) throws InterruptedException {
+        while (!Collections.disjoint(claimed, ids)) {
+            wait();
+        }
+        claimed.addAll(ids);
+    }
+
+    private synchronized void release(Set<String> ids) {
+        claimed.removeAll(ids);
+        notifyAll();
+    }
+}
@@ -10,8 +10,12 @@ import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Locations created by the rows of a chunk get their lineages in one statement for the whole chunk.
+ */
 @Component
 public class LocationWriter implements ItemWriter<Row> {
 
@@ -26,10 +30,12 @@ public class LocationWriter implements ItemWriter<Row> {
 
     @Override
     public void write(List<? extends Row> rows) throws Exception {
-        for (Row row : rows) write(row);
+        List<AddressLevel> created = new ArrayList<>();
+        for (Row row : rows) write(row, created);
+        locationService.updateLineages(created);
     }
 
-    private void write(Row row) throws BuilderException {
+    private void write(Row row, List<AddressLevel> created) throws BuilderException {
         AddressLevel parent = null;
         for (String header : row.getHeaders()) {
             AddressLevel location = locationRepository.findByParentAndTitleIgnoreCaseAndIsVoidedFalse(parent, row.get(header));
@@ -42,7 +48,8 @@ public class LocationWriter implements ItemWriter<Row> {
                 if (parent != null) {
                     locationContract.setParent(new LocationContract(parent.getUuid()));
                 }
-                location = locationService.save(locationContract);
+                location = locationService.saveWithoutLineage(locationContract);
+                created.add(location);
             }
             parent = location;
         }
@@ -23,13 +23,15 @@ public class ProgramEncounterWriter implements ItemWriter<Row>, Serializable {
     private static ProgramEncounterHeaders headers = new ProgramEncounterHeaders();
     private ProgramEnrolmentCreator programEnrolmentCreator;
     private BasicEncounterCreator basicEncounterCreator;
+    private MediaObservationUploader mediaObservationUploader;
 
 
     @Autowired
-    public ProgramEncounterWriter(ProgramEncounterRepository programEncounterRepository, EncounterTypeRepository encounterTypeRepository, ProgramEnrolmentCreator programEnrolmentCreator, ObservationCreator observationCreator, EncounterTypeCreator encounterTypeCreator, BasicEncounterCreator basicEncounterCreator) {
+    public ProgramEncounterWriter(ProgramEncounterRepository programEncounterRepository, EncounterTypeRepository encounterTypeRepository, ProgramEnrolmentCreator programEnrolmentCreator, ObservationCreator observationCreator, EncounterTypeCreator encounterTypeCreator, BasicEncounterCreator basicEncounterCreator, MediaObservationUploader mediaObservationUploader) {
         this.programEncounterRepository = programEncounterRepository;
         this.programEnrolmentCreator = programEnrolmentCreator;
         this.basicEncounterCreator = basicEncounterCreator;
+        this.mediaObservationUploader = mediaObservationUploader;
     }
 
     @Override
@@ -49,6 +51,7 @@ public class ProgramEncounterWriter implements ItemWriter<Row>, Serializable {
         }
 
         programEncounterRepository.save(programEncounter);
+        mediaObservationUploader.uploadAfterCommit(programEncounter, row);
     }
 
     private ProgramEncounter getOrCreateProgramEncounter(Row row) {
@@ -24,6 +24,7 @@ public class ProgramEnrolmentWriter implements ItemWriter<Row>, Serializable {
     private final ProgramEnrolmentRepository programEnrolmentRepository;
     private static final ProgramEnrolmentHeaders headers = new ProgramEnrolmentHeaders();
     private ObservationCreator observationCreator;
+    private MediaObservationUploader mediaObservationUploader;
     private LocationCreator locationCreator;
     private SubjectCreator subjectCreator;
     private DateCreator dateCreator;
@@ -34,11 +35,13 @@ public class ProgramEnrolmentWriter implements ItemWriter<Row>, Serializable {
     public ProgramEnrolmentWriter(ProgramEnrolmentRepository programEnrolmentRepository,
                                   ObservationCreator observationCreator,
                                   SubjectCreator subjectCreator,
-                                  ProgramCreator programCreator) {
+                                  ProgramCreator programCreator,
+                                  MediaObservationUploader mediaObservationUploader) {
         this.programEnrolmentRepository = programEnrolmentRepository;
         this.observationCreator = observationCreator;
         this.subjectCreator = subjectCreator;
         this.programCreator = programCreator;
+        this.mediaObservationUploader = mediaObservationUploader;
         this.locationCreator = new LocationCreator();
         this.dateCreator = new DateCreator();
     }
@@ -77,6 +80,7 @@ public class ProgramEnrolmentWriter implements ItemWriter<Row>, Serializable {
         }
 
         programEnrolmentRepository.save(programEnrolment);
+        mediaObservationUploader.uploadAfterCommit(programEnrolment, row);
     }
 
     private ProgramEnrolment getOrCreateProgramEnrolment(Row row) {
@@ -0,0 +1,84 @@
+package org.openchs.importer.batch.csv.writer;
+
+import org.hibernate.Hibernate;
+import org.openchs.domain.AddressLevel;
+import org.openchs.domain.AddressLevelType;
+import org.openchs.domain.Concept;
+import org.openchs.domain.Gender;
+import org.openchs.domain.OperationalSubjectType;
+import org.openchs.domain.SubjectType;
+
+import java.util.*;
+
+/**
+ * Everything SubjectWriter looks up for a row, loaded once for an upload. Names and titles are matched ignoring case.
+ * <p>
+ * The rows of an upload are written in transactions of their own, so the entities here are detached after the first
+ * one. They are only referred to from the subjects being saved.
+ */
+class SubjectImportIndex {
+    private static final String LINEAGE_SEPARATOR = ", ";
+
+    private final List<AddressLevelType> locationTypes;
+    private final Map<String, List<AddressLevel>> locationsByTitle = new HashMap<>();
+    private final Map<String, AddressLevel> locationsByLineageSuffix = new HashMap<>();
+    private final List<Concept> conceptHeaders;
+    private final Map<String, Gender> gendersByName = new HashMap<>();
+    private final Map<String, SubjectType> subjectTypesByName = new HashMap<>();
+
+    SubjectImportIndex(List<AddressLevelType> locationTypes,
+                       List<AddressLevel> locations,
+                       List<Concept> conceptHeaders,
+                       Iterable<Gender> genders,
+                       Iterable<OperationalSubjectType> operationalSubjectTypes) {
+        List<AddressLevelType> sortedLocationTypes = new ArrayList<>(locationTypes);
+        sortedLocationTypes.sort(Comparator.comparingDouble(AddressLevelType::getLevel).reversed());
+        this.locationTypes = Collections.unmodifiableList(sortedLocationTypes);
+        this.conceptHeaders = Collections.unmodifiableList(new ArrayList<>(conceptHeaders));
+
+        for (AddressLevel location : locations) {
+            locationsByTitle.computeIfAbsent(location.getTitle().toLowerCase(), title -> new ArrayList<>()).add(location);
+            if (location.getTitleLineage() == null) continue;
+            List<String> lineage = Arrays.asList(location.getTitleLineage().toLowerCase().split(LINEAGE_SEPARATOR));
+            for (int i = 0; i < lineage.size(); i++) {
+                locationsByLineageSuffix.putIfAbsent(String.join(LINEAGE_SEPARATOR, lineage.subList(i, lineage.size())), location);
+            }
+        }
+        genders.forEach(gender -> gendersByName.putIfAbsent(gender.getName().toLowerCase(), gender));
+        operationalSubjectTypes.forEach(operationalSubjectType -> {
+            SubjectType subjectType = operationalSubjectType.getSubjectType();
+            Hibernate.initialize(subjectType);
+            subjectTypesByName.putIfAbsent(operationalSubjectType.getName().toLowerCase(), subjectType);
+        });
+    }
+
+    /**
+     * Sorted from the highest level to the lowest.
+     */
+    List<AddressLevelType> getLocationTypes() {
+        return locationTypes;
+    }
+
+    List<AddressLevel> getLocationsByTitle(String title) {
+        return locationsByTitle.getOrDefault(title.toLowerCase(), Collections.emptyList());
+    }
+
+    /**
+     * A location whose title lineage ends with the given lineage, the titles in it separated by ", ".
+     */
+    AddressLevel getLocationByLineage(String lineage) {
+        return locationsByLineageSuffix.get(lineage.toLowerCase());
+    }
+
+    List<Concept> getConceptHeaders() {
+        return conceptHeaders;
+    }
+
+    Gender getGender(String name) {
+        return name == null ? null : gendersByName.get(name.toLowerCase());
+    }
+
+    SubjectType getSubjectType(String name) {
+        return name == null ? null : subjectTypesByName.get(name.toLowerCase());
+    }
+}
@@ -7,28 +7,33 @@ import org.openchs.dao.AddressLevelTypeRepository;
 import org.openchs.dao.GenderRepository;
 import org.openchs.dao.IndividualRepository;
 import org.openchs.dao.LocationRepository;
+import org.openchs.dao.OperationalSubjectTypeRepository;
 import org.openchs.domain.AddressLevel;
 import org.openchs.domain.AddressLevelType;
 import org.openchs.domain.Gender;
 import org.openchs.domain.Individual;
+import org.openchs.domain.SubjectType;
 import org.openchs.importer.batch.csv.writer.header.SubjectHeaders;
 import org.openchs.importer.batch.csv.creator.LocationCreator;
+import org.openchs.importer.batch.csv.creator.MediaObservationUploader;
 import org.openchs.importer.batch.csv.creator.ObservationCreator;
-import org.openchs.importer.batch.csv.creator.SubjectTypeCreator;
 import org.openchs.importer.batch.model.Row;
+import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 
+/**
+ * Job scoped, the locations, concepts, genders and subject types of an upload are loaded into a SubjectImportIndex
+ * with its first row and reused for the rest.
+ */
 @Component
+@JobScope
 public class SubjectWriter implements ItemWriter<Row>, Serializable {
 
     private final AddressLevelTypeRepository addressLevelTypeRepository;
@@ -36,20 +41,23 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
     private final IndividualRepository individualRepository;
     private final GenderRepository genderRepository;
     private static final SubjectHeaders headers = new SubjectHeaders();
-    private SubjectTypeCreator subjectTypeCreator;
+    private final OperationalSubjectTypeRepository operationalSubjectTypeRepository;
     private ObservationCreator observationCreator;
+    private MediaObservationUploader mediaObservationUploader;
     private LocationCreator locationCreator;
+    private SubjectImportIndex index;
 
     @Autowired
     public SubjectWriter(AddressLevelTypeRepository addressLevelTypeRepository,
                          LocationRepository locationRepository,
-                         IndividualRepository individualRepository, GenderRepository genderRepository, SubjectTypeCreator subjectTypeCreator, ObservationCreator observationCreator) {
+                         IndividualRepository individualRepository, GenderRepository genderRepository, OperationalSubjectTypeRepository operationalSubjectTypeRepository, ObservationCreator observationCreator, MediaObservationUploader mediaObservationUploader) {
         this.addressLevelTypeRepository = addressLevelTypeRepository;
         this.locationRepository = locationRepository;
         this.individualRepository = individualRepository;
         this.genderRepository = genderRepository;
-        this.subjectTypeCreator = subjectTypeCreator;
+        this.operationalSubjectTypeRepository = operationalSubjectTypeRepository;
         this.observationCreator = observationCreator;
+        this.mediaObservationUploader = mediaObservationUploader;
         this.locationCreator = new LocationCreator();
     }
 
@@ -58,25 +66,34 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
         for (Row row : rows) write(row);
     }
 
-    private void write(Row row) throws Exception {
-        List<AddressLevelType> locationTypes = addressLevelTypeRepository.findAllByIsVoidedFalse();
-        locationTypes.sort(Comparator.comparingDouble(AddressLevelType::getLevel).reversed());
+    private synchronized SubjectImportIndex getIndex(Row row) {
+        if (index == null) {
+            index = new SubjectImportIndex(
+                    addressLevelTypeRepository.findAllByIsVoidedFalse(),
+                    locationRepository.findAllByIsVoidedFalse(),
+                    observationCreator.getConceptHeaders(headers, row.getHeaders()),
+                    genderRepository.findAll(),
+                    operationalSubjectTypeRepository.findAll());
+        }
+        return index;
+    }
 
-        List<AddressLevel> locations = locationRepository.findAllByIsVoidedFalse();
+    private void write(Row row) throws Exception {
+        SubjectImportIndex index = getIndex(row);
 
         Individual individual = getOrCreateIndividual(row);
         List<String> allErrorMsgs = new ArrayList<>();
 
-        individual.setSubjectType(subjectTypeCreator.getSubjectType(row.get(headers.subjectType), allErrorMsgs, headers.subjectType));
+        individual.setSubjectType(getSubjectType(index, row, allErrorMsgs));
         individual.setFirstName(row.get(headers.firstName));
         individual.setLastName(row.get(headers.lastName));
         setDateOfBirth(individual, row, allErrorMsgs);
         individual.setDateOfBirthVerified(row.getBool(headers.dobVerified));
         setRegistrationDate(individual, row, allErrorMsgs);
         individual.setRegistrationLocation(locationCreator.getLocation(row, headers.registrationLocation, allErrorMsgs));
-        setAddressLevel(individual, row, locationTypes, locations, allErrorMsgs);
-        individual.setObservations(observationCreator.getObservations(row, headers, allErrorMsgs, FormType.IndividualProfile, individual.getObservations()));
-        if (individual.getSubjectType().getType().equals(Subject.Person)) setGender(individual, row, allErrorMsgs);
+        setAddressLevel(individual, row, index, allErrorMsgs);
+        individual.setObservations(observationCreator.getObservations(row, index.getConceptHeaders(), allErrorMsgs, FormType.IndividualProfile, individual.getObservations()));
+        if (individual.getSubjectType().getType().equals(Subject.Person)) setGender(individual, row, index, allErrorMsgs);
 
         if (allErrorMsgs.size() > 0) {
             throw new Exception(String.join(", ", allErrorMsgs));
@@ -86,6 +103,7 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
         individual.assignUUIDIfRequired();
 
         individualRepository.save(individual);
+        mediaObservationUploader.uploadAfterCommit(individual, row);
     }
 
     private Individual getOrCreateIndividual(Row row) {
@@ -122,10 +140,18 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
         }
     }
 
-    private void setGender(Individual individual, Row row, List<String> errorMsgs) {
+    private SubjectType getSubjectType(SubjectImportIndex index, Row row, List<String> errorMsgs) {
+        SubjectType subjectType = index.getSubjectType(row.get(headers.subjectType));
+        if (subjectType == null) {
+            errorMsgs.add(String.format("'%s' not found", headers.subjectType));
+        }
+        return subjectType;
+    }
+
+    private void setGender(Individual individual, Row row, SubjectImportIndex index, List<String> errorMsgs) {
         try {
             String genderName = row.get(headers.gender);
-            Gender gender = genderRepository.findByNameIgnoreCase(genderName);
+            Gender gender = index.getGender(genderName);
             if (gender == null) {
                 errorMsgs.add(String.format("Invalid '%s' - '%s'", headers.gender, genderName));
                 return;
@@ -138,30 +164,25 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
 
     private void setAddressLevel(Individual individual,
                                  Row row,
-                                 List<AddressLevelType> locationTypes,
-                                 List<AddressLevel> locations,
+                                 SubjectImportIndex index,
                                  List<String> errorMsgs) {
         try {
             AddressLevel addressLevel;
+            List<AddressLevelType> locationTypes = index.getLocationTypes();
             AddressLevelType lowestAddressLevelType = locationTypes.get(locationTypes.size() - 1);
 
             String lowestInputAddressLevel = row.get(lowestAddressLevelType.getName());
             if (lowestInputAddressLevel == null)
                 throw new Exception(String.format("Missing '%s'", lowestAddressLevelType.getName()));
 
-            Supplier<Stream<AddressLevel>> addressMatches = () ->
-                    locations.stream()
-                            .filter(location ->
-                                    location.getTitle()
-                                            .toLowerCase()
-                                            .equals(lowestInputAddressLevel.toLowerCase()));
+            List<AddressLevel> addressMatches = index.getLocationsByTitle(lowestInputAddressLevel);
 
-            if (addressMatches.get().count() > 1) {
+            if (addressMatches.size() > 1) {
                 // filter by lineage if more than one location with same name present
-                addressLevel = getAddressLevelByLineage(row, locationTypes, locations);
+                addressLevel = getAddressLevelByLineage(row, index);
             } else {
                 // exactly 1 or no match
-                addressLevel = addressMatches.get().findFirst().orElseThrow(() -> new Exception("'Address' not found"));
+                addressLevel = addressMatches.stream().findFirst().orElseThrow(() -> new Exception("'Address' not found"));
             }
             individual.setAddressLevel(addressLevel);
         } catch (Exception ex) {
@@ -169,11 +190,9 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
         }
     }
 
-    private AddressLevel getAddressLevelByLineage(Row row,
-                                                  List<AddressLevelType> locationTypes,
-                                                  List<AddressLevel> locations) throws Exception {
+    private AddressLevel getAddressLevelByLineage(Row row, SubjectImportIndex index) throws Exception {
         List<String> inputLocations = new ArrayList<>();
-        for (AddressLevelType addressLevelType : locationTypes) {
+        for (AddressLevelType addressLevelType : index.getLocationTypes()) {
             String _location = row.get(addressLevelType.getName());
             if (_location != null)
                 inputLocations.add(_location);
@@ -183,12 +202,9 @@ public class SubjectWriter implements ItemWriter<Row>, Serializable {
             throw new Exception("Invalid address");
 
         String lineage = String.join(", ", inputLocations);
-        return locations.stream()
-                .filter(location ->
-                        location.getTitleLineage()
-                                .toLowerCase()
-                                .endsWith(lineage.toLowerCase()))
-                .findFirst()
-                .orElseThrow(() -> new Exception("'Address' not found"));
+        AddressLevel addressLevel = index.getLocationByLineage(lineage);
+        if (addressLevel == null)
+            throw new Exception("'Address' not found");
+        return addressLevel;
     }
 }
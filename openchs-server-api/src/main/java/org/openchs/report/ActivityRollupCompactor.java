@@ -0,0 +1,31 @@
+package org.openchs.report;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds the deltas the database appends on every counted write into the activity rollups, so that the dashboard
+ * reads a table that grows with the number of days and types, not with the number of writes. Safe to run from
+ * several servers at once.
+ */
+@Component
+public class ActivityRollupCompactor {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityRollupCompactor.class);
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ActivityRollupCompactor(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${openchs.activityRollup.compactionDelayMillis:60000}")
+    public void compact() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.execute("select compact_activity_rollup()");
+        logger.debug(String.format("Compacted activity rollups in %d ms", System.currentTimeMillis() - start));
+    }
+}
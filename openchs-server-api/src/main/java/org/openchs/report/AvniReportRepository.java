@@ -3,10 +3,12 @@ package org.openchs.report;
 import org.openchs.application.FormMapping;
 import org.openchs.domain.Concept;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Component
 public class AvniReportRepository {
@@ -21,39 +23,72 @@ public class AvniReportRepository {
         this.reportHelper = reportHelper;
     }
 
-    public List<AggregateReportResult> generateAggregatesForCodedConcept(Concept concept, FormMapping formMapping) {
+    /**
+     * Aggregates the answers to all the concepts in one pass over the observations of the form mapping, keyed by
+     * concept uuid. Concepts nobody answered are not in the result.
+     */
+    public Map<String, List<AggregateReportResult>> generateAggregatesForCodedConcepts(List<Concept> concepts, FormMapping formMapping) {
+        Map<String, List<AggregateReportResult>> results = new HashMap<>();
+        if (concepts.isEmpty()) return results;
         String query = "with base_result as (\n" +
-                "    select unnest(case\n" +
-                "                      when jsonb_typeof(${obsColumn} -> ${conceptUUID}) = 'array'\n" +
-                "                          then TRANSLATE((${obsColumn} -> ${conceptUUID})::jsonb::text, '[]', '{}')::TEXT[]\n" +
-                "                      else ARRAY [${obsColumn} ->> ${conceptUUID}] end) as indicator,\n" +
+                "    select concept.uuid                                                 as concept_uuid,\n" +
+                "           answer.indicator                                             as indicator,\n" +
                 "           count(*)                                                     as count\n" +
                 "    from ${dynamicFrom}\n" +
+                "             cross join unnest(array [:conceptUUIDs]) as concept(uuid)\n" +
+                "             cross join lateral unnest(case\n" +
+                "                      when jsonb_typeof(${obsColumn} -> concept.uuid) = 'array'\n" +
+                "                          then TRANSLATE((${obsColumn} -> concept.uuid)::jsonb::text, '[]', '{}')::TEXT[]\n" +
+                "                      else ARRAY [${obsColumn} ->> concept.uuid] end) as answer(indicator)\n" +
                 "    where ${dynamicWhere}\n" +
-                "    group by 1\n" +
+                "    group by 1, 2\n" +
                 ")\n" +
-                "select coalesce(concept_name(indicator), coalesce(indicator, 'Not answered')) indicator,\n" +
+                "select concept_uuid,\n" +
+                "       coalesce(concept_name(indicator), coalesce(indicator, 'Not answered')) indicator,\n" +
                 "       count\n" +
                 "from base_result";
-        String queryWithConceptUUID = query.replace("${conceptUUID}", "'" + concept.getUuid() + "'");
-        return jdbcTemplate.query(reportHelper.buildQuery(formMapping, queryWithConceptUUID), new AggregateReportMapper());
+        List<String> conceptUUIDs = concepts.stream().map(Concept::getUuid).distinct().collect(Collectors.toList());
+        AggregateReportMapper mapper = new AggregateReportMapper();
+        jdbcTemplate.query(reportHelper.buildQuery(formMapping, query), new MapSqlParameterSource("conceptUUIDs", conceptUUIDs), rs -> {
+            results.computeIfAbsent(rs.getString("concept_uuid"), uuid -> new ArrayList<>()).add(mapper.mapRow(rs, rs.getRow()));
+        });
+        return results;
     }
 
-    public List<AggregateReportResult> generateAggregatesForEntityByType(String entity, String operationalType, String operationalTypeIdColumn, String dynamicWhere) {
-        String baseQuery = "select o.name as indicator,\n" +
-                "       count(*) as count\n" +
-                "from ${entity} e\n" +
-                "         join ${operational_type} o on e.${operational_type_id} = o.${operational_type_id}\n" +
-                "where e.is_voided = false\n" +
-                "  and o.is_voided = false\n" +
-                "  ${dynamic_where}\n" +
-                "group by o.name";
-        String query = baseQuery
-                .replace("${entity}", entity)
+    /**
+     * Counts of registrations, enrolments and completed program and general encounters by their operational type,
+     * keyed by the name of the count. Read from the activity rollups, which the database keeps per day as the counted
+     * rows change (see V1_179__AddActivityRollup.sql).
+     */
+    public Map<String, List<AggregateReportResult>> generateActivityAggregates() {
+        String query = String.join("\nunion all\n",
+                rollupByTypeQuery("registrations", "operational_subject_type", "subject_type_id"),
+                rollupByTypeQuery("enrolments", "operational_program", "program_id"),
+                rollupByTypeQuery("programEncounters", "operational_encounter_type", "encounter_type_id"),
+                rollupByTypeQuery("encounters", "operational_encounter_type", "encounter_type_id"));
+        Map<String, List<AggregateReportResult>> results = new HashMap<>();
+        AggregateReportMapper mapper = new AggregateReportMapper();
+        jdbcTemplate.query(query, rs -> {
+            results.computeIfAbsent(rs.getString("aggregate"), aggregate -> new ArrayList<>()).add(mapper.mapRow(rs, rs.getRow()));
+        });
+        return results;
+    }
+
+    private String rollupByTypeQuery(String activity, String operationalType, String operationalTypeIdColumn) {
+        String baseQuery = "(select '${activity}' as aggregate,\n" +
+                "       o.name as indicator,\n" +
+                "       sum(r.count) as count\n" +
+                "from (select type_id, count from activity_rollup where activity = '${activity}'\n" +
+                "      union all\n" +
+                "      select type_id, count from activity_rollup_delta where activity = '${activity}') r\n" +
+                "         join ${operational_type} o on r.type_id = o.${operational_type_id}\n" +
+                "where o.is_voided = false\n" +
+                "group by o.name\n" +
+                "having sum(r.count) > 0)";
+        return baseQuery
+                .replace("${activity}", activity)
                 .replace("${operational_type}", operationalType)
-                .replace("${operational_type_id}", operationalTypeIdColumn)
-                .replace("${dynamic_where}", dynamicWhere);
-        return jdbcTemplate.query(query, new AggregateReportMapper());
+                .replace("${operational_type_id}", operationalTypeIdColumn);
     }
 
 }
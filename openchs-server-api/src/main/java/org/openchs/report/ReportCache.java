@@ -0,0 +1,117 @@
+package org.openchs.report;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Results of the dashboard aggregates, per organisation of the current user. Saving subjects, enrolments and
+ * encounters evicts their organisation once the transaction commits (see ReportCacheEvictionListener).
+ * The TTL bounds staleness for writes that do not go through Hibernate and for renamed concepts and types.
+ * A TTL of 0 turns the cache off.
+ */
+@Component
+public class ReportCache {
+    private final Cache<Key, Object> results;
+
+    @Autowired
+    public ReportCache(@Value("${openchs.reportCache.ttlSeconds:300}") long ttlSeconds,
+                       @Value("${openchs.reportCache.maxSize:1000}") long maxSize,
+                       MeterRegistry meterRegistry) {
+        this.results = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, results, "report");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String report, Supplier<T> loader) {
+        Long organisationId = currentOrganisationId();
+        if (organisationId == null) return loader.get();
+        try {
+            return (T) results.get(new Key(organisationId, report), loader::get);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Evicts the reports of the organisation, after the current transaction commits if there is one. A null
+     * organisation stands for the organisation of the user.
+     */
+    @SuppressWarnings("unchecked")
+    public void evict(Long organisationId) {
+        Long evictedOrganisationId = organisationId != null ? organisationId : currentOrganisationId();
+        if (evictedOrganisationId == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(evictedOrganisationId);
+            return;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> organisationIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, organisationIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReportCache.this);
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        organisationIds.forEach(ReportCache.this::evictNow);
+                    }
+                }
+            });
+            pending = organisationIds;
+        }
+        pending.add(evictedOrganisationId);
+    }
+
+    private void evictNow(Long organisationId) {
+        results.asMap().keySet().removeIf(key -> Objects.equals(key.organisationId, organisationId));
+    }
+
+    private Long currentOrganisationId() {
+        UserContext userContext = UserContextHolder.getUserContext();
+        return userContext == null ? null : userContext.getOrganisationId();
+    }
+
+    private static class Key {
+        private final Long organisationId;
+        private final String report;
+
+        Key(Long organisationId, String report) {
+            this.organisationId = organisationId;
+            this.report = report;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(organisationId, key.organisationId) && Objects.equals(report, key.report);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(organisationId, report);
+        }
+    }
+}
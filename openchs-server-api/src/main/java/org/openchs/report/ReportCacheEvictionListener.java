@@ -0,0 +1,65 @@
+package org.openchs.report;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.openchs.domain.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Evicts the reports of the organisation of subjects, enrolments and encounters Hibernate inserts, updates or
+ * deletes. The organisation id is set by then, and ReportCache holds the eviction back until the transaction commits.
+ */
+@Component
+public class ReportCacheEvictionListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private final ReportCache reportCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReportCacheEvictionListener(ReportCache reportCache, EntityManagerFactory entityManagerFactory) {
+        this.reportCache = reportCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evictReportsOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evictReportsOf(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evictReportsOf(event.getEntity());
+    }
+
+    void evictReportsOf(Object entity) {
+        if (entity instanceof Individual || entity instanceof ProgramEnrolment
+                || entity instanceof Encounter || entity instanceof ProgramEncounter) {
+            reportCache.evict(((OrganisationAwareEntity) entity).getOrganisationId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+}
@@ -1,57 +1,62 @@
 package org.openchs.report;
 
+import org.openchs.application.FormElement;
+import org.openchs.application.FormMapping;
+import org.openchs.domain.Concept;
 import org.openchs.domain.JsonObject;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 public class ReportService {
 
     private final AvniReportRepository avniReportRepository;
+    private final ReportCache reportCache;
 
-    public ReportService(AvniReportRepository avniReportRepository) {
+    public ReportService(AvniReportRepository avniReportRepository, ReportCache reportCache) {
         this.avniReportRepository = avniReportRepository;
+        this.reportCache = reportCache;
     }
 
+    public List<JsonObject> codedConceptAggregates(FormMapping formMapping) {
+        List<FormElement> codedFormElements = formMapping.getForm().getAllCodedFormElements();
+        List<Concept> concepts = codedFormElements.stream().map(FormElement::getConcept).collect(Collectors.toList());
+        String report = "codedConcepts:" + formMapping.getId() + ":" + concepts.stream().map(Concept::getUuid).collect(Collectors.joining(","));
+        Map<String, List<AggregateReportResult>> aggregates = reportCache.get(report,
+                () -> avniReportRepository.generateAggregatesForCodedConcepts(concepts, formMapping));
+        return codedFormElements
+                .stream()
+                .map(fe -> {
+                    Concept concept = fe.getConcept();
+                    return new JsonObject()
+                            .with("concept", concept)
+                            .with("data", aggregates.getOrDefault(concept.getUuid(), Collections.emptyList()))
+                            .with("isPie", fe.isMandatory() && concept.isCoded());
+                })
+                .collect(Collectors.toList());
+    }
 
-    public JsonObject allRegistrations() {
-        List<AggregateReportResult> aggregateReportResults = avniReportRepository.generateAggregatesForEntityByType(
-                "individual",
-                "operational_subject_type",
-                "subject_type_id",
-                "");
-        return new JsonObject()
-                .with("total", getTotalCount(aggregateReportResults))
-                .with("data", aggregateReportResults);
+    public JsonObject activities() {
+        return reportCache.get("activities", () -> {
+            Map<String, List<AggregateReportResult>> aggregates = avniReportRepository.generateActivityAggregates();
+            List<AggregateReportResult> completedVisits = new ArrayList<>();
+            completedVisits.addAll(aggregates.getOrDefault("programEncounters", Collections.emptyList()));
+            completedVisits.addAll(aggregates.getOrDefault("encounters", Collections.emptyList()));
+            return new JsonObject()
+                    .with("registrations", withTotal(aggregates.getOrDefault("registrations", Collections.emptyList())))
+                    .with("enrolments", withTotal(aggregates.getOrDefault("enrolments", Collections.emptyList())))
+                    .with("completedVisits", withTotal(completedVisits));
+        });
     }
 
-    public JsonObject allEnrolments() {
-        List<AggregateReportResult> aggregateReportResults = avniReportRepository.generateAggregatesForEntityByType(
-                "program_enrolment",
-                "operational_program",
-                "program_id",
-                "");
+    private JsonObject withTotal(List<AggregateReportResult> aggregateReportResults) {
         return new JsonObject()
                 .with("total", getTotalCount(aggregateReportResults))
                 .with("data", aggregateReportResults);
     }
 
-    public JsonObject completedVisits() {
-        List<AggregateReportResult> programEncResults = avniReportRepository.generateAggregatesForEntityByType("program_encounter",
-                "operational_encounter_type",
-                "encounter_type_id",
-                "and encounter_date_time notnull and cancel_date_time isnull");
-        List<AggregateReportResult> generalEncResults = avniReportRepository.generateAggregatesForEntityByType("encounter",
-                "operational_encounter_type",
-                "encounter_type_id",
-                "and encounter_date_time notnull and cancel_date_time isnull");
-        programEncResults.addAll(generalEncResults);
-        return new JsonObject()
-                .with("total", getTotalCount(programEncResults))
-                .with("data", programEncResults);
-    }
-
     private Long getTotalCount(List<AggregateReportResult> aggregateReportResults) {
         return aggregateReportResults.stream().map(AggregateReportResult::getCount).reduce(0L, Long::sum);
     }
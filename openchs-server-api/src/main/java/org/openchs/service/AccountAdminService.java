@@ -4,6 +4,7 @@ import org.openchs.dao.AccountAdminRepository;
 import org.openchs.dao.AccountRepository;
 import org.openchs.domain.AccountAdmin;
 import org.openchs.domain.User;
+import org.openchs.framework.security.UserContextCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -16,10 +17,12 @@ public class AccountAdminService {
     private final Logger logger;
     private AccountAdminRepository accountAdminRepository;
     private AccountRepository accountRepository;
+    private UserContextCache userContextCache;
 
-    public AccountAdminService(AccountAdminRepository accountAdminRepository, AccountRepository accountRepository) {
+    public AccountAdminService(AccountAdminRepository accountAdminRepository, AccountRepository accountRepository, UserContextCache userContextCache) {
         this.accountAdminRepository = accountAdminRepository;
         this.accountRepository = accountRepository;
+        this.userContextCache = userContextCache;
         logger = LoggerFactory.getLogger(this.getClass());
     }
 
@@ -35,6 +38,7 @@ public class AccountAdminService {
             logger.info("Saving account admin {}", user.getName());
             accountAdminRepository.save(accountAdmin);
         });
+        userContextCache.invalidateUser(user.getId());
     }
 
 }
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -41,6 +42,18 @@ public class BulkUploadS3Service {
         return new File(errorDir, format("%s.csv", uuid));
     }
 
+    /**
+     * For rows that were saved but could not be completed after their chunk committed.
+     */
+    public synchronized void appendToErrorFile(String uuid, String row, String message) throws IOException {
+        try (FileWriter fileWriter = new FileWriter(getLocalErrorFile(uuid), true)) {
+            fileWriter.append(row);
+            fileWriter.append(",\"");
+            fileWriter.append(message.replace("\"", "\"\""));
+            fileWriter.append("\"\n");
+        }
+    }
+
     public InputStream downloadErrorFile(String jobUuid) {
         return s3Service.downloadFile("bulkuploads/error", format("%s.csv", jobUuid));
     }
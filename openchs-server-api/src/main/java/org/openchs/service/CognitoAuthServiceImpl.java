@@ -9,8 +9,12 @@ import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import org.openchs.dao.UserRepository;
 import org.openchs.domain.User;
+import org.openchs.framework.security.RefreshingJwkProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,15 +25,26 @@ import org.springframework.util.StringUtils;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Profile({"default", "live", "dev", "test"})
 public class CognitoAuthServiceImpl implements CognitoAuthService {
 
     private static final String COGNITO_URL = "https://cognito-idp.ap-south-1.amazonaws.com/";
+    private static final long JWK_REFRESH_AFTER_HOURS = 1;
+    private static final long JWK_EXPIRE_AFTER_HOURS = 24;
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10000;
+    // Cognito id tokens are valid for an hour, the cache never needs to hold an entry longer than that
+    private static final long VERIFIED_TOKEN_MAX_AGE_MINUTES = 60;
     private final Logger logger;
 
+    @Value("${cognito.url:" + COGNITO_URL + "}")
+    private String cognitoUrl = COGNITO_URL;
+
     @Value("${cognito.poolid}")
     private String poolId;
 
@@ -38,6 +53,11 @@ public class CognitoAuthServiceImpl implements CognitoAuthService {
 
     private UserRepository userRepository;
     private Boolean isDev;
+    private volatile JwkProvider jwkProvider;
+    private final Cache<String, VerifiedToken> verifiedTokens = CacheBuilder.newBuilder()
+            .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+            .expireAfterWrite(VERIFIED_TOKEN_MAX_AGE_MINUTES, TimeUnit.MINUTES)
+            .build();
 
     @Autowired
     public CognitoAuthServiceImpl(UserRepository userRepository, Boolean isDev) {
@@ -47,9 +67,14 @@ public class CognitoAuthServiceImpl implements CognitoAuthService {
     }
 
     public CognitoAuthServiceImpl(UserRepository userRepository, String poolId, String clientId) {
+        this(userRepository, poolId, clientId, COGNITO_URL);
+    }
+
+    public CognitoAuthServiceImpl(UserRepository userRepository, String poolId, String clientId, String cognitoUrl) {
         this.userRepository = userRepository;
         this.poolId = poolId;
         this.clientId = clientId;
+        this.cognitoUrl = cognitoUrl;
         logger = LoggerFactory.getLogger(this.getClass());
     }
 
@@ -65,14 +90,24 @@ public class CognitoAuthServiceImpl implements CognitoAuthService {
         logConfiguration();
         if (StringUtils.isEmpty(token)) return null;
 
+        String tokenHash = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken != null && !verifiedToken.hasExpired()) {
+            return userRepository.findOne(verifiedToken.userId);
+        }
+
         DecodedJWT jwt = verifyAndDecodeToken(token, true);
         if (jwt == null) return null;
 
         String username = getValueInToken(jwt, "cognito:username");
         String userUUID = getValueInToken(jwt, "custom:userUUID");
-        return Strings.isNullOrEmpty(userUUID)
+        User user = Strings.isNullOrEmpty(userUUID)
                 ? userRepository.findByUsername(username)
                 : userRepository.findByUuid(userUUID);
+        if (user != null && jwt.getExpiresAt() != null) {
+            verifiedTokens.put(tokenHash, new VerifiedToken(user.getId(), jwt.getExpiresAt()));
+        }
+        return user;
     }
 
     private DecodedJWT verifyAndDecodeToken(String token, boolean verify) {
@@ -80,8 +115,7 @@ public class CognitoAuthServiceImpl implements CognitoAuthService {
             DecodedJWT unverifiedJwt = JWT.decode(token);
             if (!verify) return unverifiedJwt;
 
-            JwkProvider provider = new GuavaCachedJwkProvider(new UrlJwkProvider(new URL(getJwkProviderUrl())));
-            Jwk jwk = provider.get(unverifiedJwt.getKeyId());
+            Jwk jwk = getJwkProvider().get(unverifiedJwt.getKeyId());
             RSAPublicKey publicKey = (RSAPublicKey) jwk.getPublicKey();
             Algorithm algorithm = Algorithm.RSA256(publicKey, null);
             JWTVerifier verifier = JWT.require(algorithm)
@@ -109,12 +143,23 @@ public class CognitoAuthServiceImpl implements CognitoAuthService {
         }
     }
 
+    private JwkProvider getJwkProvider() throws MalformedURLException {
+        if (jwkProvider == null) {
+            synchronized (this) {
+                if (jwkProvider == null) {
+                    jwkProvider = new RefreshingJwkProvider(new URL(getJwkProviderUrl()), JWK_REFRESH_AFTER_HOURS, JWK_EXPIRE_AFTER_HOURS, TimeUnit.HOURS);
+                }
+            }
+        }
+        return jwkProvider;
+    }
+
     private String getJwkProviderUrl() {
         return this.getIssuer() + "/.well-known/jwks.json";
     }
 
     private String getIssuer() {
-        return COGNITO_URL + this.poolId;
+        return cognitoUrl + this.poolId;
     }
 
     private String getValueInToken(DecodedJWT jwt, String name) {
@@ -122,4 +167,18 @@ public class CognitoAuthServiceImpl implements CognitoAuthService {
         if (claim.isNull()) return null;
         return claim.asString();
     }
+
+    private static class VerifiedToken {
+        private final Long userId;
+        private final Date expiresAt;
+
+        VerifiedToken(Long userId, Date expiresAt) {
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean hasExpired() {
+            return !expiresAt.after(new Date());
+        }
+    }
 }
@@ -30,6 +30,7 @@ import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 
 @Service
@@ -39,9 +40,11 @@ public class ConceptService {
     private ConceptAnswerRepository conceptAnswerRepository;
     private OrganisationRepository organisationRepository;
     private FormElementRepository formElementRepository;
+    private MetadataCache metadataCache;
 
     @Autowired
-    public ConceptService(ConceptRepository conceptRepository, ConceptAnswerRepository conceptAnswerRepository, OrganisationRepository organisationRepository, UserService userService, FormElementRepository formElementRepository, OrganisationConfigRepository organisationConfigRepository) {
+    public ConceptService(ConceptRepository conceptRepository, ConceptAnswerRepository conceptAnswerRepository, OrganisationRepository organisationRepository, UserService userService, FormElementRepository formElementRepository, OrganisationConfigRepository organisationConfigRepository, MetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
         this.formElementRepository = formElementRepository;
         logger = LoggerFactory.getLogger(this.getClass());
         this.conceptRepository = conceptRepository;
@@ -172,9 +175,11 @@ public class ConceptService {
 
     public void saveOrUpdateConcepts(List<ConceptContract> conceptRequests) {
         List<ConceptContract> failedDueToAnswerConceptNotFound = new ArrayList<>();
+        Set<Long> organisationIds = new HashSet<>();
         for (ConceptContract conceptRequest : conceptRequests) {
             try {
-                saveOrUpdate(conceptRequest);
+                Concept concept = saveOrUpdate(conceptRequest);
+                if (concept != null) organisationIds.add(concept.getOrganisationId());
             } catch (AnswerConceptNotFoundException answerConceptNotFoundException) {
                 failedDueToAnswerConceptNotFound.add(conceptRequest);
             }
@@ -189,15 +194,16 @@ public class ConceptService {
                             .filter(conceptContract -> conceptContract.getUuid().equals(requestAnswer.getUuid()))
                             .findFirst();
                     if (answerConcept.isPresent()) {
-                        saveOrUpdate(answerConcept.get());
+                        organisationIds.add(saveOrUpdate(answerConcept.get()).getOrganisationId());
                     }
                 }
-                saveOrUpdate(conceptRequest);
+                organisationIds.add(saveOrUpdate(conceptRequest).getOrganisationId());
             } catch (AnswerConceptNotFoundException answerConceptNotFoundException) {
                 throw new ValidationException(answerConceptNotFoundException.getMessage());
             }
 
         }
+        organisationIds.forEach(metadataCache::evict);
     }
 
     public Concept get(String uuid) {
@@ -213,14 +219,18 @@ public class ConceptService {
     }
 
     public Object getObservationValue(Concept concept, Object value) {
+        return getObservationValue(concept, value, metadataCache::getConceptByUuid);
+    }
+
+    public Object getObservationValue(Concept concept, Object value, Function<String, Concept> answerConceptByUuid) {
         if (ConceptDataType.isPrimitiveType(concept.getDataType()) || ConceptDataType.matches(concept.getDataType(), ConceptDataType.Id, ConceptDataType.Video, ConceptDataType.Image)) {
             return value;
         } else if (ConceptDataType.matches(ConceptDataType.Coded, concept.getDataType())) {
             if (value instanceof String) {
-                return conceptRepository.findByUuid((String) value).getName();
+                return answerConceptByUuid.apply((String) value).getName();
             } else {
                 List<String> answerUUIDs = (List<String>) value;
-                return answerUUIDs.stream().map(answerUUID -> conceptRepository.findByUuid(answerUUID).getName()).toArray();
+                return answerUUIDs.stream().map(answerUUID -> answerConceptByUuid.apply(answerUUID).getName()).toArray();
             }
         } else if (ConceptDataType.matches(ConceptDataType.Coded, concept.getDataType())) {
             return value;
@@ -26,11 +26,13 @@ public class FormService {
     private FormRepository formRepository;
     private OrganisationConfigService organisationConfigService;
     private ConceptRepository conceptRepository;
+    private MetadataCache metadataCache;
 
-    public FormService(FormRepository formRepository, OrganisationConfigService organisationConfigService, ConceptRepository conceptRepository) {
+    public FormService(FormRepository formRepository, OrganisationConfigService organisationConfigService, ConceptRepository conceptRepository, MetadataCache metadataCache) {
         this.formRepository = formRepository;
         this.organisationConfigService = organisationConfigService;
         this.conceptRepository = conceptRepository;
+        this.metadataCache = metadataCache;
     }
 
     public void saveForm(FormContract formRequest) throws FormBuilderException {
@@ -52,6 +54,7 @@ public class FormService {
         //This updateAudit forces audit updates
         form.updateAudit();
         formRepository.save(form);
+        metadataCache.evict(form.getOrganisationId());
     }
 
     private void mapDecisionConcepts(FormContract formRequest, Form form) {
@@ -78,6 +81,7 @@ public class FormService {
         form.assignUUID();
         form.setFormType(formType);
         formRepository.save(form);
+        metadataCache.evict(form.getOrganisationId());
         return form;
     }
 
@@ -41,6 +41,7 @@ public class IndividualSearchService {
         BigInteger totalElements = new BigInteger("0");
         LinkedHashMap<String, Object> recordsMap = new LinkedHashMap<String, Object>();
         List<IndividualContract> individualRecordList = individualList.stream()
+                .filter(individualRecord -> individualRecord.getUuid() != null)
                 .map(individualRecord -> {
                     IndividualContract individualContract = new IndividualContract();
                     individualContract.setFirstName(individualRecord.getFirstname());
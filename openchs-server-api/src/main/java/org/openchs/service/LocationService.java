@@ -3,6 +3,7 @@ package org.openchs.service;
 import org.openchs.builder.BuilderException;
 import org.openchs.builder.LocationBuilder;
 import org.openchs.dao.AddressLevelTypeRepository;
+import org.openchs.dao.LocationLineageRepository;
 import org.openchs.dao.LocationMappingRepository;
 import org.openchs.dao.LocationRepository;
 import org.openchs.dao.OrganisationRepository;
@@ -21,9 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.validation.constraints.NotNull;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,24 +32,36 @@ public class LocationService {
     private final OrganisationRepository organisationRepository;
     private final LocationRepository locationRepository;
     private final LocationMappingRepository locationMappingRepository;
+    private final LocationLineageRepository locationLineageRepository;
     private final Logger logger;
 
     @Autowired
-    public LocationService(LocationRepository locationRepository, AddressLevelTypeRepository addressLevelTypeRepository, OrganisationRepository organisationRepository, LocationMappingRepository locationMappingRepository) {
+    public LocationService(LocationRepository locationRepository, AddressLevelTypeRepository addressLevelTypeRepository, OrganisationRepository organisationRepository, LocationMappingRepository locationMappingRepository, LocationLineageRepository locationLineageRepository) {
         this.locationRepository = locationRepository;
         this.addressLevelTypeRepository = addressLevelTypeRepository;
         this.organisationRepository = organisationRepository;
         this.locationMappingRepository = locationMappingRepository;
+        this.locationLineageRepository = locationLineageRepository;
         this.logger = LoggerFactory.getLogger(this.getClass());
     }
 
     public List<AddressLevel> saveAll(List<LocationContract> locationContracts) throws BuilderException {
         List<AddressLevel> saved = new ArrayList<>();
-        for (LocationContract contract : locationContracts) saved.add(save(contract));
+        for (LocationContract contract : locationContracts) saved.add(saveWithoutLineage(contract));
+        updateLineages(saved);
         return saved;
     }
 
     public AddressLevel save(LocationContract locationContract) throws BuilderException {
+        AddressLevel location = saveWithoutLineage(locationContract);
+        updateLineages(Collections.singletonList(location));
+        return location;
+    }
+
+    /**
+     * For callers saving many locations in a transaction, pass all of them to updateLineages before it ends.
+     */
+    public AddressLevel saveWithoutLineage(LocationContract locationContract) throws BuilderException {
         logger.info(String.format("Processing location request: %s", locationContract.toString()));
         AddressLevelType type = getTypeByUuidOrName(locationContract);
         if (type == null) {
@@ -97,28 +108,59 @@ public class LocationService {
             throw new BuilderException(String.format("Location with same name '%s' and type '%s' exists at this level", contract.getName(), type.getName()));
 
         try {
-            locationRepository.save(location);
+            return locationRepository.save(location);
         } catch (Exception e) {
             logger.error(e.getMessage());
             throw new BuilderException(String.format("Unable to create Location{name='%s',level='%s',orgUUID='%s',..}: '%s'", contract.getName(), contract.getLevel(), contract.getOrganisationUUID(), e.getMessage()));
         }
+    }
+
+    /**
+     * New locations get their lineage in one statement for all of them, after they are inserted. Existing locations
+     * that were given another parent are moved with their sub locations, one statement each.
+     */
+    public void updateLineages(List<AddressLevel> locations) throws BuilderException {
+        Map<Long, String> newLineages = new LinkedHashMap<>();
+        List<AddressLevel> moved = new ArrayList<>();
+        for (AddressLevel location : locations) {
+            String lineage = lineageUnder(location.getParent(), location);
+            if (location.getLineage() == null) {
+                location.setLineage(lineage);
+                newLineages.put(location.getId(), lineage);
+            } else if (!lineage.equals(location.getLineage())) {
+                moved.add(location);
+            }
+        }
         try {
-            updateLineage(location);
-            locationRepository.save(location);
+            locationRepository.flush();
+            locationLineageRepository.setLineages(newLineages);
+            for (AddressLevel location : moved) {
+                moveSubtree(location, location.getParent());
+            }
         } catch (Exception e) {
             logger.error(e.getMessage());
-            throw new BuilderException(String.format("Unable to update lineage for location with Id %s - %s", location.getId(), e.getMessage()));
+            throw new BuilderException(String.format("Unable to update lineage for locations %s - %s", newLineages.keySet(), e.getMessage()));
         }
-        return location;
     }
 
-    private void updateLineage(AddressLevel location) {
-        if (location.getParent() == null) {
-            location.setLineage(location.getId().toString());
-        } else {
-            String lineage = location.getParent().getLineage() + "." + location.getId().toString();
-            location.setLineage(lineage);
+    private String lineageUnder(AddressLevel parent, AddressLevel location) {
+        if (parent == null) {
+            return location.getId().toString();
         }
+        String parentLineage = parent.getLineage() != null ? parent.getLineage() : lineageUnder(parent.getParent(), parent);
+        return parentLineage + "." + location.getId();
+    }
+
+    private void moveSubtree(AddressLevel location, AddressLevel newParent) {
+        String oldLineage = location.getLineage();
+        String newLineage = lineageUnder(newParent, location);
+        if (newLineage.startsWith(oldLineage + ".")) {
+            throw new RuntimeException(String.format("Location '%s' cannot be moved under its own sub location '%s'", location.getTitle(), newParent.getTitle()));
+        }
+        locationRepository.flush();
+        locationLineageRepository.moveSubtree(location.getId(), oldLineage, newParent.getId(), newLineage);
+        location.setParent(newParent);
+        location.setLineage(newLineage);
     }
 
     private void updateOrganisationIfNeeded(AddressLevel location, @NotNull LocationContract contract) {
@@ -152,13 +194,8 @@ public class LocationService {
         }
 
         if (locationEditContract.getParentId() != null && !locationEditContract.getParentId().equals(location.getParentId())) {
-            Long oldParentId = location.getParentId();
-            Long newParentId = locationEditContract.getParentId();
-            String lineage = location.getLineage();
-            updateDescendantLocationLineage(locationRepository.findAllByParent(location), oldParentId, newParentId);
             updateLocationMapping(location, locationEditContract);
-            location.setLineage(updateLineage(lineage, oldParentId, newParentId));
-            location.setParent(locationRepository.findOne(newParentId));
+            moveSubtree(location, locationRepository.findOne(locationEditContract.getParentId()));
         }
         if (!titleIsValid(location, locationEditContract.getTitle().trim(), location.getType())) {
             String message = String.format("Location with same name '%s' and type '%s' exists at this level",
@@ -180,26 +217,6 @@ public class LocationService {
         locationMappingRepository.saveAll(updatedLocationMappings);
     }
 
-    private String updateLineage(String lineage, Long oldParentId, Long newParentId) {
-        if (oldParentId == null) {
-            return newParentId + "." + lineage;
-        }
-        return lineage.replaceAll(oldParentId.toString(), newParentId.toString());
-    }
-
-    private void updateDescendantLocationLineage(List<AddressLevel> children, Long oldId, Long newId) {
-        if (children.isEmpty()) {
-            return;
-        } else {
-            children.forEach(child -> {
-                String lineage = child.getLineage();
-                child.setLineage(updateLineage(lineage, oldId, newId));
-                locationRepository.save(child);
-                updateDescendantLocationLineage(locationRepository.findAllByParent(child), oldId, newId);
-            });
-        }
-    }
-
     private boolean titleIsValid(AddressLevel location, String title, AddressLevelType type) {
         return (location.isTopLevel() && locationRepository.findByTitleIgnoreCaseAndTypeAndParentIsNull(title, type) == null)
                 || (!location.isTopLevel() && !location.getParent().containsSubLocation(title, type));
@@ -0,0 +1,223 @@
+package org.openchs.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.openchs.application.Form;
+import org.openchs.application.FormType;
+import org.openchs.dao.ConceptRepository;
+import org.openchs.dao.OrganisationRepository;
+import org.openchs.dao.application.FormRepository;
+import org.openchs.domain.Concept;
+import org.openchs.domain.ConceptAnswer;
+import org.openchs.domain.Organisation;
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of concepts (by uuid and by name, with their answers) and of form element types (by form type),
+ * kept per organisation of the current user. The concepts an organisation can see include those of its parent
+ * organisations, so a write in an organisation evicts the organisation and every organisation below it. Where the
+ * organisation and a parent both have a concept with the uuid or name, the concept of the nearest one is taken.
+ * <p>
+ * Cached concepts are loaded in a read-only transaction of their own, never in the session of the caller, so they are
+ * detached as soon as they are cached and changes a caller makes to its own copies never reach them. They are for
+ * reading only; writes keep using ConceptRepository.
+ * <p>
+ * An eviction drops the whole snapshot of an organisation, a reader still holding the old snapshot only fills the
+ * dropped one. Evictions inside a transaction happen after it commits, so a new snapshot never sees uncommitted data.
+ */
+@Service
+public class MetadataCache {
+    private final ConceptRepository conceptRepository;
+    private final FormRepository formRepository;
+    private final OrganisationRepository organisationRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Cache<Long, OrganisationMetadata> organisations;
+
+    @Autowired
+    public MetadataCache(ConceptRepository conceptRepository,
+                         FormRepository formRepository,
+                         OrganisationRepository organisationRepository,
+                         EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${openchs.metadataCache.enabled:true}") boolean enabled,
+                         @Value("${openchs.metadataCache.ttlMinutes:30}") long ttlMinutes) {
+        this.conceptRepository = conceptRepository;
+        this.formRepository = formRepository;
+        this.organisationRepository = organisationRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.organisations = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    public Concept getConceptByUuid(String uuid) {
+        if (uuid == null) return null;
+        OrganisationMetadata metadata = currentOrganisationMetadata();
+        if (metadata == null) return conceptRepository.findByUuid(uuid);
+        return lookup("conceptByUuid", metadata.conceptsByUuid, uuid, key -> loadConcept("uuid", "c.uuid = :key", key, metadata.organisationLineage)).orElse(null);
+    }
+
+    public Concept getConceptByName(String name) {
+        if (name == null) return null;
+        OrganisationMetadata metadata = currentOrganisationMetadata();
+        if (metadata == null) return conceptRepository.findByName(name);
+        return lookup("conceptByName", metadata.conceptsByName, name, key -> loadConcept("name", "c.name = :key and c.isVoided = false", key, metadata.organisationLineage)).orElse(null);
+    }
+
+    /**
+     * Type of the form element asking the concept, in the first form of the form type that has one. Keyed by the
+     * concept uuid, null when there is no form of the form type.
+     */
+    public Map<String, String> getFormElementTypesByConcept(FormType formType) {
+        OrganisationMetadata metadata = currentOrganisationMetadata();
+        if (metadata == null) return loadFormElementTypes(formType).orElse(null);
+        return lookup("formElementTypes", metadata.formElementTypes, formType, this::loadFormElementTypes).orElse(null);
+    }
+
+    /**
+     * Evicts the organisation and the organisations below it. Entities saved in this request may not know their
+     * organisation yet (it is set by the database), a null organisation stands for the organisation of the user.
+     */
+    public void evict(Long organisationId) {
+        Long evictedOrganisationId = organisationId != null ? organisationId : currentOrganisationId();
+        if (evictedOrganisationId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    evictNow(evictedOrganisationId);
+                }
+            });
+        } else {
+            evictNow(evictedOrganisationId);
+        }
+    }
+
+    private Long currentOrganisationId() {
+        UserContext userContext = UserContextHolder.getUserContext();
+        return userContext == null ? null : userContext.getOrganisationId();
+    }
+
+    private void evictNow(Long organisationId) {
+        organisations.asMap().values().removeIf(metadata -> metadata.organisationLineage.contains(organisationId));
+    }
+
+    private <K, V> Optional<V> lookup(String type, Map<K, Optional<V>> values, K key, Function<K, Optional<V>> loader) {
+        Optional<V> value = values.get(key);
+        meterRegistry.counter("openchs.metadata.cache.requests", "type", type, "result", value == null ? "miss" : "hit").increment();
+        if (value == null) {
+            value = loader.apply(key);
+            values.put(key, value);
+        }
+        return value;
+    }
+
+    private OrganisationMetadata currentOrganisationMetadata() {
+        if (!enabled) return null;
+        UserContext userContext = UserContextHolder.getUserContext();
+        Organisation organisation = userContext == null ? null : userContext.getOrganisation();
+        if (organisation == null || organisation.getId() == null) return null;
+        try {
+            return organisations.get(organisation.getId(), () -> new OrganisationMetadata(lineageOf(organisation)));
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * The organisation followed by its parent organisations, nearest first.
+     */
+    private List<Long> lineageOf(Organisation organisation) {
+        Set<Long> lineage = new LinkedHashSet<>();
+        Organisation current = organisation;
+        while (current != null && lineage.add(current.getId())) {
+            current = current.getParentOrganisationId() == null ? null : organisationRepository.findOne(current.getParentOrganisationId());
+        }
+        return new ArrayList<>(lineage);
+    }
+
+    private Optional<Concept> loadConcept(String keyName, String condition, String key, List<Long> organisationLineage) {
+        return readOnlyTransaction.execute(status -> {
+            List<Concept> concepts = entityManager
+                    .createQuery("select distinct c from Concept c left join fetch c.conceptAnswers ca left join fetch ca.answerConcept where " + condition, Concept.class)
+                    .setParameter("key", key)
+                    .getResultList();
+            Optional<Concept> concept = nearestOf(concepts, organisationLineage, keyName, key);
+            concept.ifPresent(it -> initialiseAnswers(it, new HashSet<>()));
+            return concept;
+        });
+    }
+
+    private Optional<Concept> nearestOf(List<Concept> concepts, List<Long> organisationLineage, String keyName, String key) {
+        Comparator<Concept> nearestFirst = Comparator.comparingInt(concept -> distanceOf(concept, organisationLineage));
+        List<Concept> sorted = concepts.stream().sorted(nearestFirst).collect(Collectors.toList());
+        if (sorted.size() > 1 && nearestFirst.compare(sorted.get(0), sorted.get(1)) == 0) {
+            throw new IllegalStateException(String.format("More than one concept with %s '%s' in organisation %d", keyName, key, organisationLineage.get(0)));
+        }
+        return sorted.stream().findFirst();
+    }
+
+    private int distanceOf(Concept concept, List<Long> organisationLineage) {
+        int distance = organisationLineage.indexOf(concept.getOrganisationId());
+        return distance == -1 ? organisationLineage.size() : distance;
+    }
+
+    private void initialiseAnswers(Concept concept, Set<String> initialised) {
+        if (!initialised.add(concept.getUuid())) return;
+        Hibernate.initialize(concept.getConceptAnswers());
+        concept.getConceptAnswers().stream()
+                .map(ConceptAnswer::getAnswerConcept)
+                .forEach(answerConcept -> initialiseAnswers(answerConcept, initialised));
+    }
+
+    private Optional<Map<String, String>> loadFormElementTypes(FormType formType) {
+        List<Form> forms = formRepository.findAllByFormType(formType);
+        if (forms.isEmpty()) return Optional.empty();
+        Map<String, String> types = new HashMap<>();
+        forms.stream()
+                .map(Form::getAllFormElements)
+                .flatMap(List::stream)
+                .filter(formElement -> formElement.getConcept() != null)
+                .forEach(formElement -> types.putIfAbsent(formElement.getConcept().getUuid(), formElement.getType()));
+        return Optional.of(Collections.unmodifiableMap(types));
+    }
+
+    private static class OrganisationMetadata {
+        private final List<Long> organisationLineage;
+        private final Map<String, Optional<Concept>> conceptsByUuid = new ConcurrentHashMap<>();
+        private final Map<String, Optional<Concept>> conceptsByName = new ConcurrentHashMap<>();
+        private final Map<FormType, Optional<Map<String, String>>> formElementTypes = new ConcurrentHashMap<>();
+
+        OrganisationMetadata(List<Long> organisationLineage) {
+            this.organisationLineage = organisationLineage;
+        }
+    }
+}
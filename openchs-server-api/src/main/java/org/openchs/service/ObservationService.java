@@ -1,6 +1,5 @@
 package org.openchs.service;
 
-import org.openchs.dao.ConceptRepository;
 import org.openchs.dao.IndividualRepository;
 import org.openchs.dao.LocationRepository;
 import org.openchs.domain.*;
@@ -20,13 +19,13 @@ import static java.util.Collections.singletonList;
 
 @Service
 public class ObservationService {
-    private ConceptRepository conceptRepository;
+    private MetadataCache metadataCache;
     private IndividualRepository individualRepository;
     private LocationRepository locationRepository;
 
     @Autowired
-    public ObservationService(ConceptRepository conceptRepository, IndividualRepository individualRepository, LocationRepository locationRepository) {
-        this.conceptRepository = conceptRepository;
+    public ObservationService(MetadataCache metadataCache, IndividualRepository individualRepository, LocationRepository locationRepository) {
+        this.metadataCache = metadataCache;
         this.individualRepository = individualRepository;
         this.locationRepository = locationRepository;
     }
@@ -37,14 +36,14 @@ public class ObservationService {
                 .map(observationRequest -> {
                     Concept concept;
                     if (observationRequest.getConceptUUID() == null && observationRequest.getConceptName() != null) {
-                        concept = conceptRepository.findByName(observationRequest.getConceptName());
+                        concept = metadataCache.getConceptByName(observationRequest.getConceptName());
                         if (concept == null) {
                             throw new NullPointerException(String.format("Concept with name=%s not found", observationRequest.getConceptName()));
                         }
                         String conceptUUID = concept.getUuid();
                         observationRequest.setConceptUUID(conceptUUID);
                     } else {
-                        concept = conceptRepository.findByUuid(observationRequest.getConceptUUID());
+                        concept = metadataCache.getConceptByUuid(observationRequest.getConceptUUID());
                     }
                     return new SimpleEntry<>(concept, observationRequest.getValue());
                 })
@@ -60,7 +59,7 @@ public class ObservationService {
         Map<String, Object> observations = new HashMap<>();
         for (Decision decision : decisions) {
             String conceptName = decision.getName();
-            Concept concept = conceptRepository.findByName(conceptName);
+            Concept concept = metadataCache.getConceptByName(conceptName);
             if (concept == null) {
                 throw new NullPointerException(String.format("Concept with name=%s not found", conceptName));
             }
@@ -74,14 +73,14 @@ public class ObservationService {
                     if (decisionValue instanceof Collection<?>) {
                         List<String> array = (List) decisionValue;
                         value = array.stream().map(answerConceptName -> {
-                            Concept answerConcept = conceptRepository.findByName(answerConceptName);
+                            Concept answerConcept = metadataCache.getConceptByName(answerConceptName);
                             if (answerConcept == null)
                                 throw new NullPointerException(String.format("Answer concept with name=%s not found", answerConceptName));
                             return answerConcept.getUuid();
                         }).toArray();
                     } else {
                         String answerConceptName = (String) decisionValue;
-                        Concept answerConcept = conceptRepository.findByName(answerConceptName);
+                        Concept answerConcept = metadataCache.getConceptByName(answerConceptName);
                         if (answerConcept == null)
                             throw new NullPointerException(String.format("Answer concept with name=%s not found", answerConceptName));
                         value = answerConcept.getUuid();
@@ -103,7 +102,7 @@ public class ObservationService {
         for (DecisionResponse decision : decisions) {
             ObservationContract observationContract = new ObservationContract();
             String conceptName = decision.getName();
-            Concept concept = conceptRepository.findByName(conceptName);
+            Concept concept = metadataCache.getConceptByName(conceptName);
             if (concept == null) {
                 throw new BadRequestError(String.format("Concept with name=%s not found", conceptName));
             }
@@ -116,14 +115,14 @@ public class ObservationService {
                     if (decisionValue instanceof Collection<?>) {
                         List<String> array = (List) decisionValue;
                         value = array.stream().map(answerConceptName -> {
-                            Concept answerConcept = conceptRepository.findByName(answerConceptName);
+                            Concept answerConcept = metadataCache.getConceptByName(answerConceptName);
                             if (answerConcept == null)
                                 throw new BadRequestError(String.format("Answer concept with name=%s not found", answerConceptName));
                             return answerConcept.getUuid();
                         }).toArray();
                     } else {
                         String answerConceptName = (String) decisionValue;
-                        Concept answerConcept = conceptRepository.findByName(answerConceptName);
+                        Concept answerConcept = metadataCache.getConceptByName(answerConceptName);
                         if (answerConcept == null)
                             throw new BadRequestError(String.format("Answer concept with name=%s not found", answerConceptName));
                         value = answerConcept.getUuid();
@@ -143,7 +142,7 @@ public class ObservationService {
     }
 
     public Object getObservationValue(String conceptName, ProgramEncounter programEncounter) {
-        Concept concept = conceptRepository.findByName(conceptName);
+        Concept concept = metadataCache.getConceptByName(conceptName);
         if (concept == null) return null;
 
         return getObservationValue(programEncounter, concept);
@@ -161,7 +160,7 @@ public class ObservationService {
         if (concept.getDataType().equals(ConceptDataType.Coded.toString())) {
             String[] array = (String[]) storedValue;
             Object[] objects = Arrays.stream(array).map(s -> {
-                Concept answerConcept = conceptRepository.findByUuid(s);
+                Concept answerConcept = metadataCache.getConceptByUuid(s);
                 return answerConcept.getName();
             }).toArray();
             return Arrays.asList(Arrays.copyOf(objects, objects.length, String[].class));
@@ -170,7 +169,7 @@ public class ObservationService {
     }
 
     public Object getObservationValue(String conceptName, ProgramEnrolment enrolment) {
-        Concept concept = conceptRepository.findByName(conceptName);
+        Concept concept = metadataCache.getConceptByName(conceptName);
         if (concept == null) return null;
 
         Object observationValue = getObservationValue(concept, enrolment.getObservations());
@@ -214,7 +213,7 @@ public class ObservationService {
     }
 
     public ObservationModelContract constructObservation(ObservationContract observationContract) {
-        Concept concept = conceptRepository.findByUuid(observationContract.getConcept().getUuid());
+        Concept concept = metadataCache.getConceptByUuid(observationContract.getConcept().getUuid());
         ObservationModelContract observationModelContract = new ObservationModelContract();
         observationModelContract.setValue(observationContract.getValue());
         ConceptModelContract conceptModelContract = ConceptModelContract.fromConcept(concept);
@@ -225,7 +224,7 @@ public class ObservationService {
     public List<ObservationContract> constructObservations(@NotNull ObservationCollection observationCollection) {
         return observationCollection.entrySet().stream().map(entry -> {
             ObservationContract observationContract = new ObservationContract();
-            Concept questionConcept = conceptRepository.findByUuid(entry.getKey());
+            Concept questionConcept = metadataCache.getConceptByUuid(entry.getKey());
             ConceptContract conceptContract = ConceptContract.create(questionConcept);
             if (questionConcept.getDataType().equals(ConceptDataType.Subject.toString())) {
                 Object answerValue = entry.getValue();
@@ -54,28 +54,30 @@ public class OldDataImportService {
 
         ImportFile importFile = new ImportFile(importDataFileStream);
         Map<ImportSheetMetaData, List<CHSRequest>> requestMap = new HashMap<>();
-        importSheetMetaDataList.stream()
-                .filter(importSheetMetaData -> {
-                    if ((importSheetMetaData.isActive() || activeSheets.contains(importSheetMetaData.getRowNo())) && importSheetMetaData.getFileName().equals(fileName)) {
-                        return true;
-                    }
-                    logger.info(String.format("Ignored virtual sheet: %s", importSheetMetaData));
-                    return false;
-                })
-                .forEach(importSheetMetaData -> {
-                    logger.info(String.format("Processing virtual sheet: %s", importSheetMetaData));
-                    try {
-                        List list = this.importerMap.get(importSheetMetaData.getEntityType())
-                                .importSheet(importFile, importMetaData, importSheetMetaData, dataImportResult, performImport, maxNumberOfRecords);
-                        requestMap.put(importSheetMetaData, list);
-                    } catch (Exception e) {
-                        dataImportResult.exceptionHappened(importSheetMetaData.asMap(), e);
-                    } finally {
-                        importFile.close();
-                    }
-                });
+        try {
+            importSheetMetaDataList.stream()
+                    .filter(importSheetMetaData -> {
+                        if ((importSheetMetaData.isActive() || activeSheets.contains(importSheetMetaData.getRowNo())) && importSheetMetaData.getFileName().equals(fileName)) {
+                            return true;
+                        }
+                        logger.info(String.format("Ignored virtual sheet: %s", importSheetMetaData));
+                        return false;
+                    })
+                    .forEach(importSheetMetaData -> {
+                        logger.info(String.format("Processing virtual sheet: %s", importSheetMetaData));
+                        try {
+                            List list = this.importerMap.get(importSheetMetaData.getEntityType())
+                                    .importSheet(importFile, importMetaData, importSheetMetaData, dataImportResult, performImport, maxNumberOfRecords);
+                            requestMap.put(importSheetMetaData, list);
+                        } catch (Exception e) {
+                            dataImportResult.exceptionHappened(importSheetMetaData.asMap(), e);
+                        }
+                    });
+        } finally {
+            importFile.close();
+        }
         logger.info("\n>>>>End Import<<<<\n");
         dataImportResult.report();
         return requestMap;
     }
-}
\ No newline at end of file
+}
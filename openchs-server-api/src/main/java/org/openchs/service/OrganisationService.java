@@ -1,5 +1,6 @@
 package org.openchs.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import org.openchs.application.Form;
@@ -27,10 +28,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
@@ -337,53 +336,46 @@ public class OrganisationService {
     }
 
     public void addAddressLevelsJson(Long orgId, ZipOutputStream zos) throws IOException {
-        List<LocationContract> contracts = new ArrayList<>();
         List<AddressLevel> allAddressLevels = locationRepository.findAllByOrganisationId(orgId);
-        List<AddressLevel> rootNodes = allAddressLevels.stream()
-                .filter(addressLevel -> addressLevel.getParent() == null)
-                .collect(Collectors.toList());
-        for (AddressLevel node : rootNodes) {
-            addAddressLevel(node, allAddressLevels, contracts);
-        }
-        addFileToZip(zos, "locations.json", contracts);
+        addTreeToZip(zos, "locations.json", allAddressLevels, AddressLevel::getParent, LocationContract::fromAddressLevel);
     }
 
-    private void addAddressLevel(AddressLevel theNode, List<AddressLevel> allAddressLevels, List<LocationContract> contracts) {
-        List<AddressLevel> childNodes = allAddressLevels.stream()
-                .filter(addressLevelType -> {
-                    AddressLevel parent = addressLevelType.getParent();
-                    return parent != null && parent.getId().equals(theNode.getId());
-                })
-                .collect(Collectors.toList());
-        contracts.add(LocationContract.fromAddressLevel(theNode));
-        for (AddressLevel child : childNodes) {
-            addAddressLevel(child, allAddressLevels, contracts);
-        }
+    public void addAddressLevelTypesJson(Long orgId, ZipOutputStream zos) throws IOException {
+        List<AddressLevelType> allAddressLevelTypes = addressLevelTypeRepository.findAllByOrganisationId(orgId);
+        addTreeToZip(zos, "addressLevelTypes.json", allAddressLevelTypes, AddressLevelType::getParent, AddressLevelTypeContract::fromAddressLevelType);
     }
 
-    public void addAddressLevelTypesJson(Long orgId, ZipOutputStream zos) throws IOException {
+    /**
+     * Writes the nodes as a json array, every node followed by its children. Nodes whose parent is not among the
+     * nodes are left out, as they cannot be reached from a root.
+     */
+    private <T extends CHSEntity> void addTreeToZip(ZipOutputStream zos, String fileName, List<T> nodes, Function<T, T> parentOf, Function<T, ?> toContract) throws IOException {
+        List<T> rootNodes = new ArrayList<>();
+        Map<Long, List<T>> childNodes = new HashMap<>();
+        for (T node : nodes) {
+            T parent = parentOf.apply(node);
+            if (parent == null) {
+                rootNodes.add(node);
+            } else {
+                childNodes.computeIfAbsent(parent.getId(), parentId -> new ArrayList<>()).add(node);
+            }
+        }
 
-        List<AddressLevelTypeContract> contracts = new ArrayList<>();
-        List<AddressLevelType> allAddressLevelTypes = addressLevelTypeRepository.findAllByOrganisationId(orgId);
-        List<AddressLevelType> rootNodes = allAddressLevelTypes.stream()
-                .filter(addressLevelType -> addressLevelType.getParent() == null)
-                .collect(Collectors.toList());
-        for (AddressLevelType node : rootNodes) {
-            addAddressLevelType(node, allAddressLevelTypes, contracts);
+        zos.putNextEntry(new ZipEntry(fileName));
+        try (JsonGenerator generator = createJsonGenerator(zos)) {
+            generator.writeStartArray();
+            for (T node : rootNodes) {
+                addTreeNode(node, childNodes, toContract, generator);
+            }
+            generator.writeEndArray();
         }
-        addFileToZip(zos, "addressLevelTypes.json", contracts);
+        zos.closeEntry();
     }
 
-    private void addAddressLevelType(AddressLevelType theNode, List<AddressLevelType> allAddressLevelTypes, List<AddressLevelTypeContract> contracts) {
-        List<AddressLevelType> childNodes = allAddressLevelTypes.stream()
-                .filter(addressLevelType -> {
-                    AddressLevelType parent = addressLevelType.getParent();
-                    return parent != null && parent.getId().equals(theNode.getId());
-                })
-                .collect(Collectors.toList());
-        contracts.add(AddressLevelTypeContract.fromAddressLevelType(theNode));
-        for (AddressLevelType child : childNodes) {
-            addAddressLevelType(child, allAddressLevelTypes, contracts);
+    private <T extends CHSEntity> void addTreeNode(T theNode, Map<Long, List<T>> childNodes, Function<T, ?> toContract, JsonGenerator generator) throws IOException {
+        generator.writeObject(toContract.apply(theNode));
+        for (T child : childNodes.getOrDefault(theNode.getId(), Collections.emptyList())) {
+            addTreeNode(child, childNodes, toContract, generator);
         }
     }
 
@@ -425,13 +417,20 @@ public class OrganisationService {
         ZipEntry entry = new ZipEntry(fileName);
         zos.putNextEntry(entry);
         if (fileContent != null) {
-            PrettyPrinter prettyPrinter = new DefaultPrettyPrinter();
-            byte[] bytes = ObjectMapperSingleton.getObjectMapper().writer(prettyPrinter).writeValueAsBytes(fileContent);
-            zos.write(bytes);
+            try (JsonGenerator generator = createJsonGenerator(zos)) {
+                generator.writeObject(fileContent);
+            }
         }
         zos.closeEntry();
     }
 
+    private JsonGenerator createJsonGenerator(ZipOutputStream zos) throws IOException {
+        PrettyPrinter prettyPrinter = new DefaultPrettyPrinter();
+        return ObjectMapperSingleton.getObjectMapper().getFactory().createGenerator(zos)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setPrettyPrinter(prettyPrinter);
+    }
+
     private void addDirectoryToZip(ZipOutputStream zos, String directoryName) throws IOException {
         ZipEntry entry = new ZipEntry(String.format("%s/", directoryName));
         zos.putNextEntry(entry);
@@ -0,0 +1,96 @@
+package org.openchs.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Successful rule responses by the contract they were computed for. The key is the organisation, the checksum of its
+ * rule dependency bundle and a hash of the serialized contract, which carries the form rules and the subject history
+ * the rules see, so a changed form, bundle or history makes a new key rather than a stale hit. The TTL only bounds
+ * rules that depend on the current date. A TTL of 0 turns the cache off.
+ * <p>
+ * Contracts are built from hash based sets and maps of entities, contractMapper writes their entries in a stable order
+ * so that the same contract always serializes, and hashes, the same.
+ */
+@Component
+public class RuleDecisionCache {
+    private final Cache<String, String> responses;
+
+    @Autowired
+    public RuleDecisionCache(@Value("${openchs.ruleDecisionCache.ttlSeconds:600}") long ttlSeconds,
+                             @Value("${openchs.ruleDecisionCache.maxSize:10000}") long maxSize,
+                             MeterRegistry meterRegistry) {
+        this.responses = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, responses, "ruleDecision");
+    }
+
+    /**
+     * Serializes contracts the way RestTemplate would, with map entries sorted by key and set elements sorted by their
+     * JSON.
+     */
+    public static ObjectMapper contractMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .serializerByType(Set.class, new SortedSetSerializer())
+                .build();
+    }
+
+    public String key(Long organisationId, String bundleChecksum, String workFlowType, String contractJson) {
+        String contractHash = Hashing.sha256().hashString(workFlowType + "\n" + contractJson, StandardCharsets.UTF_8).toString();
+        return organisationId + ":" + bundleChecksum + ":" + contractHash;
+    }
+
+    public String get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    public void put(String key, String response) {
+        responses.put(key, response);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static class SortedSetSerializer extends StdSerializer<Set> {
+        SortedSetSerializer() {
+            super(Set.class);
+        }
+
+        @Override
+        public void serialize(Set set, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            ObjectMapper mapper = (ObjectMapper) generator.getCodec();
+            List<String> elements = new ArrayList<>(set.size());
+            for (Object element : set) {
+                elements.add(mapper.writeValueAsString(element));
+            }
+            Collections.sort(elements);
+            generator.writeStartArray();
+            for (String element : elements) {
+                generator.writeRawValue(element);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
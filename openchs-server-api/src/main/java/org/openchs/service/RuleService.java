@@ -1,16 +1,17 @@
 package org.openchs.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.joda.JodaModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.codehaus.jettison.json.JSONException;
 import org.openchs.application.Form;
 import org.openchs.application.RuleType;
 import org.openchs.dao.*;
 import org.openchs.dao.application.FormRepository;
-import org.openchs.dao.individualRelationship.RuleFailureLogRepository;
 import org.openchs.domain.*;
 import org.openchs.framework.security.AuthenticationFilter;
 import org.openchs.framework.security.UserContextHolder;
+import org.openchs.healthmodule.engine.InProcessRuleEngine;
 import org.openchs.util.ObjectMapperSingleton;
 import org.openchs.web.RestClient;
 import org.openchs.web.request.RuleRequest;
@@ -32,6 +33,8 @@ import org.openchs.web.validation.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -42,6 +45,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -57,8 +61,14 @@ public class RuleService {
     private final ProgramEncounterConstructionService programEncounterConstructionService;
     private final ProgramEnrolmentConstructionService programEnrolmentConstructionService;
     private final FormRepository formRepository;
-    private final RuleFailureLogRepository ruleFailureLogRepository;
+    private final TelemetryService telemetryService;
     private final ObservationService observationService;
+    private final MeterRegistry meterRegistry;
+    private final InProcessRuleEngine inProcessRuleEngine;
+    private final boolean inProcessRules;
+    private final RuleDecisionCache ruleDecisionCache;
+    // The JSON of a contract is both the body sent and the cache key
+    private final ObjectMapper contractMapper = RuleDecisionCache.contractMapper();
 
     @Autowired
     public RuleService(RuleDependencyRepository ruleDependencyRepository,
@@ -71,8 +81,16 @@ public class RuleService {
                        RuleValidationService ruleValidationService,
                        ProgramEncounterConstructionService programEncounterConstructionService,
                        ProgramEnrolmentConstructionService programEnrolmentConstructionService,
-                       RuleFailureLogRepository ruleFailureLogRepository, ObservationService observationService) {
-        this.ruleFailureLogRepository = ruleFailureLogRepository;
+                       TelemetryService telemetryService, ObservationService observationService,
+                       MeterRegistry meterRegistry,
+                       @Lazy InProcessRuleEngine inProcessRuleEngine,
+                       @Value("${openchs.rules.engine:http}") String rulesEngine,
+                       RuleDecisionCache ruleDecisionCache) {
+        this.ruleDecisionCache = ruleDecisionCache;
+        this.meterRegistry = meterRegistry;
+        this.inProcessRuleEngine = inProcessRuleEngine;
+        this.inProcessRules = "inProcess".equals(rulesEngine);
+        this.telemetryService = telemetryService;
         this.observationService = observationService;
         logger = LoggerFactory.getLogger(this.getClass());
         this.ruleDependencyRepository = ruleDependencyRepository;
@@ -206,7 +224,7 @@ public class RuleService {
         }
 
         RuleFailureLog ruleFailureLog = ruleValidationService.generateRuleFailureLog(requestEntityWrapper, "Web", "Rules : " + workFlowType, entityUuid);
-        RuleResponseEntity ruleResponseEntity = createHttpHeaderAndSendRequest("/api/rules", entity, ruleFailureLog);
+        RuleResponseEntity ruleResponseEntity = createHttpHeaderAndSendRequest("/api/rules", entity, ruleFailureLog, workFlowType);
         setObservationsOnResponse(workFlowType, ruleResponseEntity);
         return ruleResponseEntity;
     }
@@ -240,21 +258,42 @@ public class RuleService {
         return entity;
     }
 
-    private RuleResponseEntity createHttpHeaderAndSendRequest(String url, Object contractObject, RuleFailureLog ruleFailureLog) {
+    private RuleResponseEntity createHttpHeaderAndSendRequest(String url, Object contractObject, RuleFailureLog ruleFailureLog, String workFlowType) {
+        long start = System.nanoTime();
+        String outcome = "error";
         try {
-            HttpHeaders httpHeaders = constructHeaders();
             ObjectMapper mapper = ObjectMapperSingleton.getObjectMapper();
-            mapper.registerModule(new JodaModule());
-            String ruleResponse = restClient.post(url, contractObject, httpHeaders);
+            Long organisationId = UserContextHolder.getUserContext().getOrganisationId();
+            RuleDependency ruleDependency = ruleDependencyRepository.findByOrganisationId(organisationId);
+            String contractJson = contractMapper.writeValueAsString(contractObject);
+            String cacheKey = ruleDecisionCache.key(organisationId, ruleDependency == null ? "" : ruleDependency.getChecksum(), workFlowType, contractJson);
+            String ruleResponse = ruleDecisionCache.get(cacheKey);
+            if (ruleResponse != null) {
+                outcome = "cached";
+                return mapper.readValue(ruleResponse, RuleResponseEntity.class);
+            }
+            ruleResponse = inProcessRules ?
+                    inProcessRuleEngine.evaluate(organisationId, ruleDependency, contractJson, workFlowType) :
+                    restClient.post(url, contractJson, constructHeaders());
             RuleResponseEntity ruleResponseEntity = mapper.readValue(ruleResponse, RuleResponseEntity.class);
+            outcome = ruleResponseEntity.getStatus();
             if (ruleResponseEntity.getStatus().equals("failure")) {
                 RuleError ruleError = ruleResponseEntity.getError();
                 saveRuleError(ruleFailureLog, ruleError.getMessage(), ruleError.getStack());
+            } else {
+                ruleDecisionCache.put(cacheKey, ruleResponse);
             }
             return ruleResponseEntity;
         } catch (Exception e) {
             saveRuleError(ruleFailureLog, e.getMessage(), getStackTrace(e));
             return getFailureRuleResponseEntity(e);
+        } finally {
+            Timer.builder("openchs.rules.server.requests")
+                    .tag("workFlowType", workFlowType)
+                    .tag("outcome", String.valueOf(outcome))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -265,7 +304,8 @@ public class RuleService {
         String organisationUUID = userContext.getOrganisation().getUuid();
         String authToken = userContext.getAuthToken();
 
-        httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+        //The contract is sent as a String, which is encoded in ISO-8859-1 unless the content type says otherwise
+        httpHeaders.setContentType(MediaType.APPLICATION_JSON_UTF8);
         if(userName != null)
             httpHeaders.add(AuthenticationFilter.USER_NAME_HEADER, userName);
         if(organisationUUID != null)
@@ -295,7 +335,7 @@ public class RuleService {
     private void saveRuleError(RuleFailureLog ruleFailureLog, String message, String stack) {
         ruleFailureLog.setErrorMessage(message);
         ruleFailureLog.setStacktrace(stack);
-        ruleFailureLogRepository.save(ruleFailureLog);
+        telemetryService.saveRuleFailureLog(ruleFailureLog);
     }
 
 
@@ -221,10 +221,14 @@ public class S3Service {
     }
 
     public String uploadFileToS3(File file) throws IOException {
-        if (!file.exists() || isDev) {
+        if (!file.exists()) {
             logger.info("Skipping media upload to S3");
             return null;
         }
+        if (isDev) {
+            logger.info(format("[dev] Save file locally. '%s'", file.getName()));
+            return file.getAbsolutePath();
+        }
         String s3Key = getS3KeyForMediaUpload(file.getName());
         s3Client.putObject(new PutObjectRequest(bucketName, s3Key, file));
         Files.delete(file.toPath());
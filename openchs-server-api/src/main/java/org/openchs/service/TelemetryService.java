@@ -0,0 +1,307 @@
+package org.openchs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.joda.time.DateTime;
+import org.openchs.domain.*;
+import org.openchs.framework.security.UserContextHolder;
+import org.openchs.util.ObjectMapperSingleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes sync telemetry, video telemetry, rule failure telemetry and rule failure logs off the request thread. The
+ * rows are built when they are received and queued, a writer thread inserts them in JDBC batches, one transaction per
+ * flush, once flushSize rows are waiting or flushIntervalMillis has passed. When the queue is full a request waits up
+ * to offerTimeoutMillis for room and then drops its row.
+ * <p>
+ * Every row carries the organisation it belongs to, and the writer inserts the rows of each organisation in a user
+ * context of that organisation so that its connections take the organisation's role. Rows still queued at shutdown
+ * are written before the data source closes; rows queued when the server dies are lost.
+ */
+@Service
+public class TelemetryService {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryService.class);
+
+    private static final String INSERT_SYNC_TELEMETRY = "insert into sync_telemetry (uuid, user_id, organisation_id, sync_status, sync_start_time, sync_end_time, " +
+            "entity_status, app_version, android_version, device_name, device_info) values (?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?::jsonb)";
+    private static final String UPSERT_VIDEO_TELEMETRIC = "with updated as (update video_telemetric set video_start_time = ?, video_end_time = ?, " +
+            "player_open_time = ?, player_close_time = ?, video_id = (select id from video where uuid = ?), user_id = ?, created_datetime = ?, organisation_id = ? " +
+            "where uuid = ? returning id) " +
+            "insert into video_telemetric (video_start_time, video_end_time, player_open_time, player_close_time, video_id, user_id, created_datetime, organisation_id, uuid) " +
+            "select ?, ?, ?, ?, (select id from video where uuid = ?), ?, ?, ?, ? where not exists (select 1 from updated)";
+    private static final String INSERT_RULE_FAILURE_TELEMETRY = "with audit as (insert into audit (created_by_id, last_modified_by_id, created_date_time, last_modified_date_time) " +
+            "values (?, ?, ?, ?) returning id) " +
+            "insert into rule_failure_telemetry (uuid, user_id, organisation_id, rule_uuid, individual_uuid, error_message, stacktrace, error_date_time, is_closed, audit_id) " +
+            "select ?, ?, ?, ?, ?, ?, ?, ?, ?, id from audit";
+    private static final String INSERT_RULE_FAILURE_LOG = "with audit as (insert into audit (created_by_id, last_modified_by_id, created_date_time, last_modified_date_time) " +
+            "values (?, ?, ?, ?) returning id) " +
+            "insert into rule_failure_log (uuid, form_id, rule_type, entity_type, entity_id, error_message, stacktrace, source, version, organisation_id, audit_id) " +
+            "select ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, id from audit";
+    /**
+     * The user create_audit() falls back to, for rule failure logs saved without a user.
+     */
+    private static final Long DEFAULT_AUDIT_USER_ID = 1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Row> queue;
+    private final int flushSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final Counter received;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Map<Long, Organisation> organisations = new HashMap<>();
+    private final Thread writer = new Thread(this::write, "telemetry-writer");
+    private volatile boolean running = true;
+
+    @Autowired
+    public TelemetryService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${openchs.telemetry.queueCapacity:10000}") int queueCapacity,
+                            @Value("${openchs.telemetry.flushSize:200}") int flushSize,
+                            @Value("${openchs.telemetry.flushIntervalMillis:1000}") long flushIntervalMillis,
+                            @Value("${openchs.telemetry.offerTimeoutMillis:50}") long offerTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.received = meterRegistry.counter("openchs.telemetry.rows", "result", "received");
+        this.dropped = meterRegistry.counter("openchs.telemetry.rows", "result", "dropped");
+        this.written = meterRegistry.counter("openchs.telemetry.rows", "result", "written");
+        this.failed = meterRegistry.counter("openchs.telemetry.rows", "result", "failed");
+        meterRegistry.gauge("openchs.telemetry.queue.depth", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public void saveSyncTelemetry(SyncTelemetry syncTelemetry) {
+        enqueue(syncTelemetry.getOrganisationId(), INSERT_SYNC_TELEMETRY,
+                syncTelemetry.getUuid(),
+                syncTelemetry.getUser().getId(),
+                syncTelemetry.getOrganisationId(),
+                syncTelemetry.getSyncStatus(),
+                timestamp(syncTelemetry.getSyncStartTime()),
+                timestamp(syncTelemetry.getSyncEndTime()),
+                json(syncTelemetry.getEntityStatus()),
+                syncTelemetry.getAppVersion(),
+                syncTelemetry.getAndroidVersion(),
+                syncTelemetry.getDeviceName(),
+                json(syncTelemetry.getDeviceInfo()));
+    }
+
+    /**
+     * Replaces the video telemetric with the same uuid, if there is one.
+     */
+    public void saveVideoTelemetric(VideoTelemetric videoTelemetric, String videoUUID) {
+        Object[] columns = {
+                videoTelemetric.getVideoStartTime(),
+                videoTelemetric.getVideoEndTime(),
+                timestamp(videoTelemetric.getPlayerOpenTime()),
+                timestamp(videoTelemetric.getPlayerCloseTime()),
+                videoUUID,
+                videoTelemetric.getUser().getId(),
+                timestamp(videoTelemetric.getCreatedDatetime()),
+                videoTelemetric.getOrganisationId(),
+                videoTelemetric.getUuid()};
+        Object[] parameters = Arrays.copyOf(columns, columns.length * 2);
+        System.arraycopy(columns, 0, parameters, columns.length, columns.length);
+        enqueue(videoTelemetric.getOrganisationId(), UPSERT_VIDEO_TELEMETRIC, parameters);
+    }
+
+    public void saveRuleFailureTelemetry(RuleFailureTelemetry ruleFailureTelemetry) {
+        Long userId = ruleFailureTelemetry.getUser().getId();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        enqueue(ruleFailureTelemetry.getOrganisationId(), INSERT_RULE_FAILURE_TELEMETRY,
+                userId, userId, now, now,
+                ruleFailureTelemetry.getUuid(),
+                userId,
+                ruleFailureTelemetry.getOrganisationId(),
+                ruleFailureTelemetry.getRuleUuid(),
+                ruleFailureTelemetry.getIndividualUuid(),
+                ruleFailureTelemetry.getErrorMessage(),
+                ruleFailureTelemetry.getStacktrace(),
+                timestamp(ruleFailureTelemetry.getErrorDateTime()),
+                Boolean.TRUE.equals(ruleFailureTelemetry.getClosed()));
+    }
+
+    /**
+     * Takes the log as it is now, the log can be changed and saved again after. A log without an organisation is saved
+     * in the organisation of the user, and one without either is dropped.
+     */
+    public void saveRuleFailureLog(RuleFailureLog ruleFailureLog) {
+        UserContext userContext = UserContextHolder.getUserContext();
+        User user = userContext == null ? null : userContext.getUser();
+        Long userId = user == null ? DEFAULT_AUDIT_USER_ID : user.getId();
+        Long organisationId = ruleFailureLog.getOrganisationId() != null ? ruleFailureLog.getOrganisationId()
+                : userContext == null ? null : userContext.getOrganisationId();
+        if (organisationId == null) {
+            received.increment();
+            dropped.increment();
+            logger.warn(String.format("Rule failure log %s has no organisation, dropped it", ruleFailureLog.getUuid()));
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        enqueue(organisationId, INSERT_RULE_FAILURE_LOG,
+                userId, userId, now, now,
+                ruleFailureLog.getUuid(),
+                ruleFailureLog.getFormId(),
+                ruleFailureLog.getRuleType(),
+                ruleFailureLog.getEntityType(),
+                ruleFailureLog.getEntityId(),
+                ruleFailureLog.getErrorMessage(),
+                ruleFailureLog.getStacktrace(),
+                ruleFailureLog.getSource(),
+                organisationId);
+    }
+
+    private void enqueue(Long organisationId, String sql, Object... parameters) {
+        received.increment();
+        try {
+            if (!queue.offer(new Row(organisationId, sql, parameters), offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                dropped.increment();
+                logger.warn("Telemetry queue full, dropped a row");
+            }
+        } catch (InterruptedException e) {
+            dropped.increment();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write() {
+        List<Row> rows = new ArrayList<>(flushSize);
+        long flushBy = System.currentTimeMillis() + flushIntervalMillis;
+        while (running || !queue.isEmpty()) {
+            try {
+                Row row = queue.poll(Math.max(0, flushBy - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (row != null) {
+                    rows.add(row);
+                    queue.drainTo(rows, flushSize - rows.size());
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(rows);
+            }
+            if (rows.size() >= flushSize || System.currentTimeMillis() >= flushBy || !running) {
+                flush(rows);
+                rows.clear();
+                flushBy = System.currentTimeMillis() + flushIntervalMillis;
+            }
+        }
+        flush(rows);
+    }
+
+    private void flush(List<Row> rows) {
+        Map<Long, List<Row>> rowsByOrganisation = new LinkedHashMap<>();
+        rows.forEach(row -> rowsByOrganisation.computeIfAbsent(row.organisationId, organisationId -> new ArrayList<>()).add(row));
+        rowsByOrganisation.forEach(this::flush);
+    }
+
+    private void flush(Long organisationId, List<Row> rows) {
+        try {
+            UserContextHolder.create(userContextOf(organisationId));
+        } catch (RuntimeException e) {
+            failed.increment(rows.size());
+            logger.error(String.format("Could not find organisation %d, dropped %d telemetry rows", organisationId, rows.size()), e);
+            return;
+        }
+        try {
+            Map<String, List<Object[]>> parametersBySql = new LinkedHashMap<>();
+            rows.forEach(row -> parametersBySql.computeIfAbsent(row.sql, sql -> new ArrayList<>()).add(row.parameters));
+            try {
+                transactionTemplate.execute(status -> {
+                    parametersBySql.forEach(jdbcTemplate::batchUpdate);
+                    return null;
+                });
+                written.increment(rows.size());
+            } catch (RuntimeException e) {
+                logger.warn(String.format("Telemetry batch of %d rows failed, writing them one at a time", rows.size()), e);
+                rows.forEach(this::writeOne);
+            }
+        } finally {
+            UserContextHolder.clear();
+        }
+    }
+
+    private void writeOne(Row row) {
+        try {
+            jdbcTemplate.update(row.sql, row.parameters);
+            written.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.error("Could not write telemetry row", e);
+        }
+    }
+
+    /**
+     * A user context of the organisation alone, which is all the connection needs to take its role. Organisations are
+     * looked up once, their roles do not change.
+     */
+    private UserContext userContextOf(Long organisationId) {
+        UserContext userContext = new UserContext();
+        if (organisationId == null) return userContext;
+        Organisation organisation = organisations.computeIfAbsent(organisationId, id -> {
+            Organisation found = new Organisation();
+            found.setId(id);
+            found.setDbUser(jdbcTemplate.queryForObject("select db_user from organisation where id = ?", String.class, id));
+            return found;
+        });
+        userContext.setOrganisation(organisation);
+        return userContext;
+    }
+
+    private static Timestamp timestamp(DateTime dateTime) {
+        return dateTime == null ? null : new Timestamp(dateTime.getMillis());
+    }
+
+    private static String json(JsonObject jsonObject) {
+        if (jsonObject == null) return null;
+        try {
+            return ObjectMapperSingleton.getObjectMapper().writeValueAsString(jsonObject);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class Row {
+        private final Long organisationId;
+        private final String sql;
+        private final Object[] parameters;
+
+        Row(Long organisationId, String sql, Object[] parameters) {
+            this.organisationId = organisationId;
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+}
@@ -4,11 +4,14 @@ import org.joda.time.DateTime;
 import org.openchs.dao.*;
 import org.openchs.domain.Checklist;
 import org.openchs.domain.ChecklistDetail;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.service.UserService;
 import org.openchs.web.request.ChecklistRequest;
+import org.openchs.web.response.SyncResources;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
@@ -83,6 +86,17 @@ public class ChecklistController extends AbstractController<Checklist> implement
         }
     }
 
+    @GetMapping(value = "/txNewChecklistEntity/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<Checklist>> getChecklistsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<Checklist> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @Override
     public Resource<Checklist> process(Resource<Checklist> resource) {
         Checklist checklist = resource.getContent();
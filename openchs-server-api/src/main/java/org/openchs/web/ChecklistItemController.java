@@ -5,12 +5,15 @@ import org.openchs.dao.*;
 import org.openchs.domain.Checklist;
 import org.openchs.domain.ChecklistDetail;
 import org.openchs.domain.ChecklistItem;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.service.ObservationService;
 import org.openchs.service.UserService;
 import org.openchs.web.request.application.ChecklistItemRequest;
+import org.openchs.web.response.SyncResources;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
@@ -91,6 +94,17 @@ public class ChecklistItemController extends AbstractController<ChecklistItem> i
         }
     }
 
+    @GetMapping(value = "/txNewChecklistItemEntity/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<ChecklistItem>> getChecklistItemsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<ChecklistItem> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @Override
     public Resource<ChecklistItem> process(Resource<ChecklistItem> resource) {
         ChecklistItem checklistItem = resource.getContent();
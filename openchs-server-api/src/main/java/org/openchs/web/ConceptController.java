@@ -11,6 +11,7 @@ import org.openchs.framework.security.UserContextHolder;
 import org.openchs.projection.CodedConceptProjection;
 import org.openchs.projection.ConceptProjection;
 import org.openchs.service.ConceptService;
+import org.openchs.service.MetadataCache;
 import org.openchs.util.ObjectMapperSingleton;
 import org.openchs.util.ReactAdminUtil;
 import org.openchs.web.request.ConceptContract;
@@ -42,13 +43,15 @@ public class ConceptController implements RestControllerResourceProcessor<Concep
     private ConceptRepository conceptRepository;
     private ConceptService conceptService;
     private ProjectionFactory projectionFactory;
+    private MetadataCache metadataCache;
     ObjectMapper objectMapper;
 
     @Autowired
-    public ConceptController(ConceptRepository conceptRepository, ConceptService conceptService, ProjectionFactory projectionFactory) {
+    public ConceptController(ConceptRepository conceptRepository, ConceptService conceptService, ProjectionFactory projectionFactory, MetadataCache metadataCache) {
         this.conceptRepository = conceptRepository;
         this.conceptService = conceptService;
         this.projectionFactory = projectionFactory;
+        this.metadataCache = metadataCache;
         logger = LoggerFactory.getLogger(this.getClass());
         objectMapper = ObjectMapperSingleton.getObjectMapper();
     }
@@ -134,6 +137,7 @@ public class ConceptController implements RestControllerResourceProcessor<Concep
             existingConcept.setVoided(!existingConcept.isVoided());
             existingConcept.setName(ReactAdminUtil.getVoidedName(existingConcept.getName(), existingConcept.getId()));
             conceptRepository.save(existingConcept);
+            metadataCache.evict(existingConcept.getOrganisationId());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().body(e.getMessage());
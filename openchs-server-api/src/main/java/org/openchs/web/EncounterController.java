@@ -4,6 +4,7 @@ import com.bugsnag.Bugsnag;
 import org.joda.time.DateTime;
 import org.openchs.dao.*;
 import org.openchs.domain.*;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.geo.Point;
 import org.openchs.service.ConceptService;
 import org.openchs.service.EncounterService;
@@ -18,11 +19,13 @@ import org.openchs.web.request.api.RequestUtils;
 import org.openchs.web.request.rules.RulesContractWrapper.Decisions;
 import org.openchs.web.response.EncounterResponse;
 import org.openchs.web.response.ResponsePage;
+import org.openchs.web.response.SyncResources;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
@@ -172,6 +175,17 @@ public class EncounterController extends AbstractController<Encounter> implement
         }
     }
 
+    @GetMapping(value = "/encounter/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<Encounter>> getEncountersByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<Encounter> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @DeleteMapping("/web/encounter/{uuid}")
     @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
     @ResponseBody
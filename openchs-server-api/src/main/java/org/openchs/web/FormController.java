@@ -15,6 +15,7 @@ import org.openchs.projection.IdentifierAssignmentProjection;
 import org.openchs.service.FormMappingService;
 import org.openchs.service.FormService;
 import org.openchs.service.IdentifierAssignmentService;
+import org.openchs.service.MetadataCache;
 import org.openchs.service.UserService;
 import org.openchs.util.BadRequestError;
 import org.openchs.util.ReactAdminUtil;
@@ -68,6 +69,7 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
     private ProjectionFactory projectionFactory;
     private UserService userService;
     private IdentifierAssignmentService identifierAssignmentService;
+    private MetadataCache metadataCache;
 
     @Autowired
     public FormController(FormRepository formRepository,
@@ -80,7 +82,8 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
                           FormMappingService formMappingService,
                           FormService formService,
                           UserService userService,
-                          IdentifierAssignmentService identifierAssignmentService) {
+                          IdentifierAssignmentService identifierAssignmentService,
+                          MetadataCache metadataCache) {
         this.formRepository = formRepository;
         this.programRepository = programRepository;
         this.formMappingRepository = formMappingRepository;
@@ -92,6 +95,7 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
         this.formService = formService;
         this.userService = userService;
         this.identifierAssignmentService = identifierAssignmentService;
+        this.metadataCache = metadataCache;
         logger = LoggerFactory.getLogger(this.getClass());
     }
 
@@ -158,6 +162,7 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
                 .withUUID(UUID.randomUUID().toString())
                 .build();
         formRepository.save(form);
+        metadataCache.evict(form.getOrganisationId());
 
         return ResponseEntity.ok(form);
     }
@@ -177,6 +182,7 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
             existingForm.setVoided(!existingForm.isVoided());
             existingForm.setName(ReactAdminUtil.getVoidedName(existingForm.getName(), existingForm.getId()));
             formRepository.save(existingForm);
+            metadataCache.evict(existingForm.getOrganisationId());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -200,6 +206,7 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
         form.setFormType(FormType.valueOf(request.getFormType()));
 
         formRepository.save(form);
+        metadataCache.evict(form.getOrganisationId());
         formMappingRequests.forEach(formMappingRequest -> {
             FormMappingContract formMappingContract = new FormMappingContract();
             formMappingContract.setEncounterTypeUUID(formMappingRequest.getEncounterTypeUuid());
@@ -251,6 +258,7 @@ public class FormController implements RestControllerResourceProcessor<BasicForm
             Form form = formBuilder.withoutFormElements(organisation, formRequest.getFormElementGroups())
                     .build();
             formRepository.save(form);
+            metadataCache.evict(form.getOrganisationId());
         } catch (FormBuilderException e) {
             e.printStackTrace();
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -5,11 +5,9 @@ import org.openchs.domain.Organisation;
 import org.openchs.framework.security.UserContextHolder;
 import org.openchs.service.OrganisationService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.repository.query.Param;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,8 +15,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.transaction.Transactional;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.zip.ZipOutputStream;
 
@@ -34,14 +32,16 @@ public class ImplementationController implements RestControllerResourceProcessor
 
     @RequestMapping(value = "/implementation/export/{includeLocations}", method = RequestMethod.GET)
     @PreAuthorize("hasAnyAuthority('admin','organisation_admin')")
-    public ResponseEntity<ByteArrayResource> export(@PathVariable boolean includeLocations) throws IOException {
+    public void export(@PathVariable boolean includeLocations, HttpServletResponse response) throws IOException {
 
         Organisation organisation = UserContextHolder.getUserContext().getOrganisation();
         Long orgId = organisation.getId();
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        //The zip is written to the response as it is built, without a content length it is sent chunked.
+        response.setContentType("application/octet-stream");
+        setHttpHeaders(response);
         //ZipOutputStream will be automatically closed because we are using try-with-resources.
-        try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+        try (ZipOutputStream zos = new ZipOutputStream(response.getOutputStream())) {
             if (includeLocations) {
                 organisationService.addAddressLevelTypesJson(orgId, zos);
                 organisationService.addAddressLevelsJson(orgId, zos);
@@ -69,15 +69,6 @@ public class ImplementationController implements RestControllerResourceProcessor
             organisationService.addReportCards(zos);
             organisationService.addReportDashboard(zos);
         }
-
-        byte[] baosByteArray = baos.toByteArray();
-
-        return ResponseEntity.ok()
-                .headers(getHttpHeaders())
-                .contentLength(baosByteArray.length)
-                .contentType(MediaType.parseMediaType("application/octet-stream"))
-                .body(new ByteArrayResource(baosByteArray));
-
     }
 
     @RequestMapping(value = "/implementation/delete", method = RequestMethod.DELETE)
@@ -91,12 +82,10 @@ public class ImplementationController implements RestControllerResourceProcessor
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
-    private HttpHeaders getHttpHeaders() {
-        HttpHeaders header = new HttpHeaders();
-        header.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=impl.zip");
-        header.add("Cache-Control", "no-cache, no-store, must-revalidate");
-        header.add("Pragma", "no-cache");
-        header.add("Expires", "0");
-        return header;
+    private void setHttpHeaders(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=impl.zip");
+        response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+        response.setHeader("Pragma", "no-cache");
+        response.setHeader("Expires", "0");
     }
 }
@@ -3,6 +3,7 @@ package org.openchs.web;
 import org.joda.time.DateTime;
 import org.openchs.dao.*;
 import org.openchs.domain.*;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.geo.Point;
 import org.openchs.projection.IndividualWebProjection;
 import org.openchs.service.*;
@@ -13,11 +14,13 @@ import org.openchs.web.request.*;
 import org.openchs.web.request.rules.RulesContractWrapper.Decisions;
 import org.openchs.web.response.ResponsePage;
 import org.openchs.web.response.SubjectResponse;
+import org.openchs.web.response.SyncResources;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
@@ -132,6 +135,17 @@ public class IndividualController extends AbstractController<Individual> impleme
         }
     }
 
+    @GetMapping(value = "/individual/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<Individual>> getIndividualsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<Individual> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @GetMapping(value = "/individual/search")
     @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
     @ResponseBody
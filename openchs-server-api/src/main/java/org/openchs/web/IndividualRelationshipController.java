@@ -11,11 +11,14 @@ import org.openchs.domain.Individual;
 import org.openchs.domain.SubjectType;
 import org.openchs.domain.individualRelationship.IndividualRelationship;
 import org.openchs.domain.individualRelationship.IndividualRelationshipType;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.service.UserService;
 import org.openchs.web.request.IndividualRelationshipRequest;
+import org.openchs.web.response.SyncResources;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
@@ -100,6 +103,17 @@ public class IndividualRelationshipController extends AbstractController<Individ
         }
     }
 
+    @GetMapping(value = "/individualRelationship/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<IndividualRelationship>> getIndividualRelationshipsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<IndividualRelationship> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @Override
     public Resource<IndividualRelationship> process(Resource<IndividualRelationship> resource) {
         IndividualRelationship individualRelationship = resource.getContent();
@@ -6,16 +6,19 @@ import org.openchs.builder.BuilderException;
 import org.openchs.dao.LocationRepository;
 import org.openchs.dao.OperatingIndividualScopeAwareRepository;
 import org.openchs.domain.AddressLevel;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.service.LocationService;
 import org.openchs.service.UserService;
 import org.openchs.util.ReactAdminUtil;
 import org.openchs.web.request.AddressLevelContractWeb;
 import org.openchs.web.request.LocationContract;
 import org.openchs.web.request.LocationEditContract;
+import org.openchs.web.response.SyncResources;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.rest.webmvc.RepositoryRestController;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.PagedResources;
@@ -88,6 +91,17 @@ public class LocationController implements OperatingIndividualScopeAwareControll
         return wrap(getCHSEntitiesForUserByLastModifiedDateTime(userService.getCurrentUser(), lastModifiedDateTime, now, pageable));
     }
 
+    @GetMapping(value = "/locations/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user','admin','organisation_admin')")
+    public SyncResources<Resource<AddressLevel>> getAddressLevelsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<AddressLevel> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @PutMapping(value = "/locations/{id}")
     @PreAuthorize(value = "hasAnyAuthority('admin', 'organisation_admin')")
     @Transactional
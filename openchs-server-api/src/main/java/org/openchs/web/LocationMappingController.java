@@ -4,16 +4,20 @@ import org.joda.time.DateTime;
 import org.openchs.dao.LocationMappingRepository;
 import org.openchs.dao.OperatingIndividualScopeAwareRepository;
 import org.openchs.domain.ParentLocationMapping;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.service.UserService;
+import org.openchs.web.response.SyncResources;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.Resource;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -42,6 +46,17 @@ public class LocationMappingController implements OperatingIndividualScopeAwareC
         return wrap(getCHSEntitiesForUserByLastModifiedDateTime(userService.getCurrentUser(), lastModifiedDateTime, now, pageable));
     }
 
+    @GetMapping(value = "/locationMapping/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user','admin','organisation_admin')")
+    public SyncResources<Resource<ParentLocationMapping>> getParentLocationMappingsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<ParentLocationMapping> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @Override
     public OperatingIndividualScopeAwareRepository<ParentLocationMapping> resourceRepository() {
         return locationMappingRepository;
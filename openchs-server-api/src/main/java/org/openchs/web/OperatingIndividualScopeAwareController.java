@@ -3,9 +3,8 @@ package org.openchs.web;
 import org.joda.time.DateTime;
 import org.openchs.dao.OperatingIndividualScopeAwareRepository;
 import org.openchs.domain.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
+import org.openchs.framework.sync.SyncContinuationToken;
+import org.springframework.data.domain.*;
 
 import java.util.Collections;
 
@@ -27,5 +26,23 @@ public interface OperatingIndividualScopeAwareController<T extends CHSEntity> {
         return new PageImpl<>(Collections.emptyList());
     }
 
+    /**
+     * Keyset alternative to getCHSEntitiesForUserByLastModifiedDateTime. The page number of the pageable is ignored,
+     * the position comes from the continuation token instead, so late pages cost the same as the first one.
+     */
+    default Slice<T> getCHSEntitiesForUserAfter(User user, SyncContinuationToken token, DateTime now, Pageable pageable) {
+        OperatingIndividualScope scope = user.getOperatingIndividualScope();
+        Facility userFacility = user.getFacility();
+        Catchment catchment = user.getCatchment();
+        Pageable firstPage = PageRequest.of(0, pageable.getPageSize());
+        if (ByCatchment.equals(scope)) {
+            return resourceRepository().findByCatchmentIndividualOperatingScopeAfter(catchment.getId(), token.getLastModifiedDateTime(), token.getId(), now, firstPage);
+        }
+        if (ByFacility.equals(scope)) {
+            return resourceRepository().findByFacilityIndividualOperatingScopeAfter(userFacility.getId(), token.getLastModifiedDateTime(), token.getId(), now, firstPage);
+        }
+        return new SliceImpl<>(Collections.emptyList());
+    }
+
     OperatingIndividualScopeAwareRepository<T> resourceRepository();
 }
@@ -2,6 +2,7 @@ package org.openchs.web;
 
 import org.openchs.dao.*;
 import org.openchs.domain.*;
+import org.openchs.framework.security.UserContextCache;
 import org.openchs.framework.security.UserContextHolder;
 import org.openchs.web.request.OrganisationContract;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,15 +28,17 @@ public class OrganisationController implements RestControllerResourceProcessor<O
     private final OrganisationConfigRepository organisationConfigRepository;
     private GroupRepository groupRepository;
     private ImplementationRepository implementationRepository;
+    private final UserContextCache userContextCache;
 
     @Autowired
-    public OrganisationController(OrganisationRepository organisationRepository, AccountRepository accountRepository, GenderRepository genderRepository, OrganisationConfigRepository organisationConfigRepository, GroupRepository groupRepository, ImplementationRepository implementationRepository) {
+    public OrganisationController(OrganisationRepository organisationRepository, AccountRepository accountRepository, GenderRepository genderRepository, OrganisationConfigRepository organisationConfigRepository, GroupRepository groupRepository, ImplementationRepository implementationRepository, UserContextCache userContextCache) {
         this.organisationRepository = organisationRepository;
         this.accountRepository = accountRepository;
         this.genderRepository = genderRepository;
         this.organisationConfigRepository = organisationConfigRepository;
         this.groupRepository = groupRepository;
         this.implementationRepository = implementationRepository;
+        this.userContextCache = userContextCache;
     }
 
     @RequestMapping(value = "/organisation", method = RequestMethod.POST)
@@ -56,6 +59,7 @@ public class OrganisationController implements RestControllerResourceProcessor<O
         setOrgAccountByIdOrDefault(org, request.getAccountId());
 
         organisationRepository.save(org);
+        userContextCache.invalidateOrganisation(org.getId());
         createDefaultGenders(org);
         addDefaultGroup(org.getId());
         createDefaultOrgConfig(org);
@@ -126,7 +130,9 @@ public class OrganisationController implements RestControllerResourceProcessor<O
         setAttributesOnOrganisation(request, organisation);
         setOrgAccountByIdOrDefault(organisation, request.getAccountId());
         implementationRepository.createImplementationSchema(organisation.getSchemaName(), organisation.getDbUser());
-        return organisationRepository.save(organisation);
+        Organisation savedOrganisation = organisationRepository.save(organisation);
+        userContextCache.invalidateOrganisation(savedOrganisation.getId());
+        return savedOrganisation;
     }
 
 
@@ -5,6 +5,7 @@ import org.openchs.dao.*;
 import org.openchs.domain.EncounterType;
 import org.openchs.domain.ProgramEncounter;
 import org.openchs.domain.ProgramEnrolment;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.service.ConceptService;
 import org.openchs.service.ProgramEncounterService;
 import org.openchs.service.UserService;
@@ -13,13 +14,16 @@ import org.openchs.web.request.ProgramEncounterRequest;
 import org.openchs.web.request.ProgramEncountersContract;
 import org.openchs.web.request.api.ApiProgramEncounterRequest;
 import org.openchs.web.request.api.RequestUtils;
+import org.openchs.web.response.ConceptResolver;
 import org.openchs.web.response.EncounterResponse;
 import org.openchs.web.response.ResponsePage;
+import org.openchs.web.response.SyncResources;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedResources;
@@ -32,6 +36,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 public class ProgramEncounterController implements RestControllerResourceProcessor<ProgramEncounter>, OperatingIndividualScopeAwareController<ProgramEncounter>, OperatingIndividualScopeAwareFilterController<ProgramEncounter> {
@@ -66,9 +72,12 @@ public class ProgramEncounterController implements RestControllerResourceProcess
             programEncounters = programEncounterRepository.findByAuditLastModifiedDateTimeIsBetweenAndEncounterTypeNameOrderByAuditLastModifiedDateTimeAscIdAsc(lastModifiedDateTime, now, encounterType, pageable);
         }
 
+        ConceptResolver conceptResolver = ConceptResolver.forObservations(conceptRepository, programEncounters.getContent().stream()
+                .flatMap(programEncounter -> Stream.of(programEncounter.getObservations(), programEncounter.getCancelObservations())).collect(Collectors.toList()));
+
         ArrayList<EncounterResponse> programEncounterResponses = new ArrayList<>();
         programEncounters.forEach(programEncounter -> {
-            programEncounterResponses.add(EncounterResponse.fromProgramEncounter(programEncounter, conceptRepository, conceptService));
+            programEncounterResponses.add(EncounterResponse.fromProgramEncounter(programEncounter, conceptResolver, conceptService));
         });
         return new ResponsePage(programEncounterResponses, programEncounters.getNumberOfElements(), programEncounters.getTotalPages(), programEncounters.getSize());
     }
@@ -130,6 +139,17 @@ public class ProgramEncounterController implements RestControllerResourceProcess
         }
     }
 
+    @GetMapping(value = "/programEncounter/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<ProgramEncounter>> getProgramEncountersByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<ProgramEncounter> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @DeleteMapping("/web/programEncounter/{uuid}")
     @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
     @ResponseBody
@@ -4,6 +4,7 @@ import org.joda.time.DateTime;
 import org.openchs.dao.*;
 import org.openchs.domain.Program;
 import org.openchs.domain.ProgramEnrolment;
+import org.openchs.framework.sync.SyncContinuationToken;
 import org.openchs.projection.ProgramEnrolmentProjection;
 import org.openchs.service.*;
 import org.openchs.util.S;
@@ -12,11 +13,13 @@ import org.openchs.web.request.ProgramEncountersContract;
 import org.openchs.web.request.ProgramEnrolmentRequest;
 import org.openchs.web.response.ProgramEnrolmentResponse;
 import org.openchs.web.response.ResponsePage;
+import org.openchs.web.response.SyncResources;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.Link;
@@ -75,6 +78,17 @@ public class ProgramEnrolmentController extends AbstractController<ProgramEnrolm
         }
     }
 
+    @GetMapping(value = "/programEnrolment/sync")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public SyncResources<Resource<ProgramEnrolment>> getProgramEnrolmentsByOperatingIndividualScopeAfter(
+            @RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+            @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            Pageable pageable) {
+        Slice<ProgramEnrolment> slice = getCHSEntitiesForUserAfter(userService.getCurrentUser(), SyncContinuationToken.fromToken(continuationToken, lastModifiedDateTime), now, pageable);
+        return wrap(slice, SyncContinuationToken.next(slice));
+    }
+
     @GetMapping("/web/programEnrolment/{uuid}")
     @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
     @ResponseBody
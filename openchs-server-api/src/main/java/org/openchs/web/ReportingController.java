@@ -2,9 +2,7 @@ package org.openchs.web;
 
 import org.openchs.application.FormMapping;
 import org.openchs.dao.application.FormMappingRepository;
-import org.openchs.domain.Concept;
 import org.openchs.domain.JsonObject;
-import org.openchs.report.AvniReportRepository;
 import org.openchs.report.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,21 +13,17 @@ import org.springframework.web.bind.annotation.RestController;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 public class ReportingController {
 
     private final FormMappingRepository formMappingRepository;
-    private final AvniReportRepository avniReportRepository;
     private final ReportService reportService;
 
     @Autowired
     public ReportingController(FormMappingRepository formMappingRepository,
-                               AvniReportRepository avniReportRepository,
                                ReportService reportService) {
         this.formMappingRepository = formMappingRepository;
-        this.avniReportRepository = avniReportRepository;
         this.reportService = reportService;
     }
 
@@ -41,26 +35,12 @@ public class ReportingController {
         if (formMapping == null) {
             throw new EntityNotFoundException(String.format("Form mapping not found for ID %d", formMappingId));
         }
-        return formMapping.getForm().getAllCodedFormElements()
-                .stream()
-                .map(fe -> {
-                    Concept concept = fe.getConcept();
-                    return new JsonObject()
-                            .with("concept", concept)
-                            .with("data", avniReportRepository.generateAggregatesForCodedConcept(concept, formMapping))
-                            .with("isPie", fe.isMandatory() && concept.isCoded());
-                })
-                .collect(Collectors.toList());
+        return reportService.codedConceptAggregates(formMapping);
     }
 
     @RequestMapping(value = "/report/aggregate/activities", method = RequestMethod.GET)
     @PreAuthorize(value = "hasAnyAuthority('admin', 'organisation_admin')")
     public JsonObject getRegistrationAggregate() {
-        return new JsonObject()
-                .with("registrations", reportService.allRegistrations())
-                .with("enrolments", reportService.allEnrolments())
-                .with("completedVisits", reportService.completedVisits());
-
-
+        return reportService.activities();
     }
 }
@@ -1,30 +1,152 @@
 package org.openchs.web;
 
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client of the node rules server. Connections are pooled and kept alive, calls have connect and read timeouts, at
+ * most maxConcurrentCalls run at once (others wait up to acquireTimeoutMillis and are then refused) and after
+ * failureThreshold calls in a row fail or take longer than slowCallMillis, calls are refused for openMillis before a
+ * single call is let through to try the server again.
+ */
 @Service
 public class RestClient {
-    @Value("${node.server.url}")
-    private String NODE_SERVER_HOST;
-    private Logger logger = LoggerFactory.getLogger(RestClient.class);
+    private final String NODE_SERVER_HOST;
+    private final Logger logger = LoggerFactory.getLogger(RestClient.class);
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final Semaphore inFlightCalls;
+    private final long acquireTimeoutMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    @Autowired
+    public RestClient(@Value("${node.server.url}") String nodeServerHost,
+                      @Value("${node.server.connectTimeoutMillis:2000}") int connectTimeoutMillis,
+                      @Value("${node.server.readTimeoutMillis:10000}") int readTimeoutMillis,
+                      @Value("${node.server.maxConnections:50}") int maxConnections,
+                      @Value("${node.server.maxConcurrentCalls:50}") int maxConcurrentCalls,
+                      @Value("${node.server.acquireTimeoutMillis:1000}") long acquireTimeoutMillis,
+                      @Value("${node.server.slowCallMillis:5000}") long slowCallMillis,
+                      @Value("${node.server.failureThreshold:5}") int failureThreshold,
+                      @Value("${node.server.openMillis:30000}") long openMillis) {
+        this.NODE_SERVER_HOST = nodeServerHost;
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        requestFactory.setConnectionRequestTimeout(connectTimeoutMillis);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.inFlightCalls = new Semaphore(maxConcurrentCalls);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis, slowCallMillis);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        httpClient.close();
+    }
 
     public <T> String post(String api,T jsonObj,HttpHeaders httpHeaders) throws HttpClientErrorException{
         String uri = NODE_SERVER_HOST.concat(api);
-        RestTemplate restTemplate = new RestTemplate();
         HttpEntity<Object> entityCredentials = new HttpEntity<>(jsonObj, httpHeaders);
+        if (!circuitBreaker.allowCall()) {
+            throw new ResourceAccessException("Rules server calls are suspended after repeated failures");
+        }
+        acquire();
+        long start = System.currentTimeMillis();
         try {
-            return restTemplate.postForObject(uri, entityCredentials, String.class);
+            String response = restTemplate.postForObject(uri, entityCredentials, String.class);
+            circuitBreaker.onResponse(System.currentTimeMillis() - start);
+            return response;
         }catch (HttpClientErrorException e){
+            circuitBreaker.onResponse(System.currentTimeMillis() - start);
             logger.info("rule "+api+" not found");
             throw new HttpClientErrorException(HttpStatus.NOT_FOUND,"rule "+api+" not found");
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            inFlightCalls.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (inFlightCalls.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        circuitBreaker.onRefused();
+        throw new ResourceAccessException("Too many rules server calls in progress");
+    }
+
+    static class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openMillis;
+        private final long slowCallMillis;
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean trialInProgress;
+
+        CircuitBreaker(int failureThreshold, long openMillis, long slowCallMillis) {
+            this.failureThreshold = failureThreshold;
+            this.openMillis = openMillis;
+            this.slowCallMillis = slowCallMillis;
+        }
+
+        synchronized boolean allowCall() {
+            if (consecutiveFailures < failureThreshold) return true;
+            if (System.currentTimeMillis() < openUntil || trialInProgress) return false;
+            trialInProgress = true;
+            return true;
+        }
+
+        synchronized void onResponse(long tookMillis) {
+            if (tookMillis > slowCallMillis) {
+                onFailure();
+                return;
+            }
+            consecutiveFailures = 0;
+            trialInProgress = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            trialInProgress = false;
+            if (consecutiveFailures >= failureThreshold) {
+                openUntil = System.currentTimeMillis() + openMillis;
+            }
+        }
+
+        /**
+         * A trial call that could not get a slot leaves the breaker open for another trial.
+         */
+        synchronized void onRefused() {
+            trialInProgress = false;
         }
     }
-}
\ No newline at end of file
+}
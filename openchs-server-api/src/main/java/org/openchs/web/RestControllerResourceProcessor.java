@@ -1,7 +1,9 @@
 package org.openchs.web;
 
+import org.openchs.web.response.SyncResources;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.PagedResources;
 import org.springframework.hateoas.Resource;
 
@@ -22,6 +24,12 @@ public interface RestControllerResourceProcessor<T> {
         return new PagedResources<>(resources, pageMetadata);
     }
 
+    default SyncResources<Resource<T>> wrap(Slice<T> slice, String continuationToken) {
+        List<Resource<T>> resources = new ArrayList<>();
+        for (T it : slice) resources.add(this.process(new Resource<>(it)));
+        return new SyncResources<>(resources, continuationToken);
+    }
+
     default List<Resource<T>> wrap(List<T> list) {
         return list.stream().map(t -> this.process(new Resource<>(t))).collect(Collectors.toList());
     }
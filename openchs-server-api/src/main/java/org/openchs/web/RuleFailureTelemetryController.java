@@ -6,6 +6,7 @@ import org.openchs.domain.RuleFailureTelemetry;
 import org.openchs.domain.Status;
 import org.openchs.domain.User;
 import org.openchs.framework.security.UserContextHolder;
+import org.openchs.service.TelemetryService;
 import org.openchs.web.request.RuleFailureTelemetryRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -23,10 +24,12 @@ import javax.transaction.Transactional;
 public class RuleFailureTelemetryController implements RestControllerResourceProcessor<RuleFailureTelemetry> {
 
     private final RuleFailureTelemetryRepository ruleFailureTelemetryRepository;
+    private final TelemetryService telemetryService;
 
     @Autowired
-    public RuleFailureTelemetryController(RuleFailureTelemetryRepository ruleFailureTelemetryRepository) {
+    public RuleFailureTelemetryController(RuleFailureTelemetryRepository ruleFailureTelemetryRepository, TelemetryService telemetryService) {
         this.ruleFailureTelemetryRepository = ruleFailureTelemetryRepository;
+        this.telemetryService = telemetryService;
     }
 
     @RequestMapping(value = "ruleFailureTelemetry", method = RequestMethod.GET)
@@ -58,7 +61,6 @@ public class RuleFailureTelemetryController implements RestControllerResourcePro
 
 
     @RequestMapping(value = "/ruleFailureTelemetry", method = RequestMethod.POST)
-    @Transactional
     @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
     public void save(@RequestBody RuleFailureTelemetryRequest request) {
         User user = UserContextHolder.getUserContext().getUser();
@@ -73,7 +75,7 @@ public class RuleFailureTelemetryController implements RestControllerResourcePro
         ruleFailureTelemetry.setRuleUuid(request.getRuleUuid());
         ruleFailureTelemetry.setErrorDateTime(request.getErrorDateTime());
         ruleFailureTelemetry.setClosed(request.getClosed());
-        ruleFailureTelemetryRepository.save(ruleFailureTelemetry);
+        telemetryService.saveRuleFailureTelemetry(ruleFailureTelemetry);
     }
 
 }
@@ -0,0 +1,97 @@
+package org.openchs.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.joda.time.DateTime;
+import org.openchs.dao.StreamingSyncEntity;
+import org.openchs.dao.StreamingSyncRepository;
+import org.openchs.service.UserService;
+import org.openchs.util.ObjectMapperSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Bulk alternative to the paged sync resources. Responds with a plain JSON array of every row in the
+ * lastModifiedDateTime/now window, in the user's catchment/facility scope, without HATEOAS wrapping or paging.
+ */
+@RestController
+public class StreamingSyncController {
+    private final StreamingSyncRepository streamingSyncRepository;
+    private final UserService userService;
+
+    @Autowired
+    public StreamingSyncController(StreamingSyncRepository streamingSyncRepository, UserService userService) {
+        this.streamingSyncRepository = streamingSyncRepository;
+        this.userService = userService;
+    }
+
+    @GetMapping(value = "/individual/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamIndividuals(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                  @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                  HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.Individual, lastModifiedDateTime, now, response);
+    }
+
+    @GetMapping(value = "/encounter/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamEncounters(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                 @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                 HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.Encounter, lastModifiedDateTime, now, response);
+    }
+
+    @GetMapping(value = "/programEnrolment/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamProgramEnrolments(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                        @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                        HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.ProgramEnrolment, lastModifiedDateTime, now, response);
+    }
+
+    @GetMapping(value = "/programEncounter/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamProgramEncounters(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                        @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                        HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.ProgramEncounter, lastModifiedDateTime, now, response);
+    }
+
+    @GetMapping(value = "/txNewChecklistEntity/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamChecklists(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                 @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                 HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.Checklist, lastModifiedDateTime, now, response);
+    }
+
+    @GetMapping(value = "/txNewChecklistItemEntity/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamChecklistItems(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                     @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                     HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.ChecklistItem, lastModifiedDateTime, now, response);
+    }
+
+    @GetMapping(value = "/individualRelationship/stream")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public void streamIndividualRelationships(@RequestParam("lastModifiedDateTime") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime lastModifiedDateTime,
+                                              @RequestParam("now") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) DateTime now,
+                                              HttpServletResponse response) throws IOException {
+        stream(StreamingSyncEntity.IndividualRelationship, lastModifiedDateTime, now, response);
+    }
+
+    private void stream(StreamingSyncEntity entity, DateTime lastModifiedDateTime, DateTime now, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        try (JsonGenerator generator = ObjectMapperSingleton.getObjectMapper().getFactory().createGenerator(response.getOutputStream())) {
+            streamingSyncRepository.stream(entity, userService.getCurrentUser(), lastModifiedDateTime, now, generator);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.openchs.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openchs.web.request.*;
+import org.openchs.web.request.application.ChecklistItemRequest;
+import org.openchs.web.response.SyncBatchItemResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Saves the entities a device has queued offline with one call, instead of a call per entity. Entities are saved by
+ * the endpoints they would have been posted to, subjects before the entities that refer to them, and a JDBC batch
+ * worth to a transaction. When a transaction fails its entities are saved again one to a transaction, so that every
+ * entity gets its own outcome.
+ */
+@RestController
+public class SyncBatchController {
+    private static final Logger logger = LoggerFactory.getLogger(SyncBatchController.class);
+    private static final int ENTITIES_PER_TRANSACTION = 50;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, EntityWriter<?>> entityWriters = new LinkedHashMap<>();
+
+    @Autowired
+    public SyncBatchController(ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               IndividualController individualController,
+                               IndividualRelationshipController individualRelationshipController,
+                               ProgramEnrolmentController programEnrolmentController,
+                               ProgramEncounterController programEncounterController,
+                               EncounterController encounterController,
+                               ChecklistController checklistController,
+                               ChecklistItemController checklistItemController) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        //In the order they are saved in
+        entityWriters.put("Individual", new EntityWriter<>(IndividualRequest.class, individualController::save));
+        entityWriters.put("IndividualRelationship", new EntityWriter<>(IndividualRelationshipRequest.class, individualRelationshipController::save));
+        entityWriters.put("ProgramEnrolment", new EntityWriter<>(ProgramEnrolmentRequest.class, programEnrolmentController::save));
+        entityWriters.put("ProgramEncounter", new EntityWriter<>(ProgramEncounterRequest.class, programEncounterController::save));
+        entityWriters.put("Encounter", new EntityWriter<>(EncounterRequest.class, encounterController::save));
+        entityWriters.put("Checklist", new EntityWriter<>(ChecklistRequest.class, checklistController::save));
+        entityWriters.put("ChecklistItem", new EntityWriter<>(ChecklistItemRequest.class, checklistItemController::save));
+    }
+
+    @PostMapping(value = "/sync/batch")
+    @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
+    public List<SyncBatchItemResponse> save(@RequestBody List<SyncBatchItemRequest> items) {
+        List<SyncBatchItemResponse> responses = items.stream()
+                .map(item -> new SyncBatchItemResponse(item.getEntityName(), item.getEntity() == null ? null : item.getEntity().path("uuid").asText(null)))
+                .collect(Collectors.toList());
+
+        List<String> entityNames = new ArrayList<>(entityWriters.keySet());
+        List<PendingSave> pendingSaves = new ArrayList<>();
+        IntStream.range(0, items.size()).forEach(i -> {
+            try {
+                pendingSaves.add(pendingSave(items.get(i), responses.get(i)));
+            } catch (RuntimeException e) {
+                responses.get(i).failed(e.getMessage());
+            }
+        });
+        pendingSaves.sort(Comparator.comparingInt(pendingSave -> entityNames.indexOf(pendingSave.response.getEntityName())));
+
+        for (int from = 0; from < pendingSaves.size(); from += ENTITIES_PER_TRANSACTION) {
+            save(pendingSaves.subList(from, Math.min(from + ENTITIES_PER_TRANSACTION, pendingSaves.size())));
+        }
+        return responses;
+    }
+
+    private PendingSave pendingSave(SyncBatchItemRequest item, SyncBatchItemResponse response) {
+        EntityWriter<?> entityWriter = entityWriters.get(item.getEntityName());
+        if (entityWriter == null) {
+            throw new IllegalArgumentException(String.format("Unknown entity name '%s'", item.getEntityName()));
+        }
+        if (item.getEntity() == null) {
+            throw new IllegalArgumentException("Entity missing");
+        }
+        return new PendingSave(entityWriter.saveOf(objectMapper, item), response);
+    }
+
+    private void save(List<PendingSave> pendingSaves) {
+        try {
+            inTransaction(pendingSaves);
+            pendingSaves.forEach(pendingSave -> pendingSave.response.saved());
+        } catch (RuntimeException e) {
+            if (pendingSaves.size() == 1) {
+                logger.error(String.format("Saving %s with UUID %s failed", pendingSaves.get(0).response.getEntityName(), pendingSaves.get(0).response.getUuid()), e);
+                pendingSaves.get(0).response.failed(e.getMessage());
+                return;
+            }
+            pendingSaves.forEach(pendingSave -> save(Collections.singletonList(pendingSave)));
+        }
+    }
+
+    private void inTransaction(List<PendingSave> pendingSaves) {
+        transactionTemplate.execute(status -> {
+            pendingSaves.forEach(pendingSave -> pendingSave.save.run());
+            return null;
+        });
+    }
+
+    private static class EntityWriter<T extends CHSRequest> {
+        private final Class<T> requestClass;
+        private final Consumer<T> save;
+
+        EntityWriter(Class<T> requestClass, Consumer<T> save) {
+            this.requestClass = requestClass;
+            this.save = save;
+        }
+
+        Runnable saveOf(ObjectMapper objectMapper, SyncBatchItemRequest item) {
+            T request = objectMapper.convertValue(item.getEntity(), requestClass);
+            return () -> save.accept(request);
+        }
+    }
+
+    private static class PendingSave {
+        private final Runnable save;
+        private final SyncBatchItemResponse response;
+
+        PendingSave(Runnable save, SyncBatchItemResponse response) {
+            this.save = save;
+            this.response = response;
+        }
+    }
+}
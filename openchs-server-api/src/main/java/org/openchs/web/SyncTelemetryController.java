@@ -1,10 +1,10 @@
 package org.openchs.web;
 
-import org.openchs.dao.SyncTelemetryRepository;
 import org.openchs.domain.Organisation;
 import org.openchs.domain.SyncTelemetry;
 import org.openchs.domain.User;
 import org.openchs.framework.security.UserContextHolder;
+import org.openchs.service.TelemetryService;
 import org.openchs.web.request.SyncTelemetryRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -16,15 +16,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.transaction.Transactional;
-
 @RestController
 public class SyncTelemetryController implements RestControllerResourceProcessor<SyncTelemetry> {
-    private final SyncTelemetryRepository syncTelemetryRepository;
+    private final TelemetryService telemetryService;
 
     @Autowired
-    public SyncTelemetryController(SyncTelemetryRepository syncTelemetryRepository) {
-        this.syncTelemetryRepository = syncTelemetryRepository;
+    public SyncTelemetryController(TelemetryService telemetryService) {
+        this.telemetryService = telemetryService;
     }
 
     @RequestMapping(value = "syncTelemetry", method = RequestMethod.GET)
@@ -35,7 +33,6 @@ public class SyncTelemetryController implements RestControllerResourceProcessor<
 
 
     @RequestMapping(value = "syncTelemetry", method = RequestMethod.POST)
-    @Transactional
     @PreAuthorize(value = "hasAnyAuthority('user', 'organisation_admin')")
     public void saveSyncTelemetry(@RequestBody SyncTelemetryRequest request) {
         User user = UserContextHolder.getUserContext().getUser();
@@ -52,6 +49,6 @@ public class SyncTelemetryController implements RestControllerResourceProcessor<
         syncTelemetry.setAndroidVersion(request.getAndroidVersion());
         syncTelemetry.setDeviceName(request.getDeviceName());
         syncTelemetry.setDeviceInfo(request.getDeviceInfo());
-        syncTelemetryRepository.save(syncTelemetry);
+        telemetryService.saveSyncTelemetry(syncTelemetry);
     }
 }
@@ -5,6 +5,7 @@ import com.amazonaws.services.cognitoidp.model.UsernameExistsException;
 import org.apache.commons.validator.routines.EmailValidator;
 import org.openchs.dao.*;
 import org.openchs.domain.*;
+import org.openchs.framework.security.UserContextCache;
 import org.openchs.framework.security.UserContextHolder;
 import org.openchs.projection.UserWebProjection;
 import org.openchs.service.AccountAdminService;
@@ -47,6 +48,7 @@ public class UserController {
     private AccountRepository accountRepository;
     private AccountAdminRepository accountAdminRepository;
     private final ProjectionFactory projectionFactory;
+    private final UserContextCache userContextCache;
 
     @Value("${openchs.userPhoneNumberPattern}")
     private String MOBILE_NUMBER_PATTERN;
@@ -59,7 +61,8 @@ public class UserController {
                           UserService userService,
                           CognitoIdpService cognitoService,
                           FacilityRepository facilityRepository,
-                          AccountAdminService accountAdminService, AccountRepository accountRepository, AccountAdminRepository accountAdminRepository, ProjectionFactory projectionFactory) {
+                          AccountAdminService accountAdminService, AccountRepository accountRepository, AccountAdminRepository accountAdminRepository, ProjectionFactory projectionFactory,
+                          UserContextCache userContextCache) {
         this.catchmentRepository = catchmentRepository;
         this.userRepository = userRepository;
         this.userFacilityMappingRepository = userFacilityMappingRepository;
@@ -71,6 +74,7 @@ public class UserController {
         this.accountRepository = accountRepository;
         this.accountAdminRepository = accountAdminRepository;
         this.projectionFactory = projectionFactory;
+        this.userContextCache = userContextCache;
         logger = LoggerFactory.getLogger(this.getClass());
     }
 
@@ -196,6 +200,7 @@ public class UserController {
             user.setVoided(true);
             user.setDisabledInCognito(true);
             userRepository.save(user);
+            userContextCache.invalidateUser(user.getId());
             logger.info(String.format("Deleted user '%s', UUID '%s'", user.getUsername(), user.getUuid()));
             return new ResponseEntity<>(user, HttpStatus.CREATED);
         } catch (AWSCognitoIdentityProviderException ex) {
@@ -226,6 +231,7 @@ public class UserController {
                     logger.info(String.format("User '%s', UUID '%s' already enabled", user.getUsername(), user.getUuid()));
                 }
             }
+            userContextCache.invalidateUser(user.getId());
             return new ResponseEntity<>(user, HttpStatus.CREATED);
         } catch (AWSCognitoIdentityProviderException ex) {
             logger.error(ex.getMessage());
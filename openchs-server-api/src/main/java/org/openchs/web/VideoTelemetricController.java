@@ -2,13 +2,11 @@ package org.openchs.web;
 
 import org.joda.time.DateTime;
 import org.openchs.builder.VideoTelemetricBuilder;
-import org.openchs.dao.VideoRepository;
-import org.openchs.dao.VideoTelemetricRepository;
 import org.openchs.domain.Organisation;
 import org.openchs.domain.User;
-import org.openchs.domain.Video;
 import org.openchs.domain.VideoTelemetric;
 import org.openchs.framework.security.UserContextHolder;
+import org.openchs.service.TelemetryService;
 import org.openchs.web.request.VideoTelemetricContract;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -20,26 +18,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.transaction.Transactional;
-
 @RestController
 public class VideoTelemetricController implements RestControllerResourceProcessor<VideoTelemetric> {
 
-    private final VideoRepository videoRepository;
-
-    private final VideoTelemetricRepository videoTelemetricRepository;
+    private final TelemetryService telemetryService;
 
     @Autowired
-    public VideoTelemetricController(VideoRepository videoRepository, VideoTelemetricRepository videoTelemetricRepository) {
-        this.videoRepository = videoRepository;
-        this.videoTelemetricRepository = videoTelemetricRepository;
+    public VideoTelemetricController(TelemetryService telemetryService) {
+        this.telemetryService = telemetryService;
     }
 
     @RequestMapping(value = "/videotelemetrics", method = RequestMethod.POST)
-    @Transactional
     @PreAuthorize("hasAnyAuthority('user', 'organisation_admin')")
     public void save(@RequestBody VideoTelemetricContract videoTelemetricContract) {
-        videoTelemetricRepository.save(createVideoTelemetric(videoTelemetricContract));
+        telemetryService.saveVideoTelemetric(createVideoTelemetric(videoTelemetricContract), videoTelemetricContract.getVideoUUID());
     }
 
     @RequestMapping(value = "/videotelemetric", method = RequestMethod.GET)
@@ -49,9 +41,7 @@ public class VideoTelemetricController implements RestControllerResourceProcesso
     }
 
     private VideoTelemetric createVideoTelemetric(VideoTelemetricContract contract) {
-        VideoTelemetric existing = videoTelemetricRepository.findByUuid(contract.getUuid());
-        VideoTelemetricBuilder builder = new VideoTelemetricBuilder(existing);
-        Video video = videoRepository.findByUuid(contract.getVideoUUID());
+        VideoTelemetricBuilder builder = new VideoTelemetricBuilder(null);
         User user = UserContextHolder.getUserContext().getUser();
         Organisation organisation = UserContextHolder.getUserContext().getOrganisation();
         return builder
@@ -61,7 +51,6 @@ public class VideoTelemetricController implements RestControllerResourceProcesso
                 .withVideoStartTime(contract.getVideoStartTime())
                 .withVideoEndTime(contract.getVideoEndTime())
                 .withUser(user)
-                .withVideo(video)
                 .withCreatedDatetime(new DateTime())
                 .withOrganisationId(organisation.getId())
                 .build();
@@ -10,6 +10,7 @@ import org.openchs.service.ConceptService;
 import org.openchs.util.S;
 import org.openchs.web.request.api.ApiEncounterRequest;
 import org.openchs.web.request.api.RequestUtils;
+import org.openchs.web.response.ConceptResolver;
 import org.openchs.web.response.EncounterResponse;
 import org.openchs.web.response.ResponsePage;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 public class GeneralEncounterApiController {
@@ -57,9 +60,12 @@ public class GeneralEncounterApiController {
             encounters = encounterRepository.findByConceptsAndEncounterType(lastModifiedDateTime, now, conceptsMap, encounterType, pageable);
         }
 
+        ConceptResolver conceptResolver = ConceptResolver.forObservations(conceptRepository, encounters.getContent().stream()
+                .flatMap(encounter -> Stream.of(encounter.getObservations(), encounter.getCancelObservations())).collect(Collectors.toList()));
+
         ArrayList<EncounterResponse> encounterResponses = new ArrayList<>();
         encounters.forEach(encounter -> {
-            encounterResponses.add(EncounterResponse.fromEncounter(encounter, conceptRepository, conceptService));
+            encounterResponses.add(EncounterResponse.fromEncounter(encounter, conceptResolver, conceptService));
         });
         return new ResponsePage(encounterResponses, encounters.getNumberOfElements(), encounters.getTotalPages(), encounters.getSize());
     }
@@ -71,7 +77,7 @@ public class GeneralEncounterApiController {
         Encounter encounter = encounterRepository.findByUuid(uuid);
         if (encounter == null)
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        return new ResponseEntity<>(EncounterResponse.fromEncounter(encounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(EncounterResponse.fromEncounter(encounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     @PostMapping(value = "/api/encounter")
@@ -82,7 +88,7 @@ public class GeneralEncounterApiController {
         Encounter encounter = new Encounter();
         encounter.assignUUID();
         updateEncounter(encounter, request);
-        return new ResponseEntity<>(EncounterResponse.fromEncounter(encounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(EncounterResponse.fromEncounter(encounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     @PutMapping(value = "/api/encounter/{id}")
@@ -95,7 +101,7 @@ public class GeneralEncounterApiController {
             throw new IllegalArgumentException(String.format("Encounter not found with id '%s'", id));
         }
         updateEncounter(encounter, request);
-        return new ResponseEntity<>(EncounterResponse.fromEncounter(encounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(EncounterResponse.fromEncounter(encounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     private void updateEncounter(Encounter encounter, ApiEncounterRequest request) {
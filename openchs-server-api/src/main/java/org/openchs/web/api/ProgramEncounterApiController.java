@@ -7,6 +7,7 @@ import org.openchs.domain.ProgramEnrolment;
 import org.openchs.service.ConceptService;
 import org.openchs.web.request.api.ApiProgramEncounterRequest;
 import org.openchs.web.request.api.RequestUtils;
+import org.openchs.web.response.ConceptResolver;
 import org.openchs.web.response.EncounterResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -40,7 +41,7 @@ public class ProgramEncounterApiController {
         ProgramEncounter programEncounter = programEncounterRepository.findByUuid(uuid);
         if (programEncounter == null)
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        return new ResponseEntity<>(EncounterResponse.fromProgramEncounter(programEncounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(EncounterResponse.fromProgramEncounter(programEncounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     @PostMapping(value = "/api/programEncounter")
@@ -51,7 +52,7 @@ public class ProgramEncounterApiController {
         ProgramEncounter encounter = new ProgramEncounter();
         encounter.assignUUID();
         updateEncounter(encounter, request);
-        return new ResponseEntity<>(EncounterResponse.fromProgramEncounter(encounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(EncounterResponse.fromProgramEncounter(encounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     @PutMapping(value = "/api/programEncounter/{id}")
@@ -64,7 +65,7 @@ public class ProgramEncounterApiController {
             throw new IllegalArgumentException(String.format("Encounter not found with id '%s'", id));
         }
         updateEncounter(encounter, request);
-        return new ResponseEntity<>(EncounterResponse.fromProgramEncounter(encounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(EncounterResponse.fromProgramEncounter(encounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     private ProgramEncounter updateEncounter(ProgramEncounter encounter, ApiProgramEncounterRequest request) {
@@ -9,6 +9,7 @@ import org.openchs.service.ConceptService;
 import org.openchs.util.S;
 import org.openchs.web.request.api.ApiProgramEnrolmentRequest;
 import org.openchs.web.request.api.RequestUtils;
+import org.openchs.web.response.ConceptResolver;
 import org.openchs.web.response.ProgramEnrolmentResponse;
 import org.openchs.web.response.ResponsePage;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 public class ProgramEnrolmentApiController {
@@ -48,7 +51,7 @@ public class ProgramEnrolmentApiController {
         ProgramEnrolment encounter = new ProgramEnrolment();
         encounter.assignUUID();
         updateEnrolment(encounter, request);
-        return new ResponseEntity<>(ProgramEnrolmentResponse.fromProgramEnrolment(encounter, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(ProgramEnrolmentResponse.fromProgramEnrolment(encounter, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     @PutMapping(value = "/api/ProgramEnrolment/{id}")
@@ -61,7 +64,7 @@ public class ProgramEnrolmentApiController {
             throw new IllegalArgumentException(String.format("Encounter not found with id '%s'", id));
         }
         updateEnrolment(programEnrolment, request);
-        return new ResponseEntity<>(ProgramEnrolmentResponse.fromProgramEnrolment(programEnrolment, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(ProgramEnrolmentResponse.fromProgramEnrolment(programEnrolment, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 
     private void updateEnrolment(ProgramEnrolment enrolment, ApiProgramEnrolmentRequest request) {
@@ -99,8 +102,10 @@ public class ProgramEnrolmentApiController {
         } else {
             programEnrolments = programEnrolmentRepository.findByAuditLastModifiedDateTimeIsBetweenAndProgramNameOrderByAuditLastModifiedDateTimeAscIdAsc(lastModifiedDateTime, now, program, pageable);
         }
+        ConceptResolver conceptResolver = ConceptResolver.forObservations(conceptRepository, programEnrolments.getContent().stream()
+                .flatMap(programEnrolment -> Stream.of(programEnrolment.getObservations(), programEnrolment.getProgramExitObservations())).collect(Collectors.toList()));
         ArrayList<ProgramEnrolmentResponse> programEnrolmentResponses = new ArrayList<>();
-        programEnrolments.forEach(programEnrolment -> programEnrolmentResponses.add(ProgramEnrolmentResponse.fromProgramEnrolment(programEnrolment, conceptRepository, conceptService)));
+        programEnrolments.forEach(programEnrolment -> programEnrolmentResponses.add(ProgramEnrolmentResponse.fromProgramEnrolment(programEnrolment, conceptResolver, conceptService)));
         return new ResponsePage(programEnrolmentResponses, programEnrolments.getNumberOfElements(), programEnrolments.getTotalPages(), programEnrolments.getSize());
     }
 
@@ -111,6 +116,6 @@ public class ProgramEnrolmentApiController {
         ProgramEnrolment programEnrolment = programEnrolmentRepository.findByUuid(uuid);
         if (programEnrolment == null)
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        return new ResponseEntity<>(ProgramEnrolmentResponse.fromProgramEnrolment(programEnrolment, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(ProgramEnrolmentResponse.fromProgramEnrolment(programEnrolment, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.openchs.domain.Concept;
 import org.openchs.domain.Individual;
 import org.openchs.service.ConceptService;
 import org.openchs.util.S;
+import org.openchs.web.response.ConceptResolver;
 import org.openchs.web.response.ResponsePage;
 import org.openchs.web.response.SubjectResponse;
 import org.springframework.data.domain.Page;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 public class SubjectApiController {
@@ -46,9 +48,11 @@ public class SubjectApiController {
             subjects = individualRepository.findByConcepts(lastModifiedDateTime, now, conceptsMap, pageable);
         } else
             subjects = individualRepository.findByConceptsAndSubjectType(lastModifiedDateTime, now, conceptsMap, subjectType, pageable);
+        ConceptResolver conceptResolver = ConceptResolver.forObservations(conceptRepository, subjects.getContent().stream()
+                .map(Individual::getObservations).collect(Collectors.toList()));
         ArrayList<SubjectResponse> subjectResponses = new ArrayList<>();
         subjects.forEach(subject -> {
-            subjectResponses.add(SubjectResponse.fromSubject(subject, subjectTypeRequested, conceptRepository, conceptService));
+            subjectResponses.add(SubjectResponse.fromSubject(subject, subjectTypeRequested, conceptResolver, conceptService));
         });
         return new ResponsePage(subjectResponses, subjects.getNumberOfElements(), subjects.getTotalPages(), subjects.getSize());
     }
@@ -60,6 +64,6 @@ public class SubjectApiController {
         Individual subject = individualRepository.findByUuid(uuid);
         if (subject == null)
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        return new ResponseEntity<>(SubjectResponse.fromSubject(subject, true, conceptRepository, conceptService), HttpStatus.OK);
+        return new ResponseEntity<>(SubjectResponse.fromSubject(subject, true, new ConceptResolver(conceptRepository), conceptService), HttpStatus.OK);
     }
 }
\ No newline at end of file
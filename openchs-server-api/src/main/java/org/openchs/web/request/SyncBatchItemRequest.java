@@ -0,0 +1,28 @@
+package org.openchs.web.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * An entity pushed by a device in a /sync/batch upload. entity is the body the device would have posted to the
+ * endpoint of entityName on its own.
+ */
+public class SyncBatchItemRequest {
+    private String entityName;
+    private JsonNode entity;
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public void setEntityName(String entityName) {
+        this.entityName = entityName;
+    }
+
+    public JsonNode getEntity() {
+        return entity;
+    }
+
+    public void setEntity(JsonNode entity) {
+        this.entity = entity;
+    }
+}
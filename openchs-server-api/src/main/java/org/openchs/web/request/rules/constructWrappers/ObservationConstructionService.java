@@ -1,8 +1,8 @@
 package org.openchs.web.request.rules.constructWrappers;
 
-import org.openchs.dao.ConceptRepository;
 import org.openchs.domain.Concept;
 import org.openchs.domain.ConceptDataType;
+import org.openchs.service.MetadataCache;
 import org.openchs.web.request.*;
 import org.openchs.web.request.rules.request.ObservationRequestEntity;
 import org.openchs.web.request.rules.response.DecisionResponse;
@@ -19,17 +19,17 @@ import java.util.stream.Collectors;
 public class ObservationConstructionService {
 
     private final Logger logger;
-    private final ConceptRepository conceptRepository;
+    private final MetadataCache metadataCache;
 
     @Autowired
     public ObservationConstructionService(
-            ConceptRepository conceptRepository) {
+            MetadataCache metadataCache) {
         logger = LoggerFactory.getLogger(this.getClass());
-        this.conceptRepository = conceptRepository;
+        this.metadataCache = metadataCache;
     }
 
     public ObservationModelContract constructObservation(ObservationRequestEntity observationRequestEntity) {
-        Concept concept = conceptRepository.findByUuid(observationRequestEntity.getConceptUUID());
+        Concept concept = metadataCache.getConceptByUuid(observationRequestEntity.getConceptUUID());
         ObservationModelContract observationContract = new ObservationModelContract();
         observationContract.setValue(observationRequestEntity.getValue());
         ConceptModelContract conceptModelContract = ConceptModelContract.fromConcept(concept);
@@ -39,7 +39,7 @@ public class ObservationConstructionService {
 
 
     private ConceptContract generateConceptContract(String name) {
-        Concept concept = conceptRepository.findByName(name);
+        Concept concept = metadataCache.getConceptByName(name);
         return ConceptContract.create(concept);
     }
 
@@ -52,7 +52,7 @@ public class ObservationConstructionService {
 
     private ObservationContract getObservationContract(DecisionResponse decision) {
         ObservationContract observationContract = new ObservationContract();
-        Concept concept = conceptRepository.findByName(decision.getName());
+        Concept concept = metadataCache.getConceptByName(decision.getName());
         observationContract.setConcept(ConceptContract.create(concept));
         if (concept.getDataType().equals(ConceptDataType.Coded.name())) {
             List<Object> decisionValues = (List<Object>) decision.getValue();
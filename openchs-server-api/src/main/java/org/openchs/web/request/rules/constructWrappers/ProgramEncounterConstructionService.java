@@ -19,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -69,7 +70,7 @@ public class ProgramEncounterConstructionService {
             programEncounterContractWrapper.setCancelObservations(request.getCancelObservations().stream().map(x -> observationConstructionService.constructObservation(x)).collect(Collectors.toList()));
         }
         if (request.getProgramEnrolmentUUID() != null) {
-            ProgramEnrolment programEnrolment = programEnrolmentRepository.findByUuid(request.getProgramEnrolmentUUID());
+            ProgramEnrolment programEnrolment = findProgramEnrolment(request.getProgramEnrolmentUUID());
             ProgramEnrolmentContractWrapper enrolmentContract = constructEnrolments(programEnrolment);
             Set<ProgramEncountersContract> encountersContractList = constructEncountersExcludingSelf(programEnrolment.getProgramEncounters(), request.getUuid());
             enrolmentContract.setProgramEncounters(encountersContractList);
@@ -84,7 +85,7 @@ public class ProgramEncounterConstructionService {
 
     public List<VisitSchedule> constructProgramEnrolmentVisitScheduleContract(ProgramEncounterRequestEntity requestEntity) {
         String currentProgramEncounterUuid = requestEntity.getUuid();
-        ProgramEnrolment programEnrolment = programEnrolmentRepository.findByUuid(requestEntity.getProgramEnrolmentUUID());
+        ProgramEnrolment programEnrolment = findProgramEnrolment(requestEntity.getProgramEnrolmentUUID());
         return programEnrolment == null ? new ArrayList<>() : programEnrolment.scheduledEncounters().filter(enc -> !enc.getUuid().equals(currentProgramEncounterUuid)).map(programEncounter -> {
             VisitSchedule visitSchedule = new VisitSchedule();
             visitSchedule.setEarliestDate(programEncounter.getEarliestVisitDateTime());
@@ -98,7 +99,7 @@ public class ProgramEncounterConstructionService {
 
     public List<VisitSchedule> constructIndividualVisitScheduleContract(EncounterRequestEntity requestEntity) {
         String currentEncounterUuid = requestEntity.getUuid();
-        Individual individual = individualRepository.findByUuid(requestEntity.getIndividualUUID());
+        Individual individual = findIndividual(requestEntity.getIndividualUUID());
         return individual == null ? new ArrayList<>() : individual.scheduledEncounters().filter(enc -> !enc.getUuid().equals(currentEncounterUuid)).map(encounter -> {
             VisitSchedule visitSchedule = new VisitSchedule();
             visitSchedule.setEarliestDate(encounter.getEarliestVisitDateTime());
@@ -110,6 +111,14 @@ public class ProgramEncounterConstructionService {
         }).collect(Collectors.toList());
     }
 
+    private ProgramEnrolment findProgramEnrolment(String uuid) {
+        return RequestMemo.get("programEnrolment", uuid, () -> programEnrolmentRepository.findByUuid(uuid));
+    }
+
+    private Individual findIndividual(String uuid) {
+        return RequestMemo.get("individual", uuid, () -> individualRepository.findByUuid(uuid));
+    }
+
     private EncounterTypeContract constructEncounterType(String encounterTypeUuid) {
         EncounterType encounterType = encounterTypeRepository.findByUuid(encounterTypeUuid);
         EncounterTypeContract encounterTypeContract = new EncounterTypeContract();
@@ -179,7 +188,7 @@ public class ProgramEncounterConstructionService {
             encounterContractWrapper.setEncounterType(constructEncounterType(encounterRequestEntity.getEncounterTypeUUID()));
         }
         if (encounterRequestEntity.getIndividualUUID() != null) {
-            Individual individual = individualRepository.findByUuid(encounterRequestEntity.getIndividualUUID());
+            Individual individual = findIndividual(encounterRequestEntity.getIndividualUUID());
             encounterContractWrapper.setSubject(programEnrolmentConstructionService.getSubjectInfo(individual));
             IndividualContractWrapper individualContractWrapper = encounterContractWrapper.getSubject();
             individualContractWrapper.setEnrolments(mapEnrolments(individual.getProgramEnrolments()));
@@ -188,8 +197,11 @@ public class ProgramEncounterConstructionService {
         return encounterContractWrapper;
     }
 
+    /**
+     * In the order of their uuids, so that the contract of a subject serializes the same every time.
+     */
     public List<ProgramEnrolmentContractWrapper> mapEnrolments(Set<ProgramEnrolment> programEnrolments) {
-        return programEnrolments.stream().map(programEnrolment -> {
+        return programEnrolments.stream().sorted(Comparator.comparing(ProgramEnrolment::getUuid)).map(programEnrolment -> {
             ProgramEnrolmentContractWrapper programEnrolmentContractWrapper = new ProgramEnrolmentContractWrapper();
             programEnrolmentContractWrapper.setEnrolmentDateTime(programEnrolment.getEnrolmentDateTime());
             programEnrolmentContractWrapper.setProgramExitDateTime(programEnrolment.getProgramExitDateTime());
@@ -199,8 +211,11 @@ public class ProgramEncounterConstructionService {
         }).collect(Collectors.toList());
     }
 
+    /**
+     * In the order of their uuids, so that the contract of a subject serializes the same every time.
+     */
     public List<EncounterContractWrapper> mapEncounters(Set<Encounter> encounters) {
-        return encounters.stream().map(encounter -> {
+        return encounters.stream().sorted(Comparator.comparing(Encounter::getUuid)).map(encounter -> {
             EncounterContractWrapper encounterContractWrapper = new EncounterContractWrapper();
             encounterContractWrapper.setUuid(encounter.getUuid());
             encounterContractWrapper.setName(encounter.getName());
@@ -0,0 +1,28 @@
+package org.openchs.web.request.rules.constructWrappers;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers what is loaded while building the rule contract of a web request, so that the parts of the contract that
+ * need the same enrolment or subject do not load it again. Outside a web request nothing is remembered.
+ */
+final class RequestMemo {
+    private RequestMemo() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(String kind, String uuid, Supplier<T> loader) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null || uuid == null) return loader.get();
+        String name = RequestMemo.class.getName() + "." + kind + "." + uuid;
+        Object value = requestAttributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = loader.get();
+            if (value != null) requestAttributes.setAttribute(name, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (T) value;
+    }
+}
@@ -2,10 +2,10 @@ package org.openchs.web.request.rules.validateRules;
 
 import org.apache.logging.log4j.util.Strings;
 import org.openchs.dao.ConceptRepository;
-import org.openchs.dao.individualRelationship.RuleFailureLogRepository;
 import org.openchs.domain.Concept;
 import org.openchs.domain.ConceptDataType;
 import org.openchs.domain.RuleFailureLog;
+import org.openchs.service.TelemetryService;
 import org.openchs.web.request.rules.request.RequestEntityWrapper;
 import org.openchs.web.request.rules.response.DecisionResponse;
 import org.slf4j.Logger;
@@ -21,15 +21,15 @@ import java.util.stream.Collectors;
 public class RuleValidationService {
     private final Logger logger;
     private final ConceptRepository conceptRepository;
-    private final RuleFailureLogRepository ruleFailureLogRepository;
+    private final TelemetryService telemetryService;
 
     @Autowired
     public RuleValidationService(
             ConceptRepository conceptRepository,
-            RuleFailureLogRepository ruleFailureLogRepository) {
+            TelemetryService telemetryService) {
         logger = LoggerFactory.getLogger(this.getClass());
         this.conceptRepository = conceptRepository;
-        this.ruleFailureLogRepository = ruleFailureLogRepository;
+        this.telemetryService = telemetryService;
     }
 
 
@@ -72,7 +72,7 @@ public class RuleValidationService {
             ruleFailureLog.setErrorMessage(String.format("concept not found with the name %s", conceptName));
             ruleFailureLog.setStacktrace(Strings.EMPTY);
             ruleFailureLog.setUuid(UUID.randomUUID().toString());
-            ruleFailureLogRepository.save(ruleFailureLog);
+            telemetryService.saveRuleFailureLog(ruleFailureLog);
             return false;
         }
         return true;
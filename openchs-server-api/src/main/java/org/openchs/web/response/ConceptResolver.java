@@ -0,0 +1,57 @@
+package org.openchs.web.response;
+
+import org.openchs.dao.ConceptRepository;
+import org.openchs.domain.Concept;
+import org.openchs.domain.ConceptDataType;
+import org.openchs.domain.ObservationCollection;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Concepts by uuid for building the responses of one request. forObservations loads every question and coded answer
+ * of a page of observations with two IN queries up front; anything not loaded is looked up one by one and remembered.
+ */
+public class ConceptResolver {
+    private final ConceptRepository conceptRepository;
+    private final Map<String, Concept> concepts = new HashMap<>();
+
+    public ConceptResolver(ConceptRepository conceptRepository) {
+        this.conceptRepository = conceptRepository;
+    }
+
+    public static ConceptResolver forObservations(ConceptRepository conceptRepository, Collection<ObservationCollection> observationCollections) {
+        ConceptResolver conceptResolver = new ConceptResolver(conceptRepository);
+        List<ObservationCollection> observations = observationCollections.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        conceptResolver.load(observations.stream().flatMap(observation -> observation.keySet().stream()).collect(Collectors.toSet()));
+
+        Set<String> answerUUIDs = new HashSet<>();
+        observations.forEach(observation -> observation.forEach((conceptUUID, value) -> {
+            Concept concept = conceptResolver.concepts.get(conceptUUID);
+            if (concept == null || !ConceptDataType.matches(ConceptDataType.Coded, concept.getDataType())) return;
+            if (value instanceof String) {
+                answerUUIDs.add((String) value);
+            } else if (value instanceof Collection) {
+                ((Collection<?>) value).forEach(answerUUID -> answerUUIDs.add(String.valueOf(answerUUID)));
+            }
+        }));
+        conceptResolver.load(answerUUIDs);
+        return conceptResolver;
+    }
+
+    public Concept get(String uuid) {
+        return concepts.computeIfAbsent(uuid, conceptRepository::findByUuid);
+    }
+
+    private void load(Set<String> uuids) {
+        List<String> missing = uuids.stream().filter(uuid -> !concepts.containsKey(uuid)).collect(Collectors.toList());
+        if (missing.isEmpty()) return;
+        conceptRepository.getAllConceptByUuidIn(missing).forEach(concept -> concepts.put(concept.getUuid(), concept));
+    }
+}
@@ -1,6 +1,5 @@
 package org.openchs.web.response;
 
-import org.openchs.dao.ConceptRepository;
 import org.openchs.domain.ProgramEnrolment;
 import org.openchs.service.ConceptService;
 
@@ -8,7 +7,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 
 public class ProgramEnrolmentResponse extends LinkedHashMap<String, Object> {
-    public static ProgramEnrolmentResponse fromProgramEnrolment(ProgramEnrolment programEnrolment, ConceptRepository conceptRepository, ConceptService conceptService) {
+    public static ProgramEnrolmentResponse fromProgramEnrolment(ProgramEnrolment programEnrolment, ConceptResolver conceptResolver, ConceptService conceptService) {
         ProgramEnrolmentResponse programEnrolmentResponse = new ProgramEnrolmentResponse();
         programEnrolmentResponse.put("ID", programEnrolment.getUuid());
         programEnrolmentResponse.put("Subject type", programEnrolment.getIndividual().getSubjectType().getName());
@@ -20,8 +19,8 @@ public class ProgramEnrolmentResponse extends LinkedHashMap<String, Object> {
         programEnrolmentResponse.put("Exit datetime", programEnrolment.getProgramExitDateTime());
         Response.putIfPresent(programEnrolmentResponse, "Exit location", programEnrolment.getExitLocation());
 
-        Response.putObservations(conceptRepository, conceptService, programEnrolmentResponse, new LinkedHashMap<>(), programEnrolment.getObservations());
-        Response.putObservations(conceptRepository, conceptService, programEnrolmentResponse, new LinkedHashMap<>(), programEnrolment.getProgramExitObservations(), "exitObservations");
+        Response.putObservations(conceptResolver, conceptService, programEnrolmentResponse, new LinkedHashMap<>(), programEnrolment.getObservations());
+        Response.putObservations(conceptResolver, conceptService, programEnrolmentResponse, new LinkedHashMap<>(), programEnrolment.getProgramExitObservations(), "exitObservations");
 
         Response.putChildren(programEnrolmentResponse, "encounters", new HashSet<>(programEnrolment.getProgramEncounters()));
 
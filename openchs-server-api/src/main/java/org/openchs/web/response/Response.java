@@ -1,6 +1,5 @@
 package org.openchs.web.response;
 
-import org.openchs.dao.ConceptRepository;
 import org.openchs.domain.CHSBaseEntity;
 import org.openchs.domain.CHSEntity;
 import org.openchs.domain.Concept;
@@ -18,16 +17,16 @@ public class Response {
         if (value != null) map.put(name, value);
     }
 
-    static void putObservations(ConceptRepository conceptRepository, ConceptService conceptService, Map<String, Object> parentMap, LinkedHashMap<String, Object> observationsResponse, ObservationCollection observations, String observationsResponseKeyName) {
+    static void putObservations(ConceptResolver conceptResolver, ConceptService conceptService, Map<String, Object> parentMap, LinkedHashMap<String, Object> observationsResponse, ObservationCollection observations, String observationsResponseKeyName) {
         observations.forEach((key, value) -> {
-            Concept concept = conceptRepository.findByUuid(key);
-            observationsResponse.put(concept.getName(), conceptService.getObservationValue(concept, value));
+            Concept concept = conceptResolver.get(key);
+            observationsResponse.put(concept.getName(), conceptService.getObservationValue(concept, value, conceptResolver::get));
         });
         parentMap.put(observationsResponseKeyName, observationsResponse);
     }
 
-    static void putObservations(ConceptRepository conceptRepository, ConceptService conceptService, Map<String, Object> parentMap, LinkedHashMap<String, Object> observationsResponse, ObservationCollection observations) {
-        Response.putObservations(conceptRepository, conceptService, parentMap, observationsResponse, observations, "observations");
+    static void putObservations(ConceptResolver conceptResolver, ConceptService conceptService, Map<String, Object> parentMap, LinkedHashMap<String, Object> observationsResponse, ObservationCollection observations) {
+        Response.putObservations(conceptResolver, conceptService, parentMap, observationsResponse, observations, "observations");
     }
 
     static void putAudit(CHSEntity avniEntity, Map<String, Object> objectMap) {
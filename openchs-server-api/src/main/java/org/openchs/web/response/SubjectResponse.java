@@ -1,6 +1,5 @@
 package org.openchs.web.response;
 
-import org.openchs.dao.ConceptRepository;
 import org.openchs.domain.AddressLevel;
 import org.openchs.domain.CHSBaseEntity;
 import org.openchs.domain.Individual;
@@ -10,7 +9,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 public class SubjectResponse extends LinkedHashMap<String, Object> {
-    public static SubjectResponse fromSubject(Individual subject, boolean includeSubjectType, ConceptRepository conceptRepository, ConceptService conceptService) {
+    public static SubjectResponse fromSubject(Individual subject, boolean includeSubjectType, ConceptResolver conceptResolver, ConceptService conceptService) {
         SubjectResponse subjectResponse = new SubjectResponse();
         if (includeSubjectType) subjectResponse.put("Subject type", subject.getSubjectType().getName());
         subjectResponse.put("ID", subject.getUuid());
@@ -25,7 +24,7 @@ public class SubjectResponse extends LinkedHashMap<String, Object> {
         Response.putIfPresent(observations, "Last name", subject.getLastName());
         Response.putIfPresent(observations, "Date of birth", subject.getDateOfBirth());
         if (subject.getGender() != null) observations.put("Gender", subject.getGender().getName());
-        Response.putObservations(conceptRepository, conceptService, subjectResponse, observations, subject.getObservations());
+        Response.putObservations(conceptResolver, conceptService, subjectResponse, observations, subject.getObservations());
 
         Response.putChildren(subjectResponse, "encounters", new HashSet<>(subject.getEncounters()));
         Response.putChildren(subjectResponse, "enrolments", new HashSet<>(subject.getProgramEnrolments()));
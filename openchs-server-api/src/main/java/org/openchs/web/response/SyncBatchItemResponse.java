@@ -0,0 +1,43 @@
+package org.openchs.web.response;
+
+/**
+ * Outcome of an item of a /sync/batch upload, in the position of the item in the upload. Failed items can be pushed
+ * again as they are.
+ */
+public class SyncBatchItemResponse {
+    private final String entityName;
+    private final String uuid;
+    private boolean saved;
+    private String errorMessage;
+
+    public SyncBatchItemResponse(String entityName, String uuid) {
+        this.entityName = entityName;
+        this.uuid = uuid;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public boolean isSaved() {
+        return saved;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void saved() {
+        this.saved = true;
+        this.errorMessage = null;
+    }
+
+    public void failed(String errorMessage) {
+        this.saved = false;
+        this.errorMessage = errorMessage;
+    }
+}
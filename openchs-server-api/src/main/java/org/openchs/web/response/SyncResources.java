@@ -0,0 +1,21 @@
+package org.openchs.web.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.hateoas.Resources;
+
+/**
+ * Resources of a keyset sync call. There is no page metadata, continuationToken is null on the last slice.
+ */
+public class SyncResources<T> extends Resources<T> {
+    private final String continuationToken;
+
+    public SyncResources(Iterable<T> content, String continuationToken) {
+        super(content);
+        this.continuationToken = continuationToken;
+    }
+
+    @JsonProperty("continuationToken")
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+}
@@ -0,0 +1,66 @@
+-- Times the subject search predicates against a million generated subjects of an organisation, the way they were
+-- written before the search document (V1_178) and the way they are written now. Everything is rolled back at the end.
+-- The organisation needs at least one subject type and location.
+-- Usage: make benchmark_subject_search orgId=<organisation id>
+\set subjects 1000000
+\timing on
+
+begin;
+
+with audits as (
+    insert into audit (created_by_id, last_modified_by_id, created_date_time, last_modified_date_time)
+        select 1, 1, now(), now()
+        from generate_series(1, :subjects)
+        returning id),
+     numbered_audits as (select id, row_number() over () n from audits)
+insert
+into individual (uuid, first_name, last_name, date_of_birth, date_of_birth_verified, registration_date, gender_id,
+                 address_id, subject_type_id, organisation_id, observations, version, audit_id)
+select uuid_generate_v4(),
+       (array ['Ram', 'Sita', 'Lakshman', 'Radha', 'Mohan', 'Geeta', 'Suresh', 'Anita'])[1 + n % 8] || (n % 997),
+       (array ['Kumar', 'Devi', 'Sharma', 'Patel', 'Singh', 'Yadav', 'Gupta'])[1 + n % 7] || (n % 991),
+       current_date - (n % 30000)::int,
+       false,
+       current_date,
+       (select id from gender limit 1),
+       (select id from address_level where organisation_id = :orgId limit 1),
+       (select id from subject_type where organisation_id = :orgId limit 1),
+       :orgId,
+       jsonb_build_object('c1f4e8e2-0000-4000-8000-000000000001', 'Condition ' || (n % 5003),
+                          'c1f4e8e2-0000-4000-8000-000000000002', n % 120),
+       0,
+       id
+from numbered_audits;
+
+select gin_clean_pending_list('individual_search_document_trgm_idx'),
+       gin_clean_pending_list('individual_upper_first_name_trgm_idx'),
+       gin_clean_pending_list('individual_upper_last_name_trgm_idx'),
+       gin_clean_pending_list('individual_upper_full_name_trgm_idx');
+analyze individual;
+
+-- /individual/search by name (the Specification is unchanged, it is served by the trigram indexes now)
+explain analyze select count(*) from individual where upper(first_name) like 'MOHAN12%' or upper(last_name) like 'MOHAN12%';
+
+-- /web/searchAPI/v2 by name, before and after
+explain analyze select count(*) from individual where trim(concat(upper(first_name), ' ', upper(last_name))) like upper('%han12 sha%');
+explain analyze select count(*) from individual where upper(trim(first_name || ' ' || coalesce(last_name, ''))) like upper('%han12 sha%');
+
+-- /web/searchAPI/v2 searchAll and getFilterSpecForObs, before and after
+explain analyze select count(*) from individual where jsonb_object_values_contain(observations, '%condition 4999%');
+explain analyze select count(*) from individual where observations::text ilike '%condition 4999%';
+explain analyze select count(*) from individual where search_document like '%condition 4999%';
+
+-- totalElements of a page, before (count over the whole result, then the page) and after (one window over it)
+explain analyze with cte as (select id, first_name from individual where search_document like '%sharma%')
+select id, first_name, total_elements
+from cte
+         right join (select count(*) from cte) c(total_elements) on true
+order by cte.first_name
+limit 10;
+explain analyze with cte as (select id, first_name from individual where search_document like '%sharma%')
+select id, first_name, count(*) over () total_elements
+from cte
+order by cte.first_name
+limit 10;
+
+rollback;
@@ -163,7 +163,9 @@ select searchJSON::json->>'pageElement' into pageElement;
 	    limitVal:=numberOfRecordPerPage::numeric;
 	    offsetVal:=((pageNumber + 1) *limitVal)-limitVal;
 
-	    sqlOuterQuery:=' SELECT id,
+	    -- The window counts the matches of a page that has rows. A page past the last match has none to count on,
+	    -- for it a single row with only total_elements is returned.
+	    sqlOuterQuery:=', page AS ( SELECT id,
            firstname,
            lastname,
            fullname,
@@ -174,11 +176,16 @@ select searchJSON::json->>'pageElement' into pageElement;
            date_of_birth date,
            enrolments,
            age,
-           total_elements
-    FROM cte
-         RIGHT JOIN (SELECT count(*) FROM cte '|| latestVisitFilter || ') c(total_elements) ON true' ||
+           count(*) over () total_elements
+    FROM cte ' ||
                        latestVisitFilter ||
-                       'ORDER  BY cte.'|| trim (sortColumn) ||' '||sortOrder||'  LIMIT '|| limitVal ||' OFFSET '|| offsetVal;
+                       'ORDER  BY cte.'|| trim (sortColumn) ||' '||sortOrder||'  LIMIT '|| limitVal ||' OFFSET '|| offsetVal || ' )
+    SELECT * FROM page
+    UNION ALL
+    SELECT NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, count(*)
+    FROM cte ' ||
+                       latestVisitFilter ||
+                       ' HAVING NOT EXISTS (SELECT 1 FROM page)';
         RETURN sqlOuterQuery;
 END;
 $BODY$
@@ -258,7 +265,7 @@ whereClause:=whereClause || ' and st.uuid = ' ||  '''' || TRIM(_value) || '''';
 
 WHEN (_key ='name') THEN
 IF _value IS NOT NULL AND _value != '' THEN
-whereClause:=whereClause || ' and trim(concat(upper(ind.first_name),'' '',upper(ind.last_name))) like upper( ' ||  '''' ||'%'|| trim(_value) || '%' || '''' || ')' ;
+whereClause:=whereClause || ' and upper(trim(ind.first_name || '' '' || coalesce(ind.last_name, ''''))) like upper( ' ||  '''' ||'%'|| trim(_value) || '%' || '''' || ')' ;
 END IF;
 
 --Age start
@@ -576,8 +583,7 @@ END CASE;
 
     END LOOP;
     ELSE
-whereClause:=whereClause || ' and ind.observations::text ilike '|| '''' ||  '%' || TRIM(searchAll) || '%' || '''';
-whereClause:=whereClause || ' or penr.observations::text ilike '|| '''' || '%' || TRIM(searchAll) || '%' || '''';
+whereClause:=whereClause || ' and ind.search_document like ' || quote_literal('%' || lower(TRIM(searchAll)) || '%');
     END IF;
 IF fetchLatestEncounter THEN
 latestVisitCondition = latestVisitCondition || ' AND encounter_visit_number = 1 ';
@@ -0,0 +1,159 @@
+-- The organisations a db user can see, its own (depth 0) and its ancestors. Kept up to date by a trigger on
+-- organisation, so that RLS policies look the current user up instead of walking the hierarchy in every statement.
+create table organisation_hierarchy
+(
+    db_user         character varying(255) not null,
+    organisation_id integer                not null,
+    depth           integer                not null,
+    primary key (db_user, organisation_id)
+);
+
+alter table organisation_hierarchy enable row level security;
+create policy organisation_hierarchy_policy on organisation_hierarchy using (db_user = current_user);
+
+create or replace function refresh_organisation_hierarchy() returns void
+    language sql
+    security definer
+    set search_path = public
+as
+$$
+delete from organisation_hierarchy;
+insert into organisation_hierarchy (db_user, organisation_id, depth)
+with recursive hierarchy(db_user, organisation_id, parent_organisation_id, depth)
+                   as (select db_user, id, parent_organisation_id, 0
+                       from organisation
+                       where db_user is not null
+                       union all
+                       select h.db_user, o.id, o.parent_organisation_id, h.depth + 1
+                       from organisation o,
+                            hierarchy h
+                       where o.id = h.parent_organisation_id)
+select db_user, organisation_id, min(depth)
+from hierarchy
+group by db_user, organisation_id;
+$$;
+
+create or replace function refresh_organisation_hierarchy_on_change() returns trigger
+    language plpgsql
+    security definer
+    set search_path = public
+as
+$$
+BEGIN
+    PERFORM refresh_organisation_hierarchy();
+    RETURN NULL;
+END
+$$;
+
+create trigger organisation_hierarchy_refresh
+    after insert or update of db_user, parent_organisation_id or delete or truncate
+    on organisation
+    for each statement
+execute procedure refresh_organisation_hierarchy_on_change();
+
+select refresh_organisation_hierarchy();
+
+alter function refresh_organisation_hierarchy() owner to openchs;
+alter function refresh_organisation_hierarchy_on_change() owner to openchs;
+
+-- Stable, and used as (select current_org_ids()) in policies, so that it is evaluated once per statement
+create or replace function current_org_id() returns integer
+    language sql
+    stable
+as
+$$
+select organisation_id
+from organisation_hierarchy
+where db_user = current_user
+  and depth = 0;
+$$;
+
+create or replace function current_org_ids() returns integer[]
+    language sql
+    stable
+as
+$$
+select coalesce(array_agg(organisation_id), '{}')
+from organisation_hierarchy
+where db_user = current_user;
+$$;
+
+alter function current_org_id() owner to openchs;
+alter function current_org_ids() owner to openchs;
+
+create or replace view org_ids with (security_barrier) as
+select organisation_id as id
+from organisation_hierarchy
+where db_user = current_user;
+
+drop function if exists enable_rls_on_ref_table(text);
+
+create function enable_rls_on_ref_table(tablename text) returns text
+    language plpgsql
+as
+$$
+DECLARE
+    tabl   TEXT := quote_ident(tablename);
+    polisy TEXT := quote_ident(tablename || '_orgs') || ' ON ' || tabl || ' ';
+BEGIN
+    EXECUTE 'DROP POLICY IF EXISTS ' || polisy;
+    EXECUTE 'CREATE POLICY ' || polisy || '
+            USING (organisation_id = ANY ((select current_org_ids()))
+            OR organisation_id IN (SELECT organisation_id from organisation_group_organisation))
+    WITH CHECK (organisation_id = (select current_org_id()))';
+    EXECUTE 'ALTER TABLE ' || tabl || ' ENABLE ROW LEVEL SECURITY';
+    RETURN 'CREATED POLICY ' || polisy;
+END
+$$;
+
+alter function enable_rls_on_ref_table(text) owner to openchs;
+
+drop function if exists enable_rls_on_tx_table(text);
+
+create function enable_rls_on_tx_table(tablename text) returns text
+    language plpgsql
+as
+$$
+DECLARE
+    tabl   TEXT := quote_ident(tablename);
+    polisy TEXT := quote_ident(tablename || '_orgs') || ' ON ' || tabl || ' ';
+BEGIN
+    EXECUTE 'DROP POLICY IF EXISTS ' || polisy;
+    EXECUTE 'CREATE POLICY ' || polisy || '
+            USING (organisation_id = (select current_org_id())
+            OR organisation_id IN (SELECT organisation_id from organisation_group_organisation))
+    WITH CHECK (organisation_id = (select current_org_id()))';
+    EXECUTE 'ALTER TABLE ' || tabl || ' ENABLE ROW LEVEL SECURITY';
+    RETURN 'CREATED POLICY ' || polisy;
+END
+$$;
+
+alter function enable_rls_on_tx_table(text) owner to openchs;
+
+-- Policies that walk the hierarchy (org_ids or an inline list_of_orgs) are made again as ref policies, policies that
+-- look up the own organisation as tx policies. Some were made under another name, those are dropped.
+DO
+$$
+DECLARE
+    policy record;
+BEGIN
+    FOR policy IN SELECT tablename, policyname, qual
+                  FROM pg_policies
+                  WHERE schemaname = 'public'
+                    AND tablename NOT IN ('organisation', 'users')
+                    AND (qual LIKE '%org_ids%'
+                      OR qual LIKE '%list_of_orgs%'
+                      OR qual LIKE '%organisation_id = ( SELECT organisation.id%')
+        LOOP
+            EXECUTE format('DROP POLICY %I ON %I', policy.policyname, policy.tablename);
+            IF policy.qual LIKE '%organisation_id = ( SELECT organisation.id%' THEN
+                PERFORM enable_rls_on_tx_table(policy.tablename::text);
+            ELSE
+                PERFORM enable_rls_on_ref_table(policy.tablename::text);
+            END IF;
+        END LOOP;
+END
+$$;
+
+DROP POLICY IF EXISTS organisation_policy ON organisation;
+CREATE POLICY organisation_policy on organisation USING (current_user IN ('openchs', 'openchs_impl') OR id = ANY ((select current_org_ids())) OR id IN (SELECT organisation_id from organisation_group_organisation));
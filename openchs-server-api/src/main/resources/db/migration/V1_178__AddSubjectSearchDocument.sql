@@ -0,0 +1,80 @@
+create extension if not exists pg_trgm;
+
+-- Lower cased text a subject is searched by: its name, legacy id and identifiers, the values of its and its
+-- enrolments' observations and the titles of its location lineage. Kept up to date by the triggers below.
+alter table individual add column search_document text;
+
+create or replace function individual_search_document(ind individual) returns text
+    language sql
+    stable
+as
+$$
+select lower(concat_ws(' ',
+                       ind.first_name,
+                       ind.last_name,
+                       ind.legacy_id,
+                       (select string_agg(ia.identifier, ' ')
+                        from identifier_assignment ia
+                        where ia.individual_id = ind.id),
+                       (select string_agg(obs.value, ' ')
+                        from jsonb_each_text(ind.observations) obs),
+                       (select string_agg(obs.value, ' ')
+                        from program_enrolment pe,
+                             jsonb_each_text(pe.observations) obs
+                        where pe.individual_id = ind.id),
+                       (select string_agg(lineage_level.title, ' ' order by lineage.level)
+                        from address_level al
+                                 join regexp_split_to_table(al.lineage :: text, '[.]') with ordinality lineage (point_id, level) on true
+                                 join address_level lineage_level on lineage_level.id = lineage.point_id :: int
+                        where al.id = ind.address_id)));
+$$;
+
+create or replace function individual_search_document_on_individual_change() returns trigger
+    language plpgsql
+as
+$$
+BEGIN
+    NEW.search_document := individual_search_document(NEW);
+    RETURN NEW;
+END
+$$;
+
+create or replace function individual_search_document_on_change() returns trigger
+    language plpgsql
+as
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.individual_id IS NOT NULL THEN
+        UPDATE individual SET search_document = individual_search_document(individual) WHERE id = OLD.individual_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.individual_id IS NOT NULL THEN
+        UPDATE individual SET search_document = individual_search_document(individual) WHERE id = NEW.individual_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+create trigger individual_search_document
+    before insert or update of first_name, last_name, legacy_id, observations, address_id
+    on individual
+    for each row
+execute procedure individual_search_document_on_individual_change();
+
+create trigger individual_search_document
+    after insert or update of observations, individual_id or delete
+    on program_enrolment
+    for each row
+execute procedure individual_search_document_on_change();
+
+create trigger individual_search_document
+    after insert or update of identifier, individual_id or delete
+    on identifier_assignment
+    for each row
+execute procedure individual_search_document_on_change();
+
+update individual set search_document = individual_search_document(individual);
+
+create index individual_search_document_trgm_idx on individual using gin (search_document gin_trgm_ops);
+create index individual_upper_first_name_trgm_idx on individual using gin (upper(first_name) gin_trgm_ops);
+create index individual_upper_last_name_trgm_idx on individual using gin (upper(last_name) gin_trgm_ops);
+create index individual_upper_full_name_trgm_idx on individual using gin (upper(trim(first_name || ' ' || coalesce(last_name, ''))) gin_trgm_ops);
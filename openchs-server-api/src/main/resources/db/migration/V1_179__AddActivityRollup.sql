@@ -0,0 +1,171 @@
+-- Registrations, enrolments and completed program and general encounters per organisation, type and day, for the
+-- dashboard. Triggers on the counted tables append +1/-1 rows to activity_rollup_delta, which only takes inserts so
+-- that concurrent writers never wait on each other, and compact_activity_rollup() folds the deltas into
+-- activity_rollup from a scheduled job. A count is the sum over both tables.
+create table activity_rollup
+(
+    organisation_id integer               not null,
+    activity        character varying(50) not null,
+    type_id         integer               not null,
+    day             date                  not null,
+    count           bigint                not null,
+    primary key (organisation_id, activity, type_id, day)
+);
+
+create table activity_rollup_delta
+(
+    organisation_id integer               not null,
+    activity        character varying(50) not null,
+    type_id         integer               not null,
+    day             date                  not null,
+    count           bigint                not null
+);
+
+select enable_rls_on_tx_table('activity_rollup');
+select enable_rls_on_tx_table('activity_rollup_delta');
+
+-- Days are taken in UTC so that the -1 of a row always lands on the day of its +1, whatever the session time zone
+create or replace function activity_rollup_on_change() returns trigger
+    language plpgsql
+    security definer
+    set search_path = public
+as
+$$
+DECLARE
+    activity    text    := TG_ARGV[0];
+    old_counted boolean := false;
+    old_org     integer;
+    old_type    integer;
+    old_day     date;
+    new_counted boolean := false;
+    new_org     integer;
+    new_type    integer;
+    new_day     date;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        old_org := OLD.organisation_id;
+        old_counted := NOT OLD.is_voided;
+        IF TG_TABLE_NAME = 'individual' THEN
+            old_type := OLD.subject_type_id;
+            old_day := OLD.registration_date;
+        ELSIF TG_TABLE_NAME = 'program_enrolment' THEN
+            old_type := OLD.program_id;
+            old_day := (OLD.enrolment_date_time at time zone 'UTC')::date;
+        ELSE
+            old_type := OLD.encounter_type_id;
+            old_day := (OLD.encounter_date_time at time zone 'UTC')::date;
+            old_counted := old_counted AND OLD.encounter_date_time IS NOT NULL AND OLD.cancel_date_time IS NULL;
+        END IF;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        new_org := NEW.organisation_id;
+        new_counted := NOT NEW.is_voided;
+        IF TG_TABLE_NAME = 'individual' THEN
+            new_type := NEW.subject_type_id;
+            new_day := NEW.registration_date;
+        ELSIF TG_TABLE_NAME = 'program_enrolment' THEN
+            new_type := NEW.program_id;
+            new_day := (NEW.enrolment_date_time at time zone 'UTC')::date;
+        ELSE
+            new_type := NEW.encounter_type_id;
+            new_day := (NEW.encounter_date_time at time zone 'UTC')::date;
+            new_counted := new_counted AND NEW.encounter_date_time IS NOT NULL AND NEW.cancel_date_time IS NULL;
+        END IF;
+    END IF;
+    IF old_counted AND new_counted AND old_org = new_org AND old_type = new_type AND old_day = new_day THEN
+        RETURN NULL;
+    END IF;
+    IF old_counted THEN
+        INSERT INTO activity_rollup_delta (organisation_id, activity, type_id, day, count)
+        VALUES (old_org, activity, old_type, old_day, -1);
+    END IF;
+    IF new_counted THEN
+        INSERT INTO activity_rollup_delta (organisation_id, activity, type_id, day, count)
+        VALUES (new_org, activity, new_type, new_day, 1);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+create trigger activity_rollup
+    after insert or update or delete
+    on individual
+    for each row
+execute procedure activity_rollup_on_change('registrations');
+
+create trigger activity_rollup
+    after insert or update or delete
+    on program_enrolment
+    for each row
+execute procedure activity_rollup_on_change('enrolments');
+
+create trigger activity_rollup
+    after insert or update or delete
+    on program_encounter
+    for each row
+execute procedure activity_rollup_on_change('programEncounters');
+
+create trigger activity_rollup
+    after insert or update or delete
+    on encounter
+    for each row
+execute procedure activity_rollup_on_change('encounters');
+
+-- Deltas inserted after the delete started are left for the next run
+create or replace function compact_activity_rollup() returns void
+    language sql
+    security definer
+    set search_path = public
+as
+$$
+with compacted as (
+    delete from activity_rollup_delta returning *)
+insert
+into activity_rollup as rollup (organisation_id, activity, type_id, day, count)
+select organisation_id, activity, type_id, day, sum(count)
+from compacted
+group by organisation_id, activity, type_id, day
+on conflict (organisation_id, activity, type_id, day) do update set count = rollup.count + excluded.count;
+$$;
+
+-- Counts everything again, for the first fill and for repairs. Takes the deltas with it.
+create or replace function rebuild_activity_rollup() returns void
+    language sql
+    security definer
+    set search_path = public
+as
+$$
+lock table activity_rollup_delta in exclusive mode;
+delete from activity_rollup_delta;
+delete from activity_rollup;
+insert into activity_rollup (organisation_id, activity, type_id, day, count)
+select organisation_id, 'registrations', subject_type_id, registration_date, count(*)
+from individual
+where is_voided = false
+group by 1, 2, 3, 4
+union all
+select organisation_id, 'enrolments', program_id, (enrolment_date_time at time zone 'UTC')::date, count(*)
+from program_enrolment
+where is_voided = false
+group by 1, 2, 3, 4
+union all
+select organisation_id, 'programEncounters', encounter_type_id, (encounter_date_time at time zone 'UTC')::date, count(*)
+from program_encounter
+where is_voided = false
+  and encounter_date_time notnull
+  and cancel_date_time isnull
+group by 1, 2, 3, 4
+union all
+select organisation_id, 'encounters', encounter_type_id, (encounter_date_time at time zone 'UTC')::date, count(*)
+from encounter
+where is_voided = false
+  and encounter_date_time notnull
+  and cancel_date_time isnull
+group by 1, 2, 3, 4;
+$$;
+
+alter function activity_rollup_on_change() owner to openchs;
+alter function compact_activity_rollup() owner to openchs;
+alter function rebuild_activity_rollup() owner to openchs;
+
+select rebuild_activity_rollup();
@@ -0,0 +1,25 @@
+-- The search document of a subject has the titles of its location lineage. Renaming a location changes the documents
+-- of the subjects anywhere under it, moving one changes the lineage of it and each location under it, each of which
+-- refreshes the documents of its own subjects.
+create or replace function individual_search_document_on_location_change() returns trigger
+    language plpgsql
+as
+$$
+BEGIN
+    IF OLD.title IS DISTINCT FROM NEW.title THEN
+        UPDATE individual SET search_document = individual_search_document(individual)
+        WHERE address_id IN (SELECT id FROM address_level WHERE lineage <@ NEW.lineage);
+    ELSE
+        UPDATE individual SET search_document = individual_search_document(individual)
+        WHERE address_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+create trigger individual_search_document
+    after update of title, lineage
+    on address_level
+    for each row
+    when (OLD.title IS DISTINCT FROM NEW.title OR OLD.lineage IS DISTINCT FROM NEW.lineage)
+execute procedure individual_search_document_on_location_change();
@@ -0,0 +1,27 @@
+-- Two transactions writing organisation each refreshed the whole hierarchy. The second one's delete could not see the
+-- rows the first one committed, so its insert failed on the primary key. The refresh now waits for the other one to
+-- finish, and its statements then see what it committed.
+create or replace function refresh_organisation_hierarchy() returns void
+    language sql
+    security definer
+    set search_path = public
+as
+$$
+lock table organisation_hierarchy in exclusive mode;
+delete from organisation_hierarchy;
+insert into organisation_hierarchy (db_user, organisation_id, depth)
+with recursive hierarchy(db_user, organisation_id, parent_organisation_id, depth)
+                   as (select db_user, id, parent_organisation_id, 0
+                       from organisation
+                       where db_user is not null
+                       union all
+                       select h.db_user, o.id, o.parent_organisation_id, h.depth + 1
+                       from organisation o,
+                            hierarchy h
+                       where o.id = h.parent_organisation_id)
+select db_user, organisation_id, min(depth)
+from hierarchy
+group by db_user, organisation_id;
+$$;
+
+alter function refresh_organisation_hierarchy() owner to openchs;
@@ -22,6 +22,11 @@ BEGIN
 
     EXECUTE 'GRANT ALL ON ALL SEQUENCES IN SCHEMA public TO ' || quote_ident(rolename) || '';
     EXECUTE 'GRANT ALL ON ALL FUNCTIONS IN SCHEMA public TO ' || quote_ident(rolename) || '';
+    -- RLS policies trust organisation_hierarchy and the dashboard trusts the activity rollups, only their triggers
+    -- write to them
+    IF rolename <> 'openchs' THEN
+        EXECUTE 'REVOKE INSERT, UPDATE, DELETE, TRUNCATE ON TABLE organisation_hierarchy, activity_rollup, activity_rollup_delta FROM ' || quote_ident(rolename) || '';
+    END IF;
     RETURN 'ALL PERMISSIONS GRANTED TO ' || quote_ident(rolename);
 END;
 $body$ LANGUAGE plpgsql;
@@ -59,3 +64,31 @@ WHERE pg_has_role('openchs', a.oid, 'member');
 SELECT revoke_permissions_on_account(a.rolname)
 FROM pg_roles a
 WHERE pg_has_role('openchs', a.oid, 'member') AND a.rolname <> 'openchs';
+
+-- Hibernate hands out ids in blocks starting at nextval (see TableIdSequenceGenerator), which needs every id sequence
+-- to step by the block size. Run after every migration so that tables added later are covered too.
+CREATE OR REPLACE FUNCTION pool_id_sequences(increment_size int)
+    RETURNS text AS
+$body$
+DECLARE
+    id_column record;
+BEGIN
+    FOR id_column IN
+        SELECT c.table_name, pg_get_serial_sequence(format('%I.%I', c.table_schema, c.table_name), 'id') AS sequence_name
+        FROM information_schema.columns c
+                 JOIN information_schema.tables t ON t.table_schema = c.table_schema AND t.table_name = c.table_name
+        WHERE c.table_schema = 'public'
+          AND t.table_type = 'BASE TABLE'
+          AND c.column_name = 'id'
+        LOOP
+            CONTINUE WHEN id_column.sequence_name IS NULL;
+            IF id_column.sequence_name <> format('public.%I', id_column.table_name || '_id_seq') THEN
+                EXECUTE format('ALTER SEQUENCE %s RENAME TO %I', id_column.sequence_name, id_column.table_name || '_id_seq');
+            END IF;
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', format('public.%I', id_column.table_name || '_id_seq'), increment_size);
+        END LOOP;
+    RETURN 'ID SEQUENCES INCREMENTED BY ' || increment_size;
+END;
+$body$ LANGUAGE plpgsql;
+
+SELECT pool_id_sequences(50);
@@ -0,0 +1,104 @@
+// Evaluated in every rule context of InProcessRuleEngine before the rule dependency bundle of the organisation.
+// Runs the decision, visit schedule and checklist rules of the form on the contract the rules server would be sent
+// and answers what the rules server would. Rules are compiled once per context, on first use, with a call to
+// __checkInterrupt at the start of every loop body. __parse, __checkInterrupt and __maxCompiledRules are set by the
+// engine.
+var console = {log: function (x) {}, warn: function (x) {}, error: function (x) {}};
+var __global = this;
+var __compiledRules = {};
+var __compiledRuleCount = 0;
+var __loops = {ForStatement: true, ForInStatement: true, WhileStatement: true, DoWhileStatement: true};
+
+function __compileRule(code) {
+    if (!code) return null;
+    var compiled = __compiledRules[code];
+    if (compiled === undefined) {
+        if (__compiledRuleCount >= __maxCompiledRules) {
+            __compiledRules = {};
+            __compiledRuleCount = 0;
+        }
+        compiled = __evalWithInterruptChecks(code);
+        __compiledRules[code] = compiled;
+        __compiledRuleCount++;
+    }
+    return compiled;
+}
+
+function __evalWithInterruptChecks(code) {
+    var instrumented = __withInterruptChecks(code);
+    try {
+        return (0, eval)(instrumented);
+    } catch (e) {
+        if (instrumented === code || !(e instanceof SyntaxError)) throw e;
+        return (0, eval)(code);
+    }
+}
+
+// Loop bodies that are blocks get the check after their opening brace, other loop bodies are wrapped in a block. The
+// parser reports those as blocks too, so the source is looked at. Code that does not parse is returned as it is.
+function __withInterruptChecks(code) {
+    var ast;
+    try {
+        ast = JSON.parse(__parse(code));
+    } catch (e) {
+        return code;
+    }
+    var lineStarts = [0];
+    for (var i = 0; i < code.length; i++) {
+        if (code.charAt(i) === '\n') lineStarts.push(i + 1);
+    }
+    var offset = function (position) {
+        return lineStarts[position.line - 1] + position.column;
+    };
+    var inserts = [];
+    var visit = function (node) {
+        if (node === null || typeof node !== 'object') return;
+        var body = node.body;
+        if (__loops[node.type] === true && body && body.loc) {
+            var start = offset(body.loc.start);
+            if (code.charAt(start) === '{') {
+                inserts.push({at: start + 1, text: '__checkInterrupt();'});
+            } else {
+                inserts.push({at: start, text: '{__checkInterrupt();'});
+                inserts.push({at: offset(body.loc.end), text: '}'});
+            }
+        }
+        for (var key in node) {
+            if (key !== 'loc' && node.hasOwnProperty(key)) visit(node[key]);
+        }
+    };
+    visit(ast);
+    if (inserts.length === 0) return code;
+    inserts.forEach(function (insert, index) {
+        insert.index = index;
+    });
+    //A block closing at an offset goes before one opening there
+    inserts.sort(function (a, b) {
+        return a.at - b.at || (a.text === '}' ? 0 : 1) - (b.text === '}' ? 0 : 1) || a.index - b.index;
+    });
+    var parts = [];
+    var from = 0;
+    inserts.forEach(function (insert) {
+        parts.push(code.substring(from, insert.at), insert.text);
+        from = insert.at;
+    });
+    parts.push(code.substring(from));
+    return parts.join('');
+}
+
+function __evaluateRules(contractJson) {
+    var entity = JSON.parse(contractJson);
+    var rule = entity.rule || {};
+    var decisions = {enrolmentDecisions: [], encounterDecisions: [], registrationDecisions: []};
+    var visitSchedules = entity.visitSchedules || [];
+    var checklists = [];
+
+    var decide = __compileRule(rule.decisionCode);
+    if (decide) decisions = decide({params: {entity: entity, decisions: decisions}, imports: __global}) || decisions;
+    var schedule = __compileRule(rule.visitScheduleCode);
+    if (schedule) visitSchedules = schedule({params: {entity: entity, visitSchedule: visitSchedules}, imports: __global}) || visitSchedules;
+    var checklist = __compileRule(rule.checklistCode);
+    if (checklist) checklists = checklist({params: {entity: entity, checklistDetails: entity.checklistDetails || []}, imports: __global}) || checklists;
+
+    return JSON.stringify({status: 'success', decisions: decisions, visitSchedules: visitSchedules, checklists: checklists});
+}
@@ -0,0 +1,139 @@
+package org.openchs.dao;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.domain.IdentifierSource;
+import org.openchs.domain.Individual;
+import org.openchs.domain.ObservationCollection;
+import org.openchs.identifier.PrefixedUserPoolBasedIdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saves the same number of subjects, and generates the same number of identifiers, with and without JDBC batching,
+ * logging rows saved per second for each. With ids taken from pooled sequences a row and its audit should be inserted a
+ * batch at a time rather than a row at a time.
+ */
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class JdbcBatchingIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcBatchingIntegrationTest.class);
+    private static final String SUBJECT_UUID = "4378dce3-247e-4393-8dd5-032c6eb0a655";
+    private static final int SUBJECTS = 500;
+    private static final String IDENTIFIER_SOURCE_UUID = "b6c4c6e2-7d0a-4bc1-9f0e-3c8f3d0a5e71";
+    private static final int IDENTIFIERS = 500;
+
+    @Autowired
+    private IndividualRepository individualRepository;
+
+    @Autowired
+    private IdentifierSourceRepository identifierSourceRepository;
+
+    @Autowired
+    private PrefixedUserPoolBasedIdentifierGenerator identifierGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-user");
+    }
+
+    @Test
+    public void subjectsShouldBeInsertedInBatches() {
+        long unbatchedStatements = statementsToSave("subjects", SUBJECTS, 1, this::saveSubjects);
+        long batchedStatements = statementsToSave("subjects", SUBJECTS, 50, this::saveSubjects);
+
+        assertThat(unbatchedStatements).isGreaterThanOrEqualTo(2 * SUBJECTS);
+        assertThat(batchedStatements).isLessThan(SUBJECTS / 5);
+    }
+
+    @Test
+    public void generatedIdentifiersShouldBeInsertedInBatches() {
+        jdbcTemplate.update("insert into identifier_source (uuid, name, type, batch_generation_size, min_length, max_length, version, organisation_id, audit_id) " +
+                "values (?, 'Batching', 'userPoolBasedIdentifierGenerator', ?, 6, 6, 0, 2, create_audit())", IDENTIFIER_SOURCE_UUID, IDENTIFIERS);
+        jdbcTemplate.update("insert into identifier_user_assignment (uuid, identifier_source_id, assigned_to_user_id, identifier_start, identifier_end, version, organisation_id, audit_id) " +
+                "values (uuid_generate_v4(), (select id from identifier_source where uuid = ?), 4, 'BAT000001', 'BAT999999', 0, 2, create_audit())", IDENTIFIER_SOURCE_UUID);
+
+        long unbatchedStatements = statementsToSave("identifiers", IDENTIFIERS, 1, this::generateIdentifiers);
+        long batchedStatements = statementsToSave("identifiers", IDENTIFIERS, 50, this::generateIdentifiers);
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from identifier_assignment", Integer.class)).isEqualTo(2 * IDENTIFIERS);
+        assertThat(unbatchedStatements).isGreaterThanOrEqualTo(2 * IDENTIFIERS);
+        assertThat(batchedStatements).isLessThan(IDENTIFIERS / 5);
+    }
+
+    private long statementsToSave(String rows, int count, int jdbcBatchSize, Runnable save) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            save.run();
+            entityManager.flush();
+            return null;
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info(String.format("JDBC batch size %d: %d %s in %.2fs, %.0f %s/s, %d statements",
+                jdbcBatchSize, count, rows, seconds, count / seconds, rows, statistics.getPrepareStatementCount()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void saveSubjects() {
+        Individual subject = individualRepository.findByUuid(SUBJECT_UUID);
+        List<Individual> subjects = IntStream.range(0, SUBJECTS)
+                .mapToObj(i -> copyOf(subject))
+                .collect(Collectors.toList());
+        individualRepository.saveAll(subjects);
+    }
+
+    private void generateIdentifiers() {
+        IdentifierSource identifierSource = identifierSourceRepository.findByUuid(IDENTIFIER_SOURCE_UUID);
+        identifierGenerator.generateIdentifiers(identifierSource, userRepository.findByUsername("demo-user"), "BAT");
+    }
+
+    private Individual copyOf(Individual subject) {
+        Individual copy = new Individual();
+        copy.assignUUID();
+        copy.setFirstName(subject.getFirstName());
+        copy.setLastName(subject.getLastName());
+        copy.setDateOfBirth(subject.getDateOfBirth());
+        copy.setGender(subject.getGender());
+        copy.setAddressLevel(subject.getAddressLevel());
+        copy.setSubjectType(subject.getSubjectType());
+        copy.setRegistrationDate(LocalDate.now());
+        copy.setObservations(new ObservationCollection());
+        return copy;
+    }
+}
@@ -0,0 +1,105 @@
+package org.openchs.dao;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.domain.AddressLevel;
+import org.openchs.service.LocationService;
+import org.openchs.web.request.LocationContract;
+import org.openchs.web.request.LocationEditContract;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lineages written by SET_LINEAGES for new locations and by MOVE_SUBTREE for moved ones, and never by Hibernate.
+ */
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class LocationLineageRepositoryIntegrationTest extends AbstractControllerIntegrationTest {
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-admin");
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void shouldRewriteTheLineagesUnderAMovedLocation() {
+        LocationContract district = location("Lineage District", "District", 3, null);
+        LocationContract block = location("Lineage Block", "Block", 2, district);
+        LocationContract village = location("Lineage Village", "Village", 1, block);
+        LocationContract otherDistrict = location("Other Lineage District", "District", 3, null);
+        List<AddressLevel> saved = transaction.execute(status -> {
+            try {
+                return locationService.saveAll(Arrays.asList(district, block, village, otherDistrict));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        long districtId = saved.get(0).getId(), blockId = saved.get(1).getId(), villageId = saved.get(2).getId(), otherDistrictId = saved.get(3).getId();
+
+        assertThat(lineageOf(districtId)).isEqualTo(String.valueOf(districtId));
+        assertThat(lineageOf(blockId)).isEqualTo(districtId + "." + blockId);
+        assertThat(lineageOf(villageId)).isEqualTo(districtId + "." + blockId + "." + villageId);
+
+        AddressLevel villageBeforeTheMove = transaction.execute(status -> locationRepository.findByUuid(village.getUuid()));
+
+        LocationEditContract move = new LocationEditContract();
+        move.setUuid(block.getUuid());
+        move.setTitle("Moved Lineage Block");
+        move.setParentId(otherDistrictId);
+        transaction.execute(status -> locationService.update(move, blockId));
+
+        assertThat(lineageOf(blockId)).isEqualTo(otherDistrictId + "." + blockId);
+        assertThat(lineageOf(villageId)).isEqualTo(otherDistrictId + "." + blockId + "." + villageId);
+        assertThat(parentOf(blockId)).isEqualTo(otherDistrictId);
+        assertThat(lineageOf(districtId)).isEqualTo(String.valueOf(districtId));
+
+        villageBeforeTheMove.setTitle("Renamed Lineage Village");
+        transaction.execute(status -> locationRepository.save(villageBeforeTheMove));
+
+        assertThat(jdbcTemplate.queryForObject("select title from address_level where id = ?", String.class, villageId)).isEqualTo("Renamed Lineage Village");
+        assertThat(lineageOf(villageId)).isEqualTo(otherDistrictId + "." + blockId + "." + villageId);
+        assertThat(parentOf(villageId)).isEqualTo(blockId);
+    }
+
+    private LocationContract location(String name, String type, int level, LocationContract parent) {
+        LocationContract contract = new LocationContract(UUID.randomUUID().toString());
+        contract.setName(name);
+        contract.setType(type);
+        contract.setLevel((double) level);
+        if (parent != null) contract.setParent(new LocationContract(parent.getUuid()));
+        return contract;
+    }
+
+    private String lineageOf(long id) {
+        return jdbcTemplate.queryForObject("select lineage :: text from address_level where id = ?", String.class, id);
+    }
+
+    private Long parentOf(long id) {
+        return jdbcTemplate.queryForObject("select parent_id from address_level where id = ?", Long.class, id);
+    }
+}
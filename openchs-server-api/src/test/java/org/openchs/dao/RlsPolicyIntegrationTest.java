@@ -0,0 +1,60 @@
+package org.openchs.dao;
+
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans the subject sync query as an organisation role and logs the plan. The policies on the tables joined should
+ * look the organisations of the role up in organisation_hierarchy once, not walk the hierarchy.
+ */
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class RlsPolicyIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(RlsPolicyIntegrationTest.class);
+    private static final String SUBJECT_SYNC_QUERY = "select i.* from individual i" +
+            " join address_level al on al.id = i.address_id" +
+            " join catchment_address_mapping cam on cam.addresslevel_id = al.id" +
+            " join audit a on a.id = i.audit_id" +
+            " where cam.catchment_id = 2 and a.last_modified_date_time > '2000-01-01'" +
+            " order by a.last_modified_date_time, i.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void syncQueryShouldNotWalkTheOrganisationHierarchy() {
+        String plan = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("set local role demo");
+            List<String> lines = jdbcTemplate.queryForList("explain analyze " + SUBJECT_SYNC_QUERY, String.class);
+            return String.join("\n", lines);
+        });
+        logger.info("Subject sync query plan:\n" + plan);
+
+        assertThat(plan).doesNotContain("Recursive Union");
+        assertThat(plan).doesNotContain("CTE Scan");
+    }
+
+    @Test
+    public void roleShouldSeeItsOwnAndAncestorOrganisations() {
+        List<Integer> organisationIds = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("set local role demo");
+            return jdbcTemplate.queryForList("select unnest(current_org_ids()) order by 1", Integer.class);
+        });
+
+        assertThat(organisationIds).containsExactly(1, 2);
+    }
+}
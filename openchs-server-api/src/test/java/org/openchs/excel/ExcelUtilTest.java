@@ -1,6 +1,8 @@
 package org.openchs.excel;
 
+import org.joda.time.LocalDate;
 import org.junit.Test;
+import org.openchs.excel.data.ImportRow;
 
 import java.util.Date;
 
@@ -17,4 +19,43 @@ public class ExcelUtilTest {
         ExcelUtil.getDateFromString("2012-10-27 10:30:00.0");
         System.out.println(ExcelUtil.getDateFromString("2012-12-27"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void readValuesOfTheirType() {
+        ImportRow row = new ImportRow(3);
+        row.setValue(1, "  Ramesh   Kumar ", false);
+        row.setValue(2, 12.0, false);
+        row.setValue(3, 42940.0, true);
+        row.setValue(4, true, false);
+
+        assertTrue(ExcelUtil.isFirstCellEmpty(row));
+        assertEquals("Ramesh Kumar", ExcelUtil.getText(row, 1));
+        assertEquals("12", ExcelUtil.getText(row, 2));
+        assertEquals(Double.valueOf(12), ExcelUtil.getNumber(row, 2));
+        assertNull(ExcelUtil.getNumber(row, 4));
+        assertEquals(new LocalDate(2017, 7, 24).toDate(), ExcelUtil.getValueOfBestType(row, 3));
+        assertEquals(Double.valueOf(12), ExcelUtil.getValueOfBestType(row, 2));
+        assertEquals(true, ExcelUtil.getBoolean(row, 4));
+        assertNull(ExcelUtil.getBoolean(row, 1));
+        assertNull(ExcelUtil.getText(row, 7));
+    }
+
+    @Test
+    public void readDatesOfA1904Workbook() {
+        ImportRow row = new ImportRow(3, true);
+        row.setValue(1, 41478.0, true);
+
+        assertEquals(new LocalDate(2017, 7, 24).toDate(), ExcelUtil.getDate(row, 1));
+        assertEquals(new LocalDate(2017, 7, 24).toDate(), ExcelUtil.getValueOfBestType(row, 1));
+    }
+
+    @Test
+    public void readDatesStoredAsIsoText() {
+        ImportRow row = new ImportRow(3);
+        row.setValue(1, "2017-07-24T00:00:00", false);
+        row.setValue(2, "2017-07-24T10:30:00.000", false);
+
+        assertEquals(new LocalDate(2017, 7, 24).toDate(), ExcelUtil.getDate(row, 1));
+        assertEquals(new LocalDate(2017, 7, 24).toDateTimeAtStartOfDay().plusHours(10).plusMinutes(30).toDate(), ExcelUtil.getDate(row, 2));
+    }
+}
@@ -0,0 +1,127 @@
+package org.openchs.exporter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.dao.IndividualRepository;
+import org.openchs.dao.ProgramEnrolmentRepository;
+import org.openchs.domain.CHSBaseEntity;
+import org.openchs.domain.Individual;
+import org.openchs.domain.ProgramEnrolment;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subjects and enrolments created in one statement, so that they share their audit timestamps, read in pages smaller
+ * than their number. Each page is read in a transaction of its own, as a chunk of the export would.
+ */
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class KeysetItemReaderIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String INDIVIDUAL_SUBJECT_TYPE = "9f2af1f9-e150-4f8e-aad3-40bb7eb05aa3";
+    private static final String DIABETES = "db62a322-0ec2-4bb0-ac24-296dc7216c9a";
+    private static final int PAGE_SIZE = 3;
+    private static final int SUBJECTS = 7;
+
+    @Autowired
+    private IndividualRepository individualRepository;
+
+    @Autowired
+    private ProgramEnrolmentRepository programEnrolmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-admin");
+        jdbcTemplate.update("insert into individual (uuid, address_id, version, date_of_birth_verified, first_name, last_name, gender_id, organisation_id, subject_type_id, audit_id) " +
+                "select 'keyset-' || n, 1, 1, false, 'Keyset', n :: text, 1, 2, 1, create_audit() from generate_series(1, ?) n", SUBJECTS);
+        jdbcTemplate.update("insert into encounter (individual_id, encounter_type_id, encounter_date_time, uuid, version, organisation_id, audit_id) " +
+                "select id, 1, now(), 'keyset-encounter-' || id, 1, 2, create_audit() from individual where uuid like 'keyset-%'");
+        jdbcTemplate.update("insert into program_enrolment (individual_id, program_id, enrolment_date_time, uuid, version, organisation_id, audit_id) " +
+                "select id, 1, now(), 'keyset-enrolment-' || id, 1, 2, create_audit() from individual where uuid like 'keyset-%'");
+        jdbcTemplate.update("insert into program_encounter (program_enrolment_id, encounter_type_id, encounter_date_time, uuid, version, organisation_id, audit_id) " +
+                "select id, 1, now(), 'keyset-program-encounter-' || id || '-' || n, 1, 2, create_audit() " +
+                "from program_enrolment, generate_series(1, 2) n where uuid like 'keyset-enrolment-%'");
+    }
+
+    @Test
+    public void shouldReadEverySubjectOnceAcrossPages() {
+        List<Integer> pageSizes = new ArrayList<>();
+        KeysetItemReader<Individual> reader = new KeysetItemReader<>("reader", PAGE_SIZE,
+                (lastId, pageable) -> individualRepository.findIndividualsAfter(INDIVIDUAL_SUBJECT_TYPE, null, lastId, pageable),
+                page -> {
+                    pageSizes.add(page.size());
+                    individualRepository.fetchEncounters(page);
+                });
+
+        Map<Long, Integer> encountersById = readAll(reader, individual -> individual.getEncounters().size());
+
+        List<Long> expectedIds = jdbcTemplate.queryForList("select id from individual where subject_type_id = 1 and is_voided = false order by id", Long.class);
+        assertThat(expectedIds.size()).isGreaterThan(2 * PAGE_SIZE);
+        assertThat(new ArrayList<>(encountersById.keySet())).isEqualTo(expectedIds);
+        assertThat(pageSizes).allMatch(size -> size <= PAGE_SIZE);
+        assertThat(pageSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(expectedIds.size());
+        jdbcTemplate.queryForList("select id from individual where uuid like 'keyset-%'", Long.class)
+                .forEach(id -> assertThat(encountersById.get(id)).isEqualTo(1));
+    }
+
+    @Test
+    public void shouldReadEveryEnrolmentOnceAcrossPages() {
+        KeysetItemReader<ProgramEnrolment> reader = new KeysetItemReader<>("reader", PAGE_SIZE,
+                (lastId, pageable) -> programEnrolmentRepository.findEnrolmentsAfter(DIABETES, null, lastId, pageable),
+                programEnrolmentRepository::fetchProgramEncounters);
+
+        Map<Long, Integer> programEncountersById = readAll(reader, enrolment -> enrolment.getProgramEncounters().size());
+
+        List<Long> expectedIds = jdbcTemplate.queryForList("select id from program_enrolment where uuid like 'keyset-enrolment-%' order by id", Long.class);
+        assertThat(expectedIds).hasSize(SUBJECTS);
+        assertThat(new ArrayList<>(programEncountersById.keySet())).isEqualTo(expectedIds);
+        assertThat(programEncountersById.values()).containsOnly(2);
+    }
+
+    /**
+     * Reads a page worth of entities per transaction, in the order they are read, and what the function takes from
+     * each while its transaction is open.
+     */
+    private <T extends CHSBaseEntity> Map<Long, Integer> readAll(KeysetItemReader<T> reader, Function<T, Integer> valueOf) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<Long, Integer> values = new LinkedHashMap<>();
+        reader.open(new ExecutionContext());
+        boolean more = true;
+        while (more) {
+            more = transaction.execute(status -> {
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    T entity = read(reader);
+                    if (entity == null) return false;
+                    assertThat(values.put(entity.getId(), valueOf.apply(entity))).as("read twice: %d", entity.getId()).isNull();
+                }
+                return true;
+            });
+        }
+        reader.close();
+        return values;
+    }
+
+    private <T extends CHSBaseEntity> T read(KeysetItemReader<T> reader) {
+        try {
+            return reader.read();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -6,16 +6,23 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.Assert;
 import org.junit.Test;
+import org.openchs.application.KeyValue;
+import org.openchs.application.KeyValues;
 import org.openchs.domain.Audit;
 import org.openchs.domain.ObservationCollection;
 import org.openchs.domain.ProgramEncounter;
 import org.openchs.domain.User;
 import org.openchs.framework.hibernate.AbstractJsonbUserType;
 import org.openchs.framework.hibernate.KeyValuePairsHibernateObject;
+import org.openchs.framework.hibernate.KeyValuesUserType;
+import org.openchs.framework.hibernate.ObservationCollectionUserType;
 
-import java.io.IOException;
-import java.util.Map;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.Callable;
 
+@SuppressWarnings("unchecked")
 public class JsonbUserTypeTest {
     @Test
     public void returnedClass() throws IOException {
@@ -35,6 +42,80 @@ public class JsonbUserTypeTest {
         Assert.assertEquals(10, jsonObject.getJSONObject("observations").getInt("a8d3da51-33f8-4b0d-a867-678471603151"));
     }
 
+    @Test
+    public void deepCopyOfObservationsIsEqualAndIndependent() {
+        ObservationCollection observations = observations();
+
+        ObservationCollection copy = (ObservationCollection) new ObservationCollectionUserType().deepCopy(observations);
+
+        Assert.assertEquals(observations, copy);
+        ((List<Object>) copy.get("coded")).add("another answer");
+        ((Map<String, Object>) copy.get("location")).put("lat", 0);
+        Assert.assertEquals(observations(), observations);
+    }
+
+    @Test
+    public void deepCopyOfBeansGoesThroughJson() {
+        KeyValues keyValues = new KeyValues();
+        keyValues.add(new KeyValue("editable", false));
+
+        KeyValues copy = (KeyValues) new KeyValuesUserType().deepCopy(keyValues);
+
+        Assert.assertNotSame(keyValues.get(0), copy.get(0));
+        Assert.assertEquals(keyValues.get(0).getKey(), copy.get(0).getKey());
+        Assert.assertEquals(keyValues.get(0).getValue(), copy.get(0).getValue());
+    }
+
+    /**
+     * Individual, ProgramEnrolment, Encounter and ProgramEncounter all load their observations through this type, their
+     * cost per entity loaded is dominated by the copies Hibernate takes.
+     */
+    @Test
+    public void deepCopyOfObservationsAllocatesFarLessThanSerialisation() throws Exception {
+        ObservationCollectionUserType userType = new ObservationCollectionUserType();
+        ObservationCollection observations = observations();
+        for (int i = 0; i < 2000; i++) {
+            userType.deepCopy(observations);
+            serialisationCopy(observations);
+        }
+
+        long structural = allocatedBytes(() -> userType.deepCopy(observations));
+        long serialised = allocatedBytes(() -> serialisationCopy(observations));
+
+        Assert.assertTrue(String.format("%d bytes per copy against %d by serialisation", structural, serialised), structural * 4 < serialised);
+    }
+
+    private long allocatedBytes(Callable<Object> copy) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int copies = 1000;
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < copies; i++) {
+            copy.call();
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / copies;
+    }
+
+    private Object serialisationCopy(Object value) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        }
+        return new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray())).readObject();
+    }
+
+    private ObservationCollection observations() {
+        ObservationCollection observations = new ObservationCollection();
+        observations.put("a8d3da51-33f8-4b0d-a867-678471603151", 10);
+        observations.put("b5b6a9a2-6f29-4a3e-9b8f-3c5d1f0d7e21", "Some notes");
+        observations.put("coded", new ArrayList<>(Arrays.asList("c7e2a1f0-1b4d-4b55-8f2e-2f9b1a0e6c11", "d1f0b2c3-9a8b-4c7d-8e6f-5a4b3c2d1e0f")));
+        Map<String, Object> location = new LinkedHashMap<>();
+        location.put("lat", 12.97);
+        location.put("lon", 77.59);
+        observations.put("location", location);
+        return observations;
+    }
+
     private Audit dummyAudit() {
         Audit audit = new Audit();
         audit.setCreatedBy(new User());
@@ -0,0 +1,69 @@
+package org.openchs.framework.sync;
+
+import org.joda.time.DateTime;
+import org.junit.Test;
+import org.openchs.domain.Individual;
+import org.openchs.util.BadRequestError;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class SyncContinuationTokenTest {
+    @Test
+    public void shouldRoundTripThroughEncodedForm() {
+        SyncContinuationToken token = SyncContinuationToken.decode(new SyncContinuationToken(1570464103123456L, 42).encode());
+        assertThat(token.getLastModifiedMicros(), is(equalTo(1570464103123456L)));
+        assertThat(token.getId(), is(equalTo(42L)));
+    }
+
+    @Test
+    public void shouldKeepMicrosecondsInTheTimestampToQueryWith() {
+        Timestamp timestamp = new SyncContinuationToken(1570464103123456L, 42).getLastModifiedDateTime();
+        assertThat(timestamp.getTime(), is(equalTo(1570464103123L)));
+        assertThat(timestamp.getNanos(), is(equalTo(123456000)));
+    }
+
+    @Test
+    public void shouldStartBeforeFirstRowWhenThereIsNoToken() {
+        DateTime lastModifiedDateTime = DateTime.now();
+        SyncContinuationToken token = SyncContinuationToken.fromToken(null, lastModifiedDateTime);
+        assertThat(token.getLastModifiedDateTime().getTime(), is(equalTo(lastModifiedDateTime.getMillis())));
+        assertThat(token.getId(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldContinueFromLastRowOfSlice() {
+        Individual first = individual(1L, new DateTime(1000));
+        Individual last = individual(7L, new DateTime(2000));
+        SliceImpl<Individual> slice = new SliceImpl<>(Arrays.asList(first, last), PageRequest.of(0, 2), true);
+        SyncContinuationToken token = SyncContinuationToken.decode(SyncContinuationToken.next(slice));
+        assertThat(token.getLastModifiedMicros(), is(equalTo(2000000L)));
+        assertThat(token.getId(), is(equalTo(7L)));
+    }
+
+    @Test
+    public void shouldNotReturnTokenForLastSlice() {
+        SliceImpl<Individual> slice = new SliceImpl<>(Collections.singletonList(individual(1L, DateTime.now())), PageRequest.of(0, 2), false);
+        assertThat(SyncContinuationToken.next(slice), is(nullValue()));
+    }
+
+    @Test(expected = BadRequestError.class)
+    public void shouldRejectGarbageToken() {
+        SyncContinuationToken.decode("not-a-token");
+    }
+
+    private Individual individual(Long id, DateTime lastModifiedDateTime) {
+        Individual individual = new Individual();
+        individual.setId(id);
+        individual.getAudit().setLastModifiedDateTime(lastModifiedDateTime);
+        return individual;
+    }
+}
@@ -0,0 +1,78 @@
+package org.openchs.framework.tomcat;
+
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.domain.Organisation;
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashMap;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SetOrganisationJdbcInterceptorTest {
+    private SetOrganisationJdbcInterceptor interceptor;
+    private PooledConnection pooledConnection;
+    private Statement statement;
+
+    @Before
+    public void setup() throws Exception {
+        interceptor = new SetOrganisationJdbcInterceptor();
+        pooledConnection = mock(PooledConnection.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        when(pooledConnection.getConnection()).thenReturn(connection);
+        when(pooledConnection.getAttributes()).thenReturn(new HashMap<>());
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @After
+    public void tearDown() {
+        UserContextHolder.clear();
+    }
+
+    @Test
+    public void shouldSetRoleOnlyWhenOrganisationChanges() throws Exception {
+        borrowFor("org_a");
+        borrowFor("org_a");
+        borrowFor("org_b");
+
+        verify(statement, times(1)).execute("set role \"org_a\"; set application_name to \"org_a\";");
+        verify(statement, times(1)).execute("set role \"org_b\"; set application_name to \"org_b\";");
+    }
+
+    @Test
+    public void shouldResetRoleWhenBorrowedWithoutOrganisation() throws Exception {
+        borrowFor("org_a");
+        UserContextHolder.clear();
+        interceptor.reset(null, pooledConnection);
+        interceptor.reset(null, pooledConnection);
+
+        verify(statement, times(1)).execute("reset role;");
+    }
+
+    @Test
+    public void shouldNotTouchAFreshConnectionBorrowedWithoutOrganisation() throws Exception {
+        UserContextHolder.clear();
+        interceptor.reset(null, pooledConnection);
+
+        verify(pooledConnection, never()).getConnection();
+    }
+
+    private void borrowFor(String dbUser) {
+        Organisation organisation = new Organisation();
+        organisation.setDbUser(dbUser);
+        UserContext userContext = new UserContext();
+        userContext.setOrganisation(organisation);
+        UserContextHolder.create(userContext);
+        interceptor.reset(null, pooledConnection);
+    }
+}
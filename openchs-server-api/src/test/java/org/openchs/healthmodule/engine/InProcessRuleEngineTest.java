@@ -0,0 +1,114 @@
+package org.openchs.healthmodule.engine;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.domain.RuleDependency;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InProcessRuleEngineTest {
+    private InProcessRuleEngine engine;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setup() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new InProcessRuleEngine(meterRegistry, 2, 2, 200, 5000, 1000, 2);
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    private RuleDependency ruleDependency(String checksum, String code) {
+        RuleDependency ruleDependency = new RuleDependency();
+        ruleDependency.setChecksum(checksum);
+        ruleDependency.setCode(code);
+        return ruleDependency;
+    }
+
+    private String contract(String decisionCode) throws JsonProcessingException {
+        Map<String, Object> rule = new HashMap<>();
+        rule.put("decisionCode", decisionCode);
+        Map<String, Object> contract = new HashMap<>();
+        contract.put("rule", rule);
+        contract.put("name", "Ramesh");
+        return new ObjectMapper().writeValueAsString(contract);
+    }
+
+    @Test
+    public void shouldRunDecisionRulesAgainstTheBundleOfTheOrganisation() throws Exception {
+        RuleDependency bundle = ruleDependency("1", "var greet = function (name) { return 'Hello ' + name; };");
+        String decisionCode = "'use strict';\n(function (args) { var d = args.params.decisions; " +
+                "d.registrationDecisions.push({name: 'Greeting', value: args.imports.greet(args.params.entity.name)}); return d; })";
+
+        String response = engine.evaluate(1L, bundle, contract(decisionCode), "Individual");
+
+        assertThat(response).contains("\"status\":\"success\"").contains("\"value\":\"Hello Ramesh\"");
+        assertThat(engine.evaluate(1L, bundle, contract(decisionCode), "Individual")).isEqualTo(response);
+        assertThat(meterRegistry.counter("openchs.rules.engine.contexts.created").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldUseTheNewBundleWhenItsChecksumChanges() throws Exception {
+        String decisionCode = "(function (args) { args.params.decisions.registrationDecisions.push({name: 'Version', value: args.imports.version}); return args.params.decisions; })";
+
+        assertThat(engine.evaluate(1L, ruleDependency("1", "var version = 1;"), contract(decisionCode), "Individual")).contains("\"value\":1");
+        assertThat(engine.evaluate(1L, ruleDependency("2", "var version = 2;"), contract(decisionCode), "Individual")).contains("\"value\":2");
+    }
+
+    @Test
+    public void shouldStopRulesThatRunPastTheCpuTimeLimit() throws Exception {
+        assertThatThrownBy(() -> engine.evaluate(1L, null, contract("(function () { while (true) {} })"), "Individual"))
+                .isInstanceOf(TimeoutException.class);
+
+        assertThat(engine.evaluate(1L, null, contract(null), "Individual")).contains("\"status\":\"success\"");
+        assertThat(meterRegistry.counter("openchs.rules.engine.evaluations.stopped").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldStopLoopsWithoutABlockAndFreeTheirThread() throws Exception {
+        engine.shutdown();
+        engine = new InProcessRuleEngine(meterRegistry, 1, 2, 200, 5000, 1000, 2);
+
+        assertThatThrownBy(() -> engine.evaluate(1L, null, contract("(function () { var i = 0; for (;;) i++; })"), "Individual"))
+                .isInstanceOf(TimeoutException.class);
+        assertThatThrownBy(() -> engine.evaluate(1L, ruleDependency("1", "var spin = function () { do ; while (true) };"),
+                contract("(function (args) { args.imports.spin(); })"), "Individual"))
+                .isInstanceOf(TimeoutException.class);
+
+        assertThat(engine.evaluate(1L, null, contract(null), "Individual")).contains("\"status\":\"success\"");
+    }
+
+    @Test
+    public void shouldStopRulesThatRunPastTheTimeLimitWhateverTheirCpuTime() throws Exception {
+        engine.shutdown();
+        engine = new InProcessRuleEngine(meterRegistry, 1, 2, 60000, 300, 1000, 2);
+
+        assertThatThrownBy(() -> engine.evaluate(1L, null, contract("(function () { while (true) {} })"), "Individual"))
+                .isInstanceOf(TimeoutException.class)
+                .hasMessageContaining("did not finish in 300 ms");
+
+        assertThat(engine.evaluate(1L, null, contract(null), "Individual")).contains("\"status\":\"success\"");
+    }
+
+    @Test
+    public void shouldCompileRulesAgainWhenAContextHasMoreThanItKeeps() throws Exception {
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 5; i++) {
+                String decisionCode = String.format("(function (args) { args.params.decisions.registrationDecisions.push({name: 'Rule', value: %d}); return args.params.decisions; })", i);
+                assertThat(engine.evaluate(1L, null, contract(decisionCode), "Individual")).contains(String.format("\"value\":%d", i));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.openchs.importer.batch.csv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.importer.batch.JobService;
+import org.openchs.service.S3Service;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subject uploads of two organisations, run side by side and each written in chunks on several threads. Every row of
+ * an upload has to land in the organisation of the user who uploaded it, and each Id appears in two chunks of an
+ * upload so that chunks with the same Id are written at the same time.
+ */
+@Sql(value = {"/test-data.sql", "/test-data-bulk-upload.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down-bulk-upload.sql", "/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ParallelImportIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String DEMO_UUID = "ae0e4ac4-681d-45f2-8bdd-2b09a5a1a6e5";
+    private static final String A_DEMO_UUID = "2734f2ba-610b-49f8-b8d3-4196a460e325";
+    private static final int SUBJECTS = 100;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void rowsShouldBeSavedInTheOrganisationOfTheirUpload() throws Exception {
+        JobExecution demoUpload = upload("demo", 2L, DEMO_UUID);
+        JobExecution aDemoUpload = upload("a-demo", 3L, A_DEMO_UUID);
+
+        waitFor(demoUpload);
+        waitFor(aDemoUpload);
+
+        assertThat(demoUpload.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(aDemoUpload.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(demoUpload.getStepExecutions()).allSatisfy(step -> assertThat(step.getSkipCount()).isZero());
+        assertThat(aDemoUpload.getStepExecutions()).allSatisfy(step -> assertThat(step.getSkipCount()).isZero());
+        assertThat(legacyIdsOf(2)).hasSize(SUBJECTS).allMatch(legacyId -> legacyId.startsWith("demo-"));
+        assertThat(legacyIdsOf(3)).hasSize(SUBJECTS).allMatch(legacyId -> legacyId.startsWith("a-demo-"));
+    }
+
+    private List<String> legacyIdsOf(int organisationId) {
+        return jdbcTemplate.queryForList("select legacy_id from individual where subject_type_id = 1001 and organisation_id = ?",
+                String.class, organisationId);
+    }
+
+    private JobExecution upload(String prefix, Long userId, String organisationUUID) throws Exception {
+        File file = folder.newFile(prefix + ".csv");
+        try (Writer writer = new FileWriter(file)) {
+            writer.write("Id,Subject Type,First Name,Last Name,Gender,Village\n");
+            for (int i = 0; i < SUBJECTS * 2; i++) {
+                writer.write(String.format("%s-%d,Resident,%s %d,,Female,Bulk Gaon\n", prefix, i % SUBJECTS, prefix, i));
+            }
+        }
+        return jobService.create(UUID.randomUUID().toString(), "Subject---Resident", file.getName(),
+                new S3Service.ObjectInfo(file.getAbsolutePath(), (long) SUBJECTS * 2 + 1), userId, organisationUUID);
+    }
+
+    private void waitFor(JobExecution jobExecution) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (jobExecution.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(jobExecution.isRunning()).as("upload still running").isFalse();
+    }
+}
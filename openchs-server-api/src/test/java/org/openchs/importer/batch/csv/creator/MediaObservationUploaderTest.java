@@ -0,0 +1,218 @@
+package org.openchs.importer.batch.csv.creator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openchs.dao.MediaObservationRepository;
+import org.openchs.domain.Individual;
+import org.openchs.importer.batch.model.Row;
+import org.openchs.service.BulkUploadS3Service;
+import org.openchs.service.S3Service;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.scope.context.JobSynchronizationManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class MediaObservationUploaderTest {
+    private static final byte[] PHOTO = "a photo".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private final AtomicInteger flakyRequests = new AtomicInteger(0);
+    private final CountDownLatch slowResponses = new CountDownLatch(1);
+    private final Set<String> replacingThreads = ConcurrentHashMap.newKeySet();
+    private MediaObservationRepository mediaObservationRepository;
+    private PlatformTransactionManager transactionManager;
+    private MediaObservationUploader uploader;
+    private Individual individual;
+    private Row row;
+
+    @Before
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/photo.jpg", exchange -> respond(exchange, 200));
+        server.createContext("/flaky.jpg", exchange -> respond(exchange, flakyRequests.incrementAndGet() == 1 ? 500 : 200));
+        server.createContext("/missing.jpg", exchange -> respond(exchange, 404));
+        server.createContext("/slow.jpg", exchange -> {
+            try {
+                slowResponses.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        server.start();
+
+        mediaObservationRepository = mock(MediaObservationRepository.class);
+        when(mediaObservationRepository.replaceValue(anyString(), anyString(), anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            replacingThreads.add(Thread.currentThread().getName());
+            return 1;
+        });
+        transactionManager = mock(PlatformTransactionManager.class);
+        uploader = uploader(2, 10);
+        individual = new Individual();
+        individual.assignUUID();
+        row = new Row(new String[]{"Id", "Photo"}, new String[]{"1", "photo"});
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private MediaObservationUploader uploader(int threads, int queueSize) {
+        return new MediaObservationUploader(new S3Service(true), mediaObservationRepository, transactionManager,
+                new BulkUploadS3Service(new S3Service(true)), new SimpleMeterRegistry(), threads, queueSize, 1000, 2, 10, 10000);
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        server.stop(0);
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, status == 200 ? PHOTO.length : -1);
+        try (OutputStream body = exchange.getResponseBody()) {
+            if (status == 200) body.write(PHOTO);
+        }
+    }
+
+    private String url(String path) {
+        return String.format("http://localhost:%d%s", server.getAddress().getPort(), path);
+    }
+
+    private void complete(int status) {
+        completeLater(status).run();
+    }
+
+    private Runnable completeLater(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return () -> {
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+            uploader.shutdown();
+        };
+    }
+
+    @Test
+    public void shouldReplaceTheSourceURLWithTheUploadedMediaAfterCommit() throws Exception {
+        assertEquals(url("/photo.jpg"), uploader.pending("concept", url("/photo.jpg"), null));
+        uploader.uploadAfterCommit(individual, row);
+        verifyZeroInteractions(mediaObservationRepository);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        ArgumentCaptor<String> uploaded = ArgumentCaptor.forClass(String.class);
+        verify(mediaObservationRepository).replaceValue(eq("individual"), eq(individual.getUuid()), eq("concept"), eq(url("/photo.jpg")), uploaded.capture());
+        assertArrayEquals(PHOTO, Files.readAllBytes(new File(uploaded.getValue()).toPath()));
+        verify(transactionManager).getTransaction(argThat(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    public void shouldRetryFailedDownloads() throws Exception {
+        uploader.pending("concept", url("/flaky.jpg"), null);
+        uploader.uploadAfterCommit(individual, row);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(2, flakyRequests.get());
+        verify(mediaObservationRepository).replaceValue(eq("individual"), eq(individual.getUuid()), eq("concept"), eq(url("/flaky.jpg")), anyString());
+    }
+
+    @Test
+    public void shouldPutBackTheEarlierValueWhenTheMediaCannotBeUploaded() throws Exception {
+        uploader.pending("concept", url("/missing.jpg"), null);
+        uploader.pending("otherConcept", url("/missing.jpg"), "https://s3.amazonaws.com/bucket/org/earlier.jpg");
+        uploader.uploadAfterCommit(individual, row);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(mediaObservationRepository).removeValue("individual", individual.getUuid(), "concept", url("/missing.jpg"));
+        verify(mediaObservationRepository).replaceValue("individual", individual.getUuid(), "otherConcept", url("/missing.jpg"), "https://s3.amazonaws.com/bucket/org/earlier.jpg");
+    }
+
+    @Test
+    public void shouldNotUploadMediaOfRolledBackRows() throws Exception {
+        uploader.pending("concept", url("/photo.jpg"), null);
+        uploader.uploadAfterCommit(individual, row);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyZeroInteractions(mediaObservationRepository);
+    }
+
+    @Test
+    public void shouldWaitForRoomInTheQueueInsteadOfUploadingOnTheCommittingThread() throws Exception {
+        uploader.shutdown();
+        uploader = uploader(1, 1);
+        for (int i = 0; i < 3; i++) {
+            uploader.pending("concept" + i, url("/slow.jpg"), null);
+        }
+        uploader.uploadAfterCommit(individual, row);
+
+        Thread committing = new Thread(completeLater(TransactionSynchronization.STATUS_COMMITTED));
+        committing.start();
+        committing.join(500);
+        assertTrue("waits while one upload runs and the queue is full", committing.isAlive());
+
+        slowResponses.countDown();
+        committing.join(10000);
+        assertFalse(committing.isAlive());
+        for (int i = 0; i < 3; i++) {
+            verify(mediaObservationRepository).replaceValue(eq("individual"), eq(individual.getUuid()), eq("concept" + i), eq(url("/slow.jpg")), anyString());
+        }
+        assertTrue(replacingThreads.stream().allMatch(thread -> thread.startsWith("media-upload-")));
+    }
+
+    @Test
+    public void shouldAddRowsWhoseMediaCannotBeUploadedToTheErrorFileOfTheUpload() throws Exception {
+        String jobUuid = UUID.randomUUID().toString();
+        File errorFile = new BulkUploadS3Service(new S3Service(true)).getLocalErrorFile(jobUuid);
+        JobSynchronizationManager.register(new JobExecution(1L, new JobParametersBuilder().addString("uuid", jobUuid).toJobParameters()));
+        try {
+            uploader.pending("concept", url("/missing.jpg"), null);
+            uploader.uploadAfterCommit(individual, row);
+        } finally {
+            JobSynchronizationManager.release();
+        }
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        uploader.awaitUploadsOf(jobUuid);
+
+        try {
+            assertEquals(String.format("\"1\",\"photo\",\"Could not upload media '%s', the observation was set back to its earlier value\"\n", url("/missing.jpg")),
+                    new String(Files.readAllBytes(errorFile.toPath()), StandardCharsets.UTF_8));
+        } finally {
+            errorFile.delete();
+        }
+    }
+}
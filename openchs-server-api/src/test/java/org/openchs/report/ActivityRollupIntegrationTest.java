@@ -0,0 +1,84 @@
+package org.openchs.report;
+
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts kept by the triggers, compacted and rebuilt, against the same counts aggregated from the counted tables. Runs
+ * without a user context, as the compactor does.
+ */
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class ActivityRollupIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String DIRECT_AGGREGATE = "select organisation_id, 'registrations' activity, subject_type_id type_id, registration_date as day, count(*) as count " +
+            "from individual where is_voided = false group by 1, 2, 3, 4 " +
+            "union all " +
+            "select organisation_id, 'enrolments', program_id, (enrolment_date_time at time zone 'UTC')::date, count(*) " +
+            "from program_enrolment where is_voided = false group by 1, 2, 3, 4 " +
+            "union all " +
+            "select organisation_id, 'programEncounters', encounter_type_id, (encounter_date_time at time zone 'UTC')::date, count(*) " +
+            "from program_encounter where is_voided = false and encounter_date_time notnull and cancel_date_time isnull group by 1, 2, 3, 4 " +
+            "union all " +
+            "select organisation_id, 'encounters', encounter_type_id, (encounter_date_time at time zone 'UTC')::date, count(*) " +
+            "from encounter where is_voided = false and encounter_date_time notnull and cancel_date_time isnull group by 1, 2, 3, 4";
+    private static final String ROLLUP = "select organisation_id, activity, type_id, day, sum(count) as count " +
+            "from (select organisation_id, activity, type_id, day, count from activity_rollup " +
+            "      union all " +
+            "      select organisation_id, activity, type_id, day, count from activity_rollup_delta) r " +
+            "group by 1, 2, 3, 4 having sum(count) <> 0";
+
+    @Autowired
+    private ActivityRollupCompactor activityRollupCompactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void compactedAndRebuiltRollupsShouldCountWhatTheTablesHold() {
+        jdbcTemplate.execute("select rebuild_activity_rollup()");
+        assertThat(counts(ROLLUP)).isEqualTo(counts(DIRECT_AGGREGATE));
+
+        jdbcTemplate.execute("insert into individual (uuid, address_id, version, date_of_birth_verified, first_name, last_name, gender_id, organisation_id, subject_type_id, registration_date) values " +
+                "('rollup-1', 1, 1, false, 'Rollup', 'One', 1, 2, 1, '2019-05-01'), " +
+                "('rollup-2', 1, 1, false, 'Rollup', 'Two', 1, 3, 1, '2019-05-02'), " +
+                "('rollup-3', 1, 1, false, 'Rollup', 'Three', 1, 2, 1, '2019-05-01')");
+        jdbcTemplate.execute("update individual set is_voided = true where uuid = 'rollup-3'");
+        jdbcTemplate.execute("update individual set registration_date = '2019-06-01' where uuid = 'rollup-1'");
+        jdbcTemplate.execute("delete from individual where uuid = 'rollup-2'");
+        jdbcTemplate.execute("insert into program_enrolment (individual_id, program_id, enrolment_date_time, uuid, version, organisation_id) " +
+                "values ((select id from individual where uuid = 'rollup-1'), 1, '2019-06-02T23:30:00+05:30', 'rollup-enrolment', 1, 2)");
+        jdbcTemplate.execute("insert into program_encounter (program_enrolment_id, encounter_type_id, encounter_date_time, uuid, version, organisation_id) " +
+                "select (select id from program_enrolment where uuid = 'rollup-enrolment'), 1, '2019-06-03T10:00:00Z', 'rollup-program-encounter-' || n, 1, 2 from generate_series(1, 2) n");
+        jdbcTemplate.execute("update program_encounter set cancel_date_time = now() where uuid = 'rollup-program-encounter-2'");
+        jdbcTemplate.execute("insert into encounter (individual_id, encounter_type_id, uuid, version, organisation_id) " +
+                "values ((select id from individual where uuid = 'rollup-1'), 1, 'rollup-encounter', 1, 2)");
+
+        assertThat(counts(ROLLUP)).isEqualTo(counts(DIRECT_AGGREGATE));
+
+        activityRollupCompactor.compact();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from activity_rollup_delta", Integer.class)).isZero();
+        assertThat(counts(ROLLUP)).isEqualTo(counts(DIRECT_AGGREGATE));
+
+        jdbcTemplate.execute("update encounter set encounter_date_time = '2019-06-04T10:00:00Z' where uuid = 'rollup-encounter'");
+        jdbcTemplate.execute("update program_enrolment set is_voided = true where uuid = 'rollup-enrolment'");
+        activityRollupCompactor.compact();
+        Set<String> compacted = counts(ROLLUP);
+        assertThat(compacted).isEqualTo(counts(DIRECT_AGGREGATE));
+
+        jdbcTemplate.execute("select rebuild_activity_rollup()");
+        assertThat(counts(ROLLUP)).isEqualTo(compacted);
+    }
+
+    private Set<String> counts(String query) {
+        return new HashSet<>(jdbcTemplate.query(query, (rs, rowNum) -> String.join("|",
+                rs.getString("organisation_id"), rs.getString("activity"), rs.getString("type_id"), rs.getString("day"), rs.getString("count"))));
+    }
+}
@@ -0,0 +1,91 @@
+package org.openchs.report;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.application.Form;
+import org.openchs.application.FormMapping;
+import org.openchs.application.FormType;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.domain.Concept;
+import org.openchs.domain.SubjectType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@Sql(value = {"/test-data.sql", "/test-data-reports.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down-reports.sql", "/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class AvniReportRepositoryIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String COMPLAINT = "9daa0b8a-985a-464d-a5ab-8a4f90e8a26b";
+    private static final String PARACHECK = "405f25bb-4553-4b7c-b6bc-a44082ef576f";
+    private static final String UNANSWERED = "95c4b174-6ce6-4d9a-b223-1f9000b60006";
+
+    @Autowired
+    private AvniReportRepository avniReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-admin");
+    }
+
+    @Test
+    public void shouldAggregateTheAnswersOfAllTheConceptsInOnePass() {
+        Map<String, List<AggregateReportResult>> results = avniReportRepository.generateAggregatesForCodedConcepts(
+                Arrays.asList(concept(COMPLAINT), concept(PARACHECK), concept(UNANSWERED)), individualProfileOf(1L));
+
+        assertThat(countsOf(results.get(COMPLAINT))).containsOnly(entry("Fever", 2L), entry("Cough", 1L), entry("Not answered", 1L));
+        assertThat(countsOf(results.get(PARACHECK))).containsOnly(entry("Negative", 1L), entry("Not answered", 2L));
+        assertThat(countsOf(results.get(UNANSWERED))).containsOnly(entry("Not answered", 3L));
+    }
+
+    @Test
+    public void shouldNotAggregateAnythingForNoConcepts() {
+        assertThat(avniReportRepository.generateAggregatesForCodedConcepts(Collections.emptyList(), individualProfileOf(1L))).isEmpty();
+    }
+
+    @Test
+    public void shouldCountRegistrationsFromTheRollupAndItsDeltas() {
+        jdbcTemplate.execute("select rebuild_activity_rollup()");
+        assertThat(countsOf(avniReportRepository.generateActivityAggregates().get("registrations"))).containsOnly(entry("Resident Individual", 3L));
+
+        jdbcTemplate.update("update individual set is_voided = true where uuid = '0c2a5d1e-6a4b-4f3e-9d7c-1b8e2f4a6c02'");
+        assertThat(countsOf(avniReportRepository.generateActivityAggregates().get("registrations"))).containsOnly(entry("Resident Individual", 2L));
+
+        jdbcTemplate.execute("select compact_activity_rollup()");
+        assertThat(countsOf(avniReportRepository.generateActivityAggregates().get("registrations"))).containsOnly(entry("Resident Individual", 2L));
+    }
+
+    private Map<String, Long> countsOf(List<AggregateReportResult> results) {
+        assertThat(results).isNotNull();
+        return results.stream().collect(Collectors.toMap(AggregateReportResult::getIndicator, AggregateReportResult::getCount));
+    }
+
+    private Concept concept(String uuid) {
+        Concept concept = new Concept();
+        concept.setUuid(uuid);
+        return concept;
+    }
+
+    private FormMapping individualProfileOf(Long subjectTypeId) {
+        SubjectType subjectType = new SubjectType();
+        subjectType.setId(subjectTypeId);
+        Form form = new Form();
+        form.setFormType(FormType.IndividualProfile);
+        FormMapping formMapping = new FormMapping();
+        formMapping.setForm(form);
+        formMapping.setSubjectType(subjectType);
+        return formMapping;
+    }
+}
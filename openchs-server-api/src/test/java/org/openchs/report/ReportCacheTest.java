@@ -0,0 +1,115 @@
+package org.openchs.report;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.domain.Organisation;
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportCacheTest {
+    private ReportCache reportCache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setup() {
+        reportCache = new ReportCache(300, 1000, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+        useOrganisation(2L);
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        UserContextHolder.clear();
+    }
+
+    @Test
+    public void shouldCacheReportsPerOrganisation() {
+        assertThat(load("registrations")).isEqualTo(1);
+        assertThat(load("registrations")).isEqualTo(1);
+        assertThat(load("enrolments")).isEqualTo(2);
+
+        useOrganisation(3L);
+        assertThat(load("registrations")).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldEvictOnlyTheGivenOrganisation() {
+        load("registrations");
+        useOrganisation(3L);
+        load("registrations");
+
+        reportCache.evict(2L);
+
+        assertThat(load("registrations")).isEqualTo(2);
+        useOrganisation(2L);
+        assertThat(load("registrations")).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldEvictOnceTheTransactionCommits() {
+        load("registrations");
+        TransactionSynchronizationManager.initSynchronization();
+
+        reportCache.evict(2L);
+        assertThat(load("registrations")).isEqualTo(1);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(load("registrations")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldNotEvictWhenTheTransactionRollsBack() {
+        load("registrations");
+        TransactionSynchronizationManager.initSynchronization();
+
+        reportCache.evict(2L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(load("registrations")).isEqualTo(1);
+        assertThat(TransactionSynchronizationManager.hasResource(reportCache)).isFalse();
+    }
+
+    @Test
+    public void shouldLoadEveryTimeWithATtlOfZero() {
+        reportCache = new ReportCache(0, 1000, new SimpleMeterRegistry());
+
+        assertThat(load("registrations")).isEqualTo(1);
+        assertThat(load("registrations")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLoadEveryTimeWithoutAnOrganisation() {
+        UserContextHolder.create(new UserContext());
+
+        assertThat(load("registrations")).isEqualTo(1);
+        assertThat(load("registrations")).isEqualTo(2);
+    }
+
+    private int load(String report) {
+        return reportCache.get(report, loads::incrementAndGet);
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void useOrganisation(Long id) {
+        Organisation organisation = new Organisation();
+        organisation.setId(id);
+        UserContext userContext = new UserContext();
+        userContext.setOrganisation(organisation);
+        UserContextHolder.create(userContext);
+    }
+}
@@ -2,6 +2,7 @@ package org.openchs.service;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTCreator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -13,6 +14,9 @@ import org.openchs.domain.User;
 import org.openchs.domain.UserContext;
 import org.openchs.domain.AccountAdmin;
 import org.openchs.framework.security.AuthService;
+import org.openchs.framework.security.UserContextCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
@@ -24,6 +28,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -44,7 +50,7 @@ public class AuthServiceTest {
     public void setup() {
         initMocks(this);
 //        cognitoAuthService = new CognitoUserContextServiceImpl(organisationRepository, userRepository, "poolId", "clientId");
-        authService = new AuthService(cognitoAuthService, userRepository, organisationRepository, accountAdminRepository);
+        authService = new AuthService(cognitoAuthService, userRepository, organisationRepository, accountAdminRepository, new UserContextCache(0, 0, new SimpleMeterRegistry()));
         String uuid = "9ecc2805-6528-47ee-8267-9368b266ad39";
         user = new User();
         user.setUuid(uuid);
@@ -130,4 +136,49 @@ public class AuthServiceTest {
         assertThat(userContext.getUser(), is(equalTo(user)));
         assertThat(userContext.getOrganisation(), is(equalTo(organisation)));
     }
+
+    @Test
+    public void shouldReuseAuthorisationOfAUserUntilInvalidated() {
+        UserContextCache userContextCache = new UserContextCache(60, 100, new SimpleMeterRegistry());
+        authService = new AuthService(cognitoAuthService, userRepository, organisationRepository, accountAdminRepository, userContextCache);
+        Organisation organisation = new Organisation();
+        user.setId(100L);
+        when(organisationRepository.findOne(1L)).thenReturn(organisation);
+        when(accountAdminRepository.findByUser_Id(100L)).thenReturn(new ArrayList<>());
+        when(cognitoAuthService.getUserFromToken("some token")).thenReturn(user);
+
+        authService.authenticateByToken("some token", null);
+        UserContext userContext = authService.authenticateByToken("some token", null);
+        assertThat(userContext.getOrganisation(), is(equalTo(organisation)));
+        verify(accountAdminRepository, times(1)).findByUser_Id(100L);
+        verify(organisationRepository, times(1)).findOne(1L);
+
+        userContextCache.invalidateUser(100L);
+        authService.authenticateByToken("some token", null);
+        verify(accountAdminRepository, times(2)).findByUser_Id(100L);
+    }
+
+    @Test
+    public void shouldInvalidateAuthorisationOfAUserOnlyAfterTheTransactionCommits() {
+        UserContextCache userContextCache = new UserContextCache(60, 100, new SimpleMeterRegistry());
+        authService = new AuthService(cognitoAuthService, userRepository, organisationRepository, accountAdminRepository, userContextCache);
+        user.setId(100L);
+        when(organisationRepository.findOne(1L)).thenReturn(new Organisation());
+        when(accountAdminRepository.findByUser_Id(100L)).thenReturn(new ArrayList<>());
+        when(cognitoAuthService.getUserFromToken("some token")).thenReturn(user);
+        authService.authenticateByToken("some token", null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userContextCache.invalidateUser(100L);
+            authService.authenticateByToken("some token", null);
+            verify(accountAdminRepository, times(1)).findByUser_Id(100L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        authService.authenticateByToken("some token", null);
+        verify(accountAdminRepository, times(2)).findByUser_Id(100L);
+    }
 }
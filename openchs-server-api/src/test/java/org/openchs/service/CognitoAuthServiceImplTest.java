@@ -0,0 +1,127 @@
+package org.openchs.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.openchs.dao.UserRepository;
+import org.openchs.domain.User;
+
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class CognitoAuthServiceImplTest {
+    private static final String POOL_ID = "test-pool";
+    private static final String CLIENT_ID = "test-client";
+    private static final String KEY_ID = "test-key";
+    private static final String USER_UUID = "a6e6fbd7-0a1e-4f0d-8d3c-8f3e4c4b0c11";
+
+    @Mock
+    private UserRepository userRepository;
+    private HttpServer jwksServer;
+    private AtomicInteger jwksRequests;
+    private CognitoAuthServiceImpl cognitoAuthService;
+    private Algorithm signingAlgorithm;
+    private String issuer;
+    private User user;
+
+    @Before
+    public void setup() throws Exception {
+        initMocks(this);
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        signingAlgorithm = Algorithm.RSA256(publicKey, (RSAPrivateKey) keyPair.getPrivate());
+
+        byte[] jwks = String.format("{\"keys\":[{\"kid\":\"%s\",\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"n\":\"%s\",\"e\":\"%s\"}]}",
+                KEY_ID, base64Url(publicKey.getModulus()), base64Url(publicKey.getPublicExponent())).getBytes(StandardCharsets.UTF_8);
+        jwksRequests = new AtomicInteger();
+        jwksServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jwksServer.createContext("/" + POOL_ID + "/.well-known/jwks.json", exchange -> {
+            jwksRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        jwksServer.start();
+
+        String cognitoUrl = String.format("http://localhost:%d/", jwksServer.getAddress().getPort());
+        issuer = cognitoUrl + POOL_ID;
+        cognitoAuthService = new CognitoAuthServiceImpl(userRepository, POOL_ID, CLIENT_ID, cognitoUrl);
+
+        user = new User();
+        user.setId(1L);
+        user.setUuid(USER_UUID);
+        when(userRepository.findByUuid(USER_UUID)).thenReturn(user);
+        when(userRepository.findOne(1L)).thenReturn(user);
+    }
+
+    @After
+    public void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    public void shouldVerifyATokenOnlyOnce() {
+        String token = token(new Date(System.currentTimeMillis() + 60 * 60 * 1000));
+
+        assertThat(cognitoAuthService.getUserFromToken(token), equalTo(user));
+        assertThat(cognitoAuthService.getUserFromToken(token), equalTo(user));
+        assertThat(cognitoAuthService.getUserFromToken(token), equalTo(user));
+
+        assertThat(jwksRequests.get(), equalTo(1));
+        verify(userRepository, times(1)).findByUuid(USER_UUID);
+        verify(userRepository, times(2)).findOne(1L);
+    }
+
+    @Test
+    public void shouldFetchSigningKeysOnceForDifferentTokens() {
+        cognitoAuthService.getUserFromToken(token(new Date(System.currentTimeMillis() + 60 * 60 * 1000)));
+        cognitoAuthService.getUserFromToken(token(new Date(System.currentTimeMillis() + 30 * 60 * 1000)));
+
+        assertThat(jwksRequests.get(), equalTo(1));
+        verify(userRepository, times(2)).findByUuid(USER_UUID);
+    }
+
+    private String token(Date expiresAt) {
+        return JWT.create()
+                .withKeyId(KEY_ID)
+                .withIssuer(issuer)
+                .withAudience(CLIENT_ID)
+                .withClaim("token_use", "id")
+                .withClaim("custom:userUUID", USER_UUID)
+                .withExpiresAt(expiresAt)
+                .sign(signingAlgorithm);
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,62 @@
+package org.openchs.service;
+
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.dao.LocationLineageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class IndividualSearchServiceIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String PRABHU = "4378dce3-247e-4393-8dd5-032c6eb0a655";
+
+    @Autowired
+    private IndividualSearchService individualSearchService;
+
+    @Autowired
+    private LocationLineageRepository locationLineageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void shouldCountAllMatchesForAPagePastTheLastMatch() {
+        setUser("demo-admin");
+
+        Map<String, Object> firstPage = individualSearchService.getSearchResult(search(0));
+        assertThat(firstPage.get("totalElements")).isEqualTo(BigInteger.ONE);
+        assertThat((List) firstPage.get("listOfRecords")).hasSize(1);
+
+        Map<String, Object> pastTheLastMatch = individualSearchService.getSearchResult(search(1));
+        assertThat(pastTheLastMatch.get("totalElements")).isEqualTo(BigInteger.ONE);
+        assertThat((List) pastTheLastMatch.get("listOfRecords")).isEmpty();
+    }
+
+    @Test
+    public void shouldRefreshSearchDocumentsWhenLocationsAreRenamedOrMoved() {
+        jdbcTemplate.update("update address_level set title = 'Nijhma Khurd' where id = 1");
+        assertThat(searchDocumentOf(PRABHU)).endsWith("nijhma khurd");
+
+        locationLineageRepository.moveSubtree(1L, "1", 2L, "2.1");
+        assertThat(searchDocumentOf(PRABHU)).endsWith("naya gaon nijhma khurd");
+
+        jdbcTemplate.update("update address_level set title = 'Naya Gaon Kalan' where id = 2");
+        assertThat(searchDocumentOf(PRABHU)).endsWith("naya gaon kalan nijhma khurd");
+    }
+
+    private String search(int pageNumber) {
+        return String.format("{\"searchAll\": \"prabhu\", \"pageElement\": {\"pageNumber\": %d, \"numberOfRecordPerPage\": 10}}", pageNumber);
+    }
+
+    private String searchDocumentOf(String uuid) {
+        return jdbcTemplate.queryForObject("select search_document from individual where uuid = ?", String.class, uuid);
+    }
+}
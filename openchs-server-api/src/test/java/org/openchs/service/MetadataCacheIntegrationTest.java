@@ -0,0 +1,94 @@
+package org.openchs.service;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.openchs.dao.ConceptRepository;
+import org.openchs.domain.Concept;
+import org.openchs.domain.ConceptAnswer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class MetadataCacheIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String COMPLAINT = "9daa0b8a-985a-464d-a5ab-8a4f90e8a26b";
+    private static final String FEVER = "d2e35080-ec9b-46f6-bf8c-7087fcf0ecfd";
+
+    @Autowired
+    private MetadataCache metadataCache;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-admin");
+        metadataCache.evict(1L);
+    }
+
+    @Test
+    public void shouldLoadConceptsWithTheirAnswersOutsideOfATransaction() {
+        Concept complaint = metadataCache.getConceptByUuid(COMPLAINT);
+
+        assertThat(complaint.getName()).isEqualTo("Complaint");
+        assertThat(complaint.getConceptAnswers()).extracting(ConceptAnswer::getAnswerConcept).extracting(Concept::getUuid).contains(FEVER);
+        assertThat(metadataCache.getConceptByName("Complaint")).isSameAs(complaint);
+    }
+
+    @Test
+    public void shouldNotCacheTheConceptsOfTheSessionOfTheCaller() {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Concept managed = conceptRepository.findByUuid(COMPLAINT);
+            managed.setName("Renamed Complaint");
+
+            Concept cached = metadataCache.getConceptByUuid(COMPLAINT);
+            assertThat(cached).isNotSameAs(managed);
+            assertThat(cached.getName()).isEqualTo("Complaint");
+            assertThat(conceptRepository.findByUuid(COMPLAINT)).isSameAs(managed);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(metadataCache.getConceptByUuid(COMPLAINT).getName()).isEqualTo("Complaint");
+    }
+
+    @Test
+    public void shouldTakeTheConceptOfTheNearestOrganisation() {
+        jdbcTemplate.update("insert into concept (name, data_type, uuid, version, organisation_id) values ('Fever', 'N/A', ?, 1, 2)", FEVER);
+
+        assertThat(metadataCache.getConceptByName("Fever").getOrganisationId()).isEqualTo(2L);
+        assertThat(metadataCache.getConceptByUuid(FEVER).getOrganisationId()).isEqualTo(2L);
+    }
+
+    @Test
+    public void shouldNotFindVoidedConceptsByName() {
+        jdbcTemplate.update("insert into concept (name, data_type, uuid, version, organisation_id, is_voided) values ('Fever', 'N/A', 'f1c2e0b4-6c6e-4a55-9a3b-2f0b1d5f7e11', 1, 2, true)");
+        jdbcTemplate.update("insert into concept (name, data_type, uuid, version, is_voided) values ('Retired', 'N/A', 'f1c2e0b4-6c6e-4a55-9a3b-2f0b1d5f7e12', 1, true)");
+
+        assertThat(metadataCache.getConceptByName("Fever").getUuid()).isEqualTo(FEVER);
+        assertThat(metadataCache.getConceptByName("Retired")).isNull();
+    }
+
+    @Test
+    public void shouldFailWhenConceptsOfOrganisationsOutsideTheLineageShareTheName() {
+        jdbcTemplate.update("insert into concept (name, data_type, uuid, version, organisation_id) values ('Malaria', 'N/A', 'f1c2e0b4-6c6e-4a55-9a3b-2f0b1d5f7e13', 1, 2)");
+        jdbcTemplate.update("insert into concept (name, data_type, uuid, version, organisation_id) values ('Malaria', 'N/A', 'f1c2e0b4-6c6e-4a55-9a3b-2f0b1d5f7e14', 1, 3)");
+        setUser("admin");
+
+        assertThatThrownBy(() -> metadataCache.getConceptByName("Malaria")).isInstanceOf(IllegalStateException.class);
+    }
+}
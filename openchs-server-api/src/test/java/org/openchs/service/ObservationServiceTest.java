@@ -1,5 +1,6 @@
 package org.openchs.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,7 +36,7 @@ public class ObservationServiceTest {
     @Before
     public void setup() {
         initMocks(this);
-        observationService = new ObservationService(conceptRepository, individualRepository, locationRepository);
+        observationService = new ObservationService(new MetadataCache(conceptRepository, null, null, null, null, new SimpleMeterRegistry(), false, 0), individualRepository, locationRepository);
     }
 
     @Test
@@ -0,0 +1,89 @@
+package org.openchs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuleDecisionCacheTest {
+    private final ObjectMapper contractMapper = RuleDecisionCache.contractMapper();
+
+    private RuleDecisionCache cache(long ttlSeconds, long maxSize) {
+        return new RuleDecisionCache(ttlSeconds, maxSize, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void shouldAnswerWhatWasPutForAKey() {
+        RuleDecisionCache cache = cache(600, 10);
+        String key = cache.key(1L, "checksum", "Individual", "{}");
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, "{\"status\":\"success\"}");
+
+        assertThat(cache.get(key)).isEqualTo("{\"status\":\"success\"}");
+        assertThat(cache.get(cache.key(2L, "checksum", "Individual", "{}"))).isNull();
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedResponseWhenFull() {
+        RuleDecisionCache cache = cache(600, 1);
+        String first = cache.key(1L, "checksum", "Individual", "{\"name\":\"first\"}");
+        String second = cache.key(1L, "checksum", "Individual", "{\"name\":\"second\"}");
+
+        cache.put(first, "first");
+        cache.put(second, "second");
+
+        assertThat(cache.get(first)).isNull();
+        assertThat(cache.get(second)).isEqualTo("second");
+    }
+
+    @Test
+    public void shouldKeepNothingWhenTheTtlIsZero() {
+        RuleDecisionCache cache = cache(0, 10);
+        String key = cache.key(1L, "checksum", "Individual", "{}");
+
+        cache.put(key, "response");
+
+        assertThat(cache.get(key)).isNull();
+    }
+
+    @Test
+    public void shouldMakeANewKeyWhenTheBundleWorkFlowOrContractChanges() {
+        RuleDecisionCache cache = cache(600, 10);
+        String key = cache.key(1L, "checksum", "Individual", "{}");
+
+        assertThat(cache.key(1L, "checksum", "Individual", "{}")).isEqualTo(key);
+        assertThat(cache.key(1L, "other", "Individual", "{}")).isNotEqualTo(key);
+        assertThat(cache.key(1L, "checksum", "ProgramEncounter", "{}")).isNotEqualTo(key);
+        assertThat(cache.key(1L, "checksum", "Individual", "{\"name\":\"Ramesh\"}")).isNotEqualTo(key);
+    }
+
+    @Test
+    public void shouldSerializeSetsAndMapsInTheSameOrderWhateverTheOrderTheyWereFilledIn() throws Exception {
+        Map<String, Object> contract = new LinkedHashMap<>();
+        contract.put("name", "Ramesh");
+        contract.put("encounters", new LinkedHashSet<>(Arrays.asList(encounter("b", 2), encounter("a", 1))));
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("encounters", new LinkedHashSet<>(Arrays.asList(encounter("a", 1), encounter("b", 2))));
+        reordered.put("name", "Ramesh");
+
+        String contractJson = contractMapper.writeValueAsString(contract);
+
+        assertThat(contractMapper.writeValueAsString(reordered)).isEqualTo(contractJson);
+        assertThat(contractJson).isEqualTo("{\"encounters\":[{\"number\":1,\"uuid\":\"a\"},{\"number\":2,\"uuid\":\"b\"}],\"name\":\"Ramesh\"}");
+    }
+
+    private Map<String, Object> encounter(String uuid, int number) {
+        Map<String, Object> encounter = new HashMap<>();
+        encounter.put("uuid", uuid);
+        encounter.put("number", number);
+        return encounter;
+    }
+}
@@ -0,0 +1,185 @@
+package org.openchs.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.openchs.domain.Organisation;
+import org.openchs.domain.RuleFailureLog;
+import org.openchs.domain.User;
+import org.openchs.domain.UserContext;
+import org.openchs.framework.security.UserContextHolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TelemetryServiceTest {
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Batch> batches;
+    private TelemetryService telemetryService;
+
+    @Before
+    public void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        batches = Collections.synchronizedList(new ArrayList<>());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any())).thenAnswer(invocation -> "org_" + invocation.getArgument(2));
+        doAnswer(invocation -> {
+            UserContext userContext = UserContextHolder.getUserContext();
+            batches.add(new Batch(userContext.getOrganisation().getDbUser(), invocation.getArgument(1)));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        telemetryService.stop();
+        UserContextHolder.clear();
+    }
+
+    @Test
+    public void shouldWriteRowsInBatchesOfFlushSize() throws InterruptedException {
+        telemetryService = telemetryService(100, 2, 60_000);
+        for (int i = 0; i < 4; i++) telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+
+        telemetryService.start();
+        awaitBatches(2);
+        telemetryService.stop();
+
+        assertThat(batches).extracting(batch -> batch.parameters.size()).containsExactly(2, 2);
+        assertThat(count("written")).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldWriteAPartialBatchOnceTheFlushIntervalHasPassed() throws InterruptedException {
+        telemetryService = telemetryService(100, 100, 50);
+        telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+
+        telemetryService.start();
+        awaitBatches(1);
+
+        assertThat(batches.get(0).parameters).hasSize(1);
+    }
+
+    @Test
+    public void shouldWriteTheRowsOfEachOrganisationInItsRole() throws InterruptedException {
+        telemetryService = telemetryService(100, 100, 60_000);
+        telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+        telemetryService.saveRuleFailureLog(ruleFailureLog(3L));
+        telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+
+        telemetryService.start();
+        telemetryService.stop();
+
+        assertThat(batches).extracting(batch -> batch.role).containsExactly("org_2", "org_3");
+        assertThat(batches).extracting(batch -> batch.parameters.size()).containsExactly(2, 1);
+        assertThat(count("written")).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldDropRowsWhenTheQueueIsFull() throws InterruptedException {
+        telemetryService = telemetryService(2, 100, 60_000);
+        for (int i = 0; i < 3; i++) telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+
+        assertThat(count("received")).isEqualTo(3);
+        assertThat(count("dropped")).isEqualTo(1);
+
+        telemetryService.start();
+        telemetryService.stop();
+        assertThat(count("written")).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldWriteRowsOneAtATimeWhenTheirBatchFails() throws InterruptedException {
+        doAnswer(invocation -> {
+            throw new RuntimeException("batch failed");
+        }).when(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any());
+        telemetryService = telemetryService(100, 100, 60_000);
+        telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+        telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+
+        telemetryService.start();
+        telemetryService.stop();
+
+        assertThat(count("written")).isEqualTo(2);
+        assertThat(count("failed")).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldSaveRuleFailureLogsOfUsersAndOfNoUser() throws InterruptedException {
+        telemetryService = telemetryService(100, 100, 60_000);
+        User user = new User();
+        user.setId(4L);
+        Organisation organisation = new Organisation();
+        organisation.setId(2L);
+        UserContext userContext = new UserContext();
+        userContext.setUser(user);
+        userContext.setOrganisation(organisation);
+        UserContextHolder.create(userContext);
+        telemetryService.saveRuleFailureLog(ruleFailureLog(null));
+        UserContextHolder.clear();
+        telemetryService.saveRuleFailureLog(ruleFailureLog(2L));
+        telemetryService.saveRuleFailureLog(ruleFailureLog(null));
+
+        telemetryService.start();
+        telemetryService.stop();
+
+        assertThat(count("dropped")).isEqualTo(1);
+        assertThat(batches).hasSize(1);
+        List<Object[]> parameters = batches.get(0).parameters;
+        assertThat(parameters).extracting(row -> row[0]).containsExactly(4L, 1L);
+        assertThat(parameters).extracting(row -> row[row.length - 1]).containsExactly(2L, 2L);
+    }
+
+    private TelemetryService telemetryService(int queueCapacity, int flushSize, long flushIntervalMillis) {
+        return new TelemetryService(jdbcTemplate, transactionManager, meterRegistry, queueCapacity, flushSize, flushIntervalMillis, 0);
+    }
+
+    private RuleFailureLog ruleFailureLog(Long organisationId) {
+        RuleFailureLog ruleFailureLog = new RuleFailureLog();
+        ruleFailureLog.setUuid(UUID.randomUUID().toString());
+        ruleFailureLog.setErrorMessage("rule failed");
+        ruleFailureLog.setOrganisationId(organisationId);
+        return ruleFailureLog;
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("openchs.telemetry.rows", "result", result).count();
+    }
+
+    private void awaitBatches(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (batches.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(batches).hasSize(count);
+    }
+
+    private static class Batch {
+        private final String role;
+        private final List<Object[]> parameters;
+
+        Batch(String role, List<Object[]> parameters) {
+            this.role = role;
+            this.parameters = parameters;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.openchs.domain.Individual;
 import org.openchs.domain.JsonObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.io.IOException;
@@ -24,6 +25,9 @@ public class IndividualControllerIntegrationTest extends AbstractControllerInteg
     @Autowired
     private IndividualRepository individualRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String INDIVIDUAL_UUID = "0a1bf764-4576-4d71-b8ec-25895a113e81";
 
     @Before
@@ -118,4 +122,27 @@ public class IndividualControllerIntegrationTest extends AbstractControllerInteg
         Assert.assertEquals(1, countOfIndividuals.apply(catchmentYUser) - totalIndividualsInCatchmentYBeforeTest);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSyncEachOfTheRowsModifiedWithinOneMillisecondOnce() {
+        String modifiedLater = "5d6e6c36-0c33-4a1f-8f3d-0a7b1d4c6b01";
+        String modifiedEarlier = "5d6e6c36-0c33-4a1f-8f3d-0a7b1d4c6b02";
+        insertIndividual(modifiedLater, "2019-10-07 10:00:00.123789+00");
+        insertIndividual(modifiedEarlier, "2019-10-07 10:00:00.123456+00");
+        String url = base.toString() + "/individual/sync?lastModifiedDateTime=2019-10-07T10:00:00.000Z&now=2019-10-07T10:00:01.000Z&size=1";
+
+        ResponseEntity<JsonObject> firstPage = template.getForEntity(url, JsonObject.class);
+        assertThat(firstPage.getBody().toString()).contains(modifiedEarlier).doesNotContain(modifiedLater);
+        String continuationToken = (String) firstPage.getBody().get("continuationToken");
+        assertThat(continuationToken).isNotNull();
+
+        ResponseEntity<JsonObject> secondPage = template.getForEntity(url + "&continuationToken=" + continuationToken, JsonObject.class);
+        assertThat(secondPage.getBody().toString()).contains(modifiedLater).doesNotContain(modifiedEarlier);
+    }
+
+    private void insertIndividual(String uuid, String lastModifiedDateTime) {
+        jdbcTemplate.update("insert into individual (uuid, address_id, version, date_of_birth, date_of_birth_verified, first_name, last_name, gender_id, organisation_id, subject_type_id, audit_id) " +
+                "values (?, 2, 1, current_timestamp, false, 'Sync', 'Test', 2, 2, (select id from subject_type where name = 'Individual'), create_audit())", uuid);
+        jdbcTemplate.update("update audit set last_modified_date_time = cast(? as timestamptz) where id = (select audit_id from individual where uuid = ?)",
+                lastModifiedDateTime, uuid);
+    }
+}
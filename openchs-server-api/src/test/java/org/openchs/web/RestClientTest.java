@@ -0,0 +1,121 @@
+package org.openchs.web;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs RestClient against a stub rules server on a local port.
+ */
+public class RestClientTest {
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile long delayMillis = 0;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean holdRequests = false;
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/rules", exchange -> {
+            requests.incrementAndGet();
+            try {
+                if (holdRequests) release.await(5, TimeUnit.SECONDS);
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException ignored) {
+            }
+            byte[] body = "{\"status\":\"success\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    private RestClient client(int maxConcurrentCalls, int failureThreshold, long slowCallMillis) {
+        String url = "http://localhost:" + server.getAddress().getPort();
+        return new RestClient(url, 1000, 2000, 10, maxConcurrentCalls, 100, slowCallMillis, failureThreshold, 60000);
+    }
+
+    private String post(RestClient restClient) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restClient.post("/api/rules", "{}", headers);
+    }
+
+    @Test
+    public void shouldPostToTheRulesServer() {
+        RestClient restClient = client(10, 5, 5000);
+
+        assertThat(post(restClient)).isEqualTo("{\"status\":\"success\"}");
+        assertThat(post(restClient)).isEqualTo("{\"status\":\"success\"}");
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldStopCallingAfterRepeatedFailures() {
+        status = 500;
+        RestClient restClient = client(10, 3, 5000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> post(restClient)).isInstanceOf(HttpServerErrorException.class);
+        }
+        assertThatThrownBy(() -> post(restClient)).isInstanceOf(ResourceAccessException.class);
+        assertThat(requests.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldCountSlowCallsAsFailures() {
+        delayMillis = 200;
+        RestClient restClient = client(10, 2, 100);
+
+        post(restClient);
+        post(restClient);
+
+        assertThatThrownBy(() -> post(restClient)).isInstanceOf(ResourceAccessException.class);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRefuseCallsBeyondTheConcurrencyLimit() throws Exception {
+        holdRequests = true;
+        RestClient restClient = client(1, 5, 5000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> held = executor.submit(() -> post(restClient));
+        while (requests.get() == 0) Thread.sleep(10);
+
+        try {
+            post(restClient);
+            fail("Expected the second call to be refused");
+        } catch (ResourceAccessException expected) {
+        }
+        release.countDown();
+        assertThat(held.get(5, TimeUnit.SECONDS)).isEqualTo("{\"status\":\"success\"}");
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,55 @@
+package org.openchs.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class StreamingSyncControllerIntegrationTest extends AbstractControllerIntegrationTest {
+    /**
+     * More than two fetches of the cursor of StreamingSyncRepository.
+     */
+    private static final int SUBJECTS = 1201;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-user");
+    }
+
+    @Test
+    public void shouldStreamEveryRowOfTheWindowAcrossFetches() throws Exception {
+        jdbcTemplate.update("insert into individual (uuid, address_id, version, date_of_birth_verified, first_name, last_name, gender_id, " +
+                "organisation_id, subject_type_id, audit_id) " +
+                "select 'stream-' || n, 2, 1, false, 'Stream', n :: text, 1, 2, 1, create_audit() from generate_series(1, ?) n", SUBJECTS);
+
+        ResponseEntity<String> response = template.getForEntity(base.toString() +
+                "/individual/stream?lastModifiedDateTime=2000-01-01T00:00:00.000Z&now=2100-01-01T00:00:00.000Z", String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        List<Map<String, Object>> rows = mapper.readValue(response.getBody(), new TypeReference<List<Map<String, Object>>>() {
+        });
+
+        List<String> uuids = rows.stream().map(row -> (String) row.get("uuid")).collect(Collectors.toList());
+        assertThat(uuids).doesNotHaveDuplicates();
+        assertThat(uuids).containsAll(IntStream.rangeClosed(1, SUBJECTS).mapToObj(n -> "stream-" + n).collect(Collectors.toList()));
+        assertThat(rows).allSatisfy(row -> assertThat(row.get("addressUUID")).isEqualTo("a62d5ff9-4480-44f8-ab9f-9fe12e2e1a91"));
+        List<Long> ids = rows.stream().map(row -> ((Number) row.get("id")).longValue()).collect(Collectors.toList());
+        assertThat(ids).as("rows modified in one statement are ordered by id").isSorted();
+    }
+}
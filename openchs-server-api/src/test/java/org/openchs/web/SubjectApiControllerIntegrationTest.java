@@ -0,0 +1,61 @@
+package org.openchs.web;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements needed for a page of /api/subjects. Resolving the observation concepts of a
+ * page should take the same couple of queries however many subjects and observations the page has.
+ */
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SubjectApiControllerIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String SUBJECTS_PAGE = "/api/subjects?lastModifiedDateTime=2000-01-01T00:00:00.000Z&now=2100-01-01T00:00:00.000Z&size=100";
+    private static final String OBSERVATIONS = "{" +
+            "\"95c4b174-6ce6-4d9a-b223-1f9000b60006\": 98.9, " +
+            "\"9daa0b8a-985a-464d-a5ab-8a4f90e8a26b\": [\"d2e35080-ec9b-46f6-bf8c-7087fcf0ecfd\", \"627c8cbc-a03d-4e3f-9e4d-7059e60f3225\"]" +
+            "}";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-user");
+    }
+
+    @Test
+    public void conceptsOfAPageShouldBeResolvedWithAFixedNumberOfQueries() {
+        long statementsWithoutObservations = statementsToGet(SUBJECTS_PAGE);
+
+        int subjectsWithObservations = jdbcTemplate.update("update individual set observations = ?::jsonb", OBSERVATIONS);
+        long statementsWithObservations = statementsToGet(SUBJECTS_PAGE);
+
+        assertThat(subjectsWithObservations).isGreaterThan(1);
+        assertThat(statementsWithObservations - statementsWithoutObservations).isLessThanOrEqualTo(2);
+    }
+
+    private long statementsToGet(String path) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        ResponseEntity<String> response = template.getForEntity(path, String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        return statistics.getPrepareStatementCount();
+    }
+}
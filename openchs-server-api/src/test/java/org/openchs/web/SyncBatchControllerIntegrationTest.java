@@ -0,0 +1,116 @@
+package org.openchs.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.openchs.common.AbstractControllerIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql(value = {"/test-data.sql"}, executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(value = {"/tear-down.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+public class SyncBatchControllerIntegrationTest extends AbstractControllerIntegrationTest {
+    private static final String NIJHMA = "ae35fe6d-910e-47bd-a0c7-0c10182a4085";
+    private static final String DIABETES = "db62a322-0ec2-4bb0-ac24-296dc7216c9a";
+    private static final String SAVED_INDIVIDUAL = "6c1d7bb0-0f7e-4e55-8f6b-2f1d3a9c1a01";
+    private static final String OTHER_SAVED_INDIVIDUAL = "6c1d7bb0-0f7e-4e55-8f6b-2f1d3a9c1a02";
+    private static final String UNSAVED_INDIVIDUAL = "6c1d7bb0-0f7e-4e55-8f6b-2f1d3a9c1a03";
+    private static final String SAVED_ENROLMENT = "6c1d7bb0-0f7e-4e55-8f6b-2f1d3a9c1a11";
+    private static final String UNSAVED_ENROLMENT = "6c1d7bb0-0f7e-4e55-8f6b-2f1d3a9c1a12";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        setUser("demo-user");
+    }
+
+    @Test
+    public void shouldSaveTheSubjectsOfABatchBeforeTheirEnrolments() throws Exception {
+        List<Map<String, Object>> responses = postBatch(
+                item("ProgramEnrolment", enrolment(SAVED_ENROLMENT, SAVED_INDIVIDUAL)),
+                item("Individual", individual(SAVED_INDIVIDUAL, NIJHMA)));
+
+        assertThat(responses).extracting(response -> response.get("uuid")).containsExactly(SAVED_ENROLMENT, SAVED_INDIVIDUAL);
+        assertThat(responses).extracting(response -> response.get("saved")).containsExactly(true, true);
+        assertThat(countOf("individual", SAVED_INDIVIDUAL)).isEqualTo(1);
+        assertThat(countOf("program_enrolment", SAVED_ENROLMENT)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldSaveEveryEntityOfAFailedTransactionThatCanBeSavedOnItsOwn() throws Exception {
+        ObjectNode missingEntity = mapper.createObjectNode();
+        missingEntity.put("entityName", "Individual");
+        List<Map<String, Object>> responses = postBatch(
+                item("Individual", individual(SAVED_INDIVIDUAL, NIJHMA)),
+                item("Individual", individual(UNSAVED_INDIVIDUAL, "00000000-0000-0000-0000-000000000000")),
+                item("ProgramEnrolment", enrolment(UNSAVED_ENROLMENT, UNSAVED_INDIVIDUAL)),
+                item("ProgramEnrolment", enrolment(SAVED_ENROLMENT, SAVED_INDIVIDUAL)),
+                item("Individual", individual(OTHER_SAVED_INDIVIDUAL, NIJHMA)),
+                item("Vaccination", individual(OTHER_SAVED_INDIVIDUAL, NIJHMA)),
+                missingEntity);
+
+        assertThat(responses).extracting(response -> response.get("saved")).containsExactly(true, false, false, true, true, false, false);
+        assertThat(responses.get(1).get("errorMessage").toString()).contains("addressLevel doesn't exist");
+        assertThat(responses.get(5).get("errorMessage")).isEqualTo("Unknown entity name 'Vaccination'");
+        assertThat(responses.get(6).get("errorMessage")).isEqualTo("Entity missing");
+
+        assertThat(countOf("individual", SAVED_INDIVIDUAL)).isEqualTo(1);
+        assertThat(countOf("individual", OTHER_SAVED_INDIVIDUAL)).isEqualTo(1);
+        assertThat(countOf("program_enrolment", SAVED_ENROLMENT)).isEqualTo(1);
+        assertThat(countOf("individual", UNSAVED_INDIVIDUAL)).isEqualTo(0);
+        assertThat(countOf("program_enrolment", UNSAVED_ENROLMENT)).isEqualTo(0);
+    }
+
+    private List<Map<String, Object>> postBatch(ObjectNode... items) throws Exception {
+        String body = postForBody("/sync/batch", Arrays.asList(items));
+        return mapper.readValue(body, new TypeReference<List<Map<String, Object>>>() {
+        });
+    }
+
+    private ObjectNode item(String entityName, Map<String, Object> entity) {
+        ObjectNode item = mapper.createObjectNode();
+        item.put("entityName", entityName);
+        item.set("entity", mapper.valueToTree(entity));
+        return item;
+    }
+
+    private Map<String, Object> individual(String uuid, String addressLevelUUID) {
+        Map<String, Object> individual = new HashMap<>();
+        individual.put("uuid", uuid);
+        individual.put("firstName", "Batch");
+        individual.put("lastName", uuid.substring(uuid.length() - 2));
+        individual.put("dateOfBirth", "1997-08-21");
+        individual.put("dateOfBirthVerified", false);
+        individual.put("gender", "Male");
+        individual.put("addressLevelUUID", addressLevelUUID);
+        individual.put("registrationDate", "2018-03-06");
+        individual.put("observations", Arrays.asList());
+        return individual;
+    }
+
+    private Map<String, Object> enrolment(String uuid, String individualUUID) {
+        Map<String, Object> enrolment = new HashMap<>();
+        enrolment.put("uuid", uuid);
+        enrolment.put("individualUUID", individualUUID);
+        enrolment.put("programUUID", DIABETES);
+        enrolment.put("enrolmentDateTime", "2018-03-07T10:00:00.000Z");
+        enrolment.put("observations", Arrays.asList());
+        return enrolment;
+    }
+
+    private int countOf(String table, String uuid) {
+        return jdbcTemplate.queryForObject(String.format("select count(*) from %s where uuid = ?", table), Integer.class, uuid);
+    }
+}
@@ -0,0 +1,77 @@
+package org.openchs.web.request.rules.constructWrappers;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestMemoTest {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private Supplier<String> loader(String value) {
+        return () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @Test
+    public void shouldLoadOncePerKindAndUuidInARequest() {
+        startRequest();
+
+        assertThat(RequestMemo.<String>get("individual", "uuid-1", loader("Ramesh"))).isEqualTo("Ramesh");
+        assertThat(RequestMemo.<String>get("individual", "uuid-1", loader("Other"))).isEqualTo("Ramesh");
+        assertThat(loads.get()).isEqualTo(1);
+
+        assertThat(RequestMemo.<String>get("individual", "uuid-2", loader("Suresh"))).isEqualTo("Suresh");
+        assertThat(RequestMemo.<String>get("enrolment", "uuid-1", loader("Enrolment"))).isEqualTo("Enrolment");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldForgetWhatWasLoadedWhenTheRequestEnds() {
+        startRequest();
+        RequestMemo.get("individual", "uuid-1", loader("Ramesh"));
+
+        startRequest();
+
+        assertThat(RequestMemo.<String>get("individual", "uuid-1", loader("Changed"))).isEqualTo("Changed");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldLoadEveryTimeOutsideARequestOrWithoutAUuid() {
+        RequestMemo.get("individual", "uuid-1", loader("Ramesh"));
+        RequestMemo.get("individual", "uuid-1", loader("Ramesh"));
+
+        startRequest();
+        RequestMemo.get("individual", null, loader("Ramesh"));
+        RequestMemo.get("individual", null, loader("Ramesh"));
+
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldLoadAgainWhenNothingWasFound() {
+        startRequest();
+
+        assertThat(RequestMemo.<String>get("individual", "uuid-1", loader(null))).isNull();
+        assertThat(RequestMemo.<String>get("individual", "uuid-1", loader("Ramesh"))).isEqualTo("Ramesh");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
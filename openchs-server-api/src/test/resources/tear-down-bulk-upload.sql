@@ -0,0 +1,4 @@
+DELETE FROM individual WHERE subject_type_id = 1001;
+DELETE FROM operational_subject_type WHERE subject_type_id = 1001;
+DELETE FROM address_level WHERE id = 1001;
+DELETE FROM address_level_type WHERE id = 1001;
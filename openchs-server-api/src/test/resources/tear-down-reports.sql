@@ -0,0 +1,2 @@
+DELETE FROM individual WHERE uuid IN ('0c2a5d1e-6a4b-4f3e-9d7c-1b8e2f4a6c01', '0c2a5d1e-6a4b-4f3e-9d7c-1b8e2f4a6c02');
+DELETE FROM operational_subject_type WHERE name = 'Resident Individual';
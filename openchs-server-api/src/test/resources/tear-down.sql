@@ -1,3 +1,6 @@
+DELETE FROM identifier_assignment;
+DELETE FROM identifier_user_assignment;
+DELETE FROM identifier_source;
 DELETE FROM non_applicable_form_element;
 DELETE FROM form_element;
 DELETE FROM form_element_group;
@@ -0,0 +1,12 @@
+INSERT INTO address_level_type (id, uuid, name, organisation_id, version, level, audit_id)
+VALUES (1001, 'c4c4fb30-d5a1-4b1c-9c0b-0e4cf1a49f1b', 'Village', 1, 0, 1, create_audit());
+
+INSERT INTO address_level (id, title, uuid, version, lineage, parent_id, type_id, organisation_id, audit_id)
+VALUES (1001, 'Bulk Gaon', '6f0e1f39-3b8e-4d0e-9a2a-5c8b2cbb5f41', 0, '1001', NULL, 1001, 1, create_audit());
+
+INSERT INTO subject_type (id, uuid, name, type, organisation_id, audit_id)
+VALUES (1001, '2a1c6f3e-8d34-4b5e-b6d1-3b0ac7f7e0c2', 'Resident', 'Person', 1, create_audit());
+
+INSERT INTO operational_subject_type (uuid, name, subject_type_id, organisation_id, audit_id)
+VALUES ('2a1c6f3e-8d34-4b5e-b6d1-3b0ac7f7e0c2', 'Resident', 1001, 2, create_audit()),
+       ('2a1c6f3e-8d34-4b5e-b6d1-3b0ac7f7e0c2', 'Resident', 1001, 3, create_audit());
@@ -0,0 +1,9 @@
+INSERT INTO operational_subject_type (uuid, name, subject_type_id, organisation_id, audit_id)
+VALUES ('9f2af1f9-e150-4f8e-aad3-40bb7eb05aa3', 'Resident Individual', 1, 2, create_audit());
+
+INSERT INTO individual (uuid, address_id, version, date_of_birth, date_of_birth_verified, first_name, last_name, gender_id, organisation_id,
+ subject_type_id, observations)
+VALUES ('0c2a5d1e-6a4b-4f3e-9d7c-1b8e2f4a6c01', 1, 1, '1980-01-01', FALSE, 'Report', 'One', 2, 2, 1,
+ '{"9daa0b8a-985a-464d-a5ab-8a4f90e8a26b": ["d2e35080-ec9b-46f6-bf8c-7087fcf0ecfd", "002173d4-2f59-4a6c-b315-049ecdb7cf68"], "405f25bb-4553-4b7c-b6bc-a44082ef576f": "782d6227-b815-4fed-aef1-52354e1dcf77"}' :: JSONB),
+       ('0c2a5d1e-6a4b-4f3e-9d7c-1b8e2f4a6c02', 1, 1, '1985-01-01', FALSE, 'Report', 'Two', 2, 2, 1,
+ '{"9daa0b8a-985a-464d-a5ab-8a4f90e8a26b": ["d2e35080-ec9b-46f6-bf8c-7087fcf0ecfd"]}' :: JSONB);